@@ -72,6 +72,11 @@ public abstract class JniScanner {
         vectorTable.appendData(index, value);
     }
 
+    // append the rows [start, end) of the column value in batch, return false if it's not supported
+    protected boolean appendBatch(int index, ColumnValue value, int start, int end) {
+        return vectorTable.appendBatch(index, value, start, end);
+    }
+
     protected int getBatchSize() {
         return batchSize;
     }
@@ -21,6 +21,8 @@ package org.apache.doris.common.jni.utils;
 import sun.misc.Unsafe;
 
 import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
@@ -50,6 +52,9 @@ public class OffHeap {
 
     public static final int DOUBLE_ARRAY_OFFSET;
 
+    // the offset of the memory address field in a direct buffer
+    private static final long BUFFER_ADDRESS_OFFSET;
+
     static {
         UNSAFE = (Unsafe) AccessController.doPrivileged(
                 (PrivilegedAction<Object>) () -> {
@@ -68,12 +73,27 @@ public class OffHeap {
         LONG_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(long[].class);
         FLOAT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(float[].class);
         DOUBLE_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(double[].class);
+        try {
+            BUFFER_ADDRESS_OFFSET = UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        } catch (NoSuchFieldException e) {
+            throw new Error(e);
+        }
     }
 
     public static void setTesting() {
         IS_TESTING = true;
     }
 
+    /**
+     * The memory address of the first byte of the direct buffer, regardless of its position.
+     */
+    public static long getDirectBufferAddress(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            throw new IllegalArgumentException("Not a direct buffer");
+        }
+        return UNSAFE.getLong(buffer, BUFFER_ADDRESS_OFFSET);
+    }
+
     public static int getInt(Object object, long offset) {
         return UNSAFE.getInt(object, offset);
     }
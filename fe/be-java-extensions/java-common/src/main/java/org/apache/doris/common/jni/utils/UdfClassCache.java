@@ -31,6 +31,9 @@ public class UdfClassCache {
     public int evaluateIndex;
     // the method of evaluate() in udf
     public Method method;
+    // the index and method of evaluateBatch() in udf, -1 and null if the udf does not declare it
+    public int batchEvaluateIndex = -1;
+    public Method batchMethod;
     // the method of prepare() in udf
     public Method prepareMethod;
     // the argument and return's JavaUdfDataType of evaluate() method.
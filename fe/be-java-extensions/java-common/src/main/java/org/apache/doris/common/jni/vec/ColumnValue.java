@@ -80,4 +80,12 @@ public interface ColumnValue {
     void unpackMap(List<ColumnValue> keys, List<ColumnValue> values);
 
     void unpackStruct(List<Integer> structFieldIndex, List<ColumnValue> values);
+
+    /**
+     * Append the values of rows [start, end) to the column at once, e.g. by the bulk accessors of VectorColumn.
+     * Return false if the column value can't append the column in batch, then the rows are appended one by one.
+     */
+    default boolean appendBatch(VectorColumn column, int start, int end) {
+        return false;
+    }
 }
@@ -30,10 +30,14 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -830,6 +834,184 @@ public class VectorColumn {
         return result;
     }
 
+    // The bulk accessors of the fixed length columns, which copy the values between the off-heap memory and
+    // the primitive arrays or byte buffers without boxing. The null map of the appended rows is copied from
+    // nulls, which can be null if all the rows are not null.
+
+    public void appendBooleanValues(boolean[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.BOOLEAN_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendByteValues(byte[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.BYTE_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendShortValues(short[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.SHORT_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendIntValues(int[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.INT_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendLongValues(long[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.LONG_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendFloatValues(float[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.FLOAT_ARRAY_OFFSET, nulls, rows);
+    }
+
+    public void appendDoubleValues(double[] values, boolean[] nulls, int rows) {
+        appendFixedLengthValues(values, values.length, OffHeap.DOUBLE_ARRAY_OFFSET, nulls, rows);
+    }
+
+    /**
+     * Append the values in the same memory layout as this column from the off-heap address,
+     * e.g. the data buffer of an arrow vector.
+     */
+    public void appendFixedLengthValues(long address, boolean[] nulls, int rows) {
+        appendFixedLengthValues(null, address, nulls, rows);
+    }
+
+    /**
+     * Append the values in the same memory layout as this column from the position of the buffer,
+     * the position is moved to the end of the values.
+     */
+    public void appendFixedLengthValues(ByteBuffer buffer, boolean[] nulls, int rows) {
+        long length = checkFixedLengthBuffer(buffer, rows);
+        int position = buffer.position();
+        if (buffer.hasArray()) {
+            appendFixedLengthValues(buffer.array(), OffHeap.BYTE_ARRAY_OFFSET + buffer.arrayOffset() + position,
+                    nulls, rows);
+        } else if (buffer.isDirect()) {
+            appendFixedLengthValues(OffHeap.getDirectBufferAddress(buffer) + position, nulls, rows);
+        } else {
+            // read only heap buffer
+            byte[] bytes = new byte[(int) length];
+            buffer.duplicate().get(bytes);
+            appendFixedLengthValues(bytes, OffHeap.BYTE_ARRAY_OFFSET, nulls, rows);
+        }
+        buffer.position(position + (int) length);
+    }
+
+    private void appendFixedLengthValues(Object values, int numValues, long arrayOffset, boolean[] nulls,
+            int rows) {
+        Preconditions.checkArgument(rows <= numValues, "Only " + numValues + " values to append " + rows + " rows");
+        appendFixedLengthValues(values, arrayOffset, nulls, rows);
+    }
+
+    private void appendFixedLengthValues(Object src, long srcOffset, boolean[] nulls, int rows) {
+        long typeSize = checkFixedLengthType();
+        Preconditions.checkArgument(nulls == null || rows <= nulls.length,
+                "Only " + (nulls == null ? 0 : nulls.length) + " nulls to append " + rows + " rows");
+        reserve(appendIndex + rows);
+        if (nulls != null) {
+            int batchNulls = 0;
+            for (int i = 0; i < rows; ++i) {
+                if (nulls[i]) {
+                    batchNulls++;
+                }
+            }
+            // the null map of the new rows is already zero
+            if (batchNulls > 0) {
+                OffHeap.UNSAFE.copyMemory(nulls, OffHeap.BOOLEAN_ARRAY_OFFSET, null, nullMap + appendIndex, rows);
+                numNulls += batchNulls;
+            }
+        }
+        OffHeap.UNSAFE.copyMemory(src, srcOffset, null, data + typeSize * appendIndex, typeSize * rows);
+        appendIndex += rows;
+    }
+
+    public void getBooleanValues(int start, int end, boolean[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.BOOLEAN_ARRAY_OFFSET);
+    }
+
+    public void getByteValues(int start, int end, byte[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.BYTE_ARRAY_OFFSET);
+    }
+
+    public void getShortValues(int start, int end, short[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.SHORT_ARRAY_OFFSET);
+    }
+
+    public void getIntValues(int start, int end, int[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.INT_ARRAY_OFFSET);
+    }
+
+    public void getLongValues(int start, int end, long[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.LONG_ARRAY_OFFSET);
+    }
+
+    public void getFloatValues(int start, int end, float[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.FLOAT_ARRAY_OFFSET);
+    }
+
+    public void getDoubleValues(int start, int end, double[] values) {
+        getFixedLengthValues(start, end, values, values.length, OffHeap.DOUBLE_ARRAY_OFFSET);
+    }
+
+    /**
+     * Copy the values of rows [start, end) to the position of the buffer in the memory layout of this column,
+     * the position is moved to the end of the values.
+     */
+    public void getFixedLengthValues(int start, int end, ByteBuffer buffer) {
+        long length = checkFixedLengthBuffer(buffer, end - start);
+        int position = buffer.position();
+        if (buffer.hasArray()) {
+            getFixedLengthValues(start, end, buffer.array(),
+                    OffHeap.BYTE_ARRAY_OFFSET + buffer.arrayOffset() + position);
+        } else if (buffer.isDirect()) {
+            getFixedLengthValues(start, end, null, OffHeap.getDirectBufferAddress(buffer) + position);
+        } else {
+            throw new ReadOnlyBufferException();
+        }
+        buffer.position(position + (int) length);
+    }
+
+    /**
+     * Mark the null rows of [start, end) in nulls.
+     */
+    public void getNullValues(int start, int end, boolean[] nulls) {
+        int length = end - start;
+        Preconditions.checkArgument(length <= nulls.length,
+                "Only " + nulls.length + " nulls to get " + length + " rows");
+        if (!hasNull()) {
+            Arrays.fill(nulls, 0, length, false);
+        } else if (this.nulls != null) {
+            System.arraycopy(this.nulls, start, nulls, 0, length);
+        } else {
+            OffHeap.UNSAFE.copyMemory(null, nullMap + start, nulls, OffHeap.BOOLEAN_ARRAY_OFFSET, length);
+        }
+    }
+
+    private void getFixedLengthValues(int start, int end, Object values, int numValues, long arrayOffset) {
+        Preconditions.checkArgument(end - start <= numValues,
+                "Only " + numValues + " values to get " + (end - start) + " rows");
+        getFixedLengthValues(start, end, values, arrayOffset);
+    }
+
+    private void getFixedLengthValues(int start, int end, Object dst, long dstOffset) {
+        long typeSize = checkFixedLengthType();
+        OffHeap.UNSAFE.copyMemory(null, data + typeSize * start, dst, dstOffset, typeSize * (end - start));
+    }
+
+    private long checkFixedLengthType() {
+        int typeSize = columnType.getTypeSize();
+        Preconditions.checkState(typeSize > 0 && !columnType.isComplexType() && !columnType.isStringType(),
+                "Not a fixed length column: " + columnType.getType());
+        return typeSize;
+    }
+
+    private long checkFixedLengthBuffer(ByteBuffer buffer, int rows) {
+        Preconditions.checkArgument(buffer.order() == ByteOrder.nativeOrder(),
+                "The byte order of the buffer should be " + ByteOrder.nativeOrder());
+        long length = checkFixedLengthType() * rows;
+        Preconditions.checkArgument(length <= buffer.remaining(),
+                "Only " + buffer.remaining() + " bytes in the buffer for " + rows + " rows");
+        return length;
+    }
+
     public int appendBigInteger(BigInteger v) {
         reserve(appendIndex + 1);
         putBigInteger(appendIndex, v);
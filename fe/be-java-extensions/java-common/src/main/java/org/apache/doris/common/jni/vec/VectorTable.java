@@ -122,6 +122,11 @@ public class VectorTable {
         columns[fieldId].appendValue(o);
     }
 
+    public boolean appendBatch(int fieldId, ColumnValue o, int start, int end) {
+        assert (!onlyReadable);
+        return o.appendBatch(columns[fieldId], start, end);
+    }
+
     public void appendData(int fieldId, Object[] batch, ColumnValueConverter converter, boolean isNullable) {
         assert (!onlyReadable);
         if (converter != null) {
@@ -0,0 +1,218 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.jni.vec;
+
+import org.apache.doris.common.jni.utils.OffHeap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+public class VectorColumnTest {
+    @Before
+    public void setUp() {
+        OffHeap.setTesting();
+    }
+
+    @Test
+    public void testPrimitiveValues() {
+        VectorColumn column = VectorColumn.createWritableColumn(ColumnType.parseType("c", "bigint"), 4);
+        column.appendLong(1);
+        column.appendLongValues(new long[] {2, 0, 4, 5}, new boolean[] {false, true, false, false}, 3);
+        column.appendLongValues(new long[] {6, 7}, null, 2);
+        Assert.assertEquals(6, column.numRows());
+        Assert.assertArrayEquals(new Long[] {1L, 2L, null, 4L, 6L, 7L}, column.getLongColumn(0, 6));
+
+        long[] values = new long[4];
+        boolean[] nulls = new boolean[4];
+        column.getLongValues(1, 5, values);
+        column.getNullValues(1, 5, nulls);
+        Assert.assertArrayEquals(new long[] {2, 0, 4, 6}, values);
+        Assert.assertArrayEquals(new boolean[] {false, true, false, false}, nulls);
+        column.close();
+
+        column = VectorColumn.createWritableColumn(ColumnType.parseType("c", "boolean"), 4);
+        column.appendBooleanValues(new boolean[] {true, false, true}, null, 3);
+        Assert.assertArrayEquals(new Boolean[] {true, false, true}, column.getBooleanColumn(0, 3));
+        column.close();
+    }
+
+    @Test
+    public void testBufferValues() {
+        VectorColumn column = VectorColumn.createWritableColumn(ColumnType.parseType("c", "int"), 4);
+        for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(12), ByteBuffer.allocateDirect(12)}) {
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(1).putInt(2).putInt(3).flip();
+            column.appendFixedLengthValues(buffer, new boolean[] {false, false, true}, 3);
+            Assert.assertEquals(0, buffer.remaining());
+        }
+        Assert.assertArrayEquals(new Integer[] {1, 2, null, 1, 2, null}, column.getIntColumn(0, 6));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8).order(ByteOrder.nativeOrder());
+        column.getFixedLengthValues(3, 5, buffer);
+        buffer.flip();
+        Assert.assertEquals(1, buffer.getInt());
+        Assert.assertEquals(2, buffer.getInt());
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> column.appendFixedLengthValues(ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()), null, 2));
+        column.close();
+    }
+
+    // the bulk accessors of [start, start + bulk.length) return the same values as the per element accessor
+    private static <T> void assertSameValues(VectorColumn column, int start, T[] bulk, IntFunction<T> primitive,
+            IntFunction<T> perElement) {
+        for (int i = 0; i < bulk.length; ++i) {
+            int rowId = start + i;
+            if (column.isNullAt(rowId)) {
+                Assert.assertNull(bulk[i]);
+            } else {
+                Assert.assertEquals(perElement.apply(rowId), bulk[i]);
+                Assert.assertEquals(perElement.apply(rowId), primitive.apply(i));
+            }
+        }
+    }
+
+    @Test
+    public void testBulkAndPerElementValues() {
+        int rows = 100;
+        String[] fields = new String[] {"c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7", "c8"};
+        ColumnType[] types = new ColumnType[] {ColumnType.parseType("c0", "boolean"),
+                ColumnType.parseType("c1", "tinyint"), ColumnType.parseType("c2", "smallint"),
+                ColumnType.parseType("c3", "int"), ColumnType.parseType("c4", "bigint"),
+                ColumnType.parseType("c5", "float"), ColumnType.parseType("c6", "double"),
+                ColumnType.parseType("c7", "datetimev2(6)"), ColumnType.parseType("c8", "string")};
+        VectorTable writable = VectorTable.createWritableTable(types, fields, rows);
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < rows; ++i) {
+            if (i % 7 == 0) {
+                for (int j = 0; j < types.length; ++j) {
+                    writable.getColumn(j).appendNull(types[j].getType());
+                }
+                continue;
+            }
+            writable.getColumn(0).appendBoolean(i % 2 == 0);
+            writable.getColumn(1).appendByte((byte) i);
+            writable.getColumn(2).appendShort((short) (i * 300));
+            writable.getColumn(3).appendInt(i * 100000);
+            writable.getColumn(4).appendLong(i * 10000000000L);
+            writable.getColumn(5).appendFloat(i * 0.5f);
+            writable.getColumn(6).appendDouble(i * 0.25);
+            writable.getColumn(7).appendDateTime(time.plusSeconds(i * 3601L).plusNanos(i * 1000L));
+            writable.getColumn(8).appendStringAndOffset("s" + i);
+        }
+        VectorTable table = VectorTable.createReadableTable(types, fields, writable.getMetaAddress());
+
+        int start = 3;
+        int length = rows - start;
+        boolean[] nulls = new boolean[length];
+        table.getColumn(0).getNullValues(start, rows, nulls);
+        for (int i = 0; i < length; ++i) {
+            Assert.assertEquals((start + i) % 7 == 0, nulls[i]);
+        }
+
+        VectorColumn column = table.getColumn(0);
+        Boolean[] booleans = column.getBooleanColumn(start, rows);
+        boolean[] booleanValues = new boolean[length];
+        column.getBooleanValues(start, rows, booleanValues);
+        assertSameValues(column, start, booleans, i -> booleanValues[i], column::getBoolean);
+        VectorColumn copy = VectorColumn.createWritableColumn(types[0], length);
+        copy.appendBooleanValues(booleanValues, nulls, length);
+        Assert.assertArrayEquals(booleans, copy.getBooleanColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(1);
+        Byte[] bytes = column.getByteColumn(start, rows);
+        byte[] byteValues = new byte[length];
+        column.getByteValues(start, rows, byteValues);
+        assertSameValues(column, start, bytes, i -> byteValues[i], column::getByte);
+        copy = VectorColumn.createWritableColumn(types[1], length);
+        copy.appendByteValues(byteValues, nulls, length);
+        Assert.assertArrayEquals(bytes, copy.getByteColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(2);
+        Short[] shorts = column.getShortColumn(start, rows);
+        short[] shortValues = new short[length];
+        column.getShortValues(start, rows, shortValues);
+        assertSameValues(column, start, shorts, i -> shortValues[i], column::getShort);
+        copy = VectorColumn.createWritableColumn(types[2], length);
+        copy.appendShortValues(shortValues, nulls, length);
+        Assert.assertArrayEquals(shorts, copy.getShortColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(3);
+        Integer[] ints = column.getIntColumn(start, rows);
+        int[] intValues = new int[length];
+        column.getIntValues(start, rows, intValues);
+        assertSameValues(column, start, ints, i -> intValues[i], column::getInt);
+        copy = VectorColumn.createWritableColumn(types[3], length);
+        copy.appendIntValues(intValues, nulls, length);
+        Assert.assertArrayEquals(ints, copy.getIntColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(4);
+        Long[] longs = column.getLongColumn(start, rows);
+        long[] longValues = new long[length];
+        column.getLongValues(start, rows, longValues);
+        assertSameValues(column, start, longs, i -> longValues[i], column::getLong);
+        copy = VectorColumn.createWritableColumn(types[4], length);
+        copy.appendLongValues(longValues, nulls, length);
+        Assert.assertArrayEquals(longs, copy.getLongColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(5);
+        Float[] floats = column.getFloatColumn(start, rows);
+        float[] floatValues = new float[length];
+        column.getFloatValues(start, rows, floatValues);
+        assertSameValues(column, start, floats, i -> floatValues[i], column::getFloat);
+        copy = VectorColumn.createWritableColumn(types[5], length);
+        copy.appendFloatValues(floatValues, nulls, length);
+        Assert.assertArrayEquals(floats, copy.getFloatColumn(0, length));
+        copy.close();
+
+        column = table.getColumn(6);
+        Double[] doubles = column.getDoubleColumn(start, rows);
+        double[] doubleValues = new double[length];
+        column.getDoubleValues(start, rows, doubleValues);
+        assertSameValues(column, start, doubles, i -> doubleValues[i], column::getDouble);
+        copy = VectorColumn.createWritableColumn(types[6], length);
+        copy.appendDoubleValues(doubleValues, nulls, length);
+        Assert.assertArrayEquals(doubles, copy.getDoubleColumn(0, length));
+        copy.close();
+
+        VectorColumn dateTimeColumn = table.getColumn(7);
+        LocalDateTime[] dateTimes = dateTimeColumn.getDateTimeColumn(start, rows);
+        assertSameValues(dateTimeColumn, start, dateTimes, i -> dateTimeColumn.getDateTime(start + i),
+                dateTimeColumn::getDateTime);
+        Assert.assertEquals(time.plusSeconds(4 * 3601L).plusNanos(4000L), dateTimes[1]);
+
+        VectorColumn stringColumn = table.getColumn(8);
+        String[] strings = stringColumn.getStringColumn(start, rows);
+        assertSameValues(stringColumn, start, strings, i -> stringColumn.getStringWithOffset(start + i),
+                stringColumn::getStringWithOffset);
+        Assert.assertEquals("s4", strings[1]);
+
+        writable.close();
+    }
+}
@@ -0,0 +1,219 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.exception.UdfRuntimeException;
+import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.VectorColumn;
+import org.apache.doris.common.jni.vec.VectorTable;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Helpers of the batch calling convention of the scalar java udf.
+ *
+ * A udf can opt in by declaring `evaluateBatch` besides `evaluate`, which takes one primitive array for each
+ * argument and a `boolean[] nulls`, and returns a primitive array of the results, e.g.
+ * <pre>
+ *     public Long evaluate(Long a, Double b) { ... }
+ *     public long[] evaluateBatch(long[] a, double[] b, boolean[] nulls) { ... }
+ * </pre>
+ * It is called once per block instead of once per row, and the values are neither boxed nor unboxed.
+ * On entry, nulls[i] is true if any argument of row i is null, the argument values of the row are undefined.
+ * The udf can set nulls[i] to make the result of row i null. Only boolean, tinyint, smallint, int, bigint,
+ * float and double arguments and return types are supported, and a const argument is expanded to all rows.
+ */
+public class UdfBatchUtils {
+    public static final String UDF_BATCH_FUNCTION_NAME = "evaluateBatch";
+
+    private UdfBatchUtils() {
+    }
+
+    // the array class to pass the values of the type in batch, null if the type is not supported
+    public static Class<?> getBatchClass(Type type) {
+        switch (type.getPrimitiveType()) {
+            case BOOLEAN:
+                return boolean[].class;
+            case TINYINT:
+                return byte[].class;
+            case SMALLINT:
+                return short[].class;
+            case INT:
+                return int[].class;
+            case BIGINT:
+                return long[].class;
+            case FLOAT:
+                return float[].class;
+            case DOUBLE:
+                return double[].class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Find the batch evaluate method matching the types of the function, return null if there is none.
+     */
+    public static Method findBatchMethod(Class<?> udfClass, Type retType, Type... argTypes) {
+        Class<?> retClass = getBatchClass(retType);
+        if (retClass == null || argTypes.length == 0) {
+            return null;
+        }
+        Class<?>[] batchArgClass = new Class<?>[argTypes.length + 1];
+        for (int i = 0; i < argTypes.length; ++i) {
+            batchArgClass[i] = getBatchClass(argTypes[i]);
+            if (batchArgClass[i] == null) {
+                return null;
+            }
+        }
+        batchArgClass[argTypes.length] = boolean[].class;
+        try {
+            Method method = udfClass.getMethod(UDF_BATCH_FUNCTION_NAME, batchArgClass);
+            return method.getReturnType().equals(retClass) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the column as a primitive array of numRows values, and mark the null rows in nulls.
+     */
+    public static Object readColumn(VectorTable table, int idx, int numRows, boolean[] nulls)
+            throws UdfRuntimeException {
+        VectorColumn column = table.getColumn(idx);
+        // a const column has only one row, which is expanded to all rows
+        boolean isConst = table.isConstColumn(idx);
+        int numValues = isConst ? Math.min(numRows, 1) : numRows;
+        if (column.hasNull()) {
+            for (int i = 0; i < numRows; ++i) {
+                if (column.isNullAt(isConst ? 0 : i)) {
+                    nulls[i] = true;
+                }
+            }
+        }
+        ColumnType.Type type = table.getColumnType(idx).getType();
+        switch (type) {
+            case BOOLEAN: {
+                boolean[] values = new boolean[numRows];
+                column.getBooleanValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case BYTE:
+            case TINYINT: {
+                byte[] values = new byte[numRows];
+                column.getByteValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case SMALLINT: {
+                short[] values = new short[numRows];
+                column.getShortValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case INT: {
+                int[] values = new int[numRows];
+                column.getIntValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case BIGINT: {
+                long[] values = new long[numRows];
+                column.getLongValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case FLOAT: {
+                float[] values = new float[numRows];
+                column.getFloatValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            case DOUBLE: {
+                double[] values = new double[numRows];
+                column.getDoubleValues(0, numValues, values);
+                if (isConst && numRows > 0) {
+                    Arrays.fill(values, values[0]);
+                }
+                return values;
+            }
+            default:
+                throw new UdfRuntimeException("Unsupported type of batch udf argument: " + type);
+        }
+    }
+
+    /**
+     * Append the first numRows values of the primitive array to the column, the rows marked in nulls are null.
+     */
+    public static void appendColumn(VectorColumn column, Object values, boolean[] nulls, int numRows,
+            boolean isNullable) throws UdfRuntimeException {
+        if (values == null || Array.getLength(values) < numRows) {
+            throw new UdfRuntimeException("The batch udf returns less than " + numRows + " values");
+        }
+        if (!isNullable) {
+            for (int i = 0; i < numRows; ++i) {
+                if (nulls[i]) {
+                    throw new UdfRuntimeException("The batch udf returns null for a not nullable result");
+                }
+            }
+        }
+        ColumnType.Type type = column.getColumnPrimitiveType();
+        switch (type) {
+            case BOOLEAN:
+                column.appendBooleanValues((boolean[]) values, nulls, numRows);
+                break;
+            case BYTE:
+            case TINYINT:
+                column.appendByteValues((byte[]) values, nulls, numRows);
+                break;
+            case SMALLINT:
+                column.appendShortValues((short[]) values, nulls, numRows);
+                break;
+            case INT:
+                column.appendIntValues((int[]) values, nulls, numRows);
+                break;
+            case BIGINT:
+                column.appendLongValues((long[]) values, nulls, numRows);
+                break;
+            case FLOAT:
+                column.appendFloatValues((float[]) values, nulls, numRows);
+                break;
+            case DOUBLE:
+                column.appendDoubleValues((double[]) values, nulls, numRows);
+                break;
+            default:
+                throw new UdfRuntimeException("Unsupported type of batch udf result: " + type);
+        }
+    }
+}
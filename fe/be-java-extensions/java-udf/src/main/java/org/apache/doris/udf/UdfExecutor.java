@@ -53,6 +53,9 @@ public class UdfExecutor extends BaseExecutor {
 
     private int evaluateIndex;
 
+    // the index of evaluateBatch(), -1 if the udf is evaluated row by row
+    private int batchEvaluateIndex = -1;
+
     private VectorTable outputTable = null;
 
     private boolean isStaticLoad = false;
@@ -98,6 +101,9 @@ public class UdfExecutor extends BaseExecutor {
     }
 
     public long evaluate(Map<String, String> inputParams, Map<String, String> outputParams) throws UdfRuntimeException {
+        if (batchEvaluateIndex >= 0) {
+            return evaluateBatch(inputParams, outputParams);
+        }
         try {
             VectorTable inputTable = VectorTable.createReadableTable(inputParams);
             int numRows = inputTable.getNumRows();
@@ -130,6 +136,34 @@ public class UdfExecutor extends BaseExecutor {
         }
     }
 
+    // call evaluateBatch() once for the block, see UdfBatchUtils
+    private long evaluateBatch(Map<String, String> inputParams, Map<String, String> outputParams)
+            throws UdfRuntimeException {
+        try {
+            VectorTable inputTable = VectorTable.createReadableTable(inputParams);
+            int numRows = inputTable.getNumRows();
+            int numColumns = inputTable.getNumColumns();
+            if (outputTable != null) {
+                outputTable.close();
+            }
+            outputTable = VectorTable.createWritableTable(outputParams, numRows);
+
+            boolean[] nulls = new boolean[numRows];
+            Object[] parameters = new Object[numColumns + 1];
+            for (int j = 0; j < numColumns; ++j) {
+                parameters[j] = UdfBatchUtils.readColumn(inputTable, j, numRows, nulls);
+            }
+            parameters[numColumns] = nulls;
+            Object result = methodAccess.invoke(udf, batchEvaluateIndex, parameters);
+            boolean isNullable = Boolean.parseBoolean(outputParams.getOrDefault("is_nullable", "true"));
+            UdfBatchUtils.appendColumn(outputTable.getColumn(0), result, nulls, numRows, isNullable);
+            return outputTable.getMetaAddress();
+        } catch (Exception e) {
+            LOG.warn("evaluate batch exception: " + debugString(), e);
+            throw new UdfRuntimeException("UDF failed to evaluate batch", e);
+        }
+    }
+
     public Method getMethod() {
         return method;
     }
@@ -226,6 +260,12 @@ public class UdfExecutor extends BaseExecutor {
             }
             cache.retType.setKeyType(keyType);
             cache.retType.setValueType(valueType);
+            // the batch method is optional, evaluate() is still required to check the types
+            cache.batchMethod = UdfBatchUtils.findBatchMethod(c, funcRetType, parameterTypes);
+            if (cache.batchMethod != null) {
+                cache.batchEvaluateIndex = cache.methodAccess.getIndex(UdfBatchUtils.UDF_BATCH_FUNCTION_NAME,
+                        cache.batchMethod.getParameterTypes());
+            }
             return;
         }
         StringBuilder sb = new StringBuilder();
@@ -267,6 +307,7 @@ public class UdfExecutor extends BaseExecutor {
             argClass = cache.argClass;
             method = cache.method;
             evaluateIndex = cache.evaluateIndex;
+            batchEvaluateIndex = cache.batchEvaluateIndex;
             retType = cache.retType;
             argTypes = cache.argTypes;
         } catch (MalformedURLException e) {
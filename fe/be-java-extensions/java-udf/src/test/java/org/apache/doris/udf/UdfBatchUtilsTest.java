@@ -0,0 +1,179 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.jni.utils.OffHeap;
+import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.VectorTable;
+
+import com.esotericsoftware.reflectasm.MethodAccess;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+public class UdfBatchUtilsTest {
+    private static final int ROWS = 100;
+
+    public static class MultiplyUdf {
+        public Double evaluate(Long a, Double b) {
+            if (a == null || b == null || b < 0) {
+                return null;
+            }
+            return a * b;
+        }
+
+        public double[] evaluateBatch(long[] a, double[] b, boolean[] nulls) {
+            double[] result = new double[a.length];
+            for (int i = 0; i < a.length; ++i) {
+                if (b[i] < 0) {
+                    nulls[i] = true;
+                }
+                result[i] = a[i] * b[i];
+            }
+            return result;
+        }
+    }
+
+    public static class NegateUdf {
+        public Integer evaluate(Integer a, Boolean negate) {
+            if (a == null || negate == null) {
+                return null;
+            }
+            return negate ? -a : a;
+        }
+
+        public int[] evaluateBatch(int[] a, boolean[] negate, boolean[] nulls) {
+            int[] result = new int[a.length];
+            for (int i = 0; i < a.length; ++i) {
+                result[i] = negate[i] ? -a[i] : a[i];
+            }
+            return result;
+        }
+    }
+
+    @BeforeAll
+    public static void setUp() {
+        OffHeap.setTesting();
+    }
+
+    // evaluate the udf row by row and in batch the same way as UdfExecutor, and return both results
+    private static Object[][] evaluate(Object udf, VectorTable inputTable, ColumnType[] inputTypes,
+            ColumnType outputType, Type retType, Type... argTypes) throws Exception {
+        MethodAccess methodAccess = MethodAccess.get(udf.getClass());
+        int evaluateIndex = methodAccess.getIndex("evaluate", argTypes.length);
+        Method batchMethod = UdfBatchUtils.findBatchMethod(udf.getClass(), retType, argTypes);
+        Assertions.assertNotNull(batchMethod);
+        int batchEvaluateIndex = methodAccess.getIndex(UdfBatchUtils.UDF_BATCH_FUNCTION_NAME,
+                batchMethod.getParameterTypes());
+        ColumnType[] outputTypes = new ColumnType[] {outputType};
+        String[] outputFields = new String[] {"r"};
+
+        VectorTable rowOutput = VectorTable.createWritableTable(outputTypes, outputFields, ROWS);
+        Object[][] inputs = inputTable.getMaterializedData();
+        Object[] result = new Object[ROWS];
+        Object[] parameters = new Object[inputs.length];
+        for (int i = 0; i < ROWS; ++i) {
+            for (int j = 0; j < inputs.length; ++j) {
+                parameters[j] = inputs[j][i];
+            }
+            result[i] = methodAccess.invoke(udf, evaluateIndex, parameters);
+        }
+        rowOutput.appendData(0, result, true);
+
+        VectorTable batchOutput = VectorTable.createWritableTable(outputTypes, outputFields, ROWS);
+        boolean[] nulls = new boolean[ROWS];
+        Object[] batchParameters = new Object[inputTypes.length + 1];
+        for (int j = 0; j < inputTypes.length; ++j) {
+            batchParameters[j] = UdfBatchUtils.readColumn(inputTable, j, ROWS, nulls);
+        }
+        batchParameters[inputTypes.length] = nulls;
+        Object batchResult = methodAccess.invoke(udf, batchEvaluateIndex, batchParameters);
+        UdfBatchUtils.appendColumn(batchOutput.getColumn(0), batchResult, nulls, ROWS, true);
+
+        Object[][] results = new Object[][] {
+                VectorTable.createReadableTable(outputTypes, outputFields, rowOutput.getMetaAddress())
+                        .getMaterializedData()[0],
+                VectorTable.createReadableTable(outputTypes, outputFields, batchOutput.getMetaAddress())
+                        .getMaterializedData()[0]};
+        rowOutput.close();
+        batchOutput.close();
+        return results;
+    }
+
+    @Test
+    public void testBigintDouble() throws Exception {
+        ColumnType[] inputTypes = new ColumnType[] {ColumnType.parseType("a", "bigint"),
+                ColumnType.parseType("b", "double")};
+        VectorTable input = VectorTable.createWritableTable(inputTypes, new String[] {"a", "b"}, ROWS);
+        for (int i = 0; i < ROWS; ++i) {
+            if (i % 7 == 0) {
+                input.getColumn(0).appendNull(ColumnType.Type.BIGINT);
+            } else {
+                input.getColumn(0).appendLong(i);
+            }
+            if (i % 5 == 0) {
+                input.getColumn(1).appendNull(ColumnType.Type.DOUBLE);
+            } else {
+                // the udf returns null for the negative values
+                input.getColumn(1).appendDouble(i % 3 == 0 ? -i : i * 0.5);
+            }
+        }
+        VectorTable inputTable = VectorTable.createReadableTable(inputTypes, new String[] {"a", "b"},
+                input.getMetaAddress());
+        Object[][] results = evaluate(new MultiplyUdf(), inputTable, inputTypes,
+                ColumnType.parseType("r", "double"), Type.DOUBLE, Type.BIGINT, Type.DOUBLE);
+        input.close();
+
+        Assertions.assertNull(results[0][0]);
+        Assertions.assertNull(results[0][3]);
+        Assertions.assertEquals(0.5, results[0][1]);
+        Assertions.assertArrayEquals(results[0], results[1]);
+    }
+
+    @Test
+    public void testIntBoolean() throws Exception {
+        ColumnType[] inputTypes = new ColumnType[] {ColumnType.parseType("a", "int"),
+                ColumnType.parseType("negate", "boolean")};
+        VectorTable input = VectorTable.createWritableTable(inputTypes, new String[] {"a", "negate"}, ROWS);
+        for (int i = 0; i < ROWS; ++i) {
+            if (i % 4 == 0) {
+                input.getColumn(0).appendNull(ColumnType.Type.INT);
+            } else {
+                input.getColumn(0).appendInt(i);
+            }
+            if (i % 9 == 0) {
+                input.getColumn(1).appendNull(ColumnType.Type.BOOLEAN);
+            } else {
+                input.getColumn(1).appendBoolean(i % 2 == 0);
+            }
+        }
+        VectorTable inputTable = VectorTable.createReadableTable(inputTypes, new String[] {"a", "negate"},
+                input.getMetaAddress());
+        Object[][] results = evaluate(new NegateUdf(), inputTable, inputTypes,
+                ColumnType.parseType("r", "int"), Type.INT, Type.INT, Type.BOOLEAN);
+        input.close();
+
+        Assertions.assertNull(results[0][0]);
+        Assertions.assertEquals(1, results[0][1]);
+        Assertions.assertEquals(-2, results[0][2]);
+        Assertions.assertArrayEquals(results[0], results[1]);
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.doris.common.jni.vec.VectorTable;
 import org.apache.doris.thrift.TJdbcExecutorCtorParams;
 import org.apache.doris.thrift.TJdbcOperation;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.zaxxer.hikari.HikariDataSource;
 import org.apache.log4j.Logger;
@@ -52,10 +53,22 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public abstract class BaseJdbcExecutor implements JdbcExecutor {
     private static final Logger LOG = Logger.getLogger(BaseJdbcExecutor.class);
     private static final TBinaryProtocol.Factory PROTOCOL_FACTORY = new TBinaryProtocol.Factory();
+    // the max rows of a multi-row insert statement
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+    // the values of a row of `INSERT ... VALUES (?, ...)` at the end of the insert sql
+    private static final Pattern INSERT_ROW_PATTERN = Pattern.compile(
+            "\\bVALUES\\s*(\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\))\\s*$", Pattern.CASE_INSENSITIVE);
+    // the system property to commit each block written out of the transaction of openTrans() as a whole,
+    // which is set by `-Ddoris.jdbc.commit_per_block=true` in JAVA_OPTS of be.conf, see JDBC_OPTS of
+    // run-be-ut.sh. It's a JVM option since the executor params have no field for it. The statements are
+    // committed by themselves if it's not set.
+    private static final String COMMIT_PER_BLOCK_PROPERTY = "doris.jdbc.commit_per_block";
     private HikariDataSource hikariDataSource = null;
     private final byte[] hikariDataSourceLock = new byte[0];
     private Connection conn = null;
@@ -69,6 +82,12 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
     protected int batchSizeNum = 0;
     protected int curBlockRows = 0;
     protected String jdbcDriverVersion;
+    protected String insertSql = null;
+    // whether the writes are in the transaction opened by openTrans()
+    private boolean inTransaction = false;
+    // the multi-row insert statement of MAX_ROWS_PER_INSERT rows, which is reused by the blocks
+    private PreparedStatement multiRowStatement = null;
+    private final boolean commitPerBlock = Boolean.getBoolean(COMMIT_PER_BLOCK_PROPERTY);
 
     public BaseJdbcExecutor(byte[] thriftParams) throws Exception {
         setJdbcDriverSystemProperties();
@@ -116,7 +135,7 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
                 abortReadConnection(conn, resultSet);
             }
         } finally {
-            closeResources(resultSet, stmt, conn);
+            closeResources(resultSet, stmt, multiRowStatement, conn);
             if (config.getConnectionPoolMinSize() == 0 && hikariDataSource != null) {
                 hikariDataSource.close();
                 JdbcDataSource.getDataSource().getSourcesMap().remove(config.createCacheKey());
@@ -243,7 +262,25 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         VectorTable batchTable = VectorTable.createReadableTable(params);
         // Can't release or close batchTable, it's released by c++
         try {
-            insert(batchTable);
+            if (inTransaction || !commitPerBlock || !supportsBlockTransaction()) {
+                insert(batchTable);
+            } else {
+                // commit the block as a whole rather than each statement of it
+                if (conn.getAutoCommit()) {
+                    conn.setAutoCommit(false);
+                }
+                try {
+                    insert(batchTable);
+                    conn.commit();
+                } catch (SQLException e) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException rollbackException) {
+                        LOG.warn("Cannot rollback the block: ", rollbackException);
+                    }
+                    throw e;
+                }
+            }
         } catch (SQLException e) {
             throw new JdbcExecutorException("JDBC executor sql has error: ", e);
         }
@@ -254,6 +291,7 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         try {
             if (conn != null) {
                 conn.setAutoCommit(false);
+                inTransaction = true;
             }
         } catch (SQLException e) {
             throw new JdbcExecutorException("JDBC executor open transaction has error: ", e);
@@ -372,6 +410,7 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         } else {
             Preconditions.checkArgument(sql != null, "SQL statement cannot be null for WRITE operation.");
             LOG.info("Insert SQL: " + sql);
+            insertSql = sql;
             preparedStatement = conn.prepareStatement(sql);
         }
     }
@@ -412,10 +451,32 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         };
     }
 
-    private int insert(VectorTable data) throws SQLException {
+    /**
+     * Whether each block written out of the transaction of openTrans() can be committed as a whole
+     * when doris.jdbc.commit_per_block is set, or else the statements are committed by themselves.
+     */
+    protected boolean supportsBlockTransaction() {
+        return false;
+    }
+
+    /**
+     * The max parameters of a statement allowed by the database, the rows are inserted by multi-row
+     * `INSERT ... VALUES (...), (...)` statements if it's greater than 0, or else by a batch of the statement
+     * of one row.
+     */
+    protected int getMaxInsertParameters() {
+        return 0;
+    }
+
+    protected int insert(VectorTable data) throws SQLException {
+        int numColumns = data.getColumns().length;
+        int maxRows = numColumns == 0 ? 0 : Math.min(MAX_ROWS_PER_INSERT, getMaxInsertParameters() / numColumns);
+        if (maxRows > 1 && data.getNumRows() > 1 && getInsertRowIndex(insertSql, numColumns) > 0) {
+            return insertMultiRows(data, maxRows);
+        }
         for (int i = 0; i < data.getNumRows(); ++i) {
-            for (int j = 0; j < data.getColumns().length; ++j) {
-                insertColumn(i, j, data.getColumns()[j]);
+            for (int j = 0; j < numColumns; ++j) {
+                insertColumn(preparedStatement, j + 1, i, data.getColumns()[j]);
             }
             preparedStatement.addBatch();
         }
@@ -424,106 +485,170 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         return data.getNumRows();
     }
 
-    private void insertColumn(int rowIdx, int colIdx, VectorColumn column) throws SQLException {
-        int parameterIndex = colIdx + 1;
+    private int insertMultiRows(VectorTable data, int maxRows) throws SQLException {
+        VectorColumn[] columns = data.getColumns();
+        int numRows = data.getNumRows();
+        for (int start = 0; start < numRows; start += maxRows) {
+            int rows = Math.min(maxRows, numRows - start);
+            PreparedStatement statement;
+            if (rows == maxRows) {
+                if (multiRowStatement == null) {
+                    multiRowStatement = conn.prepareStatement(getMultiRowInsertSql(insertSql, columns.length, rows));
+                }
+                statement = multiRowStatement;
+            } else {
+                statement = conn.prepareStatement(getMultiRowInsertSql(insertSql, columns.length, rows));
+            }
+            try {
+                int parameterIndex = 1;
+                for (int i = start; i < start + rows; ++i) {
+                    for (VectorColumn column : columns) {
+                        insertColumn(statement, parameterIndex++, i, column);
+                    }
+                }
+                statement.executeUpdate();
+            } finally {
+                if (statement != multiRowStatement) {
+                    statement.close();
+                }
+            }
+        }
+        return numRows;
+    }
+
+    // the index of the values of the row in the insert sql, or -1 if it's not like `INSERT ... VALUES (?, ...)`
+    @VisibleForTesting
+    static int getInsertRowIndex(String insertSql, int numColumns) {
+        if (insertSql == null) {
+            return -1;
+        }
+        Matcher matcher = INSERT_ROW_PATTERN.matcher(insertSql);
+        if (!matcher.find() || matcher.group(1).chars().filter(c -> c == '?').count() != numColumns) {
+            return -1;
+        }
+        return matcher.start(1);
+    }
+
+    /**
+     * Build the statement to insert the rows at once from the insert sql of one row,
+     * e.g. `INSERT INTO t VALUES (?, ?), (?, ?)` from `INSERT INTO t VALUES (?, ?)`.
+     */
+    @VisibleForTesting
+    static String getMultiRowInsertSql(String insertSql, int numColumns, int rows) {
+        int index = getInsertRowIndex(insertSql, numColumns);
+        Preconditions.checkArgument(index > 0, "Not an insert sql of one row: " + insertSql);
+        String row = insertSql.substring(index).trim();
+        StringBuilder sb = new StringBuilder(index + (row.length() + 2) * rows);
+        sb.append(insertSql, 0, index);
+        for (int i = 0; i < rows; ++i) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append(row);
+        }
+        return sb.toString();
+    }
+
+    private void insertColumn(PreparedStatement statement, int parameterIndex, int rowIdx, VectorColumn column)
+            throws SQLException {
         ColumnType.Type dorisType = column.getColumnPrimitiveType();
         if (column.isNullAt(rowIdx)) {
-            insertNullColumn(parameterIndex, dorisType);
+            insertNullColumn(statement, parameterIndex, dorisType);
             return;
         }
         switch (dorisType) {
             case BOOLEAN:
-                preparedStatement.setBoolean(parameterIndex, column.getBoolean(rowIdx));
+                statement.setBoolean(parameterIndex, column.getBoolean(rowIdx));
                 break;
             case TINYINT:
-                preparedStatement.setByte(parameterIndex, column.getByte(rowIdx));
+                statement.setByte(parameterIndex, column.getByte(rowIdx));
                 break;
             case SMALLINT:
-                preparedStatement.setShort(parameterIndex, column.getShort(rowIdx));
+                statement.setShort(parameterIndex, column.getShort(rowIdx));
                 break;
             case INT:
-                preparedStatement.setInt(parameterIndex, column.getInt(rowIdx));
+                statement.setInt(parameterIndex, column.getInt(rowIdx));
                 break;
             case BIGINT:
-                preparedStatement.setLong(parameterIndex, column.getLong(rowIdx));
+                statement.setLong(parameterIndex, column.getLong(rowIdx));
                 break;
             case LARGEINT:
-                preparedStatement.setObject(parameterIndex, column.getBigInteger(rowIdx));
+                statement.setObject(parameterIndex, column.getBigInteger(rowIdx));
                 break;
             case FLOAT:
-                preparedStatement.setFloat(parameterIndex, column.getFloat(rowIdx));
+                statement.setFloat(parameterIndex, column.getFloat(rowIdx));
                 break;
             case DOUBLE:
-                preparedStatement.setDouble(parameterIndex, column.getDouble(rowIdx));
+                statement.setDouble(parameterIndex, column.getDouble(rowIdx));
                 break;
             case DECIMALV2:
             case DECIMAL32:
             case DECIMAL64:
             case DECIMAL128:
-                preparedStatement.setBigDecimal(parameterIndex, column.getDecimal(rowIdx));
+                statement.setBigDecimal(parameterIndex, column.getDecimal(rowIdx));
                 break;
             case DATEV2:
-                preparedStatement.setDate(parameterIndex, Date.valueOf(column.getDate(rowIdx)));
+                statement.setDate(parameterIndex, Date.valueOf(column.getDate(rowIdx)));
                 break;
             case DATETIMEV2:
-                preparedStatement.setTimestamp(
+                statement.setTimestamp(
                         parameterIndex, Timestamp.valueOf(column.getDateTime(rowIdx)));
                 break;
             case CHAR:
             case VARCHAR:
             case STRING:
             case BINARY:
-                preparedStatement.setString(parameterIndex, column.getStringWithOffset(rowIdx));
+                statement.setString(parameterIndex, column.getStringWithOffset(rowIdx));
                 break;
             default:
                 throw new RuntimeException("Unknown type value: " + dorisType);
         }
     }
 
-    private void insertNullColumn(int parameterIndex, ColumnType.Type dorisType)
+    private void insertNullColumn(PreparedStatement statement, int parameterIndex, ColumnType.Type dorisType)
             throws SQLException {
         switch (dorisType) {
             case BOOLEAN:
-                preparedStatement.setNull(parameterIndex, Types.BOOLEAN);
+                statement.setNull(parameterIndex, Types.BOOLEAN);
                 break;
             case TINYINT:
-                preparedStatement.setNull(parameterIndex, Types.TINYINT);
+                statement.setNull(parameterIndex, Types.TINYINT);
                 break;
             case SMALLINT:
-                preparedStatement.setNull(parameterIndex, Types.SMALLINT);
+                statement.setNull(parameterIndex, Types.SMALLINT);
                 break;
             case INT:
-                preparedStatement.setNull(parameterIndex, Types.INTEGER);
+                statement.setNull(parameterIndex, Types.INTEGER);
                 break;
             case BIGINT:
-                preparedStatement.setNull(parameterIndex, Types.BIGINT);
+                statement.setNull(parameterIndex, Types.BIGINT);
                 break;
             case LARGEINT:
-                preparedStatement.setNull(parameterIndex, Types.JAVA_OBJECT);
+                statement.setNull(parameterIndex, Types.JAVA_OBJECT);
                 break;
             case FLOAT:
-                preparedStatement.setNull(parameterIndex, Types.FLOAT);
+                statement.setNull(parameterIndex, Types.FLOAT);
                 break;
             case DOUBLE:
-                preparedStatement.setNull(parameterIndex, Types.DOUBLE);
+                statement.setNull(parameterIndex, Types.DOUBLE);
                 break;
             case DECIMALV2:
             case DECIMAL32:
             case DECIMAL64:
             case DECIMAL128:
-                preparedStatement.setNull(parameterIndex, Types.DECIMAL);
+                statement.setNull(parameterIndex, Types.DECIMAL);
                 break;
             case DATEV2:
-                preparedStatement.setNull(parameterIndex, Types.DATE);
+                statement.setNull(parameterIndex, Types.DATE);
                 break;
             case DATETIMEV2:
-                preparedStatement.setNull(parameterIndex, Types.TIMESTAMP);
+                statement.setNull(parameterIndex, Types.TIMESTAMP);
                 break;
             case CHAR:
             case VARCHAR:
             case STRING:
             case BINARY:
-                preparedStatement.setNull(parameterIndex, Types.VARCHAR);
+                statement.setNull(parameterIndex, Types.VARCHAR);
                 break;
             default:
                 throw new RuntimeException("Unknown type value: " + dorisType);
@@ -78,10 +78,22 @@ public class MySQLJdbcExecutor extends BaseJdbcExecutor {
             batchSizeNum = config.getBatchSize();
         } else {
             LOG.info("Insert SQL: " + sql);
+            insertSql = sql;
             preparedStatement = conn.prepareStatement(sql);
         }
     }
 
+    @Override
+    protected boolean supportsBlockTransaction() {
+        return true;
+    }
+
+    @Override
+    protected int getMaxInsertParameters() {
+        // the max placeholders of a prepared statement of MySQL
+        return 65535;
+    }
+
     @Override
     protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
             VectorTable outputTable) {
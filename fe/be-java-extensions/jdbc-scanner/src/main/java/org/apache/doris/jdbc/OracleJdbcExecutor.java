@@ -51,6 +51,11 @@ public class OracleJdbcExecutor extends BaseJdbcExecutor {
         ds.setConnectionTestQuery("SELECT 1 FROM dual");
     }
 
+    @Override
+    protected boolean supportsBlockTransaction() {
+        return true;
+    }
+
     @Override
     protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
             VectorTable outputTable) {
@@ -20,12 +20,19 @@ package org.apache.doris.jdbc;
 import org.apache.doris.common.jni.vec.ColumnType;
 import org.apache.doris.common.jni.vec.ColumnType.Type;
 import org.apache.doris.common.jni.vec.ColumnValueConverter;
+import org.apache.doris.common.jni.vec.VectorColumn;
 import org.apache.doris.common.jni.vec.VectorTable;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import org.apache.log4j.Logger;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -34,14 +41,151 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class PostgreSQLJdbcExecutor extends BaseJdbcExecutor {
     private static final Logger LOG = Logger.getLogger(PostgreSQLJdbcExecutor.class);
 
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+            "^\\s*INSERT\\s+INTO\\s+(.+)\\s+VALUES\\s*\\(.*\\)\\s*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // the CopyManager of the connection and its copyIn(String, Reader), they are called by reflection
+    // because the driver is loaded by the class loader of the driver jar
+    private Object copyManager = null;
+    private Method copyInMethod = null;
+    private String copySql = null;
+    private boolean copyUnsupported = false;
+
     public PostgreSQLJdbcExecutor(byte[] thriftParams) throws Exception {
         super(thriftParams);
     }
 
+    @Override
+    protected boolean supportsBlockTransaction() {
+        return true;
+    }
+
+    @Override
+    protected int getMaxInsertParameters() {
+        // the max parameters of a statement of PostgreSQL
+        return 32767;
+    }
+
+    /**
+     * Insert the rows by `COPY ... FROM STDIN` in csv format, which is much faster than the insert statements.
+     * It falls back to the insert statements if the connection does not support COPY.
+     */
+    @Override
+    protected int insert(VectorTable data) throws SQLException {
+        if (copyManager == null && !copyUnsupported) {
+            initCopyManager();
+        }
+        if (copyUnsupported) {
+            return super.insert(data);
+        }
+        try {
+            copyInMethod.invoke(copyManager, copySql, new StringReader(toCsv(data)));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Failed to copy rows into PostgreSQL: ", e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new SQLException("Failed to copy rows into PostgreSQL: ", e);
+        }
+        return data.getNumRows();
+    }
+
+    private void initCopyManager() {
+        Matcher matcher = insertSql == null ? null : INSERT_PATTERN.matcher(insertSql);
+        if (matcher == null || !matcher.matches()) {
+            copyUnsupported = true;
+            return;
+        }
+        try {
+            Connection connection = preparedStatement.getConnection().unwrap(Connection.class);
+            Object copyApi = connection.getClass().getMethod("getCopyAPI").invoke(connection);
+            copyInMethod = copyApi.getClass().getMethod("copyIn", String.class, Reader.class);
+            copyManager = copyApi;
+            copySql = "COPY " + matcher.group(1) + " FROM STDIN WITH (FORMAT csv)";
+            LOG.info("Copy SQL: " + copySql);
+        } catch (Exception e) {
+            LOG.warn("The connection does not support COPY, insert the rows by statements: ", e);
+            copyUnsupported = true;
+        }
+    }
+
+    @VisibleForTesting
+    static String toCsv(VectorTable data) {
+        VectorColumn[] columns = data.getColumns();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < data.getNumRows(); ++i) {
+            for (int j = 0; j < columns.length; ++j) {
+                if (j != 0) {
+                    sb.append(',');
+                }
+                // an unquoted empty value is null
+                if (!columns[j].isNullAt(i)) {
+                    appendCsvValue(sb, columns[j], i);
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendCsvValue(StringBuilder sb, VectorColumn column, int rowIdx) {
+        Type dorisType = column.getColumnPrimitiveType();
+        switch (dorisType) {
+            case BOOLEAN:
+                sb.append(column.getBoolean(rowIdx));
+                break;
+            case TINYINT:
+                sb.append(column.getByte(rowIdx));
+                break;
+            case SMALLINT:
+                sb.append(column.getShort(rowIdx));
+                break;
+            case INT:
+                sb.append(column.getInt(rowIdx));
+                break;
+            case BIGINT:
+                sb.append(column.getLong(rowIdx));
+                break;
+            case LARGEINT:
+                sb.append(column.getBigInteger(rowIdx));
+                break;
+            case FLOAT:
+                sb.append(column.getFloat(rowIdx));
+                break;
+            case DOUBLE:
+                sb.append(column.getDouble(rowIdx));
+                break;
+            case DECIMALV2:
+            case DECIMAL32:
+            case DECIMAL64:
+            case DECIMAL128:
+                sb.append(column.getDecimal(rowIdx).toPlainString());
+                break;
+            case DATEV2:
+                sb.append(column.getDate(rowIdx));
+                break;
+            case DATETIMEV2:
+                sb.append(Timestamp.valueOf(column.getDateTime(rowIdx)));
+                break;
+            case CHAR:
+            case VARCHAR:
+            case STRING:
+            case BINARY:
+                // a quoted value is never null even if it's empty
+                sb.append('"').append(column.getStringWithOffset(rowIdx).replace("\"", "\"\"")).append('"');
+                break;
+            default:
+                throw new RuntimeException("Unknown type value: " + dorisType);
+        }
+    }
+
     @Override
     protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
             VectorTable outputTable) {
@@ -47,6 +47,17 @@ public class SQLServerJdbcExecutor extends BaseJdbcExecutor {
         }
     }
 
+    @Override
+    protected boolean supportsBlockTransaction() {
+        return true;
+    }
+
+    @Override
+    protected int getMaxInsertParameters() {
+        // SQLServer allows 2100 parameters of a request, leave some for the driver
+        return 2000;
+    }
+
     @Override
     protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
             VectorTable outputTable) {
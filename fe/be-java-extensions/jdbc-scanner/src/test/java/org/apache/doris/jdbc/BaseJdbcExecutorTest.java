@@ -0,0 +1,53 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.jdbc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BaseJdbcExecutorTest {
+
+    @Test
+    public void testGetMultiRowInsertSql() {
+        String sql = "INSERT INTO `db`.`t`(`k1`,`k2`,`v1`) VALUES (?, ?, ?)";
+        Assertions.assertEquals("INSERT INTO `db`.`t`(`k1`,`k2`,`v1`) VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?)",
+                BaseJdbcExecutor.getMultiRowInsertSql(sql, 3, 3));
+        Assertions.assertEquals(sql, BaseJdbcExecutor.getMultiRowInsertSql(sql, 3, 1));
+        // the keyword is matched in any case, and the spaces around the row are allowed
+        Assertions.assertEquals("insert into t values(?,?), (?,?)",
+                BaseJdbcExecutor.getMultiRowInsertSql("insert into t values(?,?)  ", 2, 2));
+        Assertions.assertEquals("INSERT INTO \"Stra\u00dfe\" Values ( ? ), ( ? )",
+                BaseJdbcExecutor.getMultiRowInsertSql("INSERT INTO \"Stra\u00dfe\" Values ( ? )", 1, 2));
+    }
+
+    @Test
+    public void testNotInsertRow() {
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex(null, 1));
+        // the number of the parameters doesn't match the columns
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t VALUES (?, ?)", 3));
+        // not all of the values are parameters
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t VALUES (?, 1)", 2));
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t VALUES (?), (?)", 1));
+        Assertions.assertEquals(-1,
+                BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t VALUES (?) ON CONFLICT DO NOTHING", 1));
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t SELECT ?", 1));
+        Assertions.assertEquals(-1, BaseJdbcExecutor.getInsertRowIndex("INSERT INTO t_values(?)", 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BaseJdbcExecutor.getMultiRowInsertSql("INSERT INTO t VALUES (?, 1)", 2, 2));
+    }
+}
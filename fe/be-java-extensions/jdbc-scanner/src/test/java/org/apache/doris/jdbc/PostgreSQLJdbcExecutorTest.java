@@ -0,0 +1,72 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.jdbc;
+
+import org.apache.doris.common.jni.utils.OffHeap;
+import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.VectorTable;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class PostgreSQLJdbcExecutorTest {
+
+    @BeforeAll
+    public static void setUp() {
+        OffHeap.setTesting();
+    }
+
+    @Test
+    public void testToCsv() {
+        ColumnType[] types = new ColumnType[] {ColumnType.parseType("b", "boolean"),
+                ColumnType.parseType("i", "int"), ColumnType.parseType("s", "string"),
+                ColumnType.parseType("d", "datev2"), ColumnType.parseType("dt", "datetimev2(6)")};
+        String[] fields = new String[] {"b", "i", "s", "d", "dt"};
+        VectorTable table = VectorTable.createWritableTable(types, fields, 3);
+        table.getColumn(0).appendBoolean(true);
+        table.getColumn(1).appendInt(1);
+        table.getColumn(2).appendStringAndOffset("a,b\nc");
+        table.getColumn(3).appendDate(LocalDate.of(2024, 1, 2));
+        table.getColumn(4).appendDateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456000));
+
+        table.getColumn(0).appendBoolean(false);
+        table.getColumn(1).appendNull(ColumnType.Type.INT);
+        table.getColumn(2).appendStringAndOffset("say \"hi\"");
+        table.getColumn(3).appendNull(ColumnType.Type.DATEV2);
+        table.getColumn(4).appendDateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        table.getColumn(0).appendNull(ColumnType.Type.BOOLEAN);
+        table.getColumn(1).appendInt(-3);
+        table.getColumn(2).appendStringAndOffset("");
+        table.getColumn(3).appendDate(LocalDate.of(2024, 12, 31));
+        table.getColumn(4).appendNull(ColumnType.Type.DATETIMEV2);
+
+        VectorTable readable = VectorTable.createReadableTable(types, fields, table.getMetaAddress());
+        // the null values are unquoted empty values, and the strings are always quoted
+        // so that an empty string is not read as null
+        Assertions.assertEquals("true,1,\"a,b\nc\",2024-01-02,2024-01-02 03:04:05.123456\n"
+                        + "false,,\"say \"\"hi\"\"\",,2024-01-02 03:04:05.0\n"
+                        + ",-3,\"\",2024-12-31,\n",
+                PostgreSQLJdbcExecutor.toCsv(readable));
+        table.close();
+    }
+}
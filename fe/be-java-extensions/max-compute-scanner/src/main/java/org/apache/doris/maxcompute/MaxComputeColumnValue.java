@@ -18,8 +18,10 @@
 package org.apache.doris.maxcompute;
 
 import org.apache.doris.common.jni.vec.ColumnValue;
+import org.apache.doris.common.jni.vec.VectorColumn;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.DateDayVector;
@@ -60,6 +62,9 @@ public class MaxComputeColumnValue implements ColumnValue {
     private int idx;
     private ValueVector column;
     private ZoneId timeZone;
+    // reused by appendBatch()
+    private boolean[] nulls = new boolean[0];
+    private boolean[] booleans = new boolean[0];
 
     public MaxComputeColumnValue() {
         idx = 0;
@@ -325,6 +330,76 @@ public class MaxComputeColumnValue implements ColumnValue {
         }
     }
 
+    @Override
+    public boolean appendBatch(VectorColumn vectorColumn, int start, int end) {
+        boolean matched;
+        switch (vectorColumn.getColumnPrimitiveType()) {
+            case BOOLEAN:
+                if (!(column instanceof BitVector)) {
+                    return false;
+                }
+                appendBooleans(vectorColumn, start, end);
+                return true;
+            case TINYINT:
+                matched = column instanceof TinyIntVector;
+                break;
+            case SMALLINT:
+                matched = column instanceof SmallIntVector;
+                break;
+            case INT:
+                matched = column instanceof IntVector;
+                break;
+            case BIGINT:
+                matched = column instanceof BigIntVector;
+                break;
+            case FLOAT:
+                matched = column instanceof Float4Vector;
+                break;
+            case DOUBLE:
+                matched = column instanceof Float8Vector;
+                break;
+            default:
+                return false;
+        }
+        if (!matched) {
+            return false;
+        }
+        // the data buffer of the arrow vector has the same layout as the vector column, copy it directly
+        BaseFixedWidthVector fixedWidthCol = (BaseFixedWidthVector) column;
+        long address = fixedWidthCol.getDataBuffer().memoryAddress() + (long) start * fixedWidthCol.getTypeWidth();
+        vectorColumn.appendFixedLengthValues(address, getNulls(start, end), end - start);
+        return true;
+    }
+
+    // the bits of the arrow bit vector are unpacked to bytes
+    private void appendBooleans(VectorColumn vectorColumn, int start, int end) {
+        BitVector bitCol = (BitVector) column;
+        boolean[] batchNulls = getNulls(start, end);
+        int rows = end - start;
+        if (booleans.length < rows) {
+            booleans = new boolean[rows];
+        }
+        for (int i = 0; i < rows; ++i) {
+            booleans[i] = (batchNulls == null || !batchNulls[i]) && bitCol.get(start + i) != 0;
+        }
+        vectorColumn.appendBooleanValues(booleans, batchNulls, rows);
+    }
+
+    // return null if there is no null
+    private boolean[] getNulls(int start, int end) {
+        if (column.getNullCount() == 0) {
+            return null;
+        }
+        int rows = end - start;
+        if (nulls.length < rows) {
+            nulls = new boolean[rows];
+        }
+        for (int i = 0; i < rows; ++i) {
+            nulls[i] = column.isNull(start + i);
+        }
+        return nulls;
+    }
+
     public LocalDateTime convertToLocalDateTime(TimeStampMilliTZVector milliTZVector, int index) {
         long timestampMillis = milliTZVector.get(index);
         return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), timeZone);
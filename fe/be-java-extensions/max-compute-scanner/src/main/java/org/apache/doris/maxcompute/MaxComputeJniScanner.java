@@ -270,6 +270,9 @@ public class MaxComputeJniScanner extends JniScanner {
                         continue;
                     }
                     columnValue.reset(column);
+                    if (appendBatch(readColumnId, columnValue, 0, batchRows)) {
+                        continue;
+                    }
                     for (int j = 0; j < batchRows; j++) {
                         columnValue.setColumnIdx(j);
                         appendData(readColumnId, columnValue);
@@ -19,6 +19,7 @@ package org.apache.doris.trinoconnector;
 
 import org.apache.doris.common.jni.vec.ColumnType;
 import org.apache.doris.common.jni.vec.ColumnValue;
+import org.apache.doris.common.jni.vec.VectorColumn;
 
 import io.trino.spi.block.ArrayBlock;
 import io.trino.spi.block.Block;
@@ -41,6 +42,8 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -52,6 +55,9 @@ public class TrinoConnectorColumnValue implements ColumnValue {
     ColumnType dorisType;
     Type trinoType;
     ConnectorSession connectorSession;
+    // reused by appendBatch()
+    private ByteBuffer values = ByteBuffer.allocate(0).order(ByteOrder.nativeOrder());
+    private boolean[] nulls = new boolean[0];
 
     public TrinoConnectorColumnValue() {
     }
@@ -178,6 +184,57 @@ public class TrinoConnectorColumnValue implements ColumnValue {
         return block.getSlice(position, 0, block.getSliceLength(position)).getBytes();
     }
 
+    // the values of the primitive types are collected in the buffer, and appended to the column at once
+    @Override
+    public boolean appendBatch(VectorColumn column, int start, int end) {
+        ColumnType.Type type = dorisType.getType();
+        if (!dorisType.isPrimitive() || type == ColumnType.Type.BYTE) {
+            return false;
+        }
+        int rows = end - start;
+        int length = rows * dorisType.getTypeSize();
+        if (values.capacity() < length) {
+            values = ByteBuffer.allocate(length).order(ByteOrder.nativeOrder());
+        }
+        values.clear();
+        if (nulls.length < rows) {
+            nulls = new boolean[rows];
+        }
+        boolean hasNull = false;
+        for (int i = start; i < end; ++i) {
+            position = i;
+            boolean isNull = block.isNull(i);
+            nulls[i - start] = isNull;
+            hasNull |= isNull;
+            switch (type) {
+                case BOOLEAN:
+                    values.put(!isNull && getBoolean() ? (byte) 1 : (byte) 0);
+                    break;
+                case TINYINT:
+                    values.put(isNull ? 0 : getByte());
+                    break;
+                case SMALLINT:
+                    values.putShort(isNull ? 0 : getShort());
+                    break;
+                case INT:
+                    values.putInt(isNull ? 0 : getInt());
+                    break;
+                case BIGINT:
+                    values.putLong(isNull ? 0 : getLong());
+                    break;
+                case FLOAT:
+                    values.putFloat(isNull ? 0 : getFloat());
+                    break;
+                default:
+                    values.putDouble(isNull ? 0 : getDouble());
+                    break;
+            }
+        }
+        values.flip();
+        column.appendFixedLengthValues(values, hasNull ? nulls : null, rows);
+        return true;
+    }
+
     // block is ArrayBlock
     @Override
     public void unpackArray(List<ColumnValue> values) {
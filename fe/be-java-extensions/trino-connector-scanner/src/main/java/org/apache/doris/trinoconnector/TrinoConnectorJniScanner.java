@@ -213,9 +213,11 @@ public class TrinoConnectorJniScanner extends JniScanner {
                     columnValue.setColumnType(types[i]);
                     columnValue.setTrinoType(trinoTypeList.get(i));
                     columnValue.setConnectorSession(session.toConnectorSession(catalogHandle));
-                    for (int j = 0; j < page.getPositionCount(); ++j) {
-                        columnValue.setPosition(j);
-                        appendData(i, columnValue);
+                    if (!appendBatch(i, columnValue, 0, page.getPositionCount())) {
+                        for (int j = 0; j < page.getPositionCount(); ++j) {
+                            columnValue.setPosition(j);
+                            appendData(i, columnValue);
+                        }
                     }
                     appendDataTimeNs[i] += System.nanoTime() - startTime;
                 }
@@ -168,6 +168,11 @@ public class Config extends ConfigBase {
             "Force SQLServer Jdbc Catalog encrypt to false"})
     public static boolean force_sqlserver_jdbc_encrypt_false = false;
 
+    @ConfField(description = {"Jdbc Catalog 切分扫描时使用的主键和主键范围的缓存过期时间，单位为秒",
+            "The expire time in seconds of the cached primary keys and key ranges of the remote tables, "
+                    + "which are used to split the scan of Jdbc Catalog tables"})
+    public static long jdbc_scan_split_cache_expire_sec = 600;
+
     @ConfField(mutable = true, masterOnly = true, description = {"broker load 时，单个节点上 load 执行计划的默认并行度",
             "The default parallelism of the load execution plan on a single node when the broker load is submitted"})
     public static int default_load_parallelism = 8;
@@ -227,6 +232,14 @@ public class Config extends ConfigBase {
             "批量 BDBJE 日志包含的最大长度", "The max size for batching BDBJE"})
     public static long batch_edit_log_max_byte_size = 640 * 1024L;
 
+    @ConfField(masterOnly = true, description = {
+            "是否开启元数据日志的组提交。开启后并发写入的日志会合并为一个 BDBJE 事务提交，"
+                    + "单批的大小受 batch_edit_log_max_item_num 和 batch_edit_log_max_byte_size 限制",
+            "Whether to enable group commit of edit logs. If enabled, the concurrently written edit logs are "
+                    + "committed in one BDBJE transaction, and the batch is limited by batch_edit_log_max_item_num "
+                    + "and batch_edit_log_max_byte_size"})
+    public static boolean enable_edit_log_group_commit = false;
+
     @ConfField(mutable = true, masterOnly = true, description = {
             "连续写多批 BDBJE 日志后的停顿时间", "The sleep time after writting multiple batching BDBJE continuously"})
     public static long batch_edit_log_rest_time_ms = 10;
@@ -429,6 +442,13 @@ public class Config extends ConfigBase {
             "Whether to enable TCP Keep-Alive for MySQL connections, disabled by default"})
     public static boolean mysql_nio_enable_keep_alive = false;
 
+    @ConfField(description = {"MySQL 连接共享的网络缓冲池中空闲缓冲区的最大总大小，单位是 MB。"
+            + "连接只在执行语句时从池中借用缓冲区，空闲时归还。0 表示不缓存空闲缓冲区。",
+            "The max total size of the idle buffers in the network buffer pool shared by MySQL connections, in MB. "
+                    + "A connection borrows buffers from the pool only when executing statements "
+                    + "and returns them when idle. 0 means the idle buffers are not cached."})
+    public static long mysql_buffer_pool_capacity_mb = 256;
+
     @ConfField(description = {"thrift client 的连接超时时间，单位是毫秒。0 表示不设置超时时间。",
             "The connection timeout of thrift client, in milliseconds. 0 means no timeout."})
     public static int thrift_client_timeout_ms = 0;
@@ -532,6 +552,18 @@ public class Config extends ConfigBase {
             "The interval of publish task trigger thread, in milliseconds"})
     public static int publish_version_interval_ms = 10;
 
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "是否在事务提交和 publish 任务完成时立即触发 publish 线程，而不是等待下一个执行间隔。",
+            "Whether to trigger the publish thread immediately when a transaction is committed "
+                    + "or a publish task is finished, instead of waiting for the next interval."})
+    public static boolean enable_publish_version_event_trigger = true;
+
+    @ConfField(masterOnly = true, description = {
+            "并行完成不同 DB 的 publish 事务的线程数。小于等于 1 时串行完成。",
+            "The number of threads to finish the published transactions of different databases in parallel. "
+                    + "The transactions are finished serially if it is not larger than 1."})
+    public static int publish_version_finish_thread_num = 8;
+
     @ConfField(description = {"thrift server 的最大 worker 线程数", "The max worker threads of thrift server"})
     public static int thrift_server_max_worker_threads = 4096;
 
@@ -602,6 +634,27 @@ public class Config extends ConfigBase {
             "Whether to enable memtable on sink node by default in stream load"})
     public static boolean stream_load_default_memtable_on_sink_node = false;
 
+    @ConfField(
+            mutable = true,
+            callbackClassString = "org.apache.doris.common.cache.StreamLoadPlanCacheManager$UpdateConfig",
+            description = {
+                "缓存的 Stream load 计划的数量，设置为 0 则不缓存。",
+                "The number of stream load plans cached by StreamLoadPlanCacheManager, 0 means disable the cache."
+            }
+    )
+    public static int stream_load_plan_cache_num = 1000;
+
+    @ConfField(
+            mutable = true,
+            callbackClassString = "org.apache.doris.common.cache.StreamLoadPlanCacheManager$UpdateConfig",
+            description = {
+                "Stream load 计划缓存写入多长时间后失效，单位秒。失效后重新生成计划，以使用最新的副本分布。",
+                "The stream load plan cache expires after it is written for this time, in seconds. "
+                        + "The expired load is planned again to use the latest replicas of the tablets"
+            }
+    )
+    public static int expire_stream_load_plan_cache_second = 30;
+
     @ConfField(mutable = true, masterOnly = true, description = {"Load 的最大超时时间，单位是秒。",
             "Maximal timeout for load job, in seconds."})
     public static int max_load_timeout_second = 259200; // 3days
@@ -1745,6 +1798,12 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static boolean use_compact_thrift_rpc = true;
 
+    @ConfField(mutable = true, description = {"是否只序列化一次各个 BE 的 fragment 参数中共享的结构，如 descriptor table，"
+            + "然后复用序列化后的字节",
+            "Whether to serialize the structs shared by the fragment params of all backends only once, "
+                    + "such as the descriptor table, and reuse the serialized bytes"})
+    public static boolean enable_share_fragment_thrift_structs = true;
+
     /*
      * If set to true, the tablet scheduler will not work, so that all tablet repair/balance task will not work.
      */
@@ -1955,6 +2014,38 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long query_queue_update_interval_ms = 5000;
 
+    @ConfField(mutable = true, description = {
+            "是否让 workload group 的 max_concurrency 在整个集群生效。开启后各个 FE 定期从 Master FE 租借并发额度，"
+                    + "所有 FE 上正在运行的查询总数不超过 max_concurrency。",
+            "Whether the max_concurrency of a workload group is enforced across the cluster. If enabled, every FE "
+                    + "leases the concurrency from the master FE periodically, so the queries running on all FEs "
+                    + "do not exceed max_concurrency in total."})
+    public static boolean enable_cluster_query_queue = false;
+
+    @ConfField(mutable = true, description = {"FE 向 Master FE 同步查询队列并发租约的间隔，单位为毫秒。",
+            "The interval in milliseconds for an FE to sync the concurrency leases of the query queues "
+                    + "with the master FE."})
+    public static long query_queue_lease_sync_interval_ms = 200;
+
+    @ConfField(mutable = true, description = {"FE 在持有的并发租约之外额外申请的并发数，用于减少突发查询的排队。"
+            + "其他 FE 有排队查询时不会额外申请。",
+            "The number of spare concurrency an FE leases beyond the queries it is running and queuing, which "
+                    + "admits bursts without waiting for the next sync. No spare is leased when the queries "
+                    + "on other FEs are queuing."})
+    public static int query_queue_lease_spare = 1;
+
+    @ConfField(mutable = true, description = {"Master FE 在该时间内未收到某个 FE 的同步时回收其并发租约，单位为毫秒。",
+            "The master FE reclaims the concurrency leased to an FE if the FE does not sync within this time "
+                    + "in milliseconds."})
+    public static long query_queue_lease_timeout_ms = 5000;
+
+    @ConfField(mutable = true, description = {"查询队列中因超出 workload group 的 queue_memory_budget 或 queue_scan_budget "
+            + "而等待的查询，最多被后到的较轻查询越过的次数，超过后按顺序等待，避免大查询饿死。",
+            "The max times a query waiting for the queue_memory_budget or queue_scan_budget of its workload group "
+                    + "can be bypassed by the lighter queries arriving later, after which the queries are admitted "
+                    + "in order, so the heavy queries are not starved."})
+    public static int query_queue_max_bypass_times = 100;
+
     @ConfField(mutable = true, varType = VariableAnnotation.EXPERIMENTAL)
     public static boolean enable_cpu_hard_limit = false;
 
@@ -2223,6 +2314,29 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static long max_external_file_cache_num = 10000;
 
+    @ConfField(description = {"外表文件缓存的最大内存，单位 MB。大于 0 时，文件缓存按缓存内容的估算大小淘汰，"
+            + "而不是按 max_external_file_cache_num 限制的条目数淘汰。默认为 0，即按条目数淘汰。",
+            "The max memory of the file cache of external catalogs, in MB. If it is larger than 0, the file cache "
+                    + "is bounded by the estimated size of the cached files instead of "
+                    + "the number of entries limited by max_external_file_cache_num. "
+                    + "The default 0 keeps the cache bounded by the number of entries."})
+    public static long max_external_file_cache_memory_mb = 0;
+
+    @ConfField(description = {"是否将外表的文件列表缓存持久化到本地磁盘，使 FE 重启后不需要重新列举文件。"
+            + "目前只支持 Hive 分区表的文件缓存，缓存会根据分区的最后修改时间校验是否过期。",
+            "Whether to persist the file cache of external catalogs to local disk, so that the files do not need "
+                    + "to be listed again after FE restarts. Only the file cache of partitioned hive tables is "
+                    + "supported now, and the cached files are validated by the last modified time of the partition."})
+    public static boolean enable_external_meta_cache_disk_tier = false;
+
+    @ConfField(description = {"外表元数据磁盘缓存的目录，为空时使用 ${meta_dir}/external_meta_cache。",
+            "The dir of the disk tier of external meta cache. If it is empty, ${meta_dir}/external_meta_cache is used."})
+    public static String external_meta_cache_disk_tier_dir = "";
+
+    @ConfField(description = {"每个 catalog 的外表元数据磁盘缓存的最大大小，单位 MB。",
+            "The max size of the disk tier of external meta cache for each catalog, in MB."})
+    public static long external_meta_cache_disk_tier_capacity_mb = 10240;
+
     /**
      * Max cache num of external table's schema
      * Decrease this value if FE's memory is small
@@ -2318,6 +2432,27 @@ public class Config extends ConfigBase {
     )
     public static int sql_cache_manage_num = 100;
 
+    @ConfField(
+            mutable = true,
+            callbackClassString = "org.apache.doris.common.cache.NereidsPlanCacheManager$UpdateConfig",
+            description = {
+                "用来控制NereidsPlanCacheManager缓存的物理计划数量。",
+                "This config is used to control the number of physical plans cached by NereidsPlanCacheManager"
+            }
+    )
+    public static int plan_cache_manage_num = 1000;
+
+    @ConfField(
+            mutable = true,
+            callbackClassString = "org.apache.doris.common.cache.NereidsPlanCacheManager$UpdateConfig",
+            description = {
+                "物理计划缓存写入多长时间后失效，单位秒。失效后重新优化，以使用最新的统计信息。",
+                "The physical plan cache expires after it is written for this time, in seconds. "
+                        + "The expired query is optimized again to use the latest statistics"
+            }
+    )
+    public static int expire_plan_cache_in_fe_second = 300;
+
     @ConfField(
             mutable = true,
             callbackClassString = "org.apache.doris.common.cache.NereidsSortedPartitionsCacheManager$UpdateConfig",
@@ -2504,6 +2639,16 @@ public class Config extends ConfigBase {
     @ConfField
     public static long stats_cache_size = 50_0000;
 
+    @ConfField(description = {"基数反馈缓存的最大条目数，每个条目是一张 OLAP 表上一组谓词的实际选择率。",
+            "The max entries of the cardinality feedback cache, each entry is the actual selectivity of "
+                    + "the predicates on an OLAP table."})
+    public static long cardinality_feedback_cache_size = 10000;
+
+    @ConfField(mutable = true, description = {"基数反馈的过期时间，单位为秒，过期后重新使用统计信息估算。",
+            "The expiration of the cardinality feedback in seconds, the row counts are estimated by the "
+                    + "statistics again after it expires."})
+    public static long cardinality_feedback_expire_seconds = 3600;
+
     /**
      * This config used for ranger cache data mask/row policy
      */
@@ -2915,6 +3060,11 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean fix_tablet_partition_id_eq_0 = false;
 
+    @ConfField(description = {"TabletInvertedIndex 按 tablet id 分成的段数，每段有独立的锁，会向上取整到 2 的幂",
+            "The number of stripes of TabletInvertedIndex split by tablet id, each stripe has its own lock. "
+                    + "It is rounded up to a power of 2"})
+    public static int tablet_inverted_index_stripe_num = 64;
+
     @ConfField(mutable = true, masterOnly = true, description = {
             "倒排索引默认存储格式",
             "Default storage format of inverted index, the default value is V1."
@@ -2972,6 +3122,35 @@ public class Config extends ConfigBase {
             "The threshold to do manual GC when doing checkpoint but not enough memory"})
     public static int checkpoint_manual_gc_threshold = 0;
 
+    @ConfField(description = {
+            "加载 image 时用于并发加载元数据模块的线程数，小于等于 1 表示按顺序逐个加载。"
+                    + "默认按顺序加载，大于 1 时与目录、事务等模块无关的模块会并发加载，可以缩短大 image 的加载时间",
+            "The number of threads to load the independent meta modules of an image concurrently. "
+                    + "Modules are loaded one by one if it is not greater than 1, which is the default. "
+                    + "If it's greater than 1, the modules independent of the catalog and transaction modules are "
+                    + "loaded concurrently, which may shorten the loading of a large image."})
+    public static int meta_image_load_thread_num = 1;
+
+    @ConfField(description = {
+            "回放 editlog 时用于并发回放不同数据库的事务和副本日志的线程数，小于等于 1 表示逐条回放",
+            "The number of threads to replay the transaction and replica edit logs of different databases "
+                    + "concurrently. Edit logs are replayed one by one if it is not greater than 1."})
+    public static int journal_replay_thread_num = 1;
+
+    @ConfField(mutable = true, description = {
+            "生成 image 时用于并发写出元数据模块的线程数，小于等于 1 表示按顺序逐个写出。"
+                    + "并发写出时各模块先写到 image 目录下的临时文件，再按顺序拼接到 image 中",
+            "The number of threads to save the meta modules of an image concurrently. Modules are saved one by one "
+                    + "if it is not greater than 1. When saved concurrently, each module is written to a temporary "
+                    + "file in the image dir and then appended to the image in order."})
+    public static int meta_image_save_thread_num = 1;
+
+    @ConfField(mutable = true, description = {
+            "生成 image 时使用 gzip 压缩的元数据模块，例如 db,transactionState。压缩后的 image 无法被旧版本 FE 读取",
+            "The meta modules compressed with gzip when saving an image, e.g. db,transactionState. "
+                    + "An image with compressed modules can not be read by FE of older versions."})
+    public static String[] meta_image_compressed_modules = {};
+
     @ConfField(mutable = true, description = {
             "是否在每个请求开始之前打印一遍请求内容, 主要是query语句",
             "Should the request content be logged before each request starts, specifically the query statements"})
@@ -3261,6 +3440,43 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int audit_event_log_queue_size = 250000;
 
+    @ConfField(description = {"等待分发给审计插件的审计事件队列的容量，队列满时新的审计事件最多等待 "
+            + "audit_event_queue_offer_timeout_ms，仍然满则被丢弃，并计入 audit_event_dropped 监控项。",
+            "The capacity of the queue of the audit events waiting to be dispatched to the audit plugins. "
+                    + "If the queue is full, a new audit event waits up to audit_event_queue_offer_timeout_ms, "
+                    + "then it's dropped and counted in the audit_event_dropped metric."})
+    public static int audit_event_queue_capacity = 10000;
+
+    @ConfField(mutable = true, description = {"审计事件队列（包括内置审计日志导入的队列）满时，新的审计事件等待入队的"
+            + "最长时间，单位毫秒，超时后审计事件被丢弃。",
+            "The max time in milliseconds a new audit event waits for room when the audit event queue, "
+                    + "or the queue of the builtin audit loader, is full. The event is dropped after that."})
+    public static long audit_event_queue_offer_timeout_ms = 100;
+
+    @ConfField(mutable = true, description = {"内置审计日志导入使用的 group commit 模式，为空时使用普通的 stream load。",
+            "The group commit mode of the loads of the builtin audit loader, the normal stream load is used if empty."},
+            options = {"", "async_mode", "sync_mode"})
+    public static String audit_loader_group_commit_mode = "async_mode";
+
+    @ConfField(description = {"内置审计日志导入失败时，审计日志批次的本地暂存目录，为空时使用 audit_log_dir/audit_spill。",
+            "The local directory to spill the audit batches which failed to load by the builtin audit loader, "
+                    + "audit_log_dir/audit_spill is used if empty."})
+    public static String audit_loader_spill_dir = "";
+
+    @ConfField(mutable = true, description = {"内置审计日志导入暂存到本地的审计日志批次的最大总大小，包括以 .failed 后缀保留的"
+            + "批次。超过时先删除最早的 .failed 文件，仍然超过的批次会被丢弃。",
+            "The max total size of the audit batches spilled to the local directory by the builtin audit loader, "
+                    + "including the ones kept with the suffix .failed. When it's exceeded, the oldest .failed "
+                    + "files are deleted first, and the batches still exceeding it are dropped."})
+    public static long audit_loader_max_spill_bytes = 1024L * 1024 * 1024;
+
+    @ConfField(mutable = true, description = {"内置审计日志导入暂存到本地的审计日志批次被 BE 拒绝的最大次数，"
+            + "超过后该批次不再重试，文件以 .failed 后缀保留。",
+            "The max times a spilled audit batch can be rejected by the backend when it's replayed by the builtin "
+                    + "audit loader. After that it's not replayed any more, and the file is kept with the suffix "
+                    + ".failed."})
+    public static int audit_loader_max_replay_attempts = 3;
+
     @ConfField(description = {"存算分离模式下streamload导入使用的转发策略, 可选值为public-private或者空",
             "streamload route policy in cloud mode, availale options are public-private and empty string"})
     public static String streamload_redirect_policy = "";
@@ -3334,6 +3550,15 @@ public class Config extends ConfigBase {
             "Maximum lock hold time; logs a warning if exceeded"})
     public static long max_lock_hold_threshold_seconds = 10;
 
+    @ConfField(mutable = true, description = {"规划查询时，如果表的写锁没有被持有，且等待写锁的时间不超过该值，"
+            + "就跳过等待的写锁直接获取表的读锁，而不是在公平锁中排在它们之后。写锁因此最多多等待该时间。"
+            + "写锁被持有时仍需等待。单位毫秒，0 表示不跳过。",
+            "When planning a query, get the read lock of a table without queueing behind the writers waiting in "
+                    + "the fair lock, if the write lock is not held and the writers have been waiting for no "
+                    + "longer than this. So the writers are delayed by at most this long. It still waits if the "
+                    + "write lock is held. In milliseconds, 0 means never skipping the writers."})
+    public static long plan_read_lock_skip_waiting_writers_ms = 0;
+
     @ConfField(mutable = true, description = {"元数据同步是否开启安全模式",
         "Is metadata synchronization enabled in safe mode"})
     public static boolean meta_helper_security_mode = false;
@@ -3377,6 +3602,11 @@ public class Config extends ConfigBase {
                     + "(for example CreateRepositoryStmt, CreatePolicyCommand), separated by commas."})
     public static String block_sql_ast_names = "";
 
+    @ConfField(description = {"结果预取线程池的线程数，仅在会话变量 result_prefetch_batch_num 大于 0 时使用",
+            "Num of threads used to prefetch query results from BE, only used when session variable"
+                    + " result_prefetch_batch_num is greater than 0"})
+    public static int result_prefetch_thread_num = 64;
+
     public static long meta_service_rpc_reconnect_interval_ms = 5000;
 
     public static long meta_service_rpc_retry_cnt = 10;
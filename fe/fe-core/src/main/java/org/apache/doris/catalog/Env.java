@@ -110,8 +110,10 @@ import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.cache.NereidsPlanCacheManager;
 import org.apache.doris.common.cache.NereidsSortedPartitionsCacheManager;
 import org.apache.doris.common.cache.NereidsSqlCacheManager;
+import org.apache.doris.common.cache.StreamLoadPlanCacheManager;
 import org.apache.doris.common.io.CountingDataOutputStream;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.lock.MonitoredReentrantLock;
@@ -218,6 +220,7 @@ import org.apache.doris.persist.ModifyPartitionInfo;
 import org.apache.doris.persist.ModifyTableDefaultDistributionBucketNumOperationLog;
 import org.apache.doris.persist.ModifyTablePropertyOperationLog;
 import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ParallelJournalReplayer;
 import org.apache.doris.persist.PartitionPersistInfo;
 import org.apache.doris.persist.RecoverInfo;
 import org.apache.doris.persist.RefreshExternalTableInfo;
@@ -234,6 +237,7 @@ import org.apache.doris.persist.TablePropertyInfo;
 import org.apache.doris.persist.TableRenameColumnInfo;
 import org.apache.doris.persist.TruncateTableInfo;
 import org.apache.doris.persist.meta.MetaHeader;
+import org.apache.doris.persist.meta.MetaModuleExecutor;
 import org.apache.doris.persist.meta.MetaReader;
 import org.apache.doris.persist.meta.MetaWriter;
 import org.apache.doris.planner.TabletLoadIndexRecorderMgr;
@@ -253,6 +257,7 @@ import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.resource.AdmissionControl;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.resource.workloadgroup.CreateInternalWorkloadGroupThread;
+import org.apache.doris.resource.workloadgroup.QueryQueueLeaseMgr;
 import org.apache.doris.resource.workloadgroup.WorkloadGroupMgr;
 import org.apache.doris.resource.workloadschedpolicy.WorkloadRuntimeStatusMgr;
 import org.apache.doris.resource.workloadschedpolicy.WorkloadSchedPolicyMgr;
@@ -431,6 +436,8 @@ public class Env {
     protected FrontendNodeType feType;
     // replica and observer use this value to decide provide read service or not
     private long synchronizedTimeMs;
+    private volatile long replayLagJournalNum = 0;
+    private volatile long replayJournalRate = 0;
     private MasterInfo masterInfo;
 
     private MetaIdGenerator idGenerator = new MetaIdGenerator(NEXT_ID_INIT_VALUE);
@@ -526,6 +533,7 @@ public class Env {
     private AtomicLong stmtIdCounter;
 
     private WorkloadGroupMgr workloadGroupMgr;
+    private QueryQueueLeaseMgr queryQueueLeaseMgr;
 
     private WorkloadSchedPolicyMgr workloadSchedPolicyMgr;
 
@@ -570,6 +578,8 @@ public class Env {
     private final NereidsSqlCacheManager sqlCacheManager;
 
     private final NereidsSortedPartitionsCacheManager sortedPartitionsCacheManager;
+    private final NereidsPlanCacheManager planCacheManager;
+    private final StreamLoadPlanCacheManager streamLoadPlanCacheManager;
 
     private final SplitSourceManager splitSourceManager;
 
@@ -805,6 +815,7 @@ public class Env {
         this.statisticsJobAppender = new StatisticsJobAppender();
         this.globalFunctionMgr = new GlobalFunctionMgr();
         this.workloadGroupMgr = new WorkloadGroupMgr();
+        this.queryQueueLeaseMgr = new QueryQueueLeaseMgr();
         this.workloadSchedPolicyMgr = new WorkloadSchedPolicyMgr();
         this.workloadRuntimeStatusMgr = new WorkloadRuntimeStatusMgr();
         this.admissionControl = new AdmissionControl(systemInfo);
@@ -824,6 +835,8 @@ public class Env {
         this.dnsCache = new DNSCache();
         this.sqlCacheManager = new NereidsSqlCacheManager();
         this.sortedPartitionsCacheManager = new NereidsSortedPartitionsCacheManager();
+        this.planCacheManager = new NereidsPlanCacheManager();
+        this.streamLoadPlanCacheManager = new StreamLoadPlanCacheManager();
         this.splitSourceManager = new SplitSourceManager();
         this.globalExternalTransactionInfoMgr = new GlobalExternalTransactionInfoMgr();
         this.tokenManager = new TokenManager();
@@ -906,6 +919,10 @@ public class Env {
         return tabletScheduler;
     }
 
+    public PublishVersionDaemon getPublishVersionDaemon() {
+        return publishVersionDaemon;
+    }
+
     public TabletChecker getTabletChecker() {
         return tabletChecker;
     }
@@ -918,6 +935,10 @@ public class Env {
         return workloadGroupMgr;
     }
 
+    public QueryQueueLeaseMgr getQueryQueueLeaseMgr() {
+        return queryQueueLeaseMgr;
+    }
+
     public WorkloadSchedPolicyMgr getWorkloadSchedPolicyMgr() {
         return workloadSchedPolicyMgr;
     }
@@ -974,7 +995,7 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        return Thread.currentThread().getId() == checkpointThreadId || MetaModuleExecutor.isCheckpointWorker();
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1909,6 +1930,7 @@ public class Env {
         dnsCache.start();
 
         workloadGroupMgr.start();
+        queryQueueLeaseMgr.start();
         workloadSchedPolicyMgr.start();
         workloadRuntimeStatusMgr.start();
         admissionControl.start();
@@ -2978,54 +3000,60 @@ public class Env {
         }
 
         long startTime = System.currentTimeMillis();
+        long startJournalId = replayedJournalId.get();
+        replayLagJournalNum = newToJournalId - startJournalId;
         boolean hasLog = false;
-        while (true) {
-            long entityStartTime = System.currentTimeMillis();
-            Pair<Long, JournalEntity> kv = cursor.next();
-            if (kv == null) {
-                break;
-            }
-            Long logId = kv.first;
-            JournalEntity entity = kv.second;
-            if (entity == null) {
-                if (logId != null && forceSkipJournalIds.contains(String.valueOf(logId))) {
-                    replayedJournalId.incrementAndGet();
-                    String msg = "journal " + replayedJournalId + " has skipped by config force_skip_journal_id";
-                    LOG.info(msg);
-                    LogUtils.stdout(msg);
-                    if (MetricRepo.isInit) {
-                        // Metric repo may not init after this replay thread start
-                        MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
+        try (ParallelJournalReplayer parallelReplayer =
+                new ParallelJournalReplayer(this, Config.journal_replay_thread_num)) {
+            while (true) {
+                long entityStartTime = System.currentTimeMillis();
+                Pair<Long, JournalEntity> kv = cursor.next();
+                if (kv == null) {
+                    break;
+                }
+                Long logId = kv.first;
+                JournalEntity entity = kv.second;
+                if (entity == null) {
+                    onJournalsReplayed(parallelReplayer.flush(), newToJournalId);
+                    if (logId != null && forceSkipJournalIds.contains(String.valueOf(logId))) {
+                        onJournalsReplayed(1, newToJournalId);
+                        String msg = "journal " + replayedJournalId + " has skipped by config force_skip_journal_id";
+                        LOG.info(msg);
+                        LogUtils.stdout(msg);
+                        continue;
+                    } else {
+                        break;
+                    }
+                }
+                hasLog = true;
+                if (parallelReplayer.add(logId, entity)) {
+                    if (parallelReplayer.isFull()) {
+                        onJournalsReplayed(parallelReplayer.flush(), newToJournalId);
                     }
                     continue;
-                } else {
-                    break;
+                }
+                // the journals buffered before must be replayed first
+                onJournalsReplayed(parallelReplayer.flush(), newToJournalId);
+                entityStartTime = System.currentTimeMillis();
+                EditLog.loadJournal(this, logId, entity);
+                long loadJournalEndTime = System.currentTimeMillis();
+                onJournalsReplayed(1, newToJournalId);
+
+                long entityCost = System.currentTimeMillis() - entityStartTime;
+                if (entityCost >= 1000) {
+                    long loadJournalCost = loadJournalEndTime - entityStartTime;
+                    LOG.warn("entityCost:{} loadJournalCost:{} logId:{} replayedJournalId:{} code:{} size:{}",
+                            entityCost, loadJournalCost, logId, replayedJournalId, entity.getOpCode(),
+                            entity.getDataSize());
                 }
             }
-            hasLog = true;
-            EditLog.loadJournal(this, logId, entity);
-            long loadJournalEndTime = System.currentTimeMillis();
-            replayedJournalId.incrementAndGet();
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("journal {} replayed.", replayedJournalId);
-            }
-            if (feType != FrontendNodeType.MASTER) {
-                journalObservable.notifyObservers(replayedJournalId.get());
-            }
-            if (MetricRepo.isInit) {
-                // Metric repo may not init after this replay thread start
-                MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
-            }
-
-            long entityCost = System.currentTimeMillis() - entityStartTime;
-            if (entityCost >= 1000) {
-                long loadJournalCost = loadJournalEndTime - entityStartTime;
-                LOG.warn("entityCost:{} loadJournalCost:{} logId:{} replayedJournalId:{} code:{} size:{}",
-                        entityCost, loadJournalCost, logId, replayedJournalId, entity.getOpCode(),
-                        entity.getDataSize());
-            }
+            onJournalsReplayed(parallelReplayer.flush(), newToJournalId);
         }
         long cost = System.currentTimeMillis() - startTime;
+        long replayedNum = replayedJournalId.get() - startJournalId;
+        if (cost > 0 && replayedNum > 0) {
+            replayJournalRate = replayedNum * 1000 / cost;
+        }
         if (LOG.isDebugEnabled() && cost >= 1000) {
             LOG.debug("replay journal cost too much time: {} replayedJournalId: {}", cost, replayedJournalId);
         }
@@ -3033,6 +3061,38 @@ public class Env {
         return hasLog;
     }
 
+    private void onJournalsReplayed(int num, long toJournalId) {
+        if (num == 0) {
+            return;
+        }
+        replayedJournalId.addAndGet(num);
+        replayLagJournalNum = toJournalId - replayedJournalId.get();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("journal {} replayed.", replayedJournalId);
+        }
+        if (feType != FrontendNodeType.MASTER) {
+            journalObservable.notifyObservers(replayedJournalId.get());
+        }
+        if (MetricRepo.isInit) {
+            // Metric repo may not init after this replay thread start
+            MetricRepo.COUNTER_EDIT_LOG_READ.increase((long) num);
+        }
+    }
+
+    // the number of journals not replayed yet when the journals are replayed last time
+    public long getReplayLagJournalNum() {
+        return replayLagJournalNum;
+    }
+
+    // the number of journals replayed per second when the journals are replayed last time
+    public long getReplayJournalRate() {
+        return replayJournalRate;
+    }
+
+    public long getSynchronizedTimeMs() {
+        return synchronizedTimeMs;
+    }
+
     public void createTimePrinter() {
         // time printer will write timestamp edit log every 10 seconds
         timePrinter = new MasterDaemon("timePrinter", 10 * 1000L) {
@@ -6688,6 +6748,14 @@ public class Env {
         return sortedPartitionsCacheManager;
     }
 
+    public NereidsPlanCacheManager getPlanCacheManager() {
+        return planCacheManager;
+    }
+
+    public StreamLoadPlanCacheManager getStreamLoadPlanCacheManager() {
+        return streamLoadPlanCacheManager;
+    }
+
     public SplitSourceManager getSplitSourceManager() {
         return splitSourceManager;
     }
@@ -27,6 +27,7 @@ import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
+import org.apache.doris.common.lock.LockWaitStats;
 import org.apache.doris.common.lock.MonitoredReentrantLock;
 import org.apache.doris.common.lock.MonitoredReentrantReadWriteLock;
 import org.apache.doris.common.util.SqlUtils;
@@ -215,6 +216,21 @@ public abstract class Table extends MetaObject implements Writable, TableIf, Gso
         }
     }
 
+    /**
+     * Try to get the read lock without waiting. Unlike tryReadLock(0, unit), it gets the lock as long as the
+     * write lock is not held, even if there are writers waiting in the queue of the fair lock, unless they
+     * have been waiting for longer than maxWriterWaitMs.
+     */
+    public boolean tryReadLockSkippingWriters(long maxWriterWaitMs) {
+        boolean res = this.rwLock.tryReadLockSkippingWriters(maxWriterWaitMs);
+        if (res && this.readLockThreads != null && this.rwLock.getReadHoldCount() == 1) {
+            Thread thread = Thread.currentThread();
+            this.readLockThreads.put(thread.getId(),
+                    "(" + thread.toString() + ", time " + System.currentTimeMillis() + ")");
+        }
+        return res;
+    }
+
     public void readUnlock() {
         this.rwLock.readLock().unlock();
         if (this.readLockThreads != null && this.rwLock.getReadHoldCount() == 0) {
@@ -222,6 +238,10 @@ public abstract class Table extends MetaObject implements Writable, TableIf, Gso
         }
     }
 
+    public LockWaitStats getLockWaitStats() {
+        return rwLock.getWaitStats();
+    }
+
     public void writeLock() {
         this.rwLock.writeLock().lock();
     }
@@ -64,6 +64,12 @@ public interface TableIf {
         return true;
     }
 
+    // try to get the read lock without waiting, and without queueing behind the writers waiting
+    // for no longer than maxWriterWaitMs
+    default boolean tryReadLockSkippingWriters(long maxWriterWaitMs) {
+        return true;
+    }
+
     default void readUnlock() {
     }
 
@@ -22,6 +22,8 @@ import org.apache.doris.clone.PartitionRebalancer.TabletMove;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.master.PartitionInfoCollector.PartitionCollectInfo;
 import org.apache.doris.task.PublishVersionTask;
@@ -52,11 +54,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
 
@@ -74,13 +78,17 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private StampedLock lock = new StampedLock();
-
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
-
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    /*
+     * The index is split into stripes by tablet id, all the replicas of a tablet are in the same stripe,
+     * and each stripe has its own lock. So the tablet reports of different backends, the scheduler
+     * and the meta changes do not contend on one global lock, and a tablet report scans the stripes
+     * in parallel.
+     */
+    private final Stripe[] stripes;
+    // replica id -> tablet id, split into stripes by replica id.
+    // the lock of a replica stripe is always acquired after the lock of a stripe, never before.
+    private final ReplicaStripe[] replicaStripes;
+    private final int stripeShift;
 
     /*
      *  we use this to save memory.
@@ -90,16 +98,9 @@ public class TabletInvertedIndex {
      *  we use 'tabletMetaTable' to do the update things
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
+     *  guarded by itself.
      */
-    private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
-
-    // tablet id -> (backend id -> replica)
-    // for cloud mode, no need to known the replica's backend, so use backend id = -1 in cloud mode.
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private final Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
     // partition id -> partition info.
     // notice partition info update every Config.partition_info_update_interval_secs seconds,
@@ -109,23 +110,159 @@ public class TabletInvertedIndex {
 
     private ForkJoinPool taskPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
+    private static class Stripe {
+        private final StampedLock lock = new StampedLock();
+
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
+
+        // tablet id -> (backend id -> replica)
+        // for cloud mode, no need to known the replica's backend, so use backend id = -1 in cloud mode.
+        private final LongObjectHashMap<TabletReplicas> replicaMetaTable = new LongObjectHashMap<>();
+
+        // backing replica table, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> backingReplicaMetaTable =
+                new LongObjectHashMap<>();
+    }
+
+    private static class ReplicaStripe {
+        private final StampedLock lock = new StampedLock();
+
+        private final LongLongHashMap replicaToTabletMap = new LongLongHashMap();
+    }
+
+    // the replicas of a tablet in the order of adding, a tablet only has a few replicas.
+    private static class TabletReplicas {
+        private long[] backendIds = new long[3];
+        private Replica[] replicas = new Replica[3];
+        private int size = 0;
+
+        private int size() {
+            return size;
+        }
+
+        private long getBackendId(int index) {
+            return backendIds[index];
+        }
+
+        private Replica getReplica(int index) {
+            return replicas[index];
+        }
+
+        private int indexOf(long backendId) {
+            for (int i = 0; i < size; i++) {
+                if (backendIds[i] == backendId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Replica get(long backendId) {
+            int index = indexOf(backendId);
+            return index < 0 ? null : replicas[index];
+        }
+
+        private void put(long backendId, Replica replica) {
+            int index = indexOf(backendId);
+            if (index >= 0) {
+                replicas[index] = replica;
+                return;
+            }
+            if (size == backendIds.length) {
+                backendIds = Arrays.copyOf(backendIds, size * 2);
+                replicas = Arrays.copyOf(replicas, size * 2);
+            }
+            backendIds[size] = backendId;
+            replicas[size] = replica;
+            size++;
+        }
+
+        private Replica remove(long backendId) {
+            int index = indexOf(backendId);
+            if (index < 0) {
+                return null;
+            }
+            Replica replica = replicas[index];
+            System.arraycopy(backendIds, index + 1, backendIds, index, size - index - 1);
+            System.arraycopy(replicas, index + 1, replicas, index, size - index - 1);
+            size--;
+            replicas[size] = null;
+            return replica;
+        }
+
+        private boolean containsReplicaId(long replicaId) {
+            for (int i = 0; i < size; i++) {
+                if (replicas[i].getId() == replicaId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Replica> values() {
+            List<Replica> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(replicas[i]);
+            }
+            return result;
+        }
+    }
+
     public TabletInvertedIndex() {
+        int stripeNum = Math.min(Math.max(Config.tablet_inverted_index_stripe_num, 1), 1 << 16);
+        stripeNum = stripeNum == 1 ? 1 : Integer.highestOneBit(stripeNum - 1) << 1;
+        stripes = new Stripe[stripeNum];
+        replicaStripes = new ReplicaStripe[stripeNum];
+        for (int i = 0; i < stripeNum; i++) {
+            stripes[i] = new Stripe();
+            replicaStripes[i] = new ReplicaStripe();
+        }
+        stripeShift = 32 - Integer.numberOfTrailingZeros(stripeNum);
+    }
+
+    // use the high bits of the hash, the low bits are used by the maps in the stripe
+    private int stripeIndex(long id) {
+        return (int) ((LongObjectHashMap.mix(id) & 0xFFFFFFFFL) >>> stripeShift);
+    }
+
+    private Stripe getStripe(long tabletId) {
+        return stripes[stripeIndex(tabletId)];
     }
 
-    private long readLock() {
-        return this.lock.readLock();
+    private ReplicaStripe getReplicaStripe(long replicaId) {
+        return replicaStripes[stripeIndex(replicaId)];
     }
 
-    private void readUnlock(long stamp) {
-        this.lock.unlockRead(stamp);
+    private void putReplicaToTablet(long replicaId, long tabletId) {
+        ReplicaStripe replicaStripe = getReplicaStripe(replicaId);
+        long stamp = replicaStripe.lock.writeLock();
+        try {
+            replicaStripe.replicaToTabletMap.put(replicaId, tabletId);
+        } finally {
+            replicaStripe.lock.unlockWrite(stamp);
+        }
     }
 
-    private long writeLock() {
-        return this.lock.writeLock();
+    private void removeReplicaToTablet(long replicaId) {
+        ReplicaStripe replicaStripe = getReplicaStripe(replicaId);
+        long stamp = replicaStripe.lock.writeLock();
+        try {
+            replicaStripe.replicaToTabletMap.remove(replicaId);
+        } finally {
+            replicaStripe.lock.unlockWrite(stamp);
+        }
     }
 
-    private void writeUnlock(long stamp) {
-        this.lock.unlockWrite(stamp);
+    private static void removeBackingReplica(Stripe stripe, long backendId, long tabletId) {
+        LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+        if (replicaMetaWithBackend != null) {
+            replicaMetaWithBackend.remove(tabletId);
+            if (replicaMetaWithBackend.isEmpty()) {
+                stripe.backingReplicaMetaTable.remove(backendId);
+            }
+        }
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -143,27 +280,28 @@ public class TabletInvertedIndex {
                              List<CooldownConf> cooldownConfToPush,
                              List<CooldownConf> cooldownConfToUpdate) {
         List<Pair<TabletMeta, TTabletInfo>> cooldownTablets = new ArrayList<>();
-        long feTabletNum = 0;
-        long stamp = readLock();
+        AtomicLong feTabletNum = new AtomicLong(0);
         long start = System.currentTimeMillis();
-        try {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            }
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                feTabletNum = replicaMetaWithBackend.size();
-                taskPool.submit(() -> {
-                    // traverse replicas in meta with this backend
-                    replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                        long tabletId = entry.getKey();
-                        Preconditions.checkState(tabletMetaMap.containsKey(tabletId),
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        }
+        taskPool.submit(() -> {
+            // traverse replicas in meta with this backend, the stripes are traversed in parallel
+            Arrays.stream(stripes).parallel().forEach(stripe -> {
+                long stamp = stripe.lock.readLock();
+                try {
+                    LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                    if (replicaMetaWithBackend == null) {
+                        return;
+                    }
+                    feTabletNum.addAndGet(replicaMetaWithBackend.size());
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                        TabletMeta tabletMeta = stripe.tabletMetaMap.get(tabletId);
+                        Preconditions.checkState(tabletMeta != null,
                                 "tablet " + tabletId + " not exists, backend " + backendId);
-                        TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
 
-                        if (backendTablets.containsKey(tabletId)) {
-                            TTablet backendTablet = backendTablets.get(tabletId);
-                            Replica replica = entry.getValue();
+                        TTablet backendTablet = backendTablets.get(tabletId);
+                        if (backendTablet != null) {
                             tabletFoundInMeta.add(tabletId);
                             TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
                             TTabletMetaInfo tabletMetaInfo = null;
@@ -286,20 +424,20 @@ public class TabletInvertedIndex {
                             }
                         }
                     });
-
-                    backendPartitionsVersion.entrySet().parallelStream().forEach(entry -> {
-                        long partitionId = entry.getKey();
-                        long backendVersion = entry.getValue();
-                        PartitionCollectInfo partitionInfo = partitionCollectInfoMap.get(partitionId);
-                        if (partitionInfo != null && partitionInfo.getVisibleVersion() > backendVersion) {
-                            partitionVersionSyncMap.put(partitionId, partitionInfo.getVisibleVersion());
-                        }
-                    });
-                }).join();
-            }
-        } finally {
-            readUnlock(stamp);
-        }
+                } finally {
+                    stripe.lock.unlockRead(stamp);
+                }
+            });
+
+            backendPartitionsVersion.entrySet().parallelStream().forEach(entry -> {
+                long partitionId = entry.getKey();
+                long backendVersion = entry.getValue();
+                PartitionCollectInfo partitionInfo = partitionCollectInfoMap.get(partitionId);
+                if (partitionInfo != null && partitionInfo.getVisibleVersion() > backendVersion) {
+                    partitionVersionSyncMap.put(partitionId, partitionInfo.getVisibleVersion());
+                }
+            });
+        }).join();
         cooldownTablets.forEach(p -> handleCooldownConf(p.first, p.second, cooldownConfToPush, cooldownConfToUpdate));
 
         long end = System.currentTimeMillis();
@@ -307,7 +445,7 @@ public class TabletInvertedIndex {
                         + " metaDel: {}. foundInMeta: {}. migration: {}. backend partition num: {}, backend need "
                         + "update: {}. found invalid transactions {}. found republish "
                         + "transactions {}. tabletToUpdate: {}. need recovery: {}. cost: {} ms",
-                backendId, feTabletNum, backendTablets.size(), tabletSyncMap.size(),
+                backendId, feTabletNum.get(), backendTablets.size(), tabletSyncMap.size(),
                 tabletDeleteFromMeta.size(), tabletFoundInMeta.size(), tabletMigrationMap.size(),
                 backendPartitionsVersion.size(), partitionVersionSyncMap.size(),
                 transactionsToClear.size(), transactionsToPublish.size(), tabletToUpdate.size(),
@@ -394,34 +532,33 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        long stamp = readLock();
+        ReplicaStripe replicaStripe = getReplicaStripe(replicaId);
+        long stamp = replicaStripe.lock.readLock();
         try {
-            return replicaToTabletMap.get(replicaId);
+            long tabletId = replicaStripe.replicaToTabletMap.get(replicaId, NOT_EXIST_VALUE);
+            return tabletId == NOT_EXIST_VALUE ? null : tabletId;
         } finally {
-            readUnlock(stamp);
+            replicaStripe.lock.unlockRead(stamp);
         }
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        long stamp = readLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.readLock();
         try {
-            return tabletMetaMap.get(tabletId);
+            return stripe.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock(stamp);
+            stripe.lock.unlockRead(stamp);
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        long stamp = readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
-            }
-            return tabletMetaList;
-        } finally {
-            readUnlock(stamp);
+        for (Long tabletId : tabletIdList) {
+            TabletMeta tabletMeta = getTabletMeta(tabletId);
+            tabletMetaList.add(tabletMeta != null ? tabletMeta : NOT_EXIST_TABLET_META);
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -498,12 +635,12 @@ public class TabletInvertedIndex {
         }
 
         // check cooldown replica is alive
-        Map<Long, Replica> replicaMap = replicaMetaTable.row(beTabletInfo.getTabletId());
-        if (replicaMap.isEmpty()) {
+        List<Replica> replicas = getReplicas(beTabletInfo.getTabletId());
+        if (replicas.isEmpty()) {
             return;
         }
         boolean replicaAlive = false;
-        for (Replica replica : replicaMap.values()) {
+        for (Replica replica : replicas) {
             if (replica.getId() == cooldownConf.first) {
                 if (replica.isAlive()) {
                     replicaAlive = true;
@@ -526,12 +663,13 @@ public class TabletInvertedIndex {
     }
 
     public List<Replica> getReplicas(Long tabletId) {
-        long stamp = readLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.readLock();
         try {
-            Map<Long, Replica> replicaMap = replicaMetaTable.row(tabletId);
-            return replicaMap.values().stream().collect(Collectors.toList());
+            TabletReplicas replicas = stripe.replicaMetaTable.get(tabletId);
+            return replicas != null ? replicas.values() : Lists.newArrayList();
         } finally {
-            readUnlock(stamp);
+            stripe.lock.unlockRead(stamp);
         }
     }
 
@@ -578,16 +716,19 @@ public class TabletInvertedIndex {
 
     // always add tablet before adding replicas
     public void addTablet(long tabletId, TabletMeta tabletMeta) {
-        long stamp = writeLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.writeLock();
         try {
-            if (tabletMetaMap.containsKey(tabletId)) {
+            if (stripe.tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            tabletMetaMap.put(tabletId, tabletMeta);
-            if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
-                tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("add tablet meta: {}", tabletId);
+            stripe.tabletMetaMap.put(tabletId, tabletMeta);
+            synchronized (tabletMetaTable) {
+                if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
+                    tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("add tablet meta: {}", tabletId);
+                    }
                 }
             }
 
@@ -595,26 +736,26 @@ public class TabletInvertedIndex {
                 LOG.debug("add tablet: {}", tabletId);
             }
         } finally {
-            writeUnlock(stamp);
+            stripe.lock.unlockWrite(stamp);
         }
     }
 
     public void deleteTablet(long tabletId) {
-        long stamp = writeLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            TabletReplicas replicas = stripe.replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                for (int i = 0; i < replicas.size(); i++) {
+                    removeReplicaToTablet(replicas.getReplica(i).getId());
+                    removeBackingReplica(stripe, replicas.getBackendId(i), tabletId);
                 }
             }
-            TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
+            TabletMeta tabletMeta = stripe.tabletMetaMap.remove(tabletId);
             if (tabletMeta != null) {
-                tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                synchronized (tabletMetaTable) {
+                    tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                }
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("delete tablet meta: {}", tabletId);
                 }
@@ -624,54 +765,66 @@ public class TabletInvertedIndex {
                 LOG.debug("delete tablet: {}", tabletId);
             }
         } finally {
-            writeUnlock(stamp);
+            stripe.lock.unlockWrite(stamp);
         }
     }
 
     public void addReplica(long tabletId, Replica replica) {
-        long stamp = writeLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.writeLock();
         try {
             // cloud mode, create table not need backendId, represent with -1.
             long backendId = Config.isCloudMode() ? -1 : replica.getBackendIdWithoutException();
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId),
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId),
                     "tablet " + tabletId + " not exists, replica " + replica.getId()
                     + ", backend " + backendId);
-            replicaMetaTable.put(tabletId, backendId, replica);
-            replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(backendId, tabletId, replica);
+            TabletReplicas replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas == null) {
+                replicas = new TabletReplicas();
+                stripe.replicaMetaTable.put(tabletId, replicas);
+            }
+            replicas.put(backendId, replica);
+            putReplicaToTablet(replica.getId(), tabletId);
+            LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+            if (replicaMetaWithBackend == null) {
+                replicaMetaWithBackend = new LongObjectHashMap<>();
+                stripe.backingReplicaMetaTable.put(backendId, replicaMetaWithBackend);
+            }
+            replicaMetaWithBackend.put(tabletId, replica);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("add replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             }
         } finally {
-            writeUnlock(stamp);
+            stripe.lock.unlockWrite(stamp);
         }
     }
 
     public void deleteReplica(long tabletId, long backendId) {
-        long stamp = writeLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId),
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId),
                     "tablet " + tabletId + " not exists, backend " + backendId);
             if (Config.isCloudMode()) {
                 backendId = -1;
             }
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            TabletReplicas replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                Replica replica = replicas.remove(backendId);
 
                 // sometimes, replicas may have same replica id in different backend
                 // we need to cover this situation to avoid some "replica not found" issue
-                if (replicaMetaTable.containsRow(tabletId)) {
-                    long replicaNum = replicaMetaTable.row(tabletId).values().stream()
-                            .filter(c -> c.getId() == replica.getId()).count();
-                    if (replicaNum == 0) {
-                        replicaToTabletMap.remove(replica.getId());
+                if (replicas.size() > 0) {
+                    if (!replicas.containsReplicaId(replica.getId())) {
+                        removeReplicaToTablet(replica.getId());
                     }
                 } else {
-                    replicaToTabletMap.remove(replica.getId());
+                    stripe.replicaMetaTable.remove(tabletId);
+                    removeReplicaToTablet(replica.getId());
                 }
 
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                removeBackingReplica(stripe, backendId, tabletId);
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("delete replica {} of tablet {} in backend {}",
                             replica.getId(), tabletId, backendId);
@@ -682,46 +835,42 @@ public class TabletInvertedIndex {
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock(stamp);
+            stripe.lock.unlockWrite(stamp);
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        long stamp = readLock();
+        Stripe stripe = getStripe(tabletId);
+        long stamp = stripe.lock.readLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId),
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId),
                     "tablet " + tabletId + " not exists, backend " + backendId);
             if (Config.isCloudMode()) {
                 backendId = -1;
             }
-            return replicaMetaTable.get(tabletId, backendId);
+            TabletReplicas replicas = stripe.replicaMetaTable.get(tabletId);
+            return replicas != null ? replicas.get(backendId) : null;
         } finally {
-            readUnlock(stamp);
+            stripe.lock.unlockRead(stamp);
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        long stamp = readLock();
-        try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
-            }
-            return Lists.newArrayList();
-        } finally {
-            readUnlock(stamp);
-        }
+        return getReplicas(tabletId);
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> tabletIds.add(tabletId));
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIds;
     }
@@ -729,17 +878,20 @@ public class TabletInvertedIndex {
     public List<Pair<Long, Long>> getTabletSizeByBackendIdAndStorageMedium(long backendId,
             TStorageMedium storageMedium) {
         List<Pair<Long, Long>> tabletIdSizes = Lists.newArrayList();
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIdSizes = replicaMetaWithBackend.entrySet().stream()
-                        .filter(entry -> tabletMetaMap.get(entry.getKey()).getStorageMedium() == storageMedium)
-                        .map(entry -> Pair.of(entry.getKey(), entry.getValue().getDataSize()))
-                        .collect(Collectors.toList());
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                        if (stripe.tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                            tabletIdSizes.add(Pair.of(tabletId, replica.getDataSize()));
+                        }
+                    });
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
         return tabletIdSizes;
     }
@@ -751,53 +903,69 @@ public class TabletInvertedIndex {
     }
 
     public int getTabletNumByBackendId(long backendId) {
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        int tabletNum = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    tabletNum += replicaMetaWithBackend.size();
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
-        return 0;
+        return tabletNum;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
-        long hddNum = 0;
-        long ssdNum = 0;
-        long stamp = readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
-                    }
+        // hdd num, ssd num
+        long[] replicaNums = new long[2];
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                        if (stripe.tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
+                            replicaNums[0]++;
+                        } else {
+                            replicaNums[1]++;
+                        }
+                    });
                 }
+            } finally {
+                stripe.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
-        replicaNumMap.put(TStorageMedium.HDD, hddNum);
-        replicaNumMap.put(TStorageMedium.SSD, ssdNum);
+        replicaNumMap.put(TStorageMedium.HDD, replicaNums[0]);
+        replicaNumMap.put(TStorageMedium.SSD, replicaNums[1]);
         return replicaNumMap;
     }
 
     // just for test
     public void clear() {
-        long stamp = writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.tabletMetaMap.clear();
+                stripe.replicaMetaTable.clear();
+                stripe.backingReplicaMetaTable.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        for (ReplicaStripe replicaStripe : replicaStripes) {
+            long stamp = replicaStripe.lock.writeLock();
+            try {
+                replicaStripe.replicaToTabletMap.clear();
+            } finally {
+                replicaStripe.lock.unlockWrite(stamp);
+            }
+        }
+        synchronized (tabletMetaTable) {
             tabletMetaTable.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock(stamp);
         }
     }
 
@@ -805,7 +973,17 @@ public class TabletInvertedIndex {
         this.partitionCollectInfoMap = partitionCollectInfoMap;
     }
 
+    // just for ut
     public Map<Long, Long> getReplicaToTabletMap() {
+        Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+        for (ReplicaStripe replicaStripe : replicaStripes) {
+            long stamp = replicaStripe.lock.readLock();
+            try {
+                replicaStripe.replicaToTabletMap.forEach(replicaToTabletMap::put);
+            } finally {
+                replicaStripe.lock.unlockRead(stamp);
+            }
+        }
         return replicaToTabletMap;
     }
 
@@ -819,7 +997,6 @@ public class TabletInvertedIndex {
         if (!FeConstants.runningUnitTest) {
             Env.getCurrentRecycleBin().getRecycleIds(dbIds, tableIds, partitionIds);
         }
-        long stamp = readLock();
 
         // 1. gen <partitionId-indexId, <beId, replicaCount>>
         // for each replica(all tablets):
@@ -828,67 +1005,69 @@ public class TabletInvertedIndex {
         for (TStorageMedium medium : TStorageMedium.values()) {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
-        try {
-            // Changes to the returned set will update the underlying table
-            // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                Pair<TabletMove, Long> movePair = movesInProgress.get(tabletId);
-                TabletMove move = movePair != null ? movePair.first : null;
-                // there exists move from fromBe to toBe
-                if (move != null && beId == move.fromBe
-                        && availableBeIds.contains(move.toBe)) {
-
-                    // if movePair.second == -1, it means toBe hadn't added this tablet but it will add later;
-                    // otherwise it means toBe had added this tablet
-                    boolean toBeHadReplica = movePair.second != -1L;
-                    if (toBeHadReplica) {
-                        // toBe had add this tablet, fromBe just ignore this tablet
-                        continue;
-                    }
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                // tablet id -> (backend id -> replica)
+                stripe.replicaMetaTable.forEach((tabletId, replicas) -> {
+                    for (int i = 0; i < replicas.size(); i++) {
+                        long beId = replicas.getBackendId(i);
+                        Pair<TabletMove, Long> movePair = movesInProgress.get(tabletId);
+                        TabletMove move = movePair != null ? movePair.first : null;
+                        // there exists move from fromBe to toBe
+                        if (move != null && beId == move.fromBe
+                                && availableBeIds.contains(move.toBe)) {
+
+                            // if movePair.second == -1, it means toBe hadn't added this tablet but it will add later;
+                            // otherwise it means toBe had added this tablet
+                            boolean toBeHadReplica = movePair.second != -1L;
+                            if (toBeHadReplica) {
+                                // toBe had add this tablet, fromBe just ignore this tablet
+                                continue;
+                            }
 
-                    // later fromBe will delete this replica
-                    // and toBe will add a replica
-                    // so this replica should belong to toBe
-                    beId = move.toBe;
-                }
+                            // later fromBe will delete this replica
+                            // and toBe will add a replica
+                            // so this replica should belong to toBe
+                            beId = move.toBe;
+                        }
 
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    if (dbIds.contains(tabletMeta.getDbId()) || tableIds.contains(tabletMeta.getTableId())
-                            || partitionIds.contains(tabletMeta.getPartitionId())) {
-                        continue;
-                    }
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "table " + tabletMeta.getTableId() + " should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
+                        try {
+                            Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+                            TabletMeta tabletMeta = stripe.tabletMetaMap.get(tabletId);
+                            Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+                            if (dbIds.contains(tabletMeta.getDbId()) || tableIds.contains(tabletMeta.getTableId())
+                                    || partitionIds.contains(tabletMeta.getPartitionId())) {
+                                continue;
+                            }
+                            Preconditions.checkState(
+                                    !Env.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                                    "table " + tabletMeta.getTableId() + " should not be the colocate table");
+
+                            TStorageMedium medium = tabletMeta.getStorageMedium();
+                            Table<Long, Long, Map<Long, Long>> partitionReplicasInfo =
+                                    partitionReplicasInfoMaps.get(medium);
+                            Map<Long, Long> countMap = partitionReplicasInfo.get(
+                                    tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                            if (countMap == null) {
+                                // If one be doesn't have any replica of one partition, it should be counted too.
+                                countMap = availableBeIds.stream().collect(Collectors.toMap(id -> id, id -> 0L));
+                            }
 
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(e.getMessage());
+                            Long count = countMap.get(beId);
+                            countMap.put(beId, count + 1L);
+                            partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
+                        } catch (IllegalStateException | NullPointerException e) {
+                            // If the tablet or be has some problem, don't count in
+                            if (LOG.isDebugEnabled()) {
+                                LOG.debug(e.getMessage());
+                            }
+                        }
                     }
-                }
+                });
+            } finally {
+                stripe.lock.unlockRead(stamp);
             }
-        } finally {
-            readUnlock(stamp);
         }
 
         // 2. Populate ClusterBalanceInfo::table_info_by_skew
@@ -945,42 +1124,56 @@ public class TabletInvertedIndex {
 
     // just for ut
     public Table<Long, Long, Replica> getReplicaMetaTable() {
-        long stamp = readLock();
-        try {
-            return HashBasedTable.create(replicaMetaTable);
-        } finally {
-            readUnlock(stamp);
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.replicaMetaTable.forEach((tabletId, replicas) -> {
+                    for (int i = 0; i < replicas.size(); i++) {
+                        replicaMetaTable.put(tabletId, replicas.getBackendId(i), replicas.getReplica(i));
+                    }
+                });
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
         }
+        return replicaMetaTable;
     }
 
     // just for ut
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
-        long stamp = readLock();
-        try {
-            return HashBasedTable.create(backingReplicaMetaTable);
-        } finally {
-            readUnlock(stamp);
+        Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.backingReplicaMetaTable.forEach((backendId, replicas) -> replicas.forEach(
+                        (tabletId, replica) -> backingReplicaMetaTable.put(backendId, tabletId, replica)));
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
         }
+        return backingReplicaMetaTable;
     }
 
     // just for ut
     public Table<Long, Long, TabletMeta> getTabletMetaTable() {
-        long stamp = readLock();
-        try {
+        synchronized (tabletMetaTable) {
             return HashBasedTable.create(tabletMetaTable);
-        } finally {
-            readUnlock(stamp);
         }
     }
 
     // just for ut
     public Map<Long, TabletMeta> getTabletMetaMap() {
-        long stamp = readLock();
-        try {
-            return new HashMap(tabletMetaMap);
-        } finally {
-            readUnlock(stamp);
+        Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.tabletMetaMap.forEach(tabletMetaMap::put);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
         }
+        return tabletMetaMap;
     }
 
     private boolean isLocal(TStorageMedium storageMedium) {
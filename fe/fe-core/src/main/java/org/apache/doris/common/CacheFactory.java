@@ -24,6 +24,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.Weigher;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
@@ -39,6 +40,7 @@ import java.util.concurrent.ExecutorService;
  * - expireAfterWriteSec: The duration after which the cache entries will expire.
  * - refreshAfterWriteSec: The duration after which the cache entries will be refreshed.
  * - maxSize: The maximum size of the cache.
+ * - maxWeight and weigher: Optional, if set, the cache is bounded by the total weight of the entries instead of maxSize.
  * - enableStats: Whether to enable stats for the cache.
  * - ticker: The ticker to use for the cache.
  * The cache can be created with the above parameters using the buildCache and buildAsyncCache methods.
@@ -54,6 +56,8 @@ public class CacheFactory {
     // Only used for test, to provide a fake time source.
     // If not provided, the system time is used.
     private Ticker ticker;
+    private long maxWeight = -1;
+    private Weigher<Object, Object> weigher;
 
     public CacheFactory(
             OptionalLong expireAfterWriteSec,
@@ -68,6 +72,14 @@ public class CacheFactory {
         this.ticker = ticker;
     }
 
+    // Bound the cache by the total weight of the entries instead of the number of entries
+    @SuppressWarnings("unchecked")
+    public <K, V> CacheFactory setMaxWeight(long maxWeight, Weigher<K, V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = (Weigher<Object, Object>) weigher;
+        return this;
+    }
+
     // Build a loading cache, without executor, it will use fork-join pool for refresh
     public <K, V> LoadingCache<K, V> buildCache(CacheLoader<K, V> cacheLoader) {
         Caffeine<Object, Object> builder = buildWithParams();
@@ -96,7 +108,11 @@ public class CacheFactory {
     @NotNull
     private Caffeine<Object, Object> buildWithParams() {
         Caffeine<Object, Object> builder = Caffeine.newBuilder();
-        builder.maximumSize(maxSize);
+        if (weigher != null) {
+            builder.maximumWeight(maxWeight).weigher(weigher);
+        } else {
+            builder.maximumSize(maxSize);
+        }
 
         if (expireAfterWriteSec.isPresent()) {
             builder.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSec.getAsLong()));
@@ -0,0 +1,391 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.cache;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.DatabaseIf;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MTMV;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.TableIf;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ConfigBase.DefaultConfHandler;
+import org.apache.doris.datasource.CatalogIf;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.privilege.AccessControllerManager;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.rules.analysis.UserAuthentication;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.functions.BoundFunction;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.ConnectionId;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentCatalog;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.CurrentUser;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.Database;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.LastQueryId;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.SessionUser;
+import org.apache.doris.nereids.trees.expressions.functions.scalar.User;
+import org.apache.doris.nereids.trees.plans.PlaceholderId;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.physical.AbstractPhysicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalCTEAnchor;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalEmptyRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOneRowRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalResultSink;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.SessionVariable;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.statistics.TableStatsMeta;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * NereidsPlanCacheManager
+ *
+ * Cache the physical plan of the select statement before post process. The query with the same sql,
+ * parameters and session variables can reuse the plan, and skip the analyze, rewrite and optimize.
+ * The literals are part of the cache key, because the partition pruning, tablet pruning and constant
+ * folding depend on them.
+ */
+public class NereidsPlanCacheManager {
+    // the functions folded in analyze by the values of the session or the user
+    private static final Set<Class<? extends BoundFunction>> SESSION_DEPENDENT_FUNCTIONS = ImmutableSet.of(
+            ConnectionId.class, LastQueryId.class, CurrentUser.class, User.class, SessionUser.class,
+            Database.class, CurrentCatalog.class);
+
+    // key: <ctl.db>:<user>:<variables digest>:<stmt idx>:<sql>[:<placeholder id>=<value>]*
+    // value: PlanCacheValue
+    private volatile Cache<String, PlanCacheValue> planCaches;
+
+    public NereidsPlanCacheManager() {
+        planCaches = buildPlanCaches(
+                Config.plan_cache_manage_num,
+                Config.expire_plan_cache_in_fe_second
+        );
+    }
+
+    public static synchronized void updateConfig() {
+        Env currentEnv = Env.getCurrentEnv();
+        if (currentEnv == null) {
+            return;
+        }
+        NereidsPlanCacheManager planCacheManager = currentEnv.getPlanCacheManager();
+        if (planCacheManager == null) {
+            return;
+        }
+
+        Cache<String, PlanCacheValue> planCaches = buildPlanCaches(
+                Config.plan_cache_manage_num,
+                Config.expire_plan_cache_in_fe_second
+        );
+        planCaches.putAll(planCacheManager.planCaches.asMap());
+        planCacheManager.planCaches = planCaches;
+    }
+
+    private static Cache<String, PlanCacheValue> buildPlanCaches(int planCacheNum, long expireAfterWriteSeconds) {
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+                // auto evict cache when jvm memory too low
+                .softValues();
+        if (planCacheNum > 0) {
+            cacheBuilder.maximumSize(planCacheNum);
+        }
+        // expire after write rather than access, so that a hot query can pick up the newly loaded statistics
+        if (expireAfterWriteSeconds > 0) {
+            cacheBuilder = cacheBuilder.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds));
+        }
+        return cacheBuilder.build();
+    }
+
+    /**
+     * generate the cache key of the statement, the statement which can not use plan cache return empty.
+     * should be invoked after the SET_VAR hints are applied to the session variables.
+     */
+    public Optional<String> generateCacheKey(ConnectContext connectContext, StatementContext statementContext) {
+        SessionVariable sessionVariable = connectContext.getSessionVariable();
+        if (!sessionVariable.isEnableNereidsPlanCache() || statementContext.isShortCircuitQuery()) {
+            return Optional.empty();
+        }
+        // the query planned from a cached plan can not fill the sql cache, which needs the info collected in analyze
+        if (statementContext.getSqlCacheContext().isPresent()) {
+            return Optional.empty();
+        }
+        // the runtime filter wait time is adjusted by the table row count in optimize
+        if (sessionVariable.getRuntimeFilterWaitTimeMs()
+                != VariableMgr.getDefaultSessionVariable().getRuntimeFilterWaitTimeMs()) {
+            return Optional.empty();
+        }
+        OriginStatement originStatement = statementContext.getOriginStatement();
+        if (originStatement == null || originStatement.originStmt == null) {
+            return Optional.empty();
+        }
+        String sql = originStatement.originStmt.trim();
+        // user variables and system variables are folded to literals in analyze
+        if (sql.indexOf('@') >= 0) {
+            return Optional.empty();
+        }
+        String variablesDigest = sessionVariable.getVariablesDigest();
+        if (variablesDigest == null) {
+            return Optional.empty();
+        }
+
+        CatalogIf<?> currentCatalog = connectContext.getCurrentCatalog();
+        String currentCatalogName = currentCatalog != null ? currentCatalog.getName() : "";
+        String currentDatabase = connectContext.getDatabase();
+        String currentDatabaseName = currentDatabase != null ? currentDatabase : "";
+        StringBuilder key = new StringBuilder(sql.length() + 128);
+        key.append(currentCatalogName).append('.').append(currentDatabaseName)
+                .append(':').append(connectContext.getCurrentUserIdentity().toString())
+                .append(':').append(variablesDigest)
+                .append(':').append(originStatement.idx)
+                .append(':').append(sql);
+        for (Entry<PlaceholderId, Expression> kv : statementContext.getIdToPlaceholderRealExpr().entrySet()) {
+            Expression value = kv.getValue();
+            key.append(':').append(kv.getKey().asInt())
+                    .append('=').append(value.getDataType()).append(' ').append(value.toSql());
+        }
+        return Optional.of(key.toString());
+    }
+
+    /**
+     * try to get the cached plan, the tables of the statement must be collected and locked.
+     *
+     * @return a copy of the cached plan which is not post processed
+     */
+    public Optional<PhysicalPlan> tryGetPlan(
+            ConnectContext connectContext, StatementContext statementContext, String key) {
+        PlanCacheValue cacheValue = planCaches.getIfPresent(key);
+        if (cacheValue == null) {
+            increaseCounter(false);
+            return Optional.empty();
+        }
+
+        Map<Long, String> tableSignatures = computeTableSignatures(statementContext);
+        if (tableSignatures == null || !tableSignatures.equals(cacheValue.tableSignatures)
+                || privilegeChanged(connectContext, statementContext, cacheValue.usedColumns)
+                || hasPolicies(connectContext, statementContext, cacheValue.usedColumns)) {
+            planCaches.invalidate(key);
+            increaseCounter(false);
+            return Optional.empty();
+        }
+
+        // the expr ids generated later, e.g. by post process, must not conflict with the ones in the plan
+        statementContext.advanceExprIdTo(cacheValue.nextExprId);
+        increaseCounter(true);
+        return Optional.of(copyPlan(cacheValue.plan));
+    }
+
+    private void increaseCounter(boolean hit) {
+        if (!MetricRepo.isInit) {
+            return;
+        }
+        if (hit) {
+            MetricRepo.COUNTER_PLAN_CACHE_HIT.increase(1L);
+        } else {
+            MetricRepo.COUNTER_PLAN_CACHE_MISS.increase(1L);
+        }
+    }
+
+    /**
+     * try to add the plan which is chosen from memo and not post processed yet.
+     */
+    public void tryAddPlan(
+            ConnectContext connectContext, StatementContext statementContext, String key, PhysicalPlan plan) {
+        if (statementContext.hasNondeterministic() || statementContext.hasSessionDependentFunction()
+                || statementContext.isShortCircuitQuery()
+                || !(plan instanceof PhysicalResultSink) || plan.anyMatch(PhysicalCTEAnchor.class::isInstance)) {
+            return;
+        }
+        Map<String, Set<String>> usedColumns = Maps.newHashMap();
+        List<PhysicalRelation> relations = plan.collectToList(PhysicalRelation.class::isInstance);
+        for (PhysicalRelation relation : relations) {
+            if (relation instanceof PhysicalOneRowRelation || relation instanceof PhysicalEmptyRelation) {
+                continue;
+            }
+            if (!(relation instanceof PhysicalOlapScan)
+                    || !isSupportedTable(((PhysicalOlapScan) relation).getTable())) {
+                return;
+            }
+            OlapTable table = ((PhysicalOlapScan) relation).getTable();
+            Set<String> columns = usedColumns.computeIfAbsent(qualifiedName(table), k -> Sets.newHashSet());
+            for (Slot slot : relation.getOutput()) {
+                if (slot instanceof SlotReference) {
+                    ((SlotReference) slot).getColumn().ifPresent(column -> columns.add(column.getName()));
+                }
+            }
+        }
+        Map<Long, String> tableSignatures = computeTableSignatures(statementContext);
+        if (tableSignatures == null || hasPolicies(connectContext, statementContext, usedColumns)) {
+            return;
+        }
+        int nextExprId = statementContext.getNextExprId().asInt();
+        planCaches.put(key, new PlanCacheValue(copyPlan(plan), tableSignatures, usedColumns, nextExprId));
+    }
+
+    /**
+     * whether the function is folded to different values in different sessions or at different times,
+     * the plan of the statement containing it can not be cached.
+     */
+    public static boolean isSessionDependent(BoundFunction function) {
+        return !function.isDeterministic() || SESSION_DEPENDENT_FUNCTIONS.contains(function.getClass());
+    }
+
+    /**
+     * copy the plan tree, the post processors change the plan node in place, e.g. add runtime filters,
+     * so the cached plan must not be shared with the query.
+     */
+    public static PhysicalPlan copyPlan(PhysicalPlan plan) {
+        List<Plan> children = Lists.newArrayListWithCapacity(plan.arity());
+        for (Plan child : plan.children()) {
+            children.add(copyPlan((PhysicalPlan) child));
+        }
+        AbstractPhysicalPlan newPlan = (AbstractPhysicalPlan) plan.withChildren(children);
+        return newPlan.copyStatsAndGroupIdFrom((AbstractPhysicalPlan) plan);
+    }
+
+    private boolean isSupportedTable(TableIf table) {
+        return table instanceof OlapTable && !(table instanceof MTMV);
+    }
+
+    // return null if the statement contains unsupported table
+    private Map<Long, String> computeTableSignatures(StatementContext statementContext) {
+        ImmutableMap.Builder<Long, String> signatures = ImmutableMap.builder();
+        Set<Long> tableIds = Sets.newHashSet();
+        for (TableIf table : statementContext.getTables().values()) {
+            if (!isSupportedTable(table)) {
+                return null;
+            }
+            if (!tableIds.add(table.getId())) {
+                continue;
+            }
+            OlapTable olapTable = (OlapTable) table;
+            long partitionsHash = 0;
+            for (Long partitionId : olapTable.getPartitionIds()) {
+                partitionsHash += mix(partitionId);
+            }
+            long indexesHash = 0;
+            for (Long indexId : olapTable.getIndexIdToMeta().keySet()) {
+                indexesHash += mix(indexId);
+            }
+            TableStatsMeta tableStats = Env.getCurrentEnv().getAnalysisManager().findTableStatsStatus(table.getId());
+            long statsUpdatedTime = tableStats == null ? 0 : tableStats.updatedTime;
+            signatures.put(table.getId(), olapTable.getBaseSchemaVersion() + ":" + partitionsHash + ":"
+                    + indexesHash + ":" + statsUpdatedTime);
+        }
+        return signatures.build();
+    }
+
+    private static long mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private boolean privilegeChanged(ConnectContext connectContext, StatementContext statementContext,
+            Map<String, Set<String>> usedColumns) {
+        for (TableIf table : statementContext.getTables().values()) {
+            try {
+                UserAuthentication.checkPermission(table, connectContext, usedColumns.get(qualifiedName(table)));
+            } catch (Throwable t) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the row policies and data mask policies are applied in analyze, the plan with them is not cached
+    private boolean hasPolicies(ConnectContext connectContext, StatementContext statementContext,
+            Map<String, Set<String>> usedColumns) {
+        UserIdentity currentUser = connectContext.getCurrentUserIdentity();
+        AccessControllerManager accessManager = connectContext.getEnv().getAccessManager();
+        for (TableIf table : statementContext.getTables().values()) {
+            DatabaseIf<?> db = table.getDatabase();
+            if (db == null || db.getCatalog() == null) {
+                return true;
+            }
+            String ctl = db.getCatalog().getName();
+            String dbName = db.getFullName();
+            if (!accessManager.evalRowFilterPolicies(currentUser, ctl, dbName, table.getName()).isEmpty()) {
+                return true;
+            }
+            Set<String> columns = usedColumns.get(qualifiedName(table));
+            if (columns == null) {
+                continue;
+            }
+            for (String column : columns) {
+                if (accessManager.evalDataMaskPolicy(currentUser, ctl, dbName, table.getName(), column)
+                        .isPresent()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String qualifiedName(TableIf table) {
+        DatabaseIf<?> db = table.getDatabase();
+        String dbName = db == null ? "" : db.getFullName();
+        return dbName + "." + table.getName() + "." + table.getId();
+    }
+
+    private static class PlanCacheValue {
+        private final PhysicalPlan plan;
+        // table id -> signature of the schema, partitions, indexes and statistics which the plan depends on
+        private final Map<Long, String> tableSignatures;
+        // qualified table name -> columns used by the plan
+        private final Map<String, Set<String>> usedColumns;
+        private final int nextExprId;
+
+        PlanCacheValue(PhysicalPlan plan, Map<Long, String> tableSignatures,
+                Map<String, Set<String>> usedColumns, int nextExprId) {
+            this.plan = Objects.requireNonNull(plan, "plan can not be null");
+            this.tableSignatures = tableSignatures;
+            this.usedColumns = usedColumns;
+            this.nextExprId = nextExprId;
+        }
+    }
+
+    // NOTE: used in Config.plan_cache_manage_num.callbackClassString and
+    //       Config.expire_plan_cache_in_fe_second.callbackClassString,
+    //       don't remove it!
+    public static class UpdateConfig extends DefaultConfHandler {
+        @Override
+        public void handle(Field field, String confVal) throws Exception {
+            super.handle(field, confVal);
+            NereidsPlanCacheManager.updateConfig();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.cache;
+
+import org.apache.doris.catalog.DistributionInfo.DistributionInfoType;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.MaterializedIndex.IndexExtState;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Replica;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ConfigBase.DefaultConfHandler;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.thrift.TDataSink;
+import org.apache.doris.thrift.TFileRangeDesc;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TOlapTablePartition;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TPipelineFragmentParams;
+import org.apache.doris.thrift.TPipelineInstanceParams;
+import org.apache.doris.thrift.TQueryGlobals;
+import org.apache.doris.thrift.TScanRange;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * StreamLoadPlanCacheManager
+ *
+ * Cache the plan of the single table stream load. The loads to the same table with the same parameters,
+ * e.g. the columns, format and where clause, only differ in the txn id and load id of the plan, so they can
+ * reuse a copy of the cached plan and skip the analyze and planning.
+ * The cached plan is dropped when the schema, the partitions, the tablets or the replicas of the table change.
+ * Other changes, e.g. the state of the backends, are picked up after the plan expires.
+ * The tablet to load of the random distributed partitions is chosen again for every load.
+ */
+public class StreamLoadPlanCacheManager {
+    private static final Logger LOG = LogManager.getLogger(StreamLoadPlanCacheManager.class);
+
+    private volatile Cache<PlanCacheKey, PlanCacheValue> planCaches;
+
+    public StreamLoadPlanCacheManager() {
+        planCaches = buildPlanCaches(
+                Config.stream_load_plan_cache_num,
+                Config.expire_stream_load_plan_cache_second
+        );
+    }
+
+    public static synchronized void updateConfig() {
+        Env currentEnv = Env.getCurrentEnv();
+        if (currentEnv == null) {
+            return;
+        }
+        StreamLoadPlanCacheManager planCacheManager = currentEnv.getStreamLoadPlanCacheManager();
+        if (planCacheManager == null) {
+            return;
+        }
+
+        Cache<PlanCacheKey, PlanCacheValue> planCaches = buildPlanCaches(
+                Config.stream_load_plan_cache_num,
+                Config.expire_stream_load_plan_cache_second
+        );
+        planCaches.putAll(planCacheManager.planCaches.asMap());
+        planCacheManager.planCaches = planCaches;
+    }
+
+    private static Cache<PlanCacheKey, PlanCacheValue> buildPlanCaches(
+            int planCacheNum, long expireAfterWriteSeconds) {
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+                // auto evict cache when jvm memory too low
+                .softValues();
+        if (planCacheNum > 0) {
+            cacheBuilder.maximumSize(planCacheNum);
+        }
+        // expire after write rather than access, so that a hot table can pick up the changed replicas
+        if (expireAfterWriteSeconds > 0) {
+            cacheBuilder = cacheBuilder.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds));
+        }
+        return cacheBuilder.build();
+    }
+
+    /**
+     * generate the cache key of the single table stream load, the load which can not use plan cache return empty.
+     */
+    public static Optional<PlanCacheKey> generateCacheKey(TStreamLoadPutRequest request, long tableId) {
+        if (Config.stream_load_plan_cache_num <= 0) {
+            return Optional.empty();
+        }
+        // the group commit sink is bound to the group commit mode of the table, and the multi table load
+        // is planned for each table it meets
+        if (!Strings.isNullOrEmpty(request.getGroupCommitMode()) || request.isSetTableNames()
+                || !Strings.isNullOrEmpty(request.getLoadSql())) {
+            return Optional.empty();
+        }
+        TStreamLoadPutRequest normalized = request.deepCopy();
+        // the load id and txn id are replaced in the copy of the cached plan,
+        // and the other fields are only used to authenticate or trace the load
+        normalized.unsetLoadId();
+        normalized.unsetTxnId();
+        normalized.unsetLabel();
+        normalized.unsetUser();
+        normalized.unsetPasswd();
+        normalized.unsetToken();
+        normalized.unsetAuthCode();
+        normalized.unsetUserIp();
+        normalized.unsetBackendId();
+        normalized.unsetThriftRpcTimeoutMs();
+        if (request.getFileType() == TFileType.FILE_STREAM) {
+            // the stream is always planned with size -1
+            normalized.unsetFileSize();
+        }
+        return Optional.of(new PlanCacheKey(tableId, normalized));
+    }
+
+    /**
+     * try to get the cached plan, the table must be read locked.
+     *
+     * @return a copy of the cached plan with the load id and txn id of the request
+     */
+    public Optional<TPipelineFragmentParams> tryGetPlan(PlanCacheKey key, OlapTable table,
+            TUniqueId loadId, long txnId) {
+        PlanCacheValue cacheValue = planCaches.getIfPresent(key);
+        if (cacheValue == null) {
+            increaseCounter(false);
+            return Optional.empty();
+        }
+        if (!cacheValue.tableVersion.equals(computeTableVersion(table))) {
+            planCaches.invalidate(key);
+            increaseCounter(false);
+            return Optional.empty();
+        }
+        TPipelineFragmentParams params = cacheValue.plan.deepCopy();
+        resetLoadInfo(params, loadId, txnId);
+        try {
+            resetLoadTabletIndex(params, table);
+        } catch (UserException e) {
+            LOG.warn("failed to reset the tablet load index of table {}, plan it again", table.getName(), e);
+            planCaches.invalidate(key);
+            increaseCounter(false);
+            return Optional.empty();
+        }
+        increaseCounter(true);
+        return Optional.of(params);
+    }
+
+    /**
+     * add the plan generated for the request, the table must be read locked.
+     */
+    public void tryAddPlan(PlanCacheKey key, OlapTable table, TPipelineFragmentParams params) {
+        // the returned plan may be changed by the caller, e.g. add the workload groups
+        planCaches.put(key, new PlanCacheValue(params.deepCopy(), computeTableVersion(table)));
+    }
+
+    private void increaseCounter(boolean hit) {
+        if (!MetricRepo.isInit) {
+            return;
+        }
+        if (hit) {
+            MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_HIT.increase(1L);
+        } else {
+            MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_MISS.increase(1L);
+        }
+    }
+
+    // the schema of the indexes, the partitions and the configs which the plan depends on
+    private static List<Object> computeTableVersion(OlapTable table) {
+        List<Object> version = Lists.newArrayList();
+        version.add(table.getBaseSchemaVersion());
+        for (Map.Entry<Long, MaterializedIndexMeta> entry : new TreeMap<>(table.getIndexIdToMeta()).entrySet()) {
+            version.add(entry.getKey());
+            version.add(entry.getValue().getSchemaVersion());
+        }
+        List<Long> partitionIds = table.getPartitionIds();
+        partitionIds.sort(Long::compareTo);
+        version.add(partitionIds);
+        List<Long> tempPartitionIds = Lists.newArrayList();
+        for (Partition partition : table.getAllTempPartitions()) {
+            tempPartitionIds.add(partition.getId());
+        }
+        tempPartitionIds.sort(Long::compareTo);
+        version.add(tempPartitionIds);
+        version.add(computeTabletsVersion(table));
+        version.add(Config.stream_load_default_timeout_second);
+        version.add(Config.stream_load_default_memtable_on_sink_node);
+        version.add(Config.enable_single_replica_load);
+        version.add(Config.be_exec_version);
+        return version;
+    }
+
+    // the tablets and the replicas of the partitions, which are in the locations of the olap table sink
+    private static long computeTabletsVersion(OlapTable table) {
+        List<Partition> partitions = Lists.newArrayList(table.getPartitions());
+        partitions.addAll(table.getAllTempPartitions());
+        partitions.sort((p1, p2) -> Long.compare(p1.getId(), p2.getId()));
+        long version = 1;
+        for (Partition partition : partitions) {
+            version = version * 31 + partition.getId();
+            for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.ALL)) {
+                version = version * 31 + index.getId();
+                for (Tablet tablet : index.getTablets()) {
+                    version = version * 31 + tablet.getId();
+                    for (Replica replica : tablet.getReplicas()) {
+                        version = version * 31 + replica.getId();
+                        version = version * 31 + replica.getBackendIdWithoutException();
+                    }
+                }
+            }
+        }
+        return version;
+    }
+
+    // choose the tablet to load of the random distributed partitions again, see OlapTableSink.createPartition()
+    static void resetLoadTabletIndex(TPipelineFragmentParams params, OlapTable table) throws UserException {
+        TDataSink sink = params.getFragment().getOutputSink();
+        if (sink == null || !sink.isSetOlapTableSink() || !sink.getOlapTableSink().isSetPartition()) {
+            return;
+        }
+        TOlapTableSink olapTableSink = sink.getOlapTableSink();
+        for (TOlapTablePartition tPartition : olapTableSink.getPartition().getPartitions()) {
+            if (!tPartition.isSetLoadTabletIdx()) {
+                continue;
+            }
+            Partition partition = table.getPartition(tPartition.getId());
+            if (partition == null || partition.getDistributionInfo().getType() != DistributionInfoType.RANDOM) {
+                continue;
+            }
+            tPartition.setLoadTabletIdx(Env.getCurrentEnv().getTabletLoadIndexRecorderMgr()
+                    .getCurrentTabletLoadIndex(olapTableSink.getDbId(), table.getId(), partition));
+        }
+    }
+
+    // replace the load id and txn id of the single instance plan, see StreamLoadPlanner.plan()
+    static void resetLoadInfo(TPipelineFragmentParams params, TUniqueId loadId, long txnId) {
+        params.setQueryId(loadId);
+        for (TPipelineInstanceParams instanceParams : params.getLocalParams()) {
+            // the fragment instance index of the single table load is always 0
+            instanceParams.setFragmentInstanceId(new TUniqueId(loadId.hi, loadId.lo));
+            if (!instanceParams.isSetPerNodeScanRanges()) {
+                continue;
+            }
+            for (List<TScanRangeParams> scanRanges : instanceParams.getPerNodeScanRanges().values()) {
+                for (TScanRangeParams scanRangeParams : scanRanges) {
+                    TScanRange scanRange = scanRangeParams.getScanRange();
+                    if (!scanRange.isSetExtScanRange() || !scanRange.getExtScanRange().isSetFileScanRange()
+                            || !scanRange.getExtScanRange().getFileScanRange().isSetRanges()) {
+                        continue;
+                    }
+                    // the load id is used to find the stream of the load on BE
+                    for (TFileRangeDesc range : scanRange.getExtScanRange().getFileScanRange().getRanges()) {
+                        range.setLoadId(loadId);
+                    }
+                }
+            }
+        }
+        TDataSink sink = params.getFragment().getOutputSink();
+        if (sink != null && sink.isSetOlapTableSink()) {
+            sink.getOlapTableSink().setLoadId(loadId);
+            sink.getOlapTableSink().setTxnId(txnId);
+        }
+        TQueryGlobals queryGlobals = params.getQueryGlobals();
+        queryGlobals.setNowString(TimeUtils.getDatetimeFormatWithTimeZone().format(LocalDateTime.now()));
+        queryGlobals.setTimestampMs(System.currentTimeMillis());
+        queryGlobals.setNanoSeconds(LocalDateTime.now().getNano());
+    }
+
+    /**
+     * the target table and the request without the load id, txn id and auth info.
+     */
+    public static class PlanCacheKey {
+        private final long tableId;
+        private final TStreamLoadPutRequest request;
+
+        PlanCacheKey(long tableId, TStreamLoadPutRequest request) {
+            this.tableId = tableId;
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanCacheKey)) {
+                return false;
+            }
+            PlanCacheKey that = (PlanCacheKey) o;
+            return tableId == that.tableId && request.equals(that.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableId, request);
+        }
+    }
+
+    private static class PlanCacheValue {
+        private final TPipelineFragmentParams plan;
+        private final List<Object> tableVersion;
+
+        PlanCacheValue(TPipelineFragmentParams plan, List<Object> tableVersion) {
+            this.plan = Objects.requireNonNull(plan, "plan can not be null");
+            this.tableVersion = tableVersion;
+        }
+    }
+
+    // NOTE: used in Config.stream_load_plan_cache_num.callbackClassString and
+    //       Config.expire_stream_load_plan_cache_second.callbackClassString, don't remove it!
+    public static class UpdateConfig extends DefaultConfHandler {
+        @Override
+        public void handle(Field field, String confVal) throws Exception {
+            super.handle(field, confVal);
+            StreamLoadPlanCacheManager.updateConfig();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.lock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of the time waited to acquire the read and write lock of a ReadWriteLock,
+ * which are updated without locking because they are updated by every acquisition.
+ * The timed attempts which time out are counted apart from the acquisitions.
+ */
+public class LockWaitStats {
+    private final LongAdder readLockCount = new LongAdder();
+    private final LongAdder readWaitNanos = new LongAdder();
+    private final AtomicLong maxReadWaitNanos = new AtomicLong();
+    private final LongAdder readTimeoutCount = new LongAdder();
+    private final LongAdder readTimeoutWaitNanos = new LongAdder();
+    private final LongAdder writeLockCount = new LongAdder();
+    private final LongAdder writeWaitNanos = new LongAdder();
+    private final AtomicLong maxWriteWaitNanos = new AtomicLong();
+    private final LongAdder writeTimeoutCount = new LongAdder();
+    private final LongAdder writeTimeoutWaitNanos = new LongAdder();
+
+    public void recordRead(long waitNanos) {
+        readLockCount.increment();
+        readWaitNanos.add(waitNanos);
+        if (waitNanos > maxReadWaitNanos.get()) {
+            maxReadWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    public void recordReadTimeout(long waitNanos) {
+        readTimeoutCount.increment();
+        readTimeoutWaitNanos.add(waitNanos);
+    }
+
+    public void recordWrite(long waitNanos) {
+        writeLockCount.increment();
+        writeWaitNanos.add(waitNanos);
+        if (waitNanos > maxWriteWaitNanos.get()) {
+            maxWriteWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    public void recordWriteTimeout(long waitNanos) {
+        writeTimeoutCount.increment();
+        writeTimeoutWaitNanos.add(waitNanos);
+    }
+
+    public long getReadLockCount() {
+        return readLockCount.sum();
+    }
+
+    public long getReadWaitNanos() {
+        return readWaitNanos.sum();
+    }
+
+    public long getMaxReadWaitNanos() {
+        return maxReadWaitNanos.get();
+    }
+
+    public long getReadTimeoutCount() {
+        return readTimeoutCount.sum();
+    }
+
+    public long getReadTimeoutWaitNanos() {
+        return readTimeoutWaitNanos.sum();
+    }
+
+    public long getWriteLockCount() {
+        return writeLockCount.sum();
+    }
+
+    public long getWriteWaitNanos() {
+        return writeWaitNanos.sum();
+    }
+
+    public long getMaxWriteWaitNanos() {
+        return maxWriteWaitNanos.get();
+    }
+
+    public long getWriteTimeoutCount() {
+        return writeTimeoutCount.sum();
+    }
+
+    public long getWriteTimeoutWaitNanos() {
+        return writeTimeoutWaitNanos.sum();
+    }
+}
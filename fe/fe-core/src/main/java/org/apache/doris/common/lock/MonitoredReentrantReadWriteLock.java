@@ -23,6 +23,8 @@ import org.apache.doris.qe.ConnectContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -35,6 +37,11 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
     // Monitored read and write lock instances
     private final ReadLock readLock = new ReadLock(this);
     private final WriteLock writeLock = new WriteLock(this);
+    // the time waited to acquire the read and write lock
+    private final LockWaitStats waitStats = new LockWaitStats();
+    // the number of threads waiting for the write lock, and since when there has always been one waiting
+    private final AtomicInteger waitingWriters = new AtomicInteger();
+    private volatile long writersWaitingSinceNanos;
 
     // Constructor for creating a monitored lock with fairness option
     public MonitoredReentrantReadWriteLock(boolean fair) {
@@ -66,10 +73,45 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
          */
         @Override
         public void lock() {
+            long start = System.nanoTime();
             super.lock();
+            waitStats.recordRead(System.nanoTime() - start);
             monitor.afterLock();
         }
 
+        /**
+         * Acquires the read lock if the write lock is not held by another thread, even if the lock is fair
+         * and there are threads waiting for it.
+         * Only the acquisition is recorded, a failed attempt doesn't wait at all.
+         */
+        @Override
+        public boolean tryLock() {
+            long start = System.nanoTime();
+            boolean acquired = super.tryLock();
+            if (acquired) {
+                waitStats.recordRead(System.nanoTime() - start);
+            }
+            monitor.afterTryLock(acquired, start);
+            return acquired;
+        }
+
+        /**
+         * Acquires the read lock within the timeout.
+         * Records the time waited as an acquisition or as a timeout.
+         */
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            long start = System.nanoTime();
+            boolean acquired = super.tryLock(timeout, unit);
+            if (acquired) {
+                waitStats.recordRead(System.nanoTime() - start);
+            } else {
+                waitStats.recordReadTimeout(System.nanoTime() - start);
+            }
+            monitor.afterTryLock(acquired, start);
+            return acquired;
+        }
+
         /**
          * Releases the read lock.
          * Records the time when the lock is released and logs the duration.
@@ -103,7 +145,14 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
          */
         @Override
         public void lock() {
-            super.lock();
+            long start = System.nanoTime();
+            beforeWriterWait(start);
+            try {
+                super.lock();
+            } finally {
+                waitingWriters.decrementAndGet();
+            }
+            waitStats.recordWrite(System.nanoTime() - start);
             monitor.afterLock();
             if (isFair() && getReadHoldCount() > 0) {
                 LOG.warn(" read lock count is {}, write lock count is {}, stack is {}, query id is {}",
@@ -112,6 +161,29 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
             }
         }
 
+        /**
+         * Acquires the write lock within the timeout.
+         * Records the time waited as an acquisition or as a timeout.
+         */
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            long start = System.nanoTime();
+            beforeWriterWait(start);
+            boolean acquired;
+            try {
+                acquired = super.tryLock(timeout, unit);
+            } finally {
+                waitingWriters.decrementAndGet();
+            }
+            if (acquired) {
+                waitStats.recordWrite(System.nanoTime() - start);
+            } else {
+                waitStats.recordWriteTimeout(System.nanoTime() - start);
+            }
+            monitor.afterTryLock(acquired, start);
+            return acquired;
+        }
+
         /**
          * Releases the write lock.
          * Records the time when the lock is released and logs the duration.
@@ -123,6 +195,26 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
         }
     }
 
+    private void beforeWriterWait(long start) {
+        if (waitingWriters.getAndIncrement() == 0) {
+            writersWaitingSinceNanos = start;
+        }
+    }
+
+    /**
+     * Acquires the read lock without waiting, skipping the writers waiting in the queue of the fair lock,
+     * unless there have been writers waiting for longer than maxWriterWaitMs. So the writers are delayed by
+     * at most that long, while they would starve if the readers kept skipping them.
+     * It fails if the write lock is held, the same as tryLock() of the read lock.
+     */
+    public boolean tryReadLockSkippingWriters(long maxWriterWaitMs) {
+        if (waitingWriters.get() > 0
+                && System.nanoTime() - writersWaitingSinceNanos > TimeUnit.MILLISECONDS.toNanos(maxWriterWaitMs)) {
+            return false;
+        }
+        return readLock.tryLock();
+    }
+
     /**
      * Returns the read lock associated with this lock.
      *
@@ -143,6 +235,10 @@ public class MonitoredReentrantReadWriteLock extends ReentrantReadWriteLock {
         return writeLock;
     }
 
+    public LockWaitStats getWaitStats() {
+        return waitStats;
+    }
+
     @Override
     public Thread getOwner() {
         return super.getOwner();
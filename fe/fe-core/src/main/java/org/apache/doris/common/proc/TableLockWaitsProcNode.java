@@ -0,0 +1,100 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.proc;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.lock.LockWaitStats;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    SHOW PROC "/table_lock_waits"
+    show the time waited for the read and write lock of the tables since FE started,
+    the tables waited longest come first. The timed attempts which timed out are counted
+    in ReadTimeouts and WriteTimeouts rather than ReadLocks and WriteLocks.
+
+    RESULT:
+    DbName | TableName | ReadLocks | ReadWaitMs | MaxReadWaitMs | ReadTimeouts | ReadTimeoutWaitMs
+           | WriteLocks | WriteWaitMs | MaxWriteWaitMs | WriteTimeouts | WriteTimeoutWaitMs
+ */
+public class TableLockWaitsProcNode implements ProcNodeInterface {
+
+    private static final ImmutableList<String> TITLE_NAMES =
+            new ImmutableList.Builder<String>()
+                    .add("DbName")
+                    .add("TableName")
+                    .add("ReadLocks")
+                    .add("ReadWaitMs")
+                    .add("MaxReadWaitMs")
+                    .add("ReadTimeouts")
+                    .add("ReadTimeoutWaitMs")
+                    .add("WriteLocks")
+                    .add("WriteWaitMs")
+                    .add("MaxWriteWaitMs")
+                    .add("WriteTimeouts")
+                    .add("WriteTimeoutWaitMs")
+                    .build();
+
+    @Override
+    public ProcResult fetchResult() throws AnalysisException {
+        // the rows with their total wait time
+        List<Pair<Long, List<String>>> rows = Lists.newArrayList();
+        for (long dbId : Env.getCurrentInternalCatalog().getDbIds()) {
+            Database db = Env.getCurrentInternalCatalog().getDbNullable(dbId);
+            if (db == null) {
+                continue;
+            }
+            for (Table table : db.getTables()) {
+                LockWaitStats stats = table.getLockWaitStats();
+                long readWaitNanos = stats.getReadWaitNanos();
+                long readTimeoutWaitNanos = stats.getReadTimeoutWaitNanos();
+                long writeWaitNanos = stats.getWriteWaitNanos();
+                long writeTimeoutWaitNanos = stats.getWriteTimeoutWaitNanos();
+                long totalWaitNanos = readWaitNanos + readTimeoutWaitNanos + writeWaitNanos + writeTimeoutWaitNanos;
+                rows.add(Pair.of(totalWaitNanos, Lists.newArrayList(db.getFullName(), table.getName(),
+                        String.valueOf(stats.getReadLockCount()),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(readWaitNanos)),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getMaxReadWaitNanos())),
+                        String.valueOf(stats.getReadTimeoutCount()),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(readTimeoutWaitNanos)),
+                        String.valueOf(stats.getWriteLockCount()),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(writeWaitNanos)),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getMaxWriteWaitNanos())),
+                        String.valueOf(stats.getWriteTimeoutCount()),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(writeTimeoutWaitNanos)))));
+            }
+        }
+        rows.sort(Comparator.comparing((Pair<Long, List<String>> row) -> row.first).reversed());
+
+        BaseProcResult result = new BaseProcResult();
+        result.setNames(TITLE_NAMES);
+        for (Pair<Long, List<String>> row : rows) {
+            result.addRow(row.second);
+        }
+        return result;
+    }
+}
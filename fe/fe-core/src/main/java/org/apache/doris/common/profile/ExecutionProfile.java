@@ -38,6 +38,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * root is used to collect profile of a complete query plan(including query or load).
@@ -55,6 +57,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public class ExecutionProfile {
     private static final Logger LOG = LogManager.getLogger(ExecutionProfile.class);
+    // e.g. HASH_JOIN_OPERATOR (id=3. nereids_id=120), but not dst_id=3 of the exchange sinks
+    private static final Pattern OPERATOR_ID_PATTERN = Pattern.compile("\\(id=(\\d+)");
 
     private final TUniqueId queryId;
     private long queryFinishTime = 0L;
@@ -145,6 +149,44 @@ public class ExecutionProfile {
         }
     }
 
+    /**
+     * The rows produced by the operators of the plan nodes, summed over all the pipeline tasks, keyed by the
+     * legacy plan node id. The sink operators are excluded since they share the id with their source nodes.
+     */
+    public Map<Integer, Long> getRowsProducedByPlanNode() {
+        Map<Integer, Long> planIdToRows = Maps.newHashMap();
+        multiBeProfileLock.readLock().lock();
+        try {
+            for (Map<TNetworkAddress, List<RuntimeProfile>> multiPipeline : multiBeProfile.values()) {
+                for (List<RuntimeProfile> pipelines : multiPipeline.values()) {
+                    for (RuntimeProfile pipeline : pipelines) {
+                        collectRowsProduced(pipeline, planIdToRows);
+                    }
+                }
+            }
+        } finally {
+            multiBeProfileLock.readLock().unlock();
+        }
+        return planIdToRows;
+    }
+
+    private static void collectRowsProduced(RuntimeProfile profile, Map<Integer, Long> planIdToRows) {
+        String name = profile.getName();
+        if (name.contains("_OPERATOR") && !name.contains("_SINK_OPERATOR") && !profile.sinkOperator()) {
+            Matcher matcher = OPERATOR_ID_PATTERN.matcher(name);
+            Counter counter = profile.getCounterMap().get("RowsProduced");
+            if (counter == null) {
+                counter = profile.getCounterMap().get("RowsReturned");
+            }
+            if (matcher.find() && counter != null) {
+                planIdToRows.merge(Integer.parseInt(matcher.group(1)), counter.getValue(), Long::sum);
+            }
+        }
+        for (Pair<RuntimeProfile, Boolean> child : profile.getChildList()) {
+            collectRowsProduced(child.first, planIdToRows);
+        }
+    }
+
     void setMultiBeProfile(int fragmentId, TNetworkAddress backendHBAddress, List<RuntimeProfile> taskProfile) {
         multiBeProfileLock.writeLock().lock();
         try {
@@ -21,6 +21,7 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.stats.StatsErrorEstimator;
 import org.apache.doris.nereids.trees.plans.AbstractPlan;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.distribute.DistributedPlan;
@@ -108,6 +109,8 @@ public class Profile {
     private long profileSize = 0;
 
     private PhysicalPlan physicalPlan;
+    // collects the actual rows of the plan nodes if enable_cardinality_feedback is set
+    private StatsErrorEstimator statsErrorEstimator;
     public Map<String, Long> rowsProducedMap = new HashMap<>();
     private List<PhysicalRelation> physicalRelations = new ArrayList<>();
 
@@ -280,6 +283,7 @@ public class Profile {
                 NereidsPlanner nereidsPlanner = ((NereidsPlanner) planner);
                 physicalPlan = nereidsPlanner.getPhysicalPlan();
                 physicalRelations.addAll(nereidsPlanner.getPhysicalRelations());
+                statsErrorEstimator = nereidsPlanner.getStatsErrorEstimator();
                 if (profileLevel >= 3) {
                     FragmentIdMapping<DistributedPlan> distributedPlans = nereidsPlanner.getDistributedPlans();
                     if (distributedPlans != null) {
@@ -435,6 +439,28 @@ public class Profile {
         this.changedSessionVarCache = "";
     }
 
+    // Whether the query is finished and all the execution profiles are reported by BE
+    public boolean isExecutionProfileCompleted() {
+        if (!isQueryFinished || profileHasBeenStored() || executionProfiles.isEmpty()) {
+            return false;
+        }
+        for (ExecutionProfile executionProfile : executionProfiles) {
+            if (!executionProfile.isCompleted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The rows produced by the plan nodes, keyed by the legacy plan node id
+    public Map<Integer, Long> getRowsProducedByPlanNode() {
+        Map<Integer, Long> planIdToRows = Maps.newHashMap();
+        for (ExecutionProfile executionProfile : executionProfiles) {
+            executionProfile.getRowsProducedByPlanNode().forEach((id, rows) -> planIdToRows.merge(id, rows, Long::sum));
+        }
+        return planIdToRows;
+    }
+
     public boolean shouldStoreToStorage() {
         if (profileHasBeenStored()) {
             return false;
@@ -644,6 +670,10 @@ public class Profile {
         this.physicalPlan = physicalPlan;
     }
 
+    public StatsErrorEstimator getStatsErrorEstimator() {
+        return statsErrorEstimator;
+    }
+
     private void updateActualRowCountOnPhysicalPlan(Plan plan) {
         if (plan == null || rowsProducedMap.isEmpty()) {
             return;
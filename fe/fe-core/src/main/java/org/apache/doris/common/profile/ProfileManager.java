@@ -26,6 +26,7 @@ import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.load.loadv2.LoadJob;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.nereids.stats.StatsErrorEstimator;
 import org.apache.doris.qe.CoordInterface;
 import org.apache.doris.qe.QeProcessorImpl;
@@ -168,6 +169,8 @@ public class ProfileManager extends MasterDaemon {
     private ProfileElement createElement(Profile profile) {
         ProfileElement element = new ProfileElement(profile);
         element.infoStrings.putAll(profile.getSummaryProfile().getAsInfoStings());
+        // the element is created again whenever the profile is updated, so the estimator is kept by the profile
+        element.setStatsErrorEstimator(profile.getStatsErrorEstimator());
         // Not init builder any more, we will not maintain it since 2.1.0, because the structure
         // assume that the execution profiles structure is already known before execution. But in
         // PipelineX Engine, it will changed during execution.
@@ -455,13 +458,6 @@ public class ProfileManager extends MasterDaemon {
         }
     }
 
-    public void setStatsErrorEstimator(String queryId, StatsErrorEstimator statsErrorEstimator) {
-        ProfileElement profileElement = findProfileElementObject(queryId);
-        if (profileElement != null) {
-            profileElement.setStatsErrorEstimator(statsErrorEstimator);
-        }
-    }
-
     public void cleanProfile() {
         writeLock.lock();
         try {
@@ -475,6 +471,7 @@ public class ProfileManager extends MasterDaemon {
     @Override
     protected void runAfterCatalogReady() {
         loadProfilesFromStorageIfFirstTime();
+        collectCardinalityFeedback();
         writeProfileToStorage();
         deleteBrokenProfiles();
         deleteOutdatedProfilesFromMemory();
@@ -585,6 +582,42 @@ public class ProfileManager extends MasterDaemon {
     // Collect profiles that need to be stored to storage
     // Store them to storage
     // Release the memory
+    // Collect the actual rows of the plan nodes of the queries with enable_cardinality_feedback, it must be done
+    // before the execution profiles are released by writeProfileToStorage
+    private void collectCardinalityFeedback() {
+        List<ProfileElement> profilesToBeCollected = Lists.newArrayList();
+        readLock.lock();
+        try {
+            for (ProfileElement profileElement : queryIdToProfileMap.values()) {
+                StatsErrorEstimator statsErrorEstimator = profileElement.statsErrorEstimator;
+                if (statsErrorEstimator != null && !statsErrorEstimator.isExactRowsCollected()
+                        && profileElement.profile.isExecutionProfileCompleted()) {
+                    profilesToBeCollected.add(profileElement);
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        for (ProfileElement profileElement : profilesToBeCollected) {
+            StatsErrorEstimator statsErrorEstimator = profileElement.statsErrorEstimator;
+            try {
+                statsErrorEstimator.updateExactReturnedRows(profileElement.profile.getRowsProducedByPlanNode());
+            } catch (Exception e) {
+                LOG.warn("Failed to collect cardinality feedback of query {}", profileElement.profile.getId(), e);
+                continue;
+            }
+            if (!statsErrorEstimator.hasQError()) {
+                continue;
+            }
+            double qError = statsErrorEstimator.getQError();
+            profileElement.profile.getSummaryProfile().setCardinalityQError(qError);
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_QUERY_Q_ERROR.update((long) Math.ceil(qError));
+            }
+        }
+    }
+
     private void writeProfileToStorage() {
         try {
             if (Strings.isNullOrEmpty(PROFILE_STORAGE_PATH)) {
@@ -65,6 +65,9 @@ public class SummaryProfile {
     public static final String PARALLEL_FRAGMENT_EXEC_INSTANCE = "Parallel Fragment Exec Instance Num";
     public static final String TRACE_ID = "Trace ID";
     public static final String WORKLOAD_GROUP = "Workload Group";
+    public static final String QUERY_QUEUE_WEIGHT = "Query Queue Weight";
+    public static final String QUERY_QUEUE_WAIT_TIME = "Query Queue Wait Time";
+    public static final String CARDINALITY_Q_ERROR = "Cardinality Q-Error";
     public static final String DISTRIBUTED_PLAN = "Distributed Plan";
     public static final String SYSTEM_MESSAGE = "System Message";
     public static final String EXECUTED_BY_FRONTEND = "Executed By Frontend";
@@ -89,6 +92,8 @@ public class SummaryProfile {
     public static final String WAIT_FETCH_RESULT_TIME = "Wait and Fetch Result Time";
     public static final String FETCH_RESULT_TIME = "Fetch Result Time";
     public static final String WRITE_RESULT_TIME = "Write Result Time";
+    public static final String RESULT_PREFETCH_WAIT_BE_TIME = "Result Prefetch Wait BE Time";
+    public static final String RESULT_PREFETCH_WAIT_CLIENT_TIME = "Result Prefetch Wait Client Time";
     public static final String GET_PARTITION_VERSION_TIME = "Get Partition Version Time";
     public static final String GET_PARTITION_VERSION_COUNT = "Get Partition Version Count";
     public static final String GET_PARTITION_VERSION_BY_HAS_DATA_COUNT = "Get Partition Version Count (hasData)";
@@ -107,6 +112,8 @@ public class SummaryProfile {
 
     public static final String FRAGMENT_COMPRESSED_SIZE = "Fragment Compressed Size";
     public static final String FRAGMENT_RPC_COUNT = "Fragment RPC Count";
+    public static final String FRAGMENT_SHARED_STRUCT_REUSED_SIZE = "Fragment Shared Struct Reused Size";
+    public static final String FRAGMENT_SHARED_STRUCT_SAVED_TIME = "Fragment Shared Struct Saved Time";
     public static final String TRANSACTION_COMMIT_TIME = "Transaction Commit Time";
     public static final String FILESYSTEM_OPT_TIME = "FileSystem Operator Time";
     public static final String FILESYSTEM_OPT_RENAME_FILE_CNT = "Rename File Count";
@@ -143,6 +150,9 @@ public class SummaryProfile {
             NEREIDS_TRANSLATE_TIME,
             NEREIDS_DISTRIBUTE_TIME,
             WORKLOAD_GROUP,
+            QUERY_QUEUE_WEIGHT,
+            QUERY_QUEUE_WAIT_TIME,
+            CARDINALITY_Q_ERROR,
             ANALYSIS_TIME,
             PLAN_TIME,
             JOIN_REORDER_TIME,
@@ -166,10 +176,14 @@ public class SummaryProfile {
             SEND_FRAGMENT_PHASE2_TIME,
             FRAGMENT_COMPRESSED_SIZE,
             FRAGMENT_RPC_COUNT,
+            FRAGMENT_SHARED_STRUCT_REUSED_SIZE,
+            FRAGMENT_SHARED_STRUCT_SAVED_TIME,
             SCHEDULE_TIME_PER_BE,
             WAIT_FETCH_RESULT_TIME,
             FETCH_RESULT_TIME,
             WRITE_RESULT_TIME,
+            RESULT_PREFETCH_WAIT_BE_TIME,
+            RESULT_PREFETCH_WAIT_CLIENT_TIME,
             DORIS_VERSION,
             IS_NEREIDS,
             IS_CACHED,
@@ -186,6 +200,8 @@ public class SummaryProfile {
     // Please set this map for new profile items if they need ident.
     public static ImmutableMap<String, Integer> EXECUTION_SUMMARY_KEYS_IDENTATION
             = ImmutableMap.<String, Integer>builder()
+            .put(QUERY_QUEUE_WEIGHT, 1)
+            .put(QUERY_QUEUE_WAIT_TIME, 1)
             .put(JOIN_REORDER_TIME, 1)
             .put(CREATE_SINGLE_NODE_TIME, 1)
             .put(QUERY_DISTRIBUTED_TIME, 1)
@@ -206,6 +222,8 @@ public class SummaryProfile {
             .put(SEND_FRAGMENT_PHASE2_TIME, 1)
             .put(FRAGMENT_COMPRESSED_SIZE, 1)
             .put(FRAGMENT_RPC_COUNT, 1)
+            .put(FRAGMENT_SHARED_STRUCT_REUSED_SIZE, 1)
+            .put(FRAGMENT_SHARED_STRUCT_SAVED_TIME, 1)
             .put(FILESYSTEM_OPT_TIME, 1)
             .put(FILESYSTEM_OPT_RENAME_FILE_CNT, 2)
             .put(FILESYSTEM_OPT_RENAME_DIR_CNT, 2)
@@ -215,6 +233,8 @@ public class SummaryProfile {
             .put(HMS_ADD_PARTITION_CNT, 2)
             .put(HMS_UPDATE_PARTITION_TIME, 1)
             .put(HMS_UPDATE_PARTITION_CNT, 2)
+            .put(RESULT_PREFETCH_WAIT_BE_TIME, 1)
+            .put(RESULT_PREFETCH_WAIT_CLIENT_TIME, 1)
             .build();
 
     @SerializedName(value = "summaryProfile")
@@ -288,6 +308,19 @@ public class SummaryProfile {
     private long fragmentCompressedSize = 0;
     @SerializedName(value = "fragmentRpcCount")
     private long fragmentRpcCount = 0;
+    // the estimated weight and the wait time of the query in the query queue of its workload group
+    @SerializedName(value = "queryQueueWeight")
+    private String queryQueueWeight = "N/A";
+    @SerializedName(value = "queryQueueWaitTime")
+    private long queryQueueWaitTime = -1;
+    // the max q-error of the estimated rows of the plan nodes, set after the execution profiles are reported
+    @SerializedName(value = "cardinalityQError")
+    private String cardinalityQError = "N/A";
+    // bytes of the shared thrift structs copied instead of serialized again, and the estimated time saved
+    @SerializedName(value = "fragmentSharedStructReusedSize")
+    private long fragmentSharedStructReusedSize = 0;
+    @SerializedName(value = "fragmentSharedStructSavedTimeNs")
+    private long fragmentSharedStructSavedTimeNs = 0;
     // Fragment schedule and send end time
     @SerializedName(value = "queryScheduleFinishTime")
     private long queryScheduleFinishTime = -1;
@@ -300,6 +333,11 @@ public class SummaryProfile {
     private long queryFetchResultConsumeTime = 0;
     @SerializedName(value = "queryWriteResultConsumeTime")
     private long queryWriteResultConsumeTime = 0;
+    // Only set when result prefetch is enabled
+    @SerializedName(value = "resultPrefetchWaitBeTime")
+    private long resultPrefetchWaitBeTime = 0;
+    @SerializedName(value = "resultPrefetchWaitClientTime")
+    private long resultPrefetchWaitClientTime = 0;
     @SerializedName(value = "getPartitionVersionTime")
     private long getPartitionVersionTime = 0;
     @SerializedName(value = "getPartitionVersionCount")
@@ -421,6 +459,10 @@ public class SummaryProfile {
         executionSummaryProfile.addInfoString(NEREIDS_DISTRIBUTE_TIME, getPrettyNereidsDistributeTime());
         executionSummaryProfile.addInfoString(NEREIDS_GARBAGE_COLLECT_TIME, getPrettyNereidsGarbageCollectionTime());
         executionSummaryProfile.addInfoString(NEREIDS_BE_FOLD_CONST_TIME, getPrettyNereidsBeFoldConstTime());
+        executionSummaryProfile.addInfoString(QUERY_QUEUE_WEIGHT, queryQueueWeight);
+        executionSummaryProfile.addInfoString(QUERY_QUEUE_WAIT_TIME, queryQueueWaitTime < 0 ? "N/A"
+                : RuntimeProfile.printCounter(queryQueueWaitTime, TUnit.TIME_MS));
+        executionSummaryProfile.addInfoString(CARDINALITY_Q_ERROR, cardinalityQError);
         executionSummaryProfile.addInfoString(ANALYSIS_TIME,
                 getPrettyTime(queryAnalysisFinishTime, queryBeginTime, TUnit.TIME_MS));
         executionSummaryProfile.addInfoString(PLAN_TIME,
@@ -457,12 +499,20 @@ public class SummaryProfile {
         executionSummaryProfile.addInfoString(FRAGMENT_COMPRESSED_SIZE,
                 RuntimeProfile.printCounter(fragmentCompressedSize, TUnit.BYTES));
         executionSummaryProfile.addInfoString(FRAGMENT_RPC_COUNT, "" + fragmentRpcCount);
+        executionSummaryProfile.addInfoString(FRAGMENT_SHARED_STRUCT_REUSED_SIZE,
+                RuntimeProfile.printCounter(fragmentSharedStructReusedSize, TUnit.BYTES));
+        executionSummaryProfile.addInfoString(FRAGMENT_SHARED_STRUCT_SAVED_TIME,
+                RuntimeProfile.printCounter(fragmentSharedStructSavedTimeNs, TUnit.TIME_NS));
         executionSummaryProfile.addInfoString(WAIT_FETCH_RESULT_TIME,
                 getPrettyTime(queryFetchResultFinishTime, queryScheduleFinishTime, TUnit.TIME_MS));
         executionSummaryProfile.addInfoString(FETCH_RESULT_TIME,
                 RuntimeProfile.printCounter(queryFetchResultConsumeTime, TUnit.TIME_MS));
         executionSummaryProfile.addInfoString(WRITE_RESULT_TIME,
                 RuntimeProfile.printCounter(queryWriteResultConsumeTime, TUnit.TIME_MS));
+        executionSummaryProfile.addInfoString(RESULT_PREFETCH_WAIT_BE_TIME,
+                RuntimeProfile.printCounter(resultPrefetchWaitBeTime, TUnit.TIME_MS));
+        executionSummaryProfile.addInfoString(RESULT_PREFETCH_WAIT_CLIENT_TIME,
+                RuntimeProfile.printCounter(resultPrefetchWaitClientTime, TUnit.TIME_MS));
         setTransactionSummary();
 
         if (Config.isCloudMode()) {
@@ -624,6 +674,11 @@ public class SummaryProfile {
         this.queryWriteResultConsumeTime += TimeUtils.getStartTimeMs() - tempStarTime;
     }
 
+    public void addResultPrefetchWaitTime(long waitBeTimeMs, long waitClientTimeMs) {
+        this.resultPrefetchWaitBeTime += waitBeTimeMs;
+        this.resultPrefetchWaitClientTime += waitClientTimeMs;
+    }
+
     public void setAssignFragmentTime() {
         this.assignFragmentTime = TimeUtils.getStartTimeMs();
     }
@@ -644,10 +699,26 @@ public class SummaryProfile {
         this.fragmentCompressedSize += size;
     }
 
+    public void setQueryQueueInfo(String weight, long waitTimeMs) {
+        this.queryQueueWeight = weight;
+        this.queryQueueWaitTime = waitTimeMs;
+    }
+
+    public void setCardinalityQError(double qError) {
+        this.cardinalityQError = String.format("%.2f", qError);
+        // the profile may not be updated again after the query finishes
+        executionSummaryProfile.addInfoString(CARDINALITY_Q_ERROR, cardinalityQError);
+    }
+
     public void updateFragmentRpcCount(long count) {
         this.fragmentRpcCount += count;
     }
 
+    public void updateFragmentSharedStructStats(long reusedSize, long savedTimeNs) {
+        this.fragmentSharedStructReusedSize += reusedSize;
+        this.fragmentSharedStructSavedTimeNs += savedTimeNs;
+    }
+
     public void addGetPartitionVersionTime(long ns) {
         this.getPartitionVersionTime += ns;
         this.getPartitionVersionCount += 1;
@@ -38,6 +38,10 @@ public class Daemon extends Thread {
 
     private AtomicBoolean isStart = new AtomicBoolean(false);
 
+    private final Object wakeupLock = new Object();
+    // guarded by wakeupLock
+    private boolean wakeupRequested = false;
+
     {
         setDaemon(true);
     }
@@ -101,6 +105,17 @@ public class Daemon extends Thread {
         this.intervalMs = intervalMs;
     }
 
+    /**
+     * Start the next cycle immediately instead of waiting for the rest of the interval.
+     * If a cycle is running, another cycle will be run right after it.
+     */
+    public void wakeup() {
+        synchronized (wakeupLock) {
+            wakeupRequested = true;
+            wakeupLock.notifyAll();
+        }
+    }
+
     /**
      * implement in child
      */
@@ -122,7 +137,7 @@ public class Daemon extends Thread {
             }
 
             try {
-                Thread.sleep(intervalMs);
+                waitForNextCycle();
             } catch (InterruptedException e) {
                 LOG.info("InterruptedException: ", e);
             }
@@ -133,4 +148,16 @@ public class Daemon extends Thread {
         }
         LOG.error("daemon thread exits. name=" + this.getName());
     }
+
+    private void waitForNextCycle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + intervalMs;
+        synchronized (wakeupLock) {
+            long waitMs = intervalMs;
+            while (!wakeupRequested && waitMs > 0) {
+                wakeupLock.wait(waitMs);
+                waitMs = deadline - System.currentTimeMillis();
+            }
+            wakeupRequested = false;
+        }
+    }
 }
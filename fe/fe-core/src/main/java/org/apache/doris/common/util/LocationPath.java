@@ -87,6 +87,12 @@ public class LocationPath {
         this(location, props, true);
     }
 
+    private LocationPath(Scheme scheme, String location, boolean isBindBroker) {
+        this.scheme = scheme;
+        this.location = location;
+        this.isBindBroker = isBindBroker;
+    }
+
     private LocationPath(String originLocation, Map<String, String> props, boolean convertPath) {
         isBindBroker = props.containsKey(HMSExternalCatalog.BIND_BROKER_NAME);
         String tmpLocation = originLocation;
@@ -291,6 +297,15 @@ public class LocationPath {
         }
     }
 
+    /**
+     * Create a location with the same scheme and broker binding as this location,
+     * e.g. a file in the directory of this location.
+     * The given location must already be normalized, it is not converted again.
+     */
+    public LocationPath withLocation(String normalizedLocation) {
+        return new LocationPath(scheme, normalizedLocation, isBindBroker);
+    }
+
     public Scheme getScheme() {
         return scheme;
     }
@@ -0,0 +1,554 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A local disk tier of an external meta cache, so that the cached meta is not lost after the FE restarts.
+ *
+ * The values are appended to segment files named "segment_{seq}" in the given directory.
+ * Each record is:
+ *     | length(int) | crc(int) | type(byte) | group(long) | version(long) | write time(long) |
+ *     | key length(int) | key | value length(int) | value |
+ * The length and crc cover all the bytes after the crc. A removed key is recorded as a DELETE record.
+ *
+ * The index from the key to the position of its latest value is kept in memory,
+ * and it is rebuilt by scanning the segments when the store is opened. A broken record at the tail of a segment,
+ * which may be left by a crash, is ignored.
+ * When the total size of the segments exceeds the capacity, the oldest segments are deleted.
+ * A segment is forced to the disk when the next segment is created and when the store is closed.
+ *
+ * The version and the write time are returned with the value, the caller should check them
+ * against the external meta source before using the value.
+ */
+public class ExternalMetaCacheDiskStore {
+    private static final Logger LOG = LogManager.getLogger(ExternalMetaCacheDiskStore.class);
+
+    private static final String SEGMENT_PREFIX = "segment_";
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    // length and crc
+    private static final int RECORD_HEADER_SIZE = 8;
+    // type, group, version, write time, key length and value length
+    private static final int RECORD_FIXED_SIZE = 1 + 8 * 3 + 4 * 2;
+
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DELETE = 2;
+
+    // write the values in background, so that loading the cache does not wait for the disk.
+    // a write is dropped if the queue is full, the value is just not in the disk tier then.
+    private static final ExecutorService WRITE_EXECUTOR = ThreadPoolManager.newDaemonFixedThreadPool(1, 1000,
+            "external-meta-cache-disk-writer", false, new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * A value read from the store.
+     */
+    public static class Value {
+        private final long version;
+        private final long writeTime;
+        private final byte[] data;
+
+        Value(long version, long writeTime, byte[] data) {
+            this.version = version;
+            this.writeTime = writeTime;
+            this.data = data;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getWriteTime() {
+            return writeTime;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    private static class Position {
+        final long segment;
+        final long offset;
+        final int length;
+        final long group;
+
+        Position(long segment, long offset, int length, long group) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.group = group;
+        }
+    }
+
+    private final File dir;
+    private final long capacity;
+    private final long segmentSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // segment seq -> channel, ordered from the oldest to the newest
+    private final TreeMap<Long, FileChannel> segments = new TreeMap<>();
+    private final Map<String, Position> index = Maps.newHashMap();
+    // segment seq -> keys written to the segment, some of them may be overwritten by the later segments
+    private final Map<Long, Set<String>> segmentKeys = Maps.newHashMap();
+    private long totalBytes = 0;
+    private long activeSegment = -1;
+    private long activeSegmentSize = 0;
+    private boolean closed = false;
+    // increased when any value is removed, to drop the background writes submitted before the removal
+    private final AtomicLong removeCount = new AtomicLong(0);
+
+    private final AtomicLong hitCount = new AtomicLong(0);
+    private final AtomicLong missCount = new AtomicLong(0);
+
+    public ExternalMetaCacheDiskStore(File dir, long capacity) throws IOException {
+        this(dir, capacity, DEFAULT_SEGMENT_SIZE);
+    }
+
+    @VisibleForTesting
+    ExternalMetaCacheDiskStore(File dir, long capacity, long segmentSize) throws IOException {
+        this.dir = dir;
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("failed to create dir " + dir);
+        }
+        open();
+    }
+
+    /**
+     * Create the disk store of a cache of the catalog, or return null if the disk tier is disabled or unavailable.
+     */
+    public static ExternalMetaCacheDiskStore create(long catalogId, String cacheName) {
+        if (!Config.enable_external_meta_cache_disk_tier) {
+            return null;
+        }
+        File dir = new File(getCatalogDir(catalogId), cacheName);
+        try {
+            return new ExternalMetaCacheDiskStore(dir, Config.external_meta_cache_disk_tier_capacity_mb * 1024 * 1024);
+        } catch (IOException e) {
+            LOG.warn("failed to open external meta cache disk store {}, disk tier is disabled", dir, e);
+            return null;
+        }
+    }
+
+    /**
+     * Delete the disk stores of all caches of the catalog, used when the catalog is dropped.
+     */
+    public static void deleteCatalogDir(long catalogId) {
+        File dir = getCatalogDir(catalogId);
+        if (!dir.exists()) {
+            return;
+        }
+        try {
+            FileUtils.deleteDirectory(dir);
+        } catch (IOException e) {
+            LOG.warn("failed to delete external meta cache dir {}", dir, e);
+        }
+    }
+
+    private static File getCatalogDir(long catalogId) {
+        String root = Strings.isNullOrEmpty(Config.external_meta_cache_disk_tier_dir)
+                ? Config.meta_dir + "/external_meta_cache" : Config.external_meta_cache_disk_tier_dir;
+        return new File(root, String.valueOf(catalogId));
+    }
+
+    private void open() throws IOException {
+        File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX));
+        TreeMap<Long, File> segmentFiles = new TreeMap<>();
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    segmentFiles.put(Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    LOG.warn("ignore unknown file {} in external meta cache dir", file);
+                }
+            }
+        }
+        for (Map.Entry<Long, File> entry : segmentFiles.entrySet()) {
+            FileChannel channel = FileChannel.open(entry.getValue().toPath(),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long validSize = loadSegment(entry.getKey(), channel);
+            if (validSize < channel.size()) {
+                LOG.warn("truncate broken records of {} from {} to {}", entry.getValue(), channel.size(), validSize);
+                channel.truncate(validSize);
+            }
+            segments.put(entry.getKey(), channel);
+            totalBytes += validSize;
+            activeSegment = entry.getKey();
+            activeSegmentSize = validSize;
+        }
+        LOG.info("open external meta cache disk store {}, segments: {}, entries: {}, bytes: {}",
+                dir, segments.size(), index.size(), totalBytes);
+    }
+
+    // load the index of a segment, return the size of the valid records
+    private long loadSegment(long segment, FileChannel channel) throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (offset + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < RECORD_FIXED_SIZE || offset + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, offset + RECORD_HEADER_SIZE);
+            if (crc(body.array()) != crc) {
+                break;
+            }
+            body.flip();
+            byte type = body.get();
+            long group = body.getLong();
+            // version and write time
+            body.getLong();
+            body.getLong();
+            byte[] key = new byte[body.getInt()];
+            body.get(key);
+            String keyStr = new String(key, StandardCharsets.UTF_8);
+            if (type == TYPE_PUT) {
+                index.put(keyStr, new Position(segment, offset, RECORD_HEADER_SIZE + length, group));
+                segmentKeys.computeIfAbsent(segment, k -> Sets.newHashSet()).add(keyStr);
+            } else {
+                index.remove(keyStr);
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Get the value of the key, or null if it is not in the store.
+     */
+    public Value get(String key) {
+        lock.readLock().lock();
+        try {
+            Position position = closed ? null : index.get(key);
+            if (position == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+            ByteBuffer record = ByteBuffer.allocate(position.length);
+            readFully(segments.get(position.segment), record, position.offset);
+            record.flip();
+            record.getInt();
+            int crc = record.getInt();
+            if (crc(record.array(), RECORD_HEADER_SIZE, position.length - RECORD_HEADER_SIZE) != crc) {
+                LOG.warn("crc mismatch of key {} in external meta cache disk store {}", key, dir);
+                missCount.incrementAndGet();
+                return null;
+            }
+            record.get();
+            record.getLong();
+            long version = record.getLong();
+            long writeTime = record.getLong();
+            record.position(record.position() + record.getInt());
+            byte[] data = new byte[record.getInt()];
+            record.get(data);
+            hitCount.incrementAndGet();
+            return new Value(version, writeTime, data);
+        } catch (IOException e) {
+            LOG.warn("failed to read key {} from external meta cache disk store {}", key, dir, e);
+            missCount.incrementAndGet();
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Put the value of the key. The group is used to remove the values of a table together.
+     */
+    public void put(String key, long group, long version, byte[] value) {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Position position = append(TYPE_PUT, key, group, version, value);
+            index.put(key, position);
+            segmentKeys.computeIfAbsent(position.segment, k -> Sets.newHashSet()).add(key);
+            evictIfNeeded();
+        } catch (IOException e) {
+            LOG.warn("failed to write key {} to external meta cache disk store {}", key, dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Put the value of the key in background. The value is serialized in background too,
+     * and it is dropped if any value of the store is removed before it is written,
+     * so that an invalidated value is not written back.
+     */
+    public void putAsync(String key, long group, long version, Callable<byte[]> value) {
+        long submitRemoveCount = removeCount.get();
+        WRITE_EXECUTOR.execute(() -> {
+            byte[] bytes;
+            try {
+                bytes = value.call();
+            } catch (Exception e) {
+                LOG.warn("failed to serialize key {} for external meta cache disk store {}", key, dir, e);
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                if (removeCount.get() == submitRemoveCount) {
+                    put(key, group, version, bytes);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeCount.incrementAndGet();
+            if (!closed && index.remove(key) != null) {
+                append(TYPE_DELETE, key, 0, 0, new byte[0]);
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to remove key {} from external meta cache disk store {}", key, dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGroup(long group) {
+        lock.writeLock().lock();
+        try {
+            removeCount.incrementAndGet();
+            if (closed) {
+                return;
+            }
+            Iterator<Map.Entry<String, Position>> iterator = index.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Position> entry = iterator.next();
+                if (entry.getValue().group == group) {
+                    iterator.remove();
+                    append(TYPE_DELETE, entry.getKey(), group, 0, new byte[0]);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to remove group {} from external meta cache disk store {}", group, dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all values and delete all segments.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            removeCount.incrementAndGet();
+            while (!segments.isEmpty()) {
+                deleteSegment(segments.firstKey());
+            }
+            index.clear();
+            segmentKeys.clear();
+            totalBytes = 0;
+            activeSegmentSize = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Close the segments, the store could not be used after it is closed.
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            removeCount.incrementAndGet();
+            for (FileChannel channel : segments.values()) {
+                try {
+                    if (channel.isOpen()) {
+                        channel.force(true);
+                    }
+                    channel.close();
+                } catch (IOException e) {
+                    LOG.warn("failed to close segment in {}", dir, e);
+                }
+            }
+            segments.clear();
+            index.clear();
+            segmentKeys.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Position append(byte type, String key, long group, long version, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_FIXED_SIZE + keyBytes.length + value.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.putInt(length);
+        record.putInt(0);
+        record.put(type);
+        record.putLong(group);
+        record.putLong(version);
+        record.putLong(System.currentTimeMillis());
+        record.putInt(keyBytes.length);
+        record.put(keyBytes);
+        record.putInt(value.length);
+        record.put(value);
+        record.putInt(4, crc(record.array(), RECORD_HEADER_SIZE, length));
+        record.flip();
+
+        if (!segments.containsKey(activeSegment) || activeSegmentSize >= segmentSize) {
+            rollSegment();
+        }
+        FileChannel channel = segments.get(activeSegment);
+        long offset = activeSegmentSize;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        activeSegmentSize += record.limit();
+        totalBytes += record.limit();
+        return new Position(activeSegment, offset, record.limit(), group);
+    }
+
+    private void rollSegment() throws IOException {
+        FileChannel previous = segments.get(activeSegment);
+        if (previous != null) {
+            // the records of the previous segment are not written any more, make sure they survive a crash
+            previous.force(true);
+        }
+        long segment = activeSegment + 1;
+        File file = new File(dir, SEGMENT_PREFIX + segment);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.put(segment, channel);
+        activeSegment = segment;
+        activeSegmentSize = 0;
+    }
+
+    private void evictIfNeeded() {
+        // the active segment is never deleted
+        while (totalBytes > capacity && segments.size() > 1) {
+            long segment = segments.firstKey();
+            Set<String> keys = segmentKeys.get(segment);
+            if (keys != null) {
+                for (String key : keys) {
+                    Position position = index.get(key);
+                    if (position != null && position.segment == segment) {
+                        index.remove(key);
+                    }
+                }
+            }
+            deleteSegment(segment);
+        }
+    }
+
+    private void deleteSegment(long segment) {
+        FileChannel channel = segments.remove(segment);
+        segmentKeys.remove(segment);
+        File file = new File(dir, SEGMENT_PREFIX + segment);
+        try {
+            totalBytes -= channel.size();
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("failed to close segment {}", file, e);
+        }
+        if (!file.delete()) {
+            LOG.warn("failed to delete segment {}", file);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("unexpected end of segment");
+            }
+        }
+    }
+
+    private static int crc(byte[] bytes) {
+        return crc(bytes, 0, bytes.length);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, offset, length);
+        return (int) crc32.getValue();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getTotalBytes() {
+        lock.readLock().lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
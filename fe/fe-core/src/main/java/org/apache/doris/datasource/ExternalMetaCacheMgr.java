@@ -203,9 +203,14 @@ public class ExternalMetaCacheMgr {
     }
 
     public void removeCache(long catalogId) {
-        if (cacheMap.remove(catalogId) != null) {
+        HiveMetaStoreCache hiveMetaStoreCache = cacheMap.remove(catalogId);
+        if (hiveMetaStoreCache != null) {
+            hiveMetaStoreCache.closeDiskStore();
             LOG.info("remove hive metastore cache for catalog {}", catalogId);
         }
+        if (Config.enable_external_meta_cache_disk_tier) {
+            ExternalMetaCacheDiskStore.deleteCatalogDir(catalogId);
+        }
         if (schemaCacheMap.remove(catalogId) != null) {
             LOG.info("remove schema cache for catalog {}", catalogId);
         }
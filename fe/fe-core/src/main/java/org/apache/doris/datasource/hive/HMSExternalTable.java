@@ -763,8 +763,8 @@ public class HMSExternalTable extends ExternalTable implements MTMVRelatedTableI
         List<HiveMetaStoreCache.FileCacheValue> filesByPartitions = getFilesForPartitions(partitionValues, 0);
         List<Long> result = Lists.newArrayList();
         for (HiveMetaStoreCache.FileCacheValue files : filesByPartitions) {
-            for (HiveMetaStoreCache.HiveFileStatus file : files.getFiles()) {
-                result.add(file.getLength());
+            for (int i = 0; i < files.getFiles().size(); i++) {
+                result.add(files.getFiles().getLength(i));
             }
         }
         return result;
@@ -913,9 +913,7 @@ public class HMSExternalTable extends ExternalTable implements MTMVRelatedTableI
         long totalSize = 0;
         // Calculate the total file size.
         for (HiveMetaStoreCache.FileCacheValue files : filesByPartitions) {
-            for (HiveMetaStoreCache.HiveFileStatus file : files.getFiles()) {
-                totalSize += file.getLength();
-            }
+            totalSize += files.getFiles().getTotalLength();
         }
         // Estimate row count: totalSize/estimatedRowSize
         long estimatedRowSize = 0;
@@ -0,0 +1,318 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.util.LocationPath;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HiveFileStatus;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.hadoop.fs.BlockLocation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The files of a location in a compact, columnar layout, used by the file cache of HiveMetaStoreCache.
+ *
+ * Instead of one HiveFileStatus object per file, the files are stored as:
+ * 1. a dictionary of the parent directories, and the directory id and the name of each file.
+ * 2. primitive arrays of the length, block size and modification time.
+ * 3. block locations which only keep the offset, length and hosts used by FileSplitter,
+ *    and the host arrays are shared by all blocks with the same replicas.
+ *
+ * The files can be read by index without creating any object except the LocationPath,
+ * and HiveFileStatus objects are only created when the list is read as a List.
+ */
+public class HiveFileStatusList extends AbstractList<HiveFileStatus> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final BlockLocation[] EMPTY_BLOCK_LOCATIONS = new BlockLocation[0];
+
+    // rough sizes of object headers and references, used by the estimation of memory
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int BLOCK_LOCATION_SIZE = 64;
+
+    private final ArrayList<LocationPath> directories = Lists.newArrayList();
+    // only used when adding files, released by trim()
+    private Map<String, Integer> directoryIds = Maps.newHashMap();
+    private Map<List<String>, String[]> sharedHosts = Maps.newHashMap();
+
+    private int size = 0;
+    private int[] fileDirectoryIds = new int[0];
+    private String[] names = new String[0];
+    private long[] lengths = new long[0];
+    private long[] blockSizes = new long[0];
+    private long[] modificationTimes = new long[0];
+    private BlockLocation[][] blockLocations = new BlockLocation[0][];
+
+    private long estimatedBytes = OBJECT_OVERHEAD * 8;
+
+    public void add(LocationPath path, long length, long blockSize, long modificationTime,
+            BlockLocation[] locations) {
+        ensureCapacity(size + 1);
+        String location = path.get();
+        int pos = location.lastIndexOf('/') + 1;
+        String directory = location.substring(0, pos);
+        String name = location.substring(pos);
+        fileDirectoryIds[size] = getDirectoryId(path, directory);
+        names[size] = name;
+        lengths[size] = length;
+        blockSizes[size] = blockSize;
+        modificationTimes[size] = modificationTime;
+        blockLocations[size] = compactBlockLocations(locations);
+        estimatedBytes += STRING_OVERHEAD + name.length();
+        size++;
+    }
+
+    private int getDirectoryId(LocationPath path, String directory) {
+        if (directoryIds == null) {
+            directoryIds = Maps.newHashMap();
+            for (int i = 0; i < directories.size(); i++) {
+                directoryIds.put(directories.get(i).get(), i);
+            }
+        }
+        Integer id = directoryIds.get(directory);
+        if (id == null) {
+            id = directories.size();
+            directories.add(path.withLocation(directory));
+            directoryIds.put(directory, id);
+            estimatedBytes += OBJECT_OVERHEAD + REFERENCE_SIZE * 3 + STRING_OVERHEAD + directory.length();
+        }
+        return id;
+    }
+
+    private BlockLocation[] compactBlockLocations(BlockLocation[] locations) {
+        if (locations == null || locations.length == 0) {
+            return EMPTY_BLOCK_LOCATIONS;
+        }
+        if (sharedHosts == null) {
+            sharedHosts = Maps.newHashMap();
+        }
+        BlockLocation[] result = new BlockLocation[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            String[] hosts;
+            try {
+                hosts = locations[i].getHosts();
+            } catch (IOException e) {
+                hosts = null;
+            }
+            if (hosts == null) {
+                // keep the original block location if the hosts are unknown
+                result[i] = locations[i];
+                continue;
+            }
+            List<String> hostsKey = Arrays.asList(hosts);
+            String[] shared = sharedHosts.get(hostsKey);
+            if (shared == null) {
+                shared = hosts;
+                sharedHosts.put(hostsKey, shared);
+                estimatedBytes += OBJECT_OVERHEAD + (long) REFERENCE_SIZE * hosts.length;
+                for (String host : hosts) {
+                    estimatedBytes += STRING_OVERHEAD + host.length();
+                }
+            }
+            result[i] = new BlockLocation(null, shared, locations[i].getOffset(), locations[i].getLength());
+        }
+        estimatedBytes += OBJECT_OVERHEAD + (long) (REFERENCE_SIZE + BLOCK_LOCATION_SIZE) * locations.length;
+        return result;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= names.length) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, Math.max(minCapacity, names.length + (names.length >> 1)));
+        resize(capacity);
+    }
+
+    private void resize(int capacity) {
+        fileDirectoryIds = Arrays.copyOf(fileDirectoryIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        blockSizes = Arrays.copyOf(blockSizes, capacity);
+        modificationTimes = Arrays.copyOf(modificationTimes, capacity);
+        blockLocations = Arrays.copyOf(blockLocations, capacity);
+    }
+
+    /**
+     * Release the spare capacity and the dictionaries only used by adding files.
+     * Called after all files of the location are added.
+     */
+    public void trim() {
+        if (names.length != size) {
+            resize(size);
+        }
+        directoryIds = null;
+        sharedHosts = null;
+        directories.trimToSize();
+    }
+
+    /**
+     * The estimated heap size of this list in bytes, used to weigh the entries of the file cache.
+     */
+    public long getEstimatedBytes() {
+        // per file: directory id, name reference, 3 longs and block locations reference
+        return estimatedBytes + (long) names.length * (4 + REFERENCE_SIZE * 2 + 8 * 3);
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            Text.writeString(out, value);
+        }
+    }
+
+    private static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? Text.readString(in) : null;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(directories.size());
+        for (LocationPath directory : directories) {
+            Text.writeString(out, directory.getScheme().name());
+            out.writeBoolean(directory.isBindBroker());
+            Text.writeString(out, directory.get());
+        }
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(fileDirectoryIds[i]);
+            Text.writeString(out, names[i]);
+            out.writeLong(lengths[i]);
+            out.writeLong(blockSizes[i]);
+            out.writeLong(modificationTimes[i]);
+            out.writeInt(blockLocations[i].length);
+            for (BlockLocation location : blockLocations[i]) {
+                out.writeLong(location.getOffset());
+                out.writeLong(location.getLength());
+                String[] hosts = location.getHosts();
+                out.writeInt(hosts.length);
+                for (String host : hosts) {
+                    writeNullableString(out, host);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the files written by {@link #write(DataOutput)}.
+     * The directories are created from the given location, which is the location they are listed from.
+     * They are normalized already, so they are not parsed again.
+     */
+    public static HiveFileStatusList read(DataInput in, LocationPath location) throws IOException {
+        int directoryNum = in.readInt();
+        LocationPath[] directories = new LocationPath[directoryNum];
+        for (int i = 0; i < directoryNum; i++) {
+            String scheme = Text.readString(in);
+            boolean isBindBroker = in.readBoolean();
+            if (!scheme.equals(location.getScheme().name()) || isBindBroker != location.isBindBroker()) {
+                throw new IOException("the files are not listed from " + location.get());
+            }
+            directories[i] = location.withLocation(Text.readString(in));
+        }
+        HiveFileStatusList files = new HiveFileStatusList();
+        int fileNum = in.readInt();
+        files.ensureCapacity(fileNum);
+        for (int i = 0; i < fileNum; i++) {
+            LocationPath directory = directories[in.readInt()];
+            String name = Text.readString(in);
+            long length = in.readLong();
+            long blockSize = in.readLong();
+            long modificationTime = in.readLong();
+            BlockLocation[] locations = new BlockLocation[in.readInt()];
+            for (int j = 0; j < locations.length; j++) {
+                long offset = in.readLong();
+                long blockLength = in.readLong();
+                String[] hosts = new String[in.readInt()];
+                for (int k = 0; k < hosts.length; k++) {
+                    hosts[k] = readNullableString(in);
+                }
+                locations[j] = new BlockLocation(null, hosts, offset, blockLength);
+            }
+            files.add(directory.withLocation(directory.get() + name), length, blockSize, modificationTime,
+                    locations);
+        }
+        files.trim();
+        return files;
+    }
+
+    public LocationPath getPath(int index) {
+        checkIndex(index);
+        LocationPath directory = directories.get(fileDirectoryIds[index]);
+        return directory.withLocation(directory.get() + names[index]);
+    }
+
+    public long getLength(int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    public long getBlockSize(int index) {
+        checkIndex(index);
+        return blockSizes[index];
+    }
+
+    public long getModificationTime(int index) {
+        checkIndex(index);
+        return modificationTimes[index];
+    }
+
+    public BlockLocation[] getBlockLocations(int index) {
+        checkIndex(index);
+        return blockLocations[index];
+    }
+
+    public long getTotalLength() {
+        long totalLength = 0;
+        for (int i = 0; i < size; i++) {
+            totalLength += lengths[i];
+        }
+        return totalLength;
+    }
+
+    @Override
+    public HiveFileStatus get(int index) {
+        HiveFileStatus status = new HiveFileStatus();
+        status.setPath(getPath(index));
+        status.setBlockLocations(blockLocations[index]);
+        status.setLength(lengths[index]);
+        status.setBlockSize(blockSizes[index]);
+        status.setModificationTime(modificationTimes[index]);
+        return status;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
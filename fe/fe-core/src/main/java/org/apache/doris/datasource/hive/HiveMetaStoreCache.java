@@ -31,12 +31,14 @@ import org.apache.doris.common.CacheFactory;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.io.Text;
 import org.apache.doris.common.security.authentication.AuthenticationConfig;
 import org.apache.doris.common.security.authentication.HadoopAuthenticator;
 import org.apache.doris.common.util.CacheBulkLoader;
 import org.apache.doris.common.util.LocationPath;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.CacheException;
+import org.apache.doris.datasource.ExternalMetaCacheDiskStore;
 import org.apache.doris.datasource.ExternalMetaCacheMgr;
 import org.apache.doris.datasource.property.PropertyConverter;
 import org.apache.doris.fs.FileSystemCache;
@@ -77,6 +79,13 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -112,12 +121,17 @@ public class HiveMetaStoreCache {
     // Other thread may reset this cache, so use AtomicReference to wrap it.
     private volatile AtomicReference<LoadingCache<FileCacheKey, FileCacheValue>> fileCacheRef
             = new AtomicReference<>();
+    // the disk tier of the file cache, null if it is disabled
+    private final ExternalMetaCacheDiskStore fileDiskStore;
+    // the files in the disk tier written before this ttl are not used
+    private volatile long fileCacheTtlSecond;
 
     public HiveMetaStoreCache(HMSExternalCatalog catalog,
             ExecutorService refreshExecutor, ExecutorService fileListingExecutor) {
         this.catalog = catalog;
         this.refreshExecutor = refreshExecutor;
         this.fileListingExecutor = fileListingExecutor;
+        this.fileDiskStore = ExternalMetaCacheDiskStore.create(catalog.getId(), "hive_file_cache");
         init();
         initMetrics();
     }
@@ -169,13 +183,20 @@ public class HiveMetaStoreCache {
                 (catalog.getProperties().get(HMSExternalCatalog.FILE_META_CACHE_TTL_SECOND)),
                 HMSExternalCatalog.FILE_META_CACHE_NO_TTL);
 
+        fileCacheTtlSecond = fileMetaCacheTtlSecond >= HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE
+                ? fileMetaCacheTtlSecond : 28800L;
         CacheFactory fileCacheFactory = new CacheFactory(
-                OptionalLong.of(fileMetaCacheTtlSecond >= HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE
-                        ? fileMetaCacheTtlSecond : 28800L),
+                OptionalLong.of(fileCacheTtlSecond),
                 OptionalLong.of(Config.external_cache_expire_time_minutes_after_access * 60L),
                 Config.max_external_file_cache_num,
                 true,
                 null);
+        if (Config.max_external_file_cache_memory_mb > 0 && Config.max_external_file_cache_num > 0) {
+            // the number of files in a location varies a lot, so weigh the cache by the size of the values
+            fileCacheFactory.setMaxWeight(Config.max_external_file_cache_memory_mb * 1024L * 1024L,
+                    (FileCacheKey key, FileCacheValue value) -> (int) Math.min(Integer.MAX_VALUE,
+                            value.getEstimatedBytes()));
+        }
 
         CacheLoader<FileCacheKey, FileCacheValue> loader = new CacheBulkLoader<FileCacheKey, FileCacheValue>() {
             @Override
@@ -185,7 +206,7 @@ public class HiveMetaStoreCache {
 
             @Override
             public FileCacheValue load(FileCacheKey key) {
-                return loadFiles(key);
+                return loadFilesWithDiskTier(key);
             }
         };
 
@@ -412,6 +433,7 @@ public class HiveMetaStoreCache {
                     }
                 }
 
+                result.trim();
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("load #{} splits for {} in catalog {}", result.getFiles().size(), key, catalog.getName());
                 }
@@ -424,6 +446,38 @@ public class HiveMetaStoreCache {
         }
     }
 
+    // Load the files from the disk tier if the partition is not modified after the files are written,
+    // otherwise list the files and write them to the disk tier.
+    private FileCacheValue loadFilesWithDiskTier(FileCacheKey key) {
+        String diskKey = key.getDiskKey();
+        if (fileDiskStore == null || diskKey == null) {
+            return loadFiles(key);
+        }
+        ExternalMetaCacheDiskStore.Value value = fileDiskStore.get(diskKey);
+        if (value != null && value.getVersion() == key.getVersion()
+                && System.currentTimeMillis() - value.getWriteTime() < fileCacheTtlSecond * 1000L) {
+            try {
+                LocationPath location = new LocationPath(key.location, catalog.getCatalogProperty().getProperties());
+                return FileCacheValue.read(new DataInputStream(new ByteArrayInputStream(value.getData())), location);
+            } catch (IOException e) {
+                LOG.warn("failed to read files of {} from disk in catalog {}", key, catalog.getName(), e);
+            }
+        }
+        FileCacheValue result = loadFiles(key);
+        fileDiskStore.putAsync(diskKey, key.id, key.getVersion(), () -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            result.write(new DataOutputStream(bytes));
+            return bytes.toByteArray();
+        });
+        return result;
+    }
+
+    public void closeDiskStore() {
+        if (fileDiskStore != null) {
+            fileDiskStore.close();
+        }
+    }
+
     private synchronized void setJobConf() {
         Configuration configuration = DFSFileSystem.getHdfsConf(catalog.ifNotSetFallbackToSimpleAuth());
         for (Map.Entry<String, String> entry : catalog.getCatalogProperty().getHadoopProperties().entrySet()) {
@@ -470,12 +524,16 @@ public class HiveMetaStoreCache {
                                                      boolean concurrent,
                                                      String bindBrokerName) {
         long start = System.currentTimeMillis();
-        List<FileCacheKey> keys = partitions.stream().map(p -> p.isDummyPartition()
-                ? FileCacheKey.createDummyCacheKey(
-                        p.getDbName(), p.getTblName(), p.getPath(), p.getInputFormat(), bindBrokerName)
-                : new FileCacheKey(p.getDbName(), p.getTblName(), p.getPath(),
-                    p.getInputFormat(), p.getPartitionValues(), bindBrokerName))
-                .collect(Collectors.toList());
+        List<FileCacheKey> keys = partitions.stream().map(p -> {
+            if (p.isDummyPartition()) {
+                return FileCacheKey.createDummyCacheKey(
+                        p.getDbName(), p.getTblName(), p.getPath(), p.getInputFormat(), bindBrokerName);
+            }
+            FileCacheKey key = new FileCacheKey(p.getDbName(), p.getTblName(), p.getPath(),
+                    p.getInputFormat(), p.getPartitionValues(), bindBrokerName);
+            key.setVersion(p.getLastModifiedTime());
+            return key;
+        }).collect(Collectors.toList());
 
         List<FileCacheValue> fileLists;
         try {
@@ -553,6 +611,9 @@ public class HiveMetaStoreCache {
             }
         });
         long id = Util.genIdByName(dbName, tblName);
+        if (fileDiskStore != null) {
+            fileDiskStore.removeGroup(id);
+        }
         LoadingCache<FileCacheKey, FileCacheValue> fileCache = fileCacheRef.get();
         fileCache.asMap().keySet().forEach(k -> {
             if (k.isSameTable(id)) {
@@ -570,8 +631,12 @@ public class HiveMetaStoreCache {
             PartitionCacheKey partKey = new PartitionCacheKey(dbName, tblName, values);
             HivePartition partition = partitionCache.getIfPresent(partKey);
             if (partition != null) {
-                fileCacheRef.get().invalidate(new FileCacheKey(dbName, tblName, partition.getPath(),
-                        null, partition.getPartitionValues(), null));
+                FileCacheKey fileCacheKey = new FileCacheKey(dbName, tblName, partition.getPath(),
+                        null, partition.getPartitionValues(), null);
+                fileCacheRef.get().invalidate(fileCacheKey);
+                if (fileDiskStore != null) {
+                    fileDiskStore.remove(fileCacheKey.getDiskKey());
+                }
                 partitionCache.invalidate(partKey);
             }
         }
@@ -595,6 +660,9 @@ public class HiveMetaStoreCache {
         partitionValuesCache.invalidateAll();
         partitionCache.invalidateAll();
         fileCacheRef.get().invalidateAll();
+        if (fileDiskStore != null) {
+            fileDiskStore.clear();
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("invalid all meta cache in catalog {}", catalog.getName());
         }
@@ -852,6 +920,8 @@ public class HiveMetaStoreCache {
         // partitionValues would be ["part1", "part2"]
         protected List<String> partitionValues;
         private long id;
+        // not in key, the last modified time of the partition, used to check the files in the disk tier
+        private long version;
 
         public FileCacheKey(String dbName, String tblName, String location, String inputFormat,
                             List<String> partitionValues, String bindBrokerName) {
@@ -889,6 +959,22 @@ public class HiveMetaStoreCache {
             return this.id == id;
         }
 
+        public long getVersion() {
+            return version;
+        }
+
+        public void setVersion(long version) {
+            this.version = version;
+        }
+
+        // the key in the disk tier, or null if the files could not be validated and should not be persisted
+        String getDiskKey() {
+            if (dummyKey != null || version <= 0) {
+                return null;
+            }
+            return location + "\u0001" + String.join("\u0001", partitionValues);
+        }
+
         @Override
         public int hashCode() {
             if (dummyKey != null) {
@@ -906,7 +992,7 @@ public class HiveMetaStoreCache {
     @Data
     public static class FileCacheValue {
         // File Cache for self splitter.
-        private final List<HiveFileStatus> files = Lists.newArrayList();
+        private final HiveFileStatusList files;
         private boolean isSplittable;
         // The values of partitions.
         // e.g for file : hdfs://path/to/table/part1=a/part2=b/datafile
@@ -915,16 +1001,69 @@ public class HiveMetaStoreCache {
 
         private AcidInfo acidInfo;
 
+        public FileCacheValue() {
+            this(new HiveFileStatusList());
+        }
+
+        private FileCacheValue(HiveFileStatusList files) {
+            this.files = files;
+        }
+
         public void addFile(RemoteFile file, LocationPath locationPath) {
             if (isFileVisible(file.getPath())) {
-                HiveFileStatus status = new HiveFileStatus();
-                status.setBlockLocations(file.getBlockLocations());
-                status.setPath(locationPath);
-                status.length = file.getSize();
-                status.blockSize = file.getBlockSize();
-                status.modificationTime = file.getModificationTime();
-                files.add(status);
+                files.add(locationPath, file.getSize(), file.getBlockSize(), file.getModificationTime(),
+                        file.getBlockLocations());
+            }
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeBoolean(isSplittable);
+            out.writeInt(partitionValues == null ? -1 : partitionValues.size());
+            for (int i = 0; i < getValuesSize(); i++) {
+                String partitionValue = partitionValues.get(i);
+                out.writeBoolean(partitionValue != null);
+                if (partitionValue != null) {
+                    Text.writeString(out, partitionValue);
+                }
             }
+            files.write(out);
+        }
+
+        // the acid info is not written, because the files of transactional tables are not cached
+        public static FileCacheValue read(DataInput in, LocationPath location) throws IOException {
+            boolean isSplittable = in.readBoolean();
+            int valueNum = in.readInt();
+            List<String> partitionValues = null;
+            if (valueNum >= 0) {
+                partitionValues = Lists.newArrayListWithCapacity(valueNum);
+                for (int i = 0; i < valueNum; i++) {
+                    partitionValues.add(in.readBoolean() ? Text.readString(in) : null);
+                }
+            }
+            FileCacheValue value = new FileCacheValue(HiveFileStatusList.read(in, location));
+            value.setSplittable(isSplittable);
+            value.setPartitionValues(partitionValues);
+            return value;
+        }
+
+        /**
+         * Release the memory only used by adding files, called before the value is put into the cache.
+         */
+        public void trim() {
+            files.trim();
+        }
+
+        /**
+         * The estimated heap size of this value in bytes, used to weigh the entries of the file cache.
+         */
+        public long getEstimatedBytes() {
+            long bytes = 64 + files.getEstimatedBytes();
+            if (partitionValues != null) {
+                for (String value : partitionValues) {
+                    bytes += 48 + (value == null ? 0 : value.length());
+                }
+            }
+            return bytes;
         }
 
         public int getValuesSize() {
@@ -1052,6 +1191,14 @@ public class HiveMetaStoreCache {
                 ExternalMetaCacheMgr.getCacheStats(partitionCache.stats(), partitionCache.estimatedSize()));
         res.put("hive_file_cache",
                 ExternalMetaCacheMgr.getCacheStats(fileCacheRef.get().stats(), fileCacheRef.get().estimatedSize()));
+        if (fileDiskStore != null) {
+            Map<String, String> diskStats = Maps.newHashMap();
+            diskStats.put("hit_count", String.valueOf(fileDiskStore.getHitCount()));
+            diskStats.put("miss_count", String.valueOf(fileDiskStore.getMissCount()));
+            diskStats.put("estimated_size", String.valueOf(fileDiskStore.size()));
+            diskStats.put("disk_bytes", String.valueOf(fileDiskStore.getTotalBytes()));
+            res.put("hive_file_disk_cache", diskStats);
+        }
         return res;
     }
 }
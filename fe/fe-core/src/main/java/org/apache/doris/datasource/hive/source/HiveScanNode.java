@@ -35,6 +35,7 @@ import org.apache.doris.datasource.FileSplit;
 import org.apache.doris.datasource.FileSplitter;
 import org.apache.doris.datasource.hive.HMSExternalCatalog;
 import org.apache.doris.datasource.hive.HMSExternalTable;
+import org.apache.doris.datasource.hive.HiveFileStatusList;
 import org.apache.doris.datasource.hive.HiveMetaStoreCache;
 import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
 import org.apache.doris.datasource.hive.HiveMetaStoreClientHelper;
@@ -307,13 +308,15 @@ public class HiveScanNode extends FileQueryScanNode {
         for (HiveMetaStoreCache.FileCacheValue fileCacheValue : fileCaches) {
             if (fileCacheValue.getFiles() != null) {
                 boolean isSplittable = fileCacheValue.isSplittable();
-                for (HiveMetaStoreCache.HiveFileStatus status : fileCacheValue.getFiles()) {
-                    allFiles.addAll(FileSplitter.splitFile(status.getPath(),
+                HiveSplitCreator splitCreator = new HiveSplitCreator(fileCacheValue.getAcidInfo());
+                // read the compact file list by index to avoid creating HiveFileStatus for each file
+                HiveFileStatusList files = fileCacheValue.getFiles();
+                for (int i = 0; i < files.size(); i++) {
+                    allFiles.addAll(FileSplitter.splitFile(files.getPath(i),
                             // set block size to Long.MAX_VALUE to avoid splitting the file.
-                            getRealFileSplitSize(needSplit ? status.getBlockSize() : Long.MAX_VALUE),
-                            status.getBlockLocations(), status.getLength(), status.getModificationTime(),
-                            isSplittable, fileCacheValue.getPartitionValues(),
-                            new HiveSplitCreator(fileCacheValue.getAcidInfo())));
+                            getRealFileSplitSize(needSplit ? files.getBlockSize(i) : Long.MAX_VALUE),
+                            files.getBlockLocations(i), files.getLength(i), files.getModificationTime(i),
+                            isSplittable, fileCacheValue.getPartitionValues(), splitCreator));
                 }
             }
         }
@@ -23,8 +23,10 @@ import org.apache.doris.catalog.JdbcResource;
 import org.apache.doris.catalog.JdbcTable;
 import org.apache.doris.catalog.TableIf.TableType;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.Pair;
 import org.apache.doris.datasource.CatalogProperty;
 import org.apache.doris.datasource.ExternalCatalog;
 import org.apache.doris.datasource.ExternalDatabase;
@@ -60,6 +62,7 @@ import org.apache.thrift.TSerializer;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -76,6 +79,7 @@ public class JdbcExternalCatalog extends ExternalCatalog {
     // Must add "transient" for Gson to ignore this field,
     // or Gson will throw exception with HikariCP
     private transient JdbcClient jdbcClient;
+    private transient JdbcScanSplitCache scanSplitCache;
     private IdentifierMapping identifierMapping;
 
     public JdbcExternalCatalog(long catalogId, String name, String resource, Map<String, String> props,
@@ -131,6 +135,10 @@ public class JdbcExternalCatalog extends ExternalCatalog {
             jdbcClient.closeClient();
             jdbcClient = null;
         }
+        if (scanSplitCache != null) {
+            scanSplitCache.invalidateAll();
+            scanSplitCache = null;
+        }
         this.identifierMapping = new JdbcIdentifierMapping(
                 (Env.isTableNamesCaseInsensitive() || Env.isStoredTableNamesLowerCase()),
                 Boolean.parseBoolean(getLowerCaseMetaNames()),
@@ -144,6 +152,10 @@ public class JdbcExternalCatalog extends ExternalCatalog {
             jdbcClient.closeClient();
             jdbcClient = null;
         }
+        if (scanSplitCache != null) {
+            scanSplitCache.invalidateAll();
+            scanSplitCache = null;
+        }
     }
 
     protected Map<String, String> processCompatibleProperties(Map<String, String> props)
@@ -242,6 +254,9 @@ public class JdbcExternalCatalog extends ExternalCatalog {
                 .setConnectionPoolKeepAlive(isConnectionPoolKeepAlive());
 
         jdbcClient = JdbcClient.createJdbcClient(jdbcClientConfig);
+        scanSplitCache = new JdbcScanSplitCache((dbName, tblName) -> jdbcClient.getPrimaryKeys(dbName, tblName),
+                (tblName, colName) -> jdbcClient.getMinMaxValue(tblName, colName),
+                Config.jdbc_scan_split_cache_expire_sec, null);
     }
 
     @Override
@@ -340,6 +355,23 @@ public class JdbcExternalCatalog extends ExternalCatalog {
         return jdbcClient.getColumnsFromQuery(query);
     }
 
+    /**
+     * Get the primary key columns of the remote table, which are cached for jdbc_scan_split_cache_expire_sec.
+     */
+    public List<String> getPrimaryKeys(String remoteDbName, String remoteTableName) {
+        makeSureInitialized();
+        return scanSplitCache.getPrimaryKeys(remoteDbName, remoteTableName);
+    }
+
+    /**
+     * Get the min and max value of the column in the remote table, which are cached for
+     * jdbc_scan_split_cache_expire_sec.
+     */
+    public Optional<Pair<Long, Long>> getMinMaxValue(String tableName, String columnName) {
+        makeSureInitialized();
+        return scanSplitCache.getMinMaxValue(tableName, columnName);
+    }
+
     public void configureJdbcTable(JdbcTable jdbcTable, String tableName) {
         jdbcTable.setCatalogId(this.getId());
         jdbcTable.setExternalTableName(tableName);
@@ -373,6 +405,7 @@ public class JdbcExternalCatalog extends ExternalCatalog {
                     jdbcClient.closeClient();
                     jdbcClient = null;
                 }
+                scanSplitCache = null;
             }
         }
     }
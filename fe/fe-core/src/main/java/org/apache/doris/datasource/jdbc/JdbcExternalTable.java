@@ -21,6 +21,7 @@ import org.apache.doris.analysis.StatementBase;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.JdbcResource;
 import org.apache.doris.catalog.JdbcTable;
+import org.apache.doris.common.Pair;
 import org.apache.doris.datasource.ExternalDatabase;
 import org.apache.doris.datasource.ExternalTable;
 import org.apache.doris.datasource.SchemaCacheValue;
@@ -31,6 +32,7 @@ import org.apache.doris.statistics.BaseAnalysisTask;
 import org.apache.doris.statistics.ExternalAnalysisTask;
 import org.apache.doris.statistics.ResultRow;
 import org.apache.doris.statistics.util.StatisticsUtil;
+import org.apache.doris.thrift.TOdbcTableType;
 import org.apache.doris.thrift.TTableDescriptor;
 
 import com.google.common.collect.Lists;
@@ -191,6 +193,47 @@ public class JdbcExternalTable extends ExternalTable {
         return jdbcTable;
     }
 
+    /**
+     * Get the column to split the scan into ranges which are read in parallel, that is the first column of
+     * the primary key of the remote table if it's an integer column. Only MySQL, PostgreSQL and Oracle
+     * are supported.
+     */
+    public Optional<Column> getScanSplitColumn() {
+        makeSureInitialized();
+        JdbcExternalCatalog jdbcCatalog = (JdbcExternalCatalog) catalog;
+        switch (jdbcCatalog.getDatabaseTypeName()) {
+            case JdbcResource.MYSQL:
+            case JdbcResource.POSTGRESQL:
+            case JdbcResource.ORACLE:
+                break;
+            default:
+                return Optional.empty();
+        }
+        List<String> primaryKeys = jdbcCatalog.getPrimaryKeys(db.getRemoteName(), remoteName);
+        if (primaryKeys.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<SchemaCacheValue> schemaCacheValue = getSchemaCacheValue();
+        for (Column column : getFullSchema()) {
+            String remoteColumnName = schemaCacheValue.map(value -> ((JdbcSchemaCacheValue) value)
+                    .getremoteColumnName(column.getName())).orElse(column.getName());
+            if (remoteColumnName.equals(primaryKeys.get(0))) {
+                return column.getType().isIntegerType() ? Optional.of(column) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the min and max value of the integer column in the remote table.
+     */
+    public Optional<Pair<Long, Long>> getMinMaxValue(Column column) {
+        JdbcTable table = getJdbcTable();
+        TOdbcTableType tableType = table.getJdbcTableType();
+        return ((JdbcExternalCatalog) catalog).getMinMaxValue(table.getProperRemoteFullTableName(tableType),
+                table.getProperRemoteColumnName(tableType, column.getName()));
+    }
+
     @Override
     public BaseAnalysisTask createAnalysisTask(AnalysisInfo info) {
         makeSureInitialized();
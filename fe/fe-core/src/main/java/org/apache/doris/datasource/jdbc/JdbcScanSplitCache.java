@@ -0,0 +1,65 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.jdbc;
+
+import org.apache.doris.common.CacheFactory;
+import org.apache.doris.common.Pair;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+
+/**
+ * Cache of the primary keys and the key ranges of the remote tables, which are used to split the scan of
+ * jdbc tables. Both are read by queries to the remote database, so they are cached for a while instead of
+ * being read again for every query planned.
+ */
+public class JdbcScanSplitCache {
+    private static final long MAX_SIZE = 10000;
+
+    // remote db name, remote table name -> primary key columns
+    private final LoadingCache<Pair<String, String>, List<String>> primaryKeys;
+    // remote full table name, remote column name -> min and max value
+    private final LoadingCache<Pair<String, String>, Optional<Pair<Long, Long>>> minMaxValues;
+
+    public JdbcScanSplitCache(BiFunction<String, String, List<String>> primaryKeyLoader,
+            BiFunction<String, String, Optional<Pair<Long, Long>>> minMaxValueLoader,
+            long expireAfterWriteSec, Ticker ticker) {
+        CacheFactory cacheFactory = new CacheFactory(OptionalLong.of(expireAfterWriteSec), OptionalLong.empty(),
+                MAX_SIZE, false, ticker);
+        primaryKeys = cacheFactory.buildCache(key -> primaryKeyLoader.apply(key.first, key.second));
+        minMaxValues = cacheFactory.buildCache(key -> minMaxValueLoader.apply(key.first, key.second));
+    }
+
+    public List<String> getPrimaryKeys(String remoteDbName, String remoteTableName) {
+        return primaryKeys.get(Pair.of(remoteDbName, remoteTableName));
+    }
+
+    public Optional<Pair<Long, Long>> getMinMaxValue(String tableName, String columnName) {
+        return minMaxValues.get(Pair.of(tableName, columnName));
+    }
+
+    public void invalidateAll() {
+        primaryKeys.invalidateAll();
+        minMaxValues.invalidateAll();
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.doris.catalog.ScalarType;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.cloud.security.SecurityChecker;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.jdbc.util.JdbcFieldSchema;
 
@@ -48,6 +49,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -381,6 +383,60 @@ public abstract class JdbcClient {
         return dorisTableSchema;
     }
 
+    /**
+     * get the primary key columns of one table in the order of the key
+     */
+    public List<String> getPrimaryKeys(String remoteDbName, String remoteTableName) {
+        Connection conn = null;
+        ResultSet rs = null;
+        Map<Integer, String> keySeqToColumn = new TreeMap<>();
+        try {
+            conn = getConnection();
+            DatabaseMetaData databaseMetaData = conn.getMetaData();
+            String catalogName = getCatalogName(conn);
+            rs = getRemotePrimaryKeys(databaseMetaData, catalogName, remoteDbName, remoteTableName);
+            while (rs.next()) {
+                keySeqToColumn.put(rs.getInt("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        } catch (SQLException e) {
+            throw new JdbcClientException("failed to get primary keys for remote table `%s.%s`: %s",
+                    remoteDbName, remoteTableName, Util.getRootCauseMessage(e));
+        } finally {
+            close(rs, conn);
+        }
+        return Lists.newArrayList(keySeqToColumn.values());
+    }
+
+    /**
+     * get the min and max value of an integer column, empty if the table has no not null value of the column
+     *
+     * @param tableName the full table name quoted by the dialect
+     * @param columnName the column name quoted by the dialect
+     */
+    public Optional<Pair<Long, Long>> getMinMaxValue(String tableName, String columnName) {
+        String query = String.format("SELECT MIN(%s), MAX(%s) FROM %s", columnName, columnName, tableName);
+        Connection conn = null;
+        Statement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            stmt = conn.createStatement();
+            rs = stmt.executeQuery(query);
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            long minValue = rs.getLong(1);
+            if (rs.wasNull()) {
+                return Optional.empty();
+            }
+            return Optional.of(Pair.of(minValue, rs.getLong(2)));
+        } catch (SQLException e) {
+            throw new JdbcClientException("Failed to get min and max value by query: %s", e, query);
+        } finally {
+            close(rs, stmt, conn);
+        }
+    }
+
     // protected methods, for subclass to override
     protected String getCatalogName(Connection conn) throws SQLException {
         return conn.getCatalog();
@@ -420,6 +476,11 @@ public abstract class JdbcClient {
         return databaseMetaData.getColumns(catalogName, remoteDbName, remoteTableName, null);
     }
 
+    protected ResultSet getRemotePrimaryKeys(DatabaseMetaData databaseMetaData, String catalogName,
+            String remoteDbName, String remoteTableName) throws SQLException {
+        return databaseMetaData.getPrimaryKeys(catalogName, remoteDbName, remoteTableName);
+    }
+
     protected List<String> filterDatabaseNames(List<String> remoteDbNames) {
         Set<String> filterInternalDatabases = getFilterInternalDatabases();
         List<String> filteredDatabaseNames = Lists.newArrayList();
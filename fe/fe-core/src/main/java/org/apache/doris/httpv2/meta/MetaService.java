@@ -28,6 +28,9 @@ import org.apache.doris.master.MetaHelper;
 import org.apache.doris.persist.MetaCleaner;
 import org.apache.doris.persist.Storage;
 import org.apache.doris.persist.StorageInfo;
+import org.apache.doris.persist.gson.GsonUtils;
+import org.apache.doris.resource.workloadgroup.QueryQueueLeaseMgr;
+import org.apache.doris.resource.workloadgroup.QueryQueueLeaseMgr.LeaseInfo;
 import org.apache.doris.system.Frontend;
 
 import com.google.common.base.Strings;
@@ -41,6 +44,8 @@ import org.springframework.web.bind.annotation.RestController;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -187,6 +192,23 @@ public class MetaService extends RestBaseController {
         return ResponseEntityBuilder.ok();
     }
 
+    @RequestMapping(path = QueryQueueLeaseMgr.LEASE_PATH, method = RequestMethod.GET)
+    public Object queryQueueLease(HttpServletRequest request, HttpServletResponse response) throws DdlException {
+        checkFromValidFe(request);
+        if (!Env.getCurrentEnv().isMaster()) {
+            return ResponseEntityBuilder.badRequest("Not master");
+        }
+        String demands = request.getParameter(QueryQueueLeaseMgr.DEMANDS);
+        if (Strings.isNullOrEmpty(demands)) {
+            return ResponseEntityBuilder.badRequest("Miss demands parameter");
+        }
+        String fe = NetUtils.getHostPortInAccessibleFormat(request.getHeader(Env.CLIENT_NODE_HOST_KEY),
+                Integer.parseInt(request.getHeader(Env.CLIENT_NODE_PORT_KEY)));
+        List<LeaseInfo> leases = Env.getCurrentEnv().getQueryQueueLeaseMgr().sync(fe,
+                Arrays.asList(GsonUtils.GSON.fromJson(demands, LeaseInfo[].class)), System.currentTimeMillis());
+        return ResponseEntityBuilder.ok(leases);
+    }
+
     @RequestMapping(path = "/role", method = RequestMethod.GET)
     public Object role(HttpServletRequest request, HttpServletResponse response) throws DdlException {
         checkFromValidFe(request);
@@ -50,6 +50,12 @@ public class JournalBatch {
     // If the batch is too large, it may cause a latency spike. Generally, we recommend controlling
     // the number of batch entities to less than 32 and the batch data size to less than 640KB.
     public void addJournal(short op, Writable data) throws IOException {
+        addJournalEntity(createEntity(op, data));
+    }
+
+    // Serialize a writable data into a journal entity, which could be added into a batch later by
+    // `addJournalEntity`. It allows the callers to serialize their data concurrently.
+    public static Entity createEntity(short op, Writable data) throws IOException {
         if (op == OperationType.OP_TIMESTAMP) {
             // OP_TIMESTAMP is not supported, see `BDBJEJournal.write` for details.
             throw new RuntimeException("JournalBatch.addJournal is not supported OP_TIMESTAMP");
@@ -61,9 +67,12 @@ public class JournalBatch {
 
         DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
         entity.write(buffer);
-        size += buffer.size();
+        return new Entity(op, buffer);
+    }
 
-        entities.add(new Entity(op, buffer));
+    public void addJournalEntity(Entity entity) {
+        size += entity.getDataSize();
+        entities.add(entity);
     }
 
     public ArrayList<Entity> getJournalEntities() {
@@ -86,5 +95,9 @@ public class JournalBatch {
         public byte[] getBinaryData() {
             return data.getData();
         }
+
+        public int getDataSize() {
+            return data.size();
+        }
     }
 }
@@ -32,11 +32,14 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.LoadException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.cache.StreamLoadPlanCacheManager;
+import org.apache.doris.common.cache.StreamLoadPlanCacheManager.PlanCacheKey;
 import org.apache.doris.load.routineload.RoutineLoadJob;
 import org.apache.doris.planner.StreamLoadPlanner;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
+import org.apache.doris.system.BeSelectionPolicy;
 import org.apache.doris.system.SystemInfoService;
 import org.apache.doris.task.StreamLoadTask;
 import org.apache.doris.thrift.TPipelineFragmentParams;
@@ -54,6 +57,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.security.SecureRandom;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -104,6 +108,45 @@ public class StreamLoadHandler {
         return backends.get(randomIndex);
     }
 
+    /**
+     * Get the stream load url of a backend which is available for load.
+     */
+    public static String getStreamLoadUrl(String database, String table) throws LoadException {
+        Backend backend = null;
+        if (Config.isCloudMode()) {
+            String clusterName = "";
+            try {
+                clusterName = ConnectContext.get().getCloudCluster();
+            } catch (Exception e) {
+                LOG.warn("failed to get cloud cluster: " + e.getMessage());
+                throw new LoadException("failed to get cloud cluster: " + e);
+            }
+            backend = selectBackend(clusterName);
+        } else {
+            BeSelectionPolicy policy = new BeSelectionPolicy.Builder().needLoadAvailable().build();
+            List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, 1);
+            if (backendIds.isEmpty()) {
+                throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
+            }
+            backend = Env.getCurrentSystemInfo().getBackend(backendIds.get(0));
+            if (backend == null) {
+                throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("http://");
+        sb.append(backend.getHost());
+        sb.append(":");
+        sb.append(backend.getHttpPort());
+        sb.append("/api/");
+        sb.append(database);
+        sb.append("/");
+        sb.append(table);
+        sb.append("/_stream_load");
+        return sb.toString();
+    }
+
     public void setCloudCluster() throws UserException {
         if (ConnectContext.get() != null) {
             return;
@@ -222,27 +265,42 @@ public class StreamLoadHandler {
                     "get table read lock timeout, database=" + request.getDb() + ",table=" + table.getName());
         }
         try {
-            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
-            if (isMultiTableRequest) {
-                buildMultiTableStreamLoadTask(streamLoadTask, request.getTxnId());
-            }
-
-            StreamLoadPlanner planner = null;
-            if (Config.isCloudMode()) {
-                planner = new CloudStreamLoadPlanner(db, table, streamLoadTask, request.getCloudCluster());
+            StreamLoadPlanCacheManager planCacheManager = Env.getCurrentEnv().getStreamLoadPlanCacheManager();
+            Optional<PlanCacheKey> cacheKey = isMultiTableRequest
+                    ? Optional.empty() : StreamLoadPlanCacheManager.generateCacheKey(request, table.getId());
+            Optional<TPipelineFragmentParams> cachedPlan = cacheKey.flatMap(key -> planCacheManager.tryGetPlan(
+                    key, table, request.getLoadId(), request.getTxnId()));
+            TPipelineFragmentParams result = null;
+            String groupCommit = null;
+            if (cachedPlan.isPresent()) {
+                // the cached plan is never a group commit plan
+                result = cachedPlan.get();
             } else {
-                planner = new StreamLoadPlanner(db, table, streamLoadTask);
+                StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+                if (isMultiTableRequest) {
+                    buildMultiTableStreamLoadTask(streamLoadTask, request.getTxnId());
+                }
+
+                StreamLoadPlanner planner = null;
+                if (Config.isCloudMode()) {
+                    planner = new CloudStreamLoadPlanner(db, table, streamLoadTask, request.getCloudCluster());
+                } else {
+                    planner = new StreamLoadPlanner(db, table, streamLoadTask);
+                }
+                int index = multiTableFragmentInstanceIdIndex != null
+                        ? multiTableFragmentInstanceIdIndex.getAndIncrement() : 0;
+                result = planner.plan(streamLoadTask.getId(), index);
+                result.setTableName(table.getName());
+                result.query_options.setFeProcessUuid(ExecuteEnv.getInstance().getProcessUUID());
+                result.setIsMowTable(table.getEnableUniqueKeyMergeOnWrite());
+                if (cacheKey.isPresent()) {
+                    planCacheManager.tryAddPlan(cacheKey.get(), table, result);
+                }
+                groupCommit = streamLoadTask.getGroupCommit();
             }
-            int index = multiTableFragmentInstanceIdIndex != null
-                    ? multiTableFragmentInstanceIdIndex.getAndIncrement() : 0;
-            TPipelineFragmentParams result = null;
-            result = planner.plan(streamLoadTask.getId(), index);
-            result.setTableName(table.getName());
-            result.query_options.setFeProcessUuid(ExecuteEnv.getInstance().getProcessUUID());
-            result.setIsMowTable(table.getEnableUniqueKeyMergeOnWrite());
             fragmentParams.add(result);
 
-            if (StringUtils.isEmpty(streamLoadTask.getGroupCommit())) {
+            if (StringUtils.isEmpty(groupCommit)) {
                 // add table indexes to transaction state
                 TransactionState txnState = Env.getCurrentGlobalTransactionMgr()
                         .getTransactionState(db.getId(), request.getTxnId());
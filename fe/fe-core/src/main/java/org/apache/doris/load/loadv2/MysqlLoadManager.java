@@ -37,9 +37,6 @@ import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.VariableMgr;
-import org.apache.doris.system.Backend;
-import org.apache.doris.system.BeSelectionPolicy;
-import org.apache.doris.system.SystemInfoService;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
@@ -449,38 +446,6 @@ public class MysqlLoadManager {
     }
 
     private String selectBackendForMySqlLoad(String database, String table) throws LoadException {
-        Backend backend = null;
-        if (Config.isCloudMode()) {
-            String clusterName = "";
-            try {
-                clusterName = ConnectContext.get().getCloudCluster();
-            } catch (Exception e) {
-                LOG.warn("failed to get cloud cluster: " + e.getMessage());
-                throw new LoadException("failed to get cloud cluster: " + e);
-            }
-            backend = StreamLoadHandler.selectBackend(clusterName);
-        } else {
-            BeSelectionPolicy policy = new BeSelectionPolicy.Builder().needLoadAvailable().build();
-            List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, 1);
-            if (backendIds.isEmpty()) {
-                throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
-            }
-            backend = Env.getCurrentSystemInfo().getBackend(backendIds.get(0));
-            if (backend == null) {
-                throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
-            }
-        }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("http://");
-        sb.append(backend.getHost());
-        sb.append(":");
-        sb.append(backend.getHttpPort());
-        sb.append("/api/");
-        sb.append(database);
-        sb.append("/");
-        sb.append(table);
-        sb.append("/_stream_load");
-        return  sb.toString();
+        return StreamLoadHandler.getStreamLoadUrl(database, table);
     }
 }
@@ -64,6 +64,7 @@ import org.apache.doris.thrift.TStatus;
 import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTaskType;
+import org.apache.doris.transaction.PublishVersionDaemon;
 
 import com.google.common.base.Preconditions;
 import org.apache.logging.log4j.LogManager;
@@ -551,6 +552,7 @@ public class MasterImpl {
         AgentTaskQueue.removeTask(publishVersionTask.getBackendId(),
                                   publishVersionTask.getTaskType(),
                                   publishVersionTask.getSignature());
+        PublishVersionDaemon.triggerPublish();
     }
 
     private void finishDropReplica(AgentTask task) {
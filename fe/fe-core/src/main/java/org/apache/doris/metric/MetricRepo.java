@@ -34,7 +34,9 @@ import org.apache.doris.load.routineload.RoutineLoadManager;
 import org.apache.doris.metric.Metric.MetricUnit;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
+import org.apache.doris.mysql.MysqlBufferPool;
 import org.apache.doris.persist.EditLog;
+import org.apache.doris.persist.meta.PersistMetaModules;
 import org.apache.doris.qe.QeProcessorImpl;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
@@ -79,6 +81,10 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_QUERY_TABLE;
     public static LongCounterMetric COUNTER_QUERY_OLAP_TABLE;
     public static LongCounterMetric COUNTER_QUERY_HIVE_TABLE;
+    public static LongCounterMetric COUNTER_AUDIT_EVENT_LOADED;
+    public static LongCounterMetric COUNTER_AUDIT_EVENT_SPILLED;
+    public static LongCounterMetric COUNTER_AUDIT_EVENT_DROPPED;
+    public static LongCounterMetric COUNTER_CARDINALITY_FEEDBACK_HIT;
 
     public static LongCounterMetric HTTP_COUNTER_COPY_INFO_UPLOAD_REQUEST;
     public static LongCounterMetric HTTP_COUNTER_COPY_INFO_UPLOAD_ERR;
@@ -88,7 +94,9 @@ public final class MetricRepo {
     public static AutoMappedMetric<LongCounterMetric> USER_COUNTER_QUERY_ALL;
     public static AutoMappedMetric<LongCounterMetric> USER_COUNTER_QUERY_ERR;
     public static Histogram HISTO_QUERY_LATENCY;
+    public static Histogram HISTO_QUERY_Q_ERROR;
     public static AutoMappedMetric<Histogram> USER_HISTO_QUERY_LATENCY;
+    public static AutoMappedMetric<Histogram> WORKLOAD_GROUP_HISTO_QUERY_QUEUE_WAIT;
     public static AutoMappedMetric<GaugeMetricImpl<Long>> USER_GAUGE_QUERY_INSTANCE_NUM;
     public static AutoMappedMetric<GaugeMetricImpl<Integer>> USER_GAUGE_CONNECTIONS;
     public static AutoMappedMetric<LongCounterMetric> USER_COUNTER_QUERY_INSTANCE_BEGIN;
@@ -100,9 +108,18 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_MISS;
+
+    public static LongCounterMetric COUNTER_MYSQL_BUFFER_POOL_HIT;
+    public static LongCounterMetric COUNTER_MYSQL_BUFFER_POOL_MISS;
+    public static Histogram HISTO_MYSQL_CHANNEL_BUFFER_SIZE;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
+    public static LongCounterMetric COUNTER_JOURNAL_REPLAY_PARALLEL;
     public static LongCounterMetric COUNTER_EDIT_LOG_CURRENT;
     public static LongCounterMetric COUNTER_EDIT_LOG_SIZE_BYTES;
     public static LongCounterMetric COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES;
@@ -113,6 +130,8 @@ public final class MetricRepo {
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_BATCH_SIZE;
     public static Histogram HISTO_JOURNAL_BATCH_DATA_SIZE;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_TIME;
     public static Histogram HISTO_HTTP_COPY_INTO_UPLOAD_LATENCY;
     public static Histogram HISTO_HTTP_COPY_INTO_QUERY_LATENCY;
 
@@ -129,6 +148,11 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_TXN_SUCCESS;
     public static Histogram HISTO_TXN_EXEC_LATENCY;
     public static Histogram HISTO_TXN_PUBLISH_LATENCY;
+    // commit -> publish tasks sent -> all publish tasks finished -> visible
+    public static Histogram HISTO_TXN_PUBLISH_DISPATCH_LATENCY;
+    public static Histogram HISTO_TXN_PUBLISH_WAIT_TASK_LATENCY;
+    public static Histogram HISTO_TXN_PUBLISH_FINISH_LATENCY;
+    public static Histogram HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY;
     public static AutoMappedMetric<GaugeMetricImpl<Long>> DB_GAUGE_TXN_NUM;
     public static AutoMappedMetric<GaugeMetricImpl<Long>> DB_GAUGE_PUBLISH_TXN_NUM;
 
@@ -266,6 +290,37 @@ public final class MetricRepo {
         };
         DORIS_METRIC_REGISTER.addMetrics(connections);
 
+        // mysql network buffers
+        GaugeMetric<Long> mysqlBufferPoolIdleBytes = new GaugeMetric<Long>("mysql_buffer_pool_bytes",
+                MetricUnit.BYTES, "total size of the idle network buffers in the pool of mysql connections") {
+            @Override
+            public Long getValue() {
+                return MysqlBufferPool.getInstance().getIdleBytes();
+            }
+        };
+        mysqlBufferPoolIdleBytes.addLabel(new MetricLabel("type", "idle"));
+        DORIS_METRIC_REGISTER.addMetrics(mysqlBufferPoolIdleBytes);
+        GaugeMetric<Long> mysqlBufferPoolBorrowedBytes = new GaugeMetric<Long>("mysql_buffer_pool_bytes",
+                MetricUnit.BYTES, "total size of the network buffers borrowed by mysql connections") {
+            @Override
+            public Long getValue() {
+                return MysqlBufferPool.getInstance().getBorrowedBytes();
+            }
+        };
+        mysqlBufferPoolBorrowedBytes.addLabel(new MetricLabel("type", "borrowed"));
+        DORIS_METRIC_REGISTER.addMetrics(mysqlBufferPoolBorrowedBytes);
+        COUNTER_MYSQL_BUFFER_POOL_HIT = new LongCounterMetric("mysql_buffer_pool", MetricUnit.REQUESTS,
+                "total network buffers borrowed from the idle buffers in the pool");
+        COUNTER_MYSQL_BUFFER_POOL_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_MYSQL_BUFFER_POOL_HIT);
+        COUNTER_MYSQL_BUFFER_POOL_MISS = new LongCounterMetric("mysql_buffer_pool", MetricUnit.REQUESTS,
+                "total network buffers newly allocated since no idle buffer in the pool");
+        COUNTER_MYSQL_BUFFER_POOL_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_MYSQL_BUFFER_POOL_MISS);
+        // the size of the buffers used by a connection to handle one request
+        HISTO_MYSQL_CHANNEL_BUFFER_SIZE = METRIC_REGISTER.histogram(
+                MetricRegistry.name("mysql", "channel", "buffer", "bytes"));
+
         // journal id
         GaugeMetric<Long> maxJournalId = new GaugeMetric<Long>("max_journal_id", MetricUnit.NOUNIT,
                 "max journal id of this frontends") {
@@ -339,6 +394,18 @@ public final class MetricRepo {
         COUNTER_QUERY_HIVE_TABLE = new LongCounterMetric("query_hive_table", MetricUnit.REQUESTS,
                 "total query from hive table");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_QUERY_HIVE_TABLE);
+        COUNTER_AUDIT_EVENT_LOADED = new LongCounterMetric("audit_event_loaded", MetricUnit.ROWS,
+                "total audit events loaded into the audit table");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_AUDIT_EVENT_LOADED);
+        COUNTER_AUDIT_EVENT_SPILLED = new LongCounterMetric("audit_event_spilled", MetricUnit.ROWS,
+                "total audit events spilled to local files since the audit table failed to load");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_AUDIT_EVENT_SPILLED);
+        COUNTER_AUDIT_EVENT_DROPPED = new LongCounterMetric("audit_event_dropped", MetricUnit.ROWS,
+                "total audit events dropped since the queue or the spill files are full");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_AUDIT_EVENT_DROPPED);
+        COUNTER_CARDINALITY_FEEDBACK_HIT = new LongCounterMetric("cardinality_feedback_hit", MetricUnit.NOUNIT,
+                "total filters estimated by the actual selectivities of the previous queries");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CARDINALITY_FEEDBACK_HIT);
         USER_COUNTER_QUERY_ALL = new AutoMappedMetric<>(name -> {
             LongCounterMetric userCountQueryAll  = new LongCounterMetric("query_total", MetricUnit.REQUESTS,
                     "total query for single user");
@@ -355,10 +422,17 @@ public final class MetricRepo {
         });
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(
                 MetricRegistry.name("query", "latency", "ms"));
+        // the max q-error of the estimated rows of the plan nodes, rounded up
+        HISTO_QUERY_Q_ERROR = METRIC_REGISTER.histogram(
+                MetricRegistry.name("query", "cardinality", "qerror"));
         USER_HISTO_QUERY_LATENCY = new AutoMappedMetric<>(name -> {
             String metricName = MetricRegistry.name("query", "latency", "ms", "user=" + name);
             return METRIC_REGISTER.histogram(metricName);
         });
+        WORKLOAD_GROUP_HISTO_QUERY_QUEUE_WAIT = new AutoMappedMetric<>(name -> {
+            String metricName = MetricRegistry.name("query_queue", "wait", "ms", "workload_group=" + name);
+            return METRIC_REGISTER.histogram(metricName);
+        });
         USER_COUNTER_QUERY_INSTANCE_BEGIN = addLabeledMetrics("user", () ->
                 new LongCounterMetric("query_instance_begin", MetricUnit.NOUNIT,
                 "number of query instance begin"));
@@ -404,6 +478,22 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_PLAN_CACHE_HIT = new LongCounterMetric("plan_cache", MetricUnit.REQUESTS,
+                "total queries which reuse the cached physical plan");
+        COUNTER_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_PLAN_CACHE_HIT);
+        COUNTER_PLAN_CACHE_MISS = new LongCounterMetric("plan_cache", MetricUnit.REQUESTS,
+                "total queries which can not find the cached physical plan");
+        COUNTER_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_PLAN_CACHE_MISS);
+        COUNTER_STREAM_LOAD_PLAN_CACHE_HIT = new LongCounterMetric("stream_load_plan_cache", MetricUnit.REQUESTS,
+                "total stream loads which reuse the cached plan");
+        COUNTER_STREAM_LOAD_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_STREAM_LOAD_PLAN_CACHE_HIT);
+        COUNTER_STREAM_LOAD_PLAN_CACHE_MISS = new LongCounterMetric("stream_load_plan_cache", MetricUnit.REQUESTS,
+                "total stream loads which can not find the cached plan");
+        COUNTER_STREAM_LOAD_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_STREAM_LOAD_PLAN_CACHE_MISS);
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -414,6 +504,40 @@ public final class MetricRepo {
                 "counter of edit log read from bdbje");
         COUNTER_EDIT_LOG_READ.addLabel(new MetricLabel("type", "read"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_EDIT_LOG_READ);
+        COUNTER_JOURNAL_REPLAY_PARALLEL = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
+                "counter of edit log replayed in parallel");
+        COUNTER_JOURNAL_REPLAY_PARALLEL.addLabel(new MetricLabel("type", "parallel_replay"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_JOURNAL_REPLAY_PARALLEL);
+        GaugeMetric<Long> replayLagJournalNum = new GaugeMetric<Long>("edit_log_replay_lag", MetricUnit.NOUNIT,
+                "number of edit logs not replayed yet") {
+            @Override
+            public Long getValue() {
+                return Env.getServingEnv().getReplayLagJournalNum();
+            }
+        };
+        replayLagJournalNum.addLabel(new MetricLabel("type", "journal_num"));
+        DORIS_METRIC_REGISTER.addMetrics(replayLagJournalNum);
+        GaugeMetric<Long> replayLagMs = new GaugeMetric<Long>("edit_log_replay_lag", MetricUnit.MILLISECONDS,
+                "time since the timestamp of the last replayed edit log of master, 0 on master") {
+            @Override
+            public Long getValue() {
+                Env env = Env.getServingEnv();
+                if (env.isMaster() || env.getSynchronizedTimeMs() <= 0) {
+                    return 0L;
+                }
+                return Math.max(0L, System.currentTimeMillis() - env.getSynchronizedTimeMs());
+            }
+        };
+        replayLagMs.addLabel(new MetricLabel("type", "ms"));
+        DORIS_METRIC_REGISTER.addMetrics(replayLagMs);
+        GaugeMetric<Long> replayRate = new GaugeMetric<Long>("edit_log_replay_rate", MetricUnit.OPERATIONS,
+                "number of edit logs replayed per second in the last replay") {
+            @Override
+            public Long getValue() {
+                return Env.getServingEnv().getReplayJournalRate();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(replayRate);
         COUNTER_EDIT_LOG_CURRENT = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
                 "counter of current edit log in bdbje");
         COUNTER_EDIT_LOG_CURRENT.addLabel(new MetricLabel("type", "current"));
@@ -438,6 +562,10 @@ public final class MetricRepo {
                 MetricRegistry.name("journal", "write", "batch_size"));
         HISTO_JOURNAL_BATCH_DATA_SIZE = METRIC_REGISTER.histogram(
                 MetricRegistry.name("journal", "write", "batch_data_size"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "group_commit", "batch_size"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_TIME = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "group_commit", "wait_time", "ms"));
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
@@ -478,6 +606,31 @@ public final class MetricRepo {
         COUNTER_IMAGE_CLEAN_FAILED.addLabel(new MetricLabel("type", "failed"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_IMAGE_CLEAN_FAILED);
 
+        // the time of the last load and save of each image module
+        List<String> imageModules = new ArrayList<>();
+        imageModules.add("header");
+        imageModules.addAll(PersistMetaModules.MODULES_MAP.keySet());
+        for (String module : imageModules) {
+            GaugeMetric<Long> moduleLoadTime = new GaugeMetric<Long>("image_module_load_ms",
+                    MetricUnit.MILLISECONDS, "time of loading the module in the last loaded image") {
+                @Override
+                public Long getValue() {
+                    return PersistMetaModules.MODULE_LOAD_TIME_MS.getOrDefault(module, 0L);
+                }
+            };
+            moduleLoadTime.addLabel(new MetricLabel("module", module));
+            DORIS_METRIC_REGISTER.addMetrics(moduleLoadTime);
+            GaugeMetric<Long> moduleSaveTime = new GaugeMetric<Long>("image_module_save_ms",
+                    MetricUnit.MILLISECONDS, "time of saving the module in the last saved image") {
+                @Override
+                public Long getValue() {
+                    return PersistMetaModules.MODULE_SAVE_TIME_MS.getOrDefault(module, 0L);
+                }
+            };
+            moduleSaveTime.addLabel(new MetricLabel("module", module));
+            DORIS_METRIC_REGISTER.addMetrics(moduleSaveTime);
+        }
+
         // txn
         COUNTER_TXN_REJECT = new LongCounterMetric("txn_counter", MetricUnit.REQUESTS,
                 "counter of rejected transactions");
@@ -499,6 +652,14 @@ public final class MetricRepo {
             MetricRegistry.name("txn", "exec", "latency", "ms"));
         HISTO_TXN_PUBLISH_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("txn", "publish", "latency", "ms"));
+        HISTO_TXN_PUBLISH_DISPATCH_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("txn", "publish", "phase", "dispatch", "latency", "ms"));
+        HISTO_TXN_PUBLISH_WAIT_TASK_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("txn", "publish", "phase", "wait_task", "latency", "ms"));
+        HISTO_TXN_PUBLISH_FINISH_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("txn", "publish", "phase", "finish", "latency", "ms"));
+        HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("txn", "commit_to_visible", "latency", "ms"));
         GaugeMetric<Long> txnNum = new GaugeMetric<Long>("txn_num", MetricUnit.NOUNIT,
                 "number of running transactions") {
             @Override
@@ -109,6 +109,8 @@ public class AcceptListener implements ChannelListener<AcceptingChannel<StreamCo
                         context.setUserInsertTimeout(
                                 context.getEnv().getAuth().getInsertTimeout(context.getQualifiedUser()));
                         ConnectProcessor processor = new MysqlConnectProcessor(context);
+                        // return the buffers used by negotiation before the connection is handled by other threads
+                        context.getMysqlChannel().releaseBuffers();
                         context.startAcceptQuery(processor);
                     } catch (AfterConnectedException e) {
                         // do not need to print log for this kind of exception.
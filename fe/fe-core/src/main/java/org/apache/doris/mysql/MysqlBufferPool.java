@@ -0,0 +1,130 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The network buffers shared by all MySQL channels.
+ * A channel borrows buffers from the pool when it reads or writes packets, and returns them
+ * when the connection becomes idle, so that idle connections do not hold any buffer.
+ *
+ * Buffers are grouped by size classes which are powers of two from MIN_BUFFER_SIZE to MAX_POOLED_BUFFER_SIZE.
+ * A larger buffer is allocated directly and dropped when returned.
+ * The total size of the idle buffers is limited by Config.mysql_buffer_pool_capacity_mb.
+ *
+ * Heap buffers are used because the packets are parsed by their backing arrays.
+ */
+public class MysqlBufferPool {
+    public static final int MIN_BUFFER_SIZE = 16 * 1024;
+    public static final int MAX_POOLED_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    private static final MysqlBufferPool INSTANCE = new MysqlBufferPool(
+            Config.mysql_buffer_pool_capacity_mb * 1024 * 1024);
+
+    private final long capacity;
+    private final ConcurrentLinkedQueue<ByteBuffer>[] idleBuffers;
+    // total size of the buffers in the pool
+    private final AtomicLong idleBytes = new AtomicLong(0);
+    // total size of the buffers borrowed by the channels
+    private final AtomicLong borrowedBytes = new AtomicLong(0);
+
+    @SuppressWarnings("unchecked")
+    MysqlBufferPool(long capacity) {
+        this.capacity = capacity;
+        int classNum = Integer.numberOfTrailingZeros(MAX_POOLED_BUFFER_SIZE / MIN_BUFFER_SIZE) + 1;
+        this.idleBuffers = new ConcurrentLinkedQueue[classNum];
+        for (int i = 0; i < classNum; i++) {
+            idleBuffers[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public static MysqlBufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    // return the index of the smallest size class which could hold the size, or -1 if it is too large
+    private static int sizeClassIndex(int size) {
+        if (size > MAX_POOLED_BUFFER_SIZE) {
+            return -1;
+        }
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros((size - 1) / MIN_BUFFER_SIZE);
+    }
+
+    /**
+     * Borrow a cleared buffer whose capacity is at least the size.
+     */
+    public ByteBuffer borrow(int size) {
+        int index = sizeClassIndex(size);
+        ByteBuffer buffer = index >= 0 ? idleBuffers[index].poll() : null;
+        if (buffer != null) {
+            idleBytes.addAndGet(-buffer.capacity());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_MYSQL_BUFFER_POOL_HIT.increase(1L);
+            }
+        } else {
+            buffer = ByteBuffer.allocate(index >= 0 ? MIN_BUFFER_SIZE << index : size);
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_MYSQL_BUFFER_POOL_MISS.increase(1L);
+            }
+        }
+        borrowedBytes.addAndGet(buffer.capacity());
+        buffer.clear();
+        // the byte order may be changed by the last borrower
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Return a buffer borrowed from this pool. The buffer must not be used by the caller any more.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int size = buffer.capacity();
+        borrowedBytes.addAndGet(-size);
+        int index = sizeClassIndex(size);
+        if (index < 0 || (MIN_BUFFER_SIZE << index) != size) {
+            return;
+        }
+        if (idleBytes.addAndGet(size) > capacity) {
+            idleBytes.addAndGet(-size);
+            return;
+        }
+        buffer.clear();
+        idleBuffers[index].offer(buffer);
+    }
+
+    public long getIdleBytes() {
+        return idleBytes.get();
+    }
+
+    public long getBorrowedBytes() {
+        return borrowedBytes.get();
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.doris.mysql;
 
 import org.apache.doris.common.ConnectionException;
 import org.apache.doris.common.util.NetUtils;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
 
@@ -52,12 +53,17 @@ public class MysqlChannel implements BytesChannel {
     protected static final int PACKET_HEADER_LEN = 4;
     // SSL packet header length
     protected static final int SSL_PACKET_HEADER_LEN = 5;
+    // initial size of the buffer to receive packets, it is enlarged for large packets
+    protected static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    protected static final int SEND_BUFFER_SIZE = 2 * 1024 * 1024;
     // next sequence id to receive or send
     protected int sequenceId;
     // channel connected with client
     private StreamConnection conn;
     // used to receive/send header, avoiding new this many time.
     protected ByteBuffer headerByteBuffer;
+    // buffers below are borrowed from the buffer pool when used, and returned by releaseBuffers()
+    // when the connection becomes idle, except for sslHeaderByteBuffer and remainingBuffer.
     protected ByteBuffer defaultBuffer;
     protected ByteBuffer sslHeaderByteBuffer;
     protected ByteBuffer tempBuffer;
@@ -86,6 +92,8 @@ public class MysqlChannel implements BytesChannel {
 
     private ConnectContext context;
 
+    private final MysqlBufferPool bufferPool = MysqlBufferPool.getInstance();
+
     protected MysqlChannel() {
         // For DummyMysqlChannel
     }
@@ -126,9 +134,7 @@ public class MysqlChannel implements BytesChannel {
             remoteHostPortString = connection.getPeerAddress().toString();
             remoteIp = connection.getPeerAddress().toString();
         }
-        this.defaultBuffer = ByteBuffer.allocate(16 * 1024);
         this.headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
         this.context = context;
     }
 
@@ -136,7 +142,6 @@ public class MysqlChannel implements BytesChannel {
         // allocate buffer when needed.
         this.remainingBuffer = ByteBuffer.allocate(16 * 1024);
         this.remainingBuffer.flip();
-        this.tempBuffer = ByteBuffer.allocate(16 * 1024);
         this.sslHeaderByteBuffer = ByteBuffer.allocate(SSL_PACKET_HEADER_LEN);
     }
 
@@ -150,8 +155,6 @@ public class MysqlChannel implements BytesChannel {
 
     public void setSslEngine(SSLEngine sslEngine) {
         this.sslEngine = sslEngine;
-        decryptAppData = ByteBuffer.allocate(sslEngine.getSession().getApplicationBufferSize() * 2);
-        encryptNetData = ByteBuffer.allocate(sslEngine.getSession().getPacketBufferSize() * 2);
     }
 
     public void setSslMode(boolean sslMode) {
@@ -259,6 +262,9 @@ public class MysqlChannel implements BytesChannel {
             return;
         }
         dstBuf.flip();
+        if (decryptAppData == null) {
+            decryptAppData = bufferPool.borrow(sslEngine.getSession().getApplicationBufferSize() * 2);
+        }
         decryptAppData.clear();
         // unwrap will remove ssl header.
         while (true) {
@@ -280,6 +286,9 @@ public class MysqlChannel implements BytesChannel {
     // if in handshaking mode we return a packet with header otherwise without header.
     public ByteBuffer fetchOnePacket() throws IOException {
         int readLen;
+        if (defaultBuffer == null) {
+            defaultBuffer = bufferPool.borrow(DEFAULT_BUFFER_SIZE);
+        }
         ByteBuffer result = defaultBuffer;
         result.clear();
 
@@ -320,6 +329,7 @@ public class MysqlChannel implements BytesChannel {
                 packetLen = packetLen(false);
             }
             result = expandPacket(result, packetLen);
+            defaultBuffer = result;
 
             // read one physical packet
             // before read, set limit to make read only one packet
@@ -348,12 +358,16 @@ public class MysqlChannel implements BytesChannel {
                         }
                         return null;
                     }
+                    if (tempBuffer == null) {
+                        tempBuffer = bufferPool.borrow(DEFAULT_BUFFER_SIZE);
+                    }
                     tempBuffer.clear();
                     tempBuffer.put(sslHeaderByteBuffer.array());
                     packetLen = packetLen(true);
                     LOG.info("one ssl packet length is: " + packetLen);
                     tempBuffer = expandPacket(tempBuffer, packetLen);
                     result = expandPacket(result, tempBuffer.capacity());
+                    defaultBuffer = result;
                     // read one physical packet
                     // before read, set limit to make read only one packet
                     tempBuffer.limit(tempBuffer.position() + packetLen);
@@ -391,6 +405,8 @@ public class MysqlChannel implements BytesChannel {
         return result;
     }
 
+    // NOTE: the given buffer is returned to the pool if a larger one is borrowed,
+    // so the caller must replace its reference with the returned one.
     @NotNull
     private ByteBuffer expandPacket(ByteBuffer result, int packetLen) {
         if ((result.capacity() - result.position()) < packetLen) {
@@ -398,12 +414,13 @@ public class MysqlChannel implements BytesChannel {
             ByteBuffer tmp;
             if (packetLen < MAX_PHYSICAL_PACKET_LENGTH) {
                 // last packet, enough to this packet is OK.
-                tmp = ByteBuffer.allocate(packetLen + result.position());
+                tmp = bufferPool.borrow(packetLen + result.position());
             } else {
                 // already have packet, to allocate two packet.
-                tmp = ByteBuffer.allocate(2 * packetLen + result.position());
+                tmp = bufferPool.borrow(2 * packetLen + result.position());
             }
             tmp.put(result.array(), 0, result.position());
+            bufferPool.release(result);
             result = tmp;
         }
         result.limit(result.position() + packetLen);
@@ -429,6 +446,9 @@ public class MysqlChannel implements BytesChannel {
         if (!isSslMode) {
             return dstBuf;
         }
+        if (encryptNetData == null) {
+            encryptNetData = bufferPool.borrow(sslEngine.getSession().getPacketBufferSize() * 2);
+        }
         encryptNetData.clear();
         while (true) {
             SSLEngineResult result = sslEngine.wrap(dstBuf, encryptNetData);
@@ -456,7 +476,7 @@ public class MysqlChannel implements BytesChannel {
 
     private void writeHeader(int length, boolean isSsl) throws IOException {
         if (null == sendBuffer) {
-            return;
+            sendBuffer = bufferPool.borrow(SEND_BUFFER_SIZE);
         }
         long leftLength = sendBuffer.capacity() - sendBuffer.position();
         if (leftLength < 4) {
@@ -473,7 +493,7 @@ public class MysqlChannel implements BytesChannel {
 
     private void writeBuffer(ByteBuffer buffer) throws IOException {
         if (null == sendBuffer) {
-            return;
+            sendBuffer = bufferPool.borrow(SEND_BUFFER_SIZE);
         }
         // If too long for buffer, send buffered data.
         if (sendBuffer.remaining() < buffer.remaining()) {
@@ -545,6 +565,55 @@ public class MysqlChannel implements BytesChannel {
         return isSend;
     }
 
+    /**
+     * Return the buffers to the pool when the connection becomes idle, so that idle connections
+     * hold no buffer. It must be called by the thread which reads or writes this channel,
+     * and the packet returned by fetchOnePacket() must not be used any more.
+     */
+    public void releaseBuffers() {
+        releaseBuffers(false);
+    }
+
+    /**
+     * Return all the buffers to the pool when the channel is closed, including the send buffer with unsent data.
+     * Like releaseBuffers(), it must be called by the thread which reads or writes this channel.
+     */
+    public void releaseAllBuffers() {
+        releaseBuffers(true);
+    }
+
+    private void releaseBuffers(boolean releaseUnsentData) {
+        long bufferBytes = 0;
+        if (sendBuffer != null && (sendBuffer.position() == 0 || releaseUnsentData)) {
+            bufferBytes += sendBuffer.capacity();
+            bufferPool.release(sendBuffer);
+            sendBuffer = null;
+        }
+        if (defaultBuffer != null) {
+            bufferBytes += defaultBuffer.capacity();
+            bufferPool.release(defaultBuffer);
+            defaultBuffer = null;
+        }
+        if (tempBuffer != null) {
+            bufferBytes += tempBuffer.capacity();
+            bufferPool.release(tempBuffer);
+            tempBuffer = null;
+        }
+        if (decryptAppData != null) {
+            bufferBytes += decryptAppData.capacity();
+            bufferPool.release(decryptAppData);
+            decryptAppData = null;
+        }
+        if (encryptNetData != null) {
+            bufferBytes += encryptNetData.capacity();
+            bufferPool.release(encryptNetData);
+            encryptNetData = null;
+        }
+        if (bufferBytes > 0 && MetricRepo.isInit) {
+            MetricRepo.HISTO_MYSQL_CHANNEL_BUFFER_SIZE.update(bufferBytes);
+        }
+    }
+
     public String getRemoteHostPortString() {
         return remoteHostPortString;
     }
@@ -581,9 +650,10 @@ public class MysqlChannel implements BytesChannel {
             case BUFFER_OVERFLOW:
                 // Could attempt to drain the serverNetData buffer of any already obtained
                 // data, but we'll just increase it to the size needed.
-                ByteBuffer newBuffer = ByteBuffer.allocate(encryptNetData.capacity() * 2);
+                ByteBuffer newBuffer = bufferPool.borrow(encryptNetData.capacity() * 2);
                 encryptNetData.flip();
                 newBuffer.put(encryptNetData);
+                bufferPool.release(encryptNetData);
                 encryptNetData = newBuffer;
                 // retry the operation.
                 return false;
@@ -605,9 +675,10 @@ public class MysqlChannel implements BytesChannel {
             case BUFFER_OVERFLOW:
                 // Could attempt to drain the clientAppData buffer of any already obtained
                 // data, but we'll just increase it to the size needed.
-                ByteBuffer newAppBuffer = ByteBuffer.allocate(decryptAppData.capacity() * 2);
+                ByteBuffer newAppBuffer = bufferPool.borrow(decryptAppData.capacity() * 2);
                 decryptAppData.flip();
                 newAppBuffer.put(decryptAppData);
+                bufferPool.release(decryptAppData);
                 decryptAppData = newAppBuffer;
                 // retry the operation.
                 return false;
@@ -30,6 +30,7 @@ import org.apache.doris.common.UserException;
 import org.apache.doris.common.profile.SummaryProfile;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.mysql.FieldInfo;
+import org.apache.doris.nereids.analyzer.UnboundResultSink;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.glue.translator.PhysicalPlanTranslator;
@@ -48,7 +49,9 @@ import org.apache.doris.nereids.processor.post.PlanPostProcessors;
 import org.apache.doris.nereids.processor.pre.PlanPreprocessors;
 import org.apache.doris.nereids.properties.PhysicalProperties;
 import org.apache.doris.nereids.rules.exploration.mv.MaterializationContext;
+import org.apache.doris.nereids.stats.QueryWeightEstimator;
 import org.apache.doris.nereids.stats.StatsCalculator;
+import org.apache.doris.nereids.stats.StatsErrorEstimator;
 import org.apache.doris.nereids.trees.expressions.NamedExpression;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.plans.ComputeResultSet;
@@ -75,6 +78,7 @@ import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ResultSet;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.resource.workloadgroup.QueryWeight;
 import org.apache.doris.thrift.TQueryCacheParam;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -115,6 +119,10 @@ public class NereidsPlanner extends Planner {
     // The cost of optimized plan
     private double cost = 0;
     private LogicalPlanAdapter logicalPlanAdapter;
+    // the weight of the query estimated from the physical plan, used by the query queue
+    private QueryWeight queryWeight = QueryWeight.UNKNOWN;
+    // collects the actual rows of the plan nodes, it's registered to ProfileManager with the profile
+    private StatsErrorEstimator statsErrorEstimator;
 
     public NereidsPlanner(StatementContext statementContext) {
         this.statementContext = statementContext;
@@ -148,6 +156,7 @@ public class NereidsPlanner extends Planner {
                 setOptimizedPlan(plan);
                 if (plan instanceof PhysicalPlan) {
                     physicalPlan = (PhysicalPlan) plan;
+                    queryWeight = QueryWeightEstimator.estimate(physicalPlan);
                     distribute(physicalPlan, explainLevel);
                 }
             });
@@ -223,7 +232,24 @@ public class NereidsPlanner extends Planner {
             collectAndLockTable(showAnalyzeProcess(explainLevel, showPlanProcess));
             // after table collector, we should use a new context.
             statementContext.loadSnapshots();
-            Plan resultPlan = planWithoutLock(plan, requireProperties, explainLevel, showPlanProcess);
+            Optional<String> planCacheKey = generatePlanCacheKey(plan, explainLevel, showPlanProcess);
+            Plan resultPlan = null;
+            if (planCacheKey.isPresent()) {
+                Optional<PhysicalPlan> cachedPlan = statementContext.getConnectContext().getEnv()
+                        .getPlanCacheManager().tryGetPlan(
+                                statementContext.getConnectContext(), statementContext, planCacheKey.get());
+                if (cachedPlan.isPresent()) {
+                    // analyze, rewrite and optimize are skipped, so their times are not set in the profile
+                    if (statementContext.getConnectContext().getExecutor() != null) {
+                        statementContext.getConnectContext().getExecutor().getSummaryProfile()
+                                .setQueryAnalysisFinishTime();
+                    }
+                    resultPlan = postProcess(cachedPlan.get());
+                }
+            }
+            if (resultPlan == null) {
+                resultPlan = planWithoutLock(plan, requireProperties, explainLevel, showPlanProcess, planCacheKey);
+            }
             lockCallback.accept(resultPlan);
             if (statementContext.getConnectContext().getExecutor() != null) {
                 statementContext.getConnectContext().getExecutor().getSummaryProfile()
@@ -240,7 +266,7 @@ public class NereidsPlanner extends Planner {
      */
     private Plan planWithoutLock(
             LogicalPlan plan, PhysicalProperties requireProperties, ExplainLevel explainLevel,
-            boolean showPlanProcess) {
+            boolean showPlanProcess, Optional<String> planCacheKey) {
         // minidump of input must be serialized first, this process ensure minidump string not null
         try {
 
@@ -275,6 +301,10 @@ public class NereidsPlanner extends Planner {
         }
         int nth = cascadesContext.getConnectContext().getSessionVariable().getNthOptimizedPlan();
         PhysicalPlan physicalPlan = chooseNthPlan(getRoot(), requireProperties, nth);
+        if (planCacheKey.isPresent()) {
+            statementContext.getConnectContext().getEnv().getPlanCacheManager().tryAddPlan(
+                    statementContext.getConnectContext(), statementContext, planCacheKey.get(), physicalPlan);
+        }
 
         physicalPlan = postProcess(physicalPlan);
         if (cascadesContext.getConnectContext().getSessionVariable().dumpNereidsMemo) {
@@ -293,6 +323,19 @@ public class NereidsPlanner extends Planner {
         return physicalPlan;
     }
 
+    /**
+     * only the select statement planned by plan(), without explain, can use the plan cache.
+     */
+    private Optional<String> generatePlanCacheKey(
+            LogicalPlan plan, ExplainLevel explainLevel, boolean showPlanProcess) {
+        if (logicalPlanAdapter == null || explainLevel != ExplainLevel.NONE || showPlanProcess
+                || !(plan instanceof UnboundResultSink)) {
+            return Optional.empty();
+        }
+        return statementContext.getConnectContext().getEnv().getPlanCacheManager()
+                .generateCacheKey(statementContext.getConnectContext(), statementContext);
+    }
+
     protected LogicalPlan preprocess(LogicalPlan logicalPlan) {
         return new PlanPreprocessors(statementContext).process(logicalPlan);
     }
@@ -423,13 +466,19 @@ public class NereidsPlanner extends Planner {
             return;
         }
 
+        SessionVariable sessionVariable = cascadesContext.getConnectContext().getSessionVariable();
+        // the actual rows are collected from the profile
+        statsErrorEstimator = null;
+        if (sessionVariable.isEnableCardinalityFeedback() && sessionVariable.enableProfile()) {
+            statsErrorEstimator = new StatsErrorEstimator();
+        }
+        statementContext.getConnectContext().setStatsErrorEstimator(statsErrorEstimator);
         PlanTranslatorContext planTranslatorContext = new PlanTranslatorContext(cascadesContext);
         PhysicalPlanTranslator physicalPlanTranslator = new PhysicalPlanTranslator(planTranslatorContext,
-                statementContext.getConnectContext().getStatsErrorEstimator());
+                statsErrorEstimator);
         if (statementContext.getConnectContext().getExecutor() != null) {
             statementContext.getConnectContext().getExecutor().getSummaryProfile().setNereidsTranslateTime();
         }
-        SessionVariable sessionVariable = cascadesContext.getConnectContext().getSessionVariable();
         if (sessionVariable.isEnableNereidsTrace()) {
             CounterEvent.clearCounter();
         }
@@ -732,6 +781,10 @@ public class NereidsPlanner extends Planner {
                     if (statementContext.isHasUnknownColStats()) {
                         plan += "planed with unknown column statistics\n";
                     }
+                    if (!statementContext.getHistogramUsedColumns().isEmpty()) {
+                        plan += "planed with histogram statistics of: "
+                                + String.join(", ", statementContext.getHistogramUsedColumns()) + "\n";
+                    }
                 }
         }
 
@@ -845,10 +898,18 @@ public class NereidsPlanner extends Planner {
         return optimizedPlan;
     }
 
+    public QueryWeight getQueryWeight() {
+        return queryWeight;
+    }
+
     public PhysicalPlan getPhysicalPlan() {
         return physicalPlan;
     }
 
+    public StatsErrorEstimator getStatsErrorEstimator() {
+        return statsErrorEstimator;
+    }
+
     public FragmentIdMapping<DistributedPlan> getDistributedPlans() {
         return distributedPlans;
     }
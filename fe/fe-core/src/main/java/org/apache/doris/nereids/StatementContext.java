@@ -21,6 +21,7 @@ import org.apache.doris.analysis.StatementBase;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.catalog.View;
 import org.apache.doris.catalog.constraint.TableIdentifier;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.FormatOptions;
 import org.apache.doris.common.Id;
 import org.apache.doris.common.IdGenerator;
@@ -122,6 +123,10 @@ public class StatementContext implements Closeable {
 
     private boolean hasNondeterministic = false;
 
+    // the statement contains functions folded by the values of the session or the user, e.g. connection_id(),
+    // so its plan can not be reused by other statements, see NereidsPlanCacheManager
+    private boolean hasSessionDependentFunction = false;
+
     // hasUnknownColStats true if any column stats in the tables used by this sql is unknown
     // the algorithm to derive plan when column stats are unknown is implemented in cascading framework, not in dphyper.
     // And hence, when column stats are unknown, even if the tables used by a sql is more than
@@ -129,6 +134,9 @@ public class StatementContext implements Closeable {
     // Thus hasUnknownColStats has higher priority than isDpHyp
     private boolean hasUnknownColStats = false;
 
+    // columns whose histograms are used to estimate the selectivity, shown in the explain string
+    private final Set<String> histogramUsedColumns = Sets.newTreeSet();
+
     private final IdGenerator<ExprId> exprIdGenerator;
     private final IdGenerator<ObjectId> objectIdGenerator = ObjectId.createGenerator();
     private final IdGenerator<RelationId> relationIdGenerator = RelationId.createGenerator();
@@ -317,6 +325,14 @@ public class StatementContext implements Closeable {
         return hasNondeterministic;
     }
 
+    public void setHasSessionDependentFunction(boolean hasSessionDependentFunction) {
+        this.hasSessionDependentFunction = hasSessionDependentFunction;
+    }
+
+    public boolean hasSessionDependentFunction() {
+        return hasSessionDependentFunction;
+    }
+
     public ConnectContext getConnectContext() {
         return connectContext;
     }
@@ -384,6 +400,15 @@ public class StatementContext implements Closeable {
         return exprIdGenerator.getNextId();
     }
 
+    /**
+     * make sure the expr ids generated later are not less than the given id,
+     * used when the statement reuses the plan generated by another statement.
+     */
+    public void advanceExprIdTo(int nextExprId) {
+        int currentNextId = exprIdGenerator.getNextId().asInt();
+        exprIdGenerator.resetId(Math.max(currentNextId, nextExprId));
+    }
+
     public CTEId getNextCTEId() {
         return cteIdGenerator.getNextId();
     }
@@ -514,6 +539,14 @@ public class StatementContext implements Closeable {
         this.hasUnknownColStats = hasUnknownColStats;
     }
 
+    public Set<String> getHistogramUsedColumns() {
+        return histogramUsedColumns;
+    }
+
+    public void addHistogramUsedColumn(String column) {
+        histogramUsedColumns.add(column);
+    }
+
     public TreeMap<Pair<Integer, Integer>, String> getIndexInSqlToString() {
         return indexInSqlToString;
     }
@@ -577,7 +610,11 @@ public class StatementContext implements Closeable {
             if (!tableIf.needReadLockWhenPlan()) {
                 continue;
             }
-            if (!tableIf.tryReadLock(1, TimeUnit.MINUTES)) {
+            // skip the writers waiting for a short while, but queue behind the ones waiting longer,
+            // so they are not starved
+            boolean locked = Config.plan_read_lock_skip_waiting_writers_ms > 0
+                    && tableIf.tryReadLockSkippingWriters(Config.plan_read_lock_skip_waiting_writers_ms);
+            if (!locked && !tableIf.tryReadLock(1, TimeUnit.MINUTES)) {
                 close();
                 throw new RuntimeException("Failed to get read lock on table:" + tableIf.getName());
             }
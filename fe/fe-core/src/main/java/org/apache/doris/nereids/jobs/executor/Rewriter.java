@@ -138,6 +138,7 @@ import org.apache.doris.nereids.rules.rewrite.ReorderJoin;
 import org.apache.doris.nereids.rules.rewrite.RewriteCteChildren;
 import org.apache.doris.nereids.rules.rewrite.SimplifyEncodeDecode;
 import org.apache.doris.nereids.rules.rewrite.SimplifyWindowExpression;
+import org.apache.doris.nereids.rules.rewrite.SplitJdbcScan;
 import org.apache.doris.nereids.rules.rewrite.SplitLimit;
 import org.apache.doris.nereids.rules.rewrite.SplitMultiDistinct;
 import org.apache.doris.nereids.rules.rewrite.SumLiteralRewrite;
@@ -311,6 +312,9 @@ public class Rewriter extends AbstractBatchJobExecutor {
                         bottomUp(new EliminateNotNull()),
                         topDown(new ConvertInnerOrCrossJoin())
                 ),
+                topic("Split jdbc scan",
+                        custom(RuleType.SPLIT_JDBC_SCAN, SplitJdbcScan::new)
+                ),
                 topic("Set operation optimization",
                         // Do MergeSetOperation first because we hope to match pattern of Distinct SetOperator.
                         topDown(new PushProjectThroughUnion(), new MergeProjects()),
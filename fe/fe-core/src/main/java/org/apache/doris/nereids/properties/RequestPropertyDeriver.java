@@ -156,8 +156,14 @@ public class RequestPropertyDeriver extends PlanVisitor<Void, PlanContext> {
     @Override
     public Void visitPhysicalJdbcTableSink(
             PhysicalJdbcTableSink<? extends Plan> jdbcTableSink, PlanContext context) {
-        // Always use gather properties for jdbcTableSink
-        addRequestPropertyToChildren(PhysicalProperties.GATHER);
+        // the instances write their own rows by their own connections in parallel if it's enabled,
+        // but the rows have to be gathered into one instance to be written in one transaction
+        if (connectContext != null && connectContext.getSessionVariable().enableParallelJdbcSink
+                && !connectContext.getSessionVariable().isEnableOdbcTransaction()) {
+            addRequestPropertyToChildren(PhysicalProperties.ANY);
+        } else {
+            addRequestPropertyToChildren(PhysicalProperties.GATHER);
+        }
         return null;
     }
 
@@ -97,6 +97,7 @@ public enum RuleType {
     ADJUST_NULLABLE_FOR_HAVING_SLOT(RuleTypeClass.REWRITE),
     ADJUST_NULLABLE_FOR_REPEAT_SLOT(RuleTypeClass.REWRITE),
     ADD_DEFAULT_LIMIT(RuleTypeClass.REWRITE),
+    SPLIT_JDBC_SCAN(RuleTypeClass.REWRITE),
 
     CHECK_ROW_POLICY(RuleTypeClass.REWRITE),
     CHECK_TYPE_TO_INSERT_TARGET_COLUMN(RuleTypeClass.REWRITE),
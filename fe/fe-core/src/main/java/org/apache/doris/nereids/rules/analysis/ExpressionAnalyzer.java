@@ -23,6 +23,7 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.FunctionRegistry;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.cache.NereidsPlanCacheManager;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.mysql.MysqlCommand;
 import org.apache.doris.nereids.CascadesContext;
@@ -452,6 +453,12 @@ public class ExpressionAnalyzer extends SubExprAnalyzer<ExpressionRewriteContext
             StatementContext statementContext = context.cascadesContext.getStatementContext();
             statementContext.setHasNondeterministic(true);
         }
+        if (builder instanceof AliasUdfBuilder) {
+            // the functions in the alias function body are not visible here
+            markSessionDependentFunction(context);
+        } else {
+            checkSessionDependentFunction(buildResult.second, context);
+        }
         if (wantToParseSqlFromSqlCache) {
             StatementContext statementContext = context.cascadesContext.getStatementContext();
             if (!buildResult.second.isDeterministic()) {
@@ -479,10 +486,24 @@ public class ExpressionAnalyzer extends SubExprAnalyzer<ExpressionRewriteContext
 
     @Override
     public Expression visitBoundFunction(BoundFunction boundFunction, ExpressionRewriteContext context) {
+        // e.g. CURRENT_USER and CURRENT_TIMESTAMP are bound by the parser
+        checkSessionDependentFunction(boundFunction, context);
         boundFunction = (BoundFunction) super.visitBoundFunction(boundFunction, context);
         return TypeCoercionUtils.processBoundFunction(boundFunction);
     }
 
+    private void checkSessionDependentFunction(BoundFunction function, ExpressionRewriteContext context) {
+        if (NereidsPlanCacheManager.isSessionDependent(function)) {
+            markSessionDependentFunction(context);
+        }
+    }
+
+    private void markSessionDependentFunction(ExpressionRewriteContext context) {
+        if (context != null) {
+            context.cascadesContext.getStatementContext().setHasSessionDependentFunction(true);
+        }
+    }
+
     /**
      * gets the method for calculating the time.
      * e.g. YEARS_ADD、YEARS_SUB、DAYS_ADD 、DAYS_SUB
@@ -0,0 +1,177 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.rewrite;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.common.Pair;
+import org.apache.doris.datasource.jdbc.JdbcExternalTable;
+import org.apache.doris.nereids.jobs.JobContext;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.NamedExpression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
+import org.apache.doris.nereids.trees.expressions.literal.BigIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.SmallIntLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.TinyIntLiteral;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.algebra.SetOperation.Qualifier;
+import org.apache.doris.nereids.trees.plans.logical.LogicalFilter;
+import org.apache.doris.nereids.trees.plans.logical.LogicalJdbcScan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalUnion;
+import org.apache.doris.nereids.trees.plans.visitor.CustomRewriter;
+import org.apache.doris.nereids.trees.plans.visitor.DefaultPlanRewriter;
+import org.apache.doris.nereids.types.DataType;
+import org.apache.doris.nereids.types.IntegerType;
+import org.apache.doris.nereids.types.SmallIntType;
+import org.apache.doris.nereids.types.TinyIntType;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Split the scan of a jdbc external table into a union all of the scans of the ranges of its integer primary key
+ * if jdbc_scan_split_num is greater than 1, e.g. with 3 ranges:
+ * <pre>
+ *   JdbcScan(t)  =>  Union All
+ *                     |-- Filter(k &lt; p1)            -- JdbcScan(t)
+ *                     |-- Filter(k &gt;= p1 and k &lt; p2) -- JdbcScan(t)
+ *                     |-- Filter(k &gt;= p2)           -- JdbcScan(t)
+ * </pre>
+ * The split points divide [min(k), max(k)] of the remote table evenly. The range filters are pushed down into
+ * the queries of the scans like the other filters, so each range is read by its own query and connection in
+ * parallel. The scan is kept as it is if the table has no such key or anything goes wrong.
+ */
+public class SplitJdbcScan extends DefaultPlanRewriter<Integer> implements CustomRewriter {
+    private static final Logger LOG = LogManager.getLogger(SplitJdbcScan.class);
+
+    @Override
+    public Plan rewriteRoot(Plan plan, JobContext jobContext) {
+        ConnectContext ctx = jobContext.getCascadesContext().getConnectContext();
+        if (ctx == null || ctx.getSessionVariable().jdbcScanSplitNum <= 1) {
+            return plan;
+        }
+        return plan.accept(this, ctx.getSessionVariable().jdbcScanSplitNum);
+    }
+
+    @Override
+    public Plan visitLogicalJdbcScan(LogicalJdbcScan jdbcScan, Integer splitNum) {
+        if (!(jdbcScan.getTable() instanceof JdbcExternalTable)) {
+            return jdbcScan;
+        }
+        JdbcExternalTable table = (JdbcExternalTable) jdbcScan.getTable();
+        Column splitColumn;
+        List<Long> splitPoints;
+        try {
+            Optional<Column> column = table.getScanSplitColumn();
+            if (!column.isPresent()) {
+                return jdbcScan;
+            }
+            Optional<Pair<Long, Long>> minMax = table.getMinMaxValue(column.get());
+            if (!minMax.isPresent()) {
+                return jdbcScan;
+            }
+            splitColumn = column.get();
+            splitPoints = computeSplitPoints(minMax.get().first, minMax.get().second, splitNum);
+        } catch (Exception e) {
+            LOG.warn("failed to split the scan of jdbc table {}, scan it as a whole", table.getName(), e);
+            return jdbcScan;
+        }
+        if (splitPoints.isEmpty()) {
+            return jdbcScan;
+        }
+
+        ImmutableList.Builder<Plan> children = ImmutableList.builder();
+        ImmutableList.Builder<List<SlotReference>> childrenOutputs = ImmutableList.builder();
+        for (int i = 0; i <= splitPoints.size(); ++i) {
+            LogicalJdbcScan rangeScan = new LogicalJdbcScan(StatementScopeIdGenerator.newRelationId(),
+                    table, jdbcScan.getQualifier());
+            // the outputs of the union and its children are matched by the column names
+            ImmutableList.Builder<SlotReference> childOutput = ImmutableList.builder();
+            for (Slot slot : jdbcScan.getOutput()) {
+                childOutput.add((SlotReference) findSlot(rangeScan, slot.getName()));
+            }
+            childrenOutputs.add(childOutput.build());
+
+            Slot splitSlot = findSlot(rangeScan, splitColumn.getName());
+            List<Expression> conjuncts = Lists.newArrayList();
+            if (i > 0) {
+                conjuncts.add(new GreaterThanEqual(splitSlot, toLiteral(splitPoints.get(i - 1),
+                        splitSlot.getDataType())));
+            }
+            if (i < splitPoints.size()) {
+                conjuncts.add(new LessThan(splitSlot, toLiteral(splitPoints.get(i), splitSlot.getDataType())));
+            }
+            children.add(new LogicalFilter<>(ImmutableSet.copyOf(conjuncts), rangeScan));
+        }
+        return new LogicalUnion(Qualifier.ALL, ImmutableList.<NamedExpression>copyOf(jdbcScan.getOutput()),
+                childrenOutputs.build(), ImmutableList.of(), false, children.build());
+    }
+
+    /**
+     * Compute the points to split [minValue, maxValue] into splitNum ranges of the same width, the ranges which
+     * are too narrow to hold a value are merged, so there may be less than splitNum - 1 points.
+     */
+    static List<Long> computeSplitPoints(long minValue, long maxValue, int splitNum) {
+        List<Long> points = Lists.newArrayList();
+        if (maxValue <= minValue || splitNum <= 1) {
+            return points;
+        }
+        BigInteger min = BigInteger.valueOf(minValue);
+        BigInteger width = BigInteger.valueOf(maxValue).subtract(min);
+        BigInteger num = BigInteger.valueOf(splitNum);
+        for (int i = 1; i < splitNum; ++i) {
+            long point = min.add(width.multiply(BigInteger.valueOf(i)).divide(num)).longValue();
+            if (point > minValue && (points.isEmpty() || point > points.get(points.size() - 1))) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    private static Slot findSlot(LogicalJdbcScan scan, String name) {
+        return scan.getOutput().stream()
+                .filter(slot -> slot.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("can not find column " + name + " in jdbc scan"));
+    }
+
+    private static Literal toLiteral(long value, DataType dataType) {
+        if (dataType instanceof TinyIntType) {
+            return new TinyIntLiteral((byte) value);
+        } else if (dataType instanceof SmallIntType) {
+            return new SmallIntLiteral((short) value);
+        } else if (dataType instanceof IntegerType) {
+            return new IntegerLiteral((int) value);
+        } else {
+            return new BigIntLiteral(value);
+        }
+    }
+}
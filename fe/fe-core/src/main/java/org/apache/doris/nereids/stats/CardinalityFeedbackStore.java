@@ -0,0 +1,107 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.plans.algebra.OlapScan;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The actual selectivities of the predicates on the OLAP tables, collected from the runtime profiles of the
+ * queries with enable_cardinality_feedback, and used by StatsCalculator to estimate the same predicates again.
+ *
+ * The key is the signature of the table, the selected index and the sql of the conjuncts, so only a repeat
+ * query with the same literals hits the feedback. The selectivity is the actual rows divided by the estimated
+ * rows of the scan, so the estimation follows the growth of the table. It may exceed 1 if the statistics of
+ * the table are stale.
+ */
+public class CardinalityFeedbackStore {
+    private static final CardinalityFeedbackStore INSTANCE = new CardinalityFeedbackStore(
+            Config.cardinality_feedback_cache_size);
+
+    private final Cache<String, Feedback> feedbacks;
+
+    private static class Feedback {
+        final double selectivity;
+        final long updateTimeMs;
+
+        Feedback(double selectivity, long updateTimeMs) {
+            this.selectivity = selectivity;
+            this.updateTimeMs = updateTimeMs;
+        }
+    }
+
+    CardinalityFeedbackStore(long maxSize) {
+        feedbacks = Caffeine.newBuilder().maximumSize(Math.max(maxSize, 1)).build();
+    }
+
+    public static CardinalityFeedbackStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The signature of the conjuncts on the scan, the slots are presented by their names.
+     */
+    public static String signature(OlapScan scan, Collection<Expression> conjuncts) {
+        String predicates = conjuncts.stream()
+                .map(Expression::toSql)
+                .sorted()
+                .collect(Collectors.joining(" AND "));
+        return scan.getTable().getId() + ":" + scan.getSelectedIndexId() + ":" + predicates;
+    }
+
+    /**
+     * Record the actual rows of the predicates whose input is estimated as scanRows.
+     */
+    public void update(String signature, double scanRows, long actualRows) {
+        if (scanRows <= 0 || Double.isNaN(scanRows) || actualRows < 0) {
+            return;
+        }
+        feedbacks.put(signature, new Feedback(actualRows / scanRows, System.currentTimeMillis()));
+    }
+
+    /**
+     * The actual selectivity of the predicates, or empty if there is no unexpired feedback.
+     */
+    public Optional<Double> getSelectivity(String signature) {
+        Feedback feedback = feedbacks.getIfPresent(signature);
+        if (feedback == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - feedback.updateTimeMs > Config.cardinality_feedback_expire_seconds * 1000) {
+            feedbacks.invalidate(signature);
+            return Optional.empty();
+        }
+        return Optional.of(feedback.selectivity);
+    }
+
+    public long size() {
+        return feedbacks.estimatedSize();
+    }
+
+    public void clear() {
+        feedbacks.invalidateAll();
+    }
+}
@@ -45,8 +45,10 @@ import org.apache.doris.nereids.trees.expressions.visitor.ExpressionVisitor;
 import org.apache.doris.nereids.types.DataType;
 import org.apache.doris.nereids.types.DateTimeType;
 import org.apache.doris.nereids.types.coercion.RangeScalable;
+import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.statistics.ColumnStatistic;
 import org.apache.doris.statistics.ColumnStatisticBuilder;
+import org.apache.doris.statistics.Histogram;
 import org.apache.doris.statistics.StatisticRange;
 import org.apache.doris.statistics.Statistics;
 import org.apache.doris.statistics.StatisticsBuilder;
@@ -341,6 +343,11 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
                     selectivity = 0.0;
                 } else if (ndv >= 1.0) {
                     selectivity = StatsMathUtil.minNonNaN(1.0, 1.0 / ndv);
+                    Histogram histogram = getUsableHistogram(cp.left(), statsForLeft);
+                    if (histogram != null) {
+                        selectivity = estimateEqualSelectivityByHistogram(histogram, statsForLeft, val, selectivity);
+                        recordHistogramUsed(cp.left());
+                    }
                 } else {
                     selectivity = DEFAULT_INEQUALITY_COEFFICIENT;
                 }
@@ -470,6 +477,20 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         if (!newCompareExprStats.isMinMaxInvalid()) {
             selectivity = Statistics.getValidSelectivity(
                     Math.min(StatsMathUtil.divide(newCompareExprStats.ndv, compareExprStats.ndv), 1));
+            Histogram histogram = getUsableHistogram(compareExpr, compareExprStats);
+            if (histogram != null && options.stream().allMatch(Literal.class::isInstance)) {
+                double defaultSel = 1 / StatsMathUtil.nonZeroDivisor(compareExprStats.ndv);
+                double histogramSel = 0;
+                for (Expression option : options) {
+                    double value = ExpressionEstimation.estimate(option, context.statistics).maxValue;
+                    if (compareExprStats.minValue <= value && compareExprStats.maxValue >= value) {
+                        histogramSel += estimateEqualSelectivityByHistogram(histogram, compareExprStats, value,
+                                defaultSel);
+                    }
+                }
+                selectivity = Statistics.getValidSelectivity(Math.min(histogramSel, 1));
+                recordHistogramUsed(compareExpr);
+            }
         } else {
             selectivity = Statistics.getValidSelectivity(
                     Math.min(options.size() / compareExprStats.getOriginalNdv(), 1));
@@ -622,6 +643,10 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         double sel = leftRange.getDistinctValues() == 0
                 ? 1.0
                 : intersectRange.getDistinctValues() / leftRange.getDistinctValues();
+        Histogram histogram = getUsableHistogram(leftExpr, leftStats);
+        double histogramBaseSel = histogram == null || intersectRange.isEmpty()
+                ? 0
+                : histogram.rangeSelectivity(leftStats.minValue, leftStats.maxValue);
         if (intersectRange.isEmpty()) {
             leftColumnStatisticBuilder = new ColumnStatisticBuilder(leftStats)
                     .setMinValue(Double.NEGATIVE_INFINITY)
@@ -639,7 +664,16 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
                     .setMaxExpr(intersectRange.getHighExpr())
                     .setNdv(intersectRange.getDistinctValues())
                     .setNumNulls(0);
-            sel = Math.max(sel, RANGE_SELECTIVITY_THRESHOLD);
+            if (histogramBaseSel > 0) {
+                // the frequency of the values in the range is given by the histogram, so that only the
+                // frequency of one sampled row is taken as the lower bound.
+                sel = histogram.rangeSelectivity(intersectRange.getLow(), intersectRange.getHigh())
+                        / histogramBaseSel;
+                sel = Math.min(1, Math.max(sel, 1 / histogram.size() / histogramBaseSel));
+                recordHistogramUsed(leftExpr);
+            } else {
+                sel = Math.max(sel, RANGE_SELECTIVITY_THRESHOLD);
+            }
             sel = getNotNullSelectivity(leftStats.numNulls, context.statistics.getRowCount(), leftStats.ndv, sel);
             updatedStatistics = context.statistics.withSel(sel);
         } else {
@@ -688,6 +722,19 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         double rightNotNullSel = 1.0; //Statistics.getValidSelectivity(1 - (rightStats.numNulls / origRowCount));
         double notNullSel = 1 / StatsMathUtil.nonZeroDivisor(Math.max(leftStats.ndv, rightStats.ndv))
                 * (keepNull ? 1 : leftNotNullSel * rightNotNullSel);
+        Histogram leftHistogram = getUsableHistogram(leftExpr, leftStats);
+        Histogram rightHistogram = getUsableHistogram(rightExpr, rightStats);
+        if (leftHistogram != null && rightHistogram != null) {
+            double histogramSel = Histogram.joinSelectivity(leftHistogram, leftStats.minValue, leftStats.maxValue,
+                    rightHistogram, rightStats.minValue, rightStats.maxValue);
+            if (!Double.isNaN(histogramSel)) {
+                // values not sampled by both histograms may still match
+                notNullSel = Math.max(histogramSel,
+                        Math.min(notNullSel, 1 / (leftHistogram.size() * rightHistogram.size())));
+                recordHistogramUsed(leftExpr);
+                recordHistogramUsed(rightExpr);
+            }
+        }
 
         Statistics updatedStatistics = context.statistics.withSel(notNullSel, numNull);
         ColumnStatistic newLeftStatistics = intersectBuilder
@@ -810,6 +857,43 @@ public class FilterEstimation extends ExpressionVisitor<Statistics, EstimationCo
         return statsBuilder.build();
     }
 
+    /**
+     * The histogram is only used on the column of a table whose values are range scalable.
+     * The histogram describes the whole column, so that the selectivity is always computed
+     * relative to the current [min, max] of the column.
+     */
+    static Histogram getUsableHistogram(Expression expr, ColumnStatistic colStats) {
+        if (colStats.histogram == null || colStats.isUnKnown || colStats.isMinMaxInvalid()
+                || !(expr instanceof SlotReference) || !(expr.getDataType() instanceof RangeScalable)) {
+            return null;
+        }
+        return colStats.histogram;
+    }
+
+    private double estimateEqualSelectivityByHistogram(Histogram histogram, ColumnStatistic colStats,
+            double value, double defaultSel) {
+        double baseSel = histogram.rangeSelectivity(colStats.minValue, colStats.maxValue);
+        if (baseSel <= 0) {
+            return defaultSel;
+        }
+        double sel = histogram.equalSelectivity(value);
+        if (sel <= 0) {
+            // the value is not sampled, it is not more frequent than one sampled row
+            sel = Math.min(defaultSel * baseSel, 1 / histogram.size());
+        }
+        return Math.min(1, sel / baseSel);
+    }
+
+    private void recordHistogramUsed(Expression expr) {
+        ConnectContext connectContext = ConnectContext.get();
+        if (connectContext != null && connectContext.getStatementContext() != null) {
+            SlotReference slot = (SlotReference) expr;
+            connectContext.getStatementContext().addHistogramUsedColumn(slot.getTable()
+                    .map(table -> table.getName() + "." + slot.getName())
+                    .orElse(slot.getName()));
+        }
+    }
+
     private double getNotNullSelectivity(double origNumNulls, double origRowCount, double origNdv, double origSel) {
         if (origNumNulls > origRowCount - origNdv) {
             origNumNulls = origRowCount - origNdv > 0 ? origRowCount - origNdv : 0;
@@ -99,8 +99,11 @@ public class JoinEstimation {
                             EqualPredicate equal = normalizeEqualPredJoinCondition(expression, rightStats);
                             ColumnStatistic eqLeftColStats = ExpressionEstimation.estimate(equal.left(), leftStats);
                             ColumnStatistic eqRightColStats = ExpressionEstimation.estimate(equal.right(), rightStats);
+                            // if both sides have histograms, the skew of the values is considered.
                             boolean trustable = eqRightColStats.ndv / rightStatsRowCount > TRUSTABLE_UNIQ_THRESHOLD
-                                    || eqLeftColStats.ndv / leftStatsRowCount > TRUSTABLE_UNIQ_THRESHOLD;
+                                    || eqLeftColStats.ndv / leftStatsRowCount > TRUSTABLE_UNIQ_THRESHOLD
+                                    || (FilterEstimation.getUsableHistogram(equal.left(), eqLeftColStats) != null
+                                    && FilterEstimation.getUsableHistogram(equal.right(), eqRightColStats) != null);
                             if (!trustable) {
                                 double rNdv = StatsMathUtil.nonZeroDivisor(eqRightColStats.ndv);
                                 double lNdv = StatsMathUtil.nonZeroDivisor(eqLeftColStats.ndv);
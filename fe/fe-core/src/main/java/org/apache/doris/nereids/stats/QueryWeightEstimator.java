@@ -0,0 +1,102 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.plans.AbstractPlan;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.physical.AbstractPhysicalJoin;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalCatalogRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalHashAggregate;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalQuickSort;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalTopN;
+import org.apache.doris.resource.workloadgroup.QueryWeight;
+import org.apache.doris.statistics.ColumnStatistic;
+import org.apache.doris.statistics.Statistics;
+
+/**
+ * Estimate the weight of a query from the statistics of its final physical plan.
+ *
+ * The scan bytes are the sum of the output sizes of the scans, and the memory is the sum of the sizes of the
+ * data held by the blocking operators: the build sides of the joins, the hash tables of the aggregations and
+ * the inputs of the sorts. It is a rough upper bound since the operators may not hold their data at the same
+ * time, but it is enough to tell a point query from a big join.
+ */
+public class QueryWeightEstimator {
+    private long memoryBytes = 0;
+    private long scanBytes = 0;
+
+    private QueryWeightEstimator() {
+    }
+
+    public static QueryWeight estimate(Plan plan) {
+        QueryWeightEstimator estimator = new QueryWeightEstimator();
+        estimator.visit(plan);
+        return new QueryWeight(estimator.memoryBytes, estimator.scanBytes);
+    }
+
+    private void visit(Plan plan) {
+        if (plan instanceof PhysicalCatalogRelation) {
+            scanBytes = add(scanBytes, sizeOf(plan));
+        } else if (plan instanceof AbstractPhysicalJoin) {
+            memoryBytes = add(memoryBytes, sizeOf(plan.child(1)));
+        } else if (plan instanceof PhysicalHashAggregate) {
+            memoryBytes = add(memoryBytes, sizeOf(plan));
+        } else if (plan instanceof PhysicalQuickSort) {
+            memoryBytes = add(memoryBytes, sizeOf(plan.child(0)));
+        } else if (plan instanceof PhysicalTopN) {
+            PhysicalTopN<?> topN = (PhysicalTopN<?>) plan;
+            long maxRows = topN.getLimit() < 0 ? Long.MAX_VALUE : add(topN.getLimit(), topN.getOffset());
+            memoryBytes = add(memoryBytes, sizeOf(plan.child(0), maxRows));
+        }
+        for (Plan child : plan.children()) {
+            visit(child);
+        }
+    }
+
+    private static long sizeOf(Plan plan) {
+        return sizeOf(plan, Long.MAX_VALUE);
+    }
+
+    // the estimated bytes of the output of the plan, at most maxRows rows are counted
+    private static long sizeOf(Plan plan, long maxRows) {
+        if (!(plan instanceof AbstractPlan)) {
+            return 0;
+        }
+        Statistics stats = ((AbstractPlan) plan).getStats();
+        if (stats == null || Double.isNaN(stats.getRowCount())) {
+            return 0;
+        }
+        double rowSize = 0;
+        for (Slot slot : plan.getOutput()) {
+            ColumnStatistic columnStats = stats.findColumnStatistics(slot);
+            if (columnStats != null && !columnStats.isUnKnown && columnStats.avgSizeByte > 0) {
+                rowSize += columnStats.avgSizeByte;
+            } else {
+                rowSize += slot.getDataType().width();
+            }
+        }
+        double rows = Math.min(Math.max(stats.getRowCount(), 0), maxRows);
+        return (long) Math.min(rows * Math.max(rowSize, 1), Long.MAX_VALUE);
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.doris.catalog.RangePartitionItem;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.nereids.CascadesContext;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
@@ -578,6 +579,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
                 ColumnStatisticBuilder colStatsBuilder = new ColumnStatisticBuilder(cache,
                         selectedPartitionsRowCount);
                 colStatsBuilder.normalizeAvgSizeByte(slot);
+                colStatsBuilder.setHistogram(getHistogram(olapTable, slot, cache));
                 builder.putColumnStatistics(slot, colStatsBuilder.build());
             }
             checkIfUnknownStatsUsedAsKey(builder);
@@ -588,6 +590,7 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
                 ColumnStatistic cache = getColumnStatsFromTableCache((CatalogRelation) olapScan, slot);
                 ColumnStatisticBuilder colStatsBuilder = new ColumnStatisticBuilder(cache, tableRowCount);
                 colStatsBuilder.normalizeAvgSizeByte(slot);
+                colStatsBuilder.setHistogram(getHistogram(olapTable, slot, cache));
                 builder.putColumnStatistics(slot, colStatsBuilder.build());
             }
             checkIfUnknownStatsUsedAsKey(builder);
@@ -1061,10 +1064,31 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
         return new StatisticsBuilder(newStatistics).setWidthInJoinCluster(1).build();
     }
 
+    // use the actual selectivity of the same predicates reported by the previous queries if any
+    private Statistics applyCardinalityFeedback(OlapScan scan, Filter filter, Statistics scanStats,
+            Statistics estimated) {
+        ConnectContext connectContext = ConnectContext.get();
+        if (connectContext == null || !connectContext.getSessionVariable().isEnableCardinalityFeedback()
+                || Double.isNaN(scanStats.getRowCount())) {
+            return estimated;
+        }
+        Optional<Double> selectivity = CardinalityFeedbackStore.getInstance()
+                .getSelectivity(CardinalityFeedbackStore.signature(scan, filter.getConjuncts()));
+        if (!selectivity.isPresent()) {
+            return estimated;
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_CARDINALITY_FEEDBACK_HIT.increase(1L);
+        }
+        return estimated.withRowCountAndEnforceValid(Math.max(selectivity.get() * scanStats.getRowCount(), 1));
+    }
+
     private Statistics computeFilter(Filter filter) {
         Statistics stats = groupExpression.childStatistics(0);
         if (groupExpression.getFirstChildPlan(OlapScan.class) != null) {
-            return new FilterEstimation(true).estimate(filter.getPredicate(), stats);
+            Statistics result = new FilterEstimation(true).estimate(filter.getPredicate(), stats);
+            return applyCardinalityFeedback((OlapScan) groupExpression.getFirstChildPlan(OlapScan.class),
+                    filter, stats, result);
         }
         if (groupExpression.getFirstChildPlan(Aggregate.class) != null) {
             Aggregate agg = (Aggregate<?>) groupExpression.getFirstChildPlan(Aggregate.class);
@@ -1214,6 +1238,36 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
                 catalogId, dbId, table.getId(), idxId, colName);
     }
 
+    /**
+     * get the histogram of the column for selectivity estimation, return null if the histogram is
+     * not collected or not loaded into the cache yet.
+     */
+    private Histogram getHistogram(TableIf table, SlotReference slot, ColumnStatistic colStats) {
+        ConnectContext connectContext = ConnectContext.get();
+        if (colStats.isUnKnown || connectContext == null
+                || !connectContext.getSessionVariable().isEnableHistogramEstimation()) {
+            return null;
+        }
+        if (isPlayNereidsDump) {
+            return totalHistogramMap.get(table.getName() + slot.getName());
+        }
+        long catalogId;
+        long dbId;
+        try {
+            catalogId = table.getDatabase().getCatalog().getId();
+            dbId = table.getDatabase().getId();
+        } catch (Exception e) {
+            catalogId = -1;
+            dbId = -1;
+        }
+        Histogram histogram = Env.getCurrentEnv().getStatisticsCache()
+                .getHistogram(catalogId, dbId, table.getId(), slot.getName());
+        if (histogram == null || histogram.size() <= 0) {
+            return null;
+        }
+        return histogram;
+    }
+
     private ColumnStatistic getColumnStatistic(TableIf table, String colName, long idxId, List<String> partitionNames) {
         ConnectContext connectContext = ConnectContext.get();
         if (connectContext != null && connectContext.getSessionVariable().internalSession) {
@@ -1430,6 +1484,10 @@ public class StatsCalculator extends DefaultPlanVisitor<Statistics, Void> {
                 builder.setNdv(rowCount);
             }
             builder.setDataSize(rowCount * outputExpression.getDataType().width());
+            if (columnStat.histogram != null) {
+                // the distribution of group by keys is changed by aggregation
+                columnStat = new ColumnStatisticBuilder(columnStat).setHistogram(null).build();
+            }
             slotToColumnStats.put(outputExpression.toSlot(), columnStat);
         }
         Statistics aggOutputStats = new Statistics(rowCount, 1, slotToColumnStats);
@@ -18,9 +18,9 @@
 package org.apache.doris.nereids.stats;
 
 import org.apache.doris.common.Pair;
-import org.apache.doris.common.profile.ProfileManager;
-import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.nereids.trees.plans.AbstractPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalFilter;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
 import org.apache.doris.persist.gson.GsonUtils;
 import org.apache.doris.planner.PlanNode;
 import org.apache.doris.planner.PlanNodeId;
@@ -32,13 +32,19 @@ import org.apache.doris.thrift.TUniqueId;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Used to estimate the bias of stats estimation.
+ *
+ * It is created for the queries with enable_cardinality_feedback. The estimated rows of the plan nodes are put
+ * during the translation, and the actual rows are collected from the runtime profile by ProfileManager after the
+ * query finishes. The actual rows of the filters on the OLAP scans are also fed back to CardinalityFeedbackStore.
  */
 public class StatsErrorEstimator {
 
@@ -48,6 +54,24 @@ public class StatsErrorEstimator {
     @SerializedName("qError")
     private double qError;
 
+    // the plan nodes whose actual rows are reported
+    private final Set<Integer> reportedPlanIds = new HashSet<>();
+    // the plan nodes of the filters on the OLAP scans, whose actual rows are fed back
+    private final Map<Integer, FeedbackTarget> feedbackTargets = new HashMap<>();
+    private volatile boolean exactRowsCollected = false;
+
+    private static class FeedbackTarget {
+        final PlanNode planNode;
+        final String signature;
+        final double scanRows;
+
+        FeedbackTarget(PlanNode planNode, String signature, double scanRows) {
+            this.planNode = planNode;
+            this.signature = signature;
+            this.scanRows = scanRows;
+        }
+    }
+
     public StatsErrorEstimator() {
         legacyPlanIdStats = new HashMap<>();
     }
@@ -62,6 +86,16 @@ public class StatsErrorEstimator {
         }
         legacyPlanIdStats.put(planNode.getId().asInt(), Pair.of(statistics.getRowCount(),
                 (double) 0));
+        if (physicalPlan instanceof PhysicalFilter && physicalPlan.child(0) instanceof PhysicalOlapScan) {
+            PhysicalOlapScan scan = (PhysicalOlapScan) physicalPlan.child(0);
+            // the rows of the scan are reduced by the runtime filters too, they are not the rows of the predicates
+            if (scan.getStats() != null && scan.getAppliedRuntimeFilters().isEmpty()) {
+                String signature = CardinalityFeedbackStore.signature(scan,
+                        ((PhysicalFilter<?>) physicalPlan).getConjuncts());
+                feedbackTargets.put(planNode.getId().asInt(),
+                        new FeedbackTarget(planNode, signature, scan.getStats().getRowCount()));
+            }
+        }
     }
 
     /**
@@ -71,6 +105,9 @@ public class StatsErrorEstimator {
     public double calculateQError() {
         double qError = Double.NEGATIVE_INFINITY;
         for (Entry<Integer, Pair<Double, Double>> entry : legacyPlanIdStats.entrySet()) {
+            if (!reportedPlanIds.contains(entry.getKey())) {
+                continue;
+            }
             double exactReturnedRows = entry.getValue().second;
             double estimateReturnedRows = entry.getValue().first;
             qError = Math.max(qError,
@@ -98,14 +135,42 @@ public class StatsErrorEstimator {
                 continue;
             }
             pair.second = pair.second + rowsReturned;
+            reportedPlanIds.add(planId);
         }
         this.qError = calculateQError();
         updateProfile(tUniqueId);
     }
 
-    public void updateProfile(TUniqueId tUniqueId) {
-        ProfileManager.getInstance()
-                .setStatsErrorEstimator(DebugUtil.printId(tUniqueId), this);
+    /**
+     * Called once with the actual rows produced by the plan nodes after the execution profiles of the query are
+     * reported, update the q-error and feed the actual rows of the filters on the OLAP scans back.
+     */
+    public void updateExactReturnedRows(Map<Integer, Long> planIdToRows) {
+        // only collected once, even if it fails
+        this.exactRowsCollected = true;
+        for (Entry<Integer, Long> entry : planIdToRows.entrySet()) {
+            Pair<Double, Double> pair = legacyPlanIdStats.get(entry.getKey());
+            if (pair == null) {
+                continue;
+            }
+            pair.second = (double) entry.getValue();
+            reportedPlanIds.add(entry.getKey());
+            FeedbackTarget target = feedbackTargets.get(entry.getKey());
+            // the scan stops early if it has a limit
+            if (target != null && !target.planNode.hasLimit()) {
+                CardinalityFeedbackStore.getInstance().update(target.signature, target.scanRows, entry.getValue());
+            }
+        }
+        this.qError = calculateQError();
+    }
+
+    public boolean isExactRowsCollected() {
+        return exactRowsCollected;
+    }
+
+    // whether the q-error is computed from any actual rows
+    public boolean hasQError() {
+        return !reportedPlanIds.isEmpty();
     }
 
     /**
@@ -147,5 +212,6 @@ public class StatsErrorEstimator {
     // For test only.
     public void setExactReturnedRow(PlanNodeId planNodeId, Double d) {
         legacyPlanIdStats.get(planNodeId.asInt()).second += d;
+        reportedPlanIds.add(planNodeId.asInt());
     }
 }
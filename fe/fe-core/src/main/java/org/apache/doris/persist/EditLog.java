@@ -100,6 +100,7 @@ import org.apache.doris.system.Frontend;
 import org.apache.doris.transaction.TransactionState;
 import org.apache.doris.transaction.TransactionStatus;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -123,6 +124,9 @@ public class EditLog {
 
     private Journal journal;
 
+    // Not null if the edit logs are written by group commit, see EditLogGroupCommitter.
+    private EditLogGroupCommitter groupCommitter;
+
     /**
      * The constructor.
      **/
@@ -135,6 +139,20 @@ public class EditLog {
         } else {
             throw new IllegalArgumentException("Unknown edit log type: " + journalType);
         }
+        initGroupCommitter();
+    }
+
+    @VisibleForTesting
+    public EditLog(Journal journal) {
+        this.journal = journal;
+        initGroupCommitter();
+    }
+
+    private void initGroupCommitter() {
+        if (Config.enable_edit_log_group_commit) {
+            groupCommitter = new EditLogGroupCommitter(this);
+            groupCommitter.start();
+        }
     }
 
     public long getMaxJournalId() {
@@ -1273,8 +1291,14 @@ public class EditLog {
     /**
      * Shutdown the file store.
      */
-    public synchronized void close() throws IOException {
-        journal.close();
+    public void close() throws IOException {
+        // stop it outside the lock of EditLog, the group committer writes the pending entities under the lock.
+        if (groupCommitter != null) {
+            groupCommitter.stop();
+        }
+        synchronized (this) {
+            journal.close();
+        }
     }
 
     public void open() {
@@ -1321,7 +1345,41 @@ public class EditLog {
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
      */
-    private synchronized long logEdit(short op, Writable writable) {
+    private long logEdit(short op, Writable writable) {
+        // OP_TIMESTAMP is not allowed in a journal batch, see `BDBJEJournal.write` for details.
+        if (groupCommitter == null || op == OperationType.OP_TIMESTAMP) {
+            return logEditDirectly(op, writable);
+        }
+
+        JournalBatch.Entity entity = null;
+        try {
+            entity = JournalBatch.createEntity(op, writable);
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : serialize journal Exception", t);
+            System.exit(-1);
+        }
+        return groupCommitter.submit(entity);
+    }
+
+    /**
+     * Write a batch of operations submitted by group commit, return the journal id of the first one.
+     */
+    synchronized long logEditBatch(JournalBatch batch) {
+        return logEditDirectly(batch.getJournalEntities().size(), () -> journal.write(batch));
+    }
+
+    private synchronized long logEditDirectly(short op, Writable writable) {
+        return logEditDirectly(1, () -> journal.write(op, writable));
+    }
+
+    private interface JournalWriter {
+        long write() throws IOException;
+    }
+
+    /**
+     * Write the given number of operations to the journal by the writer, return the journal id of the first one.
+     */
+    private synchronized long logEditDirectly(int opNum, JournalWriter writer) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -1330,7 +1388,7 @@ public class EditLog {
         long start = System.currentTimeMillis();
         long logId = -1;
         try {
-            logId = journal.write(op, writable);
+            logId = writer.write();
         } catch (Throwable t) {
             // Throwable contains all Exception and Error, such as IOException and
             // OutOfMemoryError
@@ -1342,20 +1400,20 @@ public class EditLog {
         }
 
         // get a new transactionId
-        txId++;
+        txId += opNum;
 
         // update statistics
         long end = System.currentTimeMillis();
-        numTransactions++;
+        numTransactions += opNum;
         totalTimeTransactions += (end - start);
         if (MetricRepo.isInit) {
             MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
-            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase(1L);
+            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase((long) opNum);
         }
 
         if (LOG.isDebugEnabled()) {
-            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {} delta = {}",
-                    txId, numTransactions, totalTimeTransactions, op, end - start);
+            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op num = {} delta = {}",
+                    txId, numTransactions, totalTimeTransactions, opNum, end - start);
         }
 
         if (txId >= Config.edit_log_roll_num) {
@@ -1366,7 +1424,7 @@ public class EditLog {
         }
 
         if (MetricRepo.isInit) {
-            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase(1L);
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) opNum);
         }
 
         return logId;
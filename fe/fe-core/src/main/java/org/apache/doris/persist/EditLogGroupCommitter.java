@@ -0,0 +1,167 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.metric.MetricRepo;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Group commit of edit logs.
+ *
+ * The callers serialize their journal entity and put it into a queue, a single writer thread takes all the
+ * pending entities (bounded by batch_edit_log_max_item_num and batch_edit_log_max_byte_size) and writes them
+ * to the journal as one JournalBatch, which is one BDBJE transaction. Each caller is released once the
+ * batch containing its entity is committed, so the concurrent writers share the cost of one replicated commit.
+ */
+public class EditLogGroupCommitter {
+    private static final Logger LOG = LogManager.getLogger(EditLogGroupCommitter.class);
+
+    // Put into the queue by stop(), the writer thread exits once the requests before it are written.
+    private static final Request STOP_REQUEST = new Request(null);
+
+    private final EditLog editLog;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private Thread writerThread;
+    private boolean stopped = false;
+
+    private static class Request {
+        private final JournalBatch.Entity entity;
+        private final long enqueueTimeMs;
+        private final CompletableFuture<Long> logIdFuture = new CompletableFuture<>();
+
+        Request(JournalBatch.Entity entity) {
+            this.entity = entity;
+            this.enqueueTimeMs = System.currentTimeMillis();
+        }
+    }
+
+    public EditLogGroupCommitter(EditLog editLog) {
+        this.editLog = editLog;
+    }
+
+    public synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+        writerThread = new Thread(this::runWriter, "edit-log-group-committer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Submit a serialized journal entity and wait until it is durable.
+     *
+     * @return the journal id of the entity
+     */
+    public long submit(JournalBatch.Entity entity) {
+        Request request = new Request(entity);
+        synchronized (this) {
+            if (stopped) {
+                throw new IllegalStateException("edit log group committer is stopped");
+            }
+            queue.add(request);
+        }
+        // the journal is written in the writer thread only, and it exits the process if the write fails,
+        // so just wait uninterruptibly here as the synchronized EditLog.logEdit does.
+        return request.logIdFuture.join();
+    }
+
+    /**
+     * Stop the writer thread after all the submitted entities are written, and wait for it to exit.
+     * Must not be called with the lock of EditLog held, the writer thread needs it to write the last batch.
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            queue.add(STOP_REQUEST);
+            thread = writerThread;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            LOG.warn("interrupted when waiting for edit log group committer to stop", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<Request> requests = Lists.newArrayList();
+        boolean exit = false;
+        while (!exit) {
+            requests.clear();
+            Request first;
+            try {
+                first = queue.take();
+            } catch (InterruptedException e) {
+                LOG.warn("edit log group committer is interrupted, ignore", e);
+                continue;
+            }
+            if (first == STOP_REQUEST) {
+                break;
+            }
+            requests.add(first);
+
+            JournalBatch batch = new JournalBatch(Config.batch_edit_log_max_item_num);
+            batch.addJournalEntity(first.entity);
+            while (batch.getJournalEntities().size() < Config.batch_edit_log_max_item_num
+                    && batch.getSize() < Config.batch_edit_log_max_byte_size) {
+                Request request = queue.poll();
+                if (request == null) {
+                    break;
+                }
+                if (request == STOP_REQUEST) {
+                    exit = true;
+                    break;
+                }
+                requests.add(request);
+                batch.addJournalEntity(request.entity);
+            }
+
+            long firstId = editLog.logEditBatch(batch);
+
+            long now = System.currentTimeMillis();
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE.update(requests.size());
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                Request request = requests.get(i);
+                if (MetricRepo.isInit) {
+                    MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_WAIT_TIME.update(now - request.enqueueTimeMs);
+                }
+                request.logIdFuture.complete(firstId + i);
+            }
+        }
+        LOG.info("edit log group committer is stopped");
+    }
+}
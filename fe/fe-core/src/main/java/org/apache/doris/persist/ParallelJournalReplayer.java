@@ -0,0 +1,176 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.persist.meta.MetaModuleExecutor;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * Replay the journals in parallel, partitioned by the database they change.
+ *
+ * Only the journals of the transactions and the replicas are partitioned, which make up most of the
+ * journals after a burst of loads or tablet reports. They are buffered until a journal of other types
+ * arrives, which is replayed alone after the buffered ones, like a barrier. The buffered journals of the
+ * same database are replayed in order by one thread, so only the journals of different databases,
+ * which lock different transaction managers and tables, are replayed concurrently.
+ *
+ * A failure of any journal in a batch is fatal, the same as replaying the journals one by one,
+ * because the journals of the other databases in the batch may have been applied already.
+ */
+public class ParallelJournalReplayer implements AutoCloseable {
+    private static final Logger LOG = LogManager.getLogger(ParallelJournalReplayer.class);
+    private static final int MAX_BATCH_SIZE = 4096;
+
+    private final Env env;
+    private final int threadNum;
+    private final List<JournalEntry> batch = Lists.newArrayList();
+    private int batchKeyNum = 0;
+    private long lastKey = -1;
+    private MetaModuleExecutor executor = null;
+
+    private static class JournalEntry {
+        private final long key;
+        private final Long logId;
+        private final JournalEntity entity;
+
+        private JournalEntry(long key, Long logId, JournalEntity entity) {
+            this.key = key;
+            this.logId = logId;
+            this.entity = entity;
+        }
+    }
+
+    public ParallelJournalReplayer(Env env, int threadNum) {
+        this.env = env;
+        this.threadNum = threadNum;
+    }
+
+    // return the id of the database changed by the journal, or -1 if it must be replayed alone
+    static long getPartitionKey(JournalEntity entity) {
+        switch (entity.getOpCode()) {
+            case OperationType.OP_UPSERT_TRANSACTION_STATE:
+                return ((TransactionState) entity.getData()).getDbId();
+            case OperationType.OP_ADD_REPLICA:
+            case OperationType.OP_UPDATE_REPLICA:
+            case OperationType.OP_DELETE_REPLICA:
+                return ((ReplicaPersistInfo) entity.getData()).getDbId();
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Buffer the journal if it can be replayed in parallel.
+     * Return false if it should be replayed alone after flush().
+     */
+    public boolean add(Long logId, JournalEntity entity) {
+        if (threadNum <= 1) {
+            return false;
+        }
+        long key = getPartitionKey(entity);
+        if (key < 0) {
+            return false;
+        }
+        if (batch.isEmpty() || key != lastKey) {
+            // only an estimate of the number of databases, enough to tell whether it is worth going parallel
+            batchKeyNum++;
+            lastKey = key;
+        }
+        batch.add(new JournalEntry(key, logId, entity));
+        return true;
+    }
+
+    public boolean isFull() {
+        return batch.size() >= MAX_BATCH_SIZE;
+    }
+
+    /**
+     * Replay the buffered journals, and return the number of them.
+     */
+    public int flush() {
+        int num = batch.size();
+        if (num == 0) {
+            return 0;
+        }
+        try {
+            if (batchKeyNum <= 1) {
+                for (JournalEntry entry : batch) {
+                    EditLog.loadJournal(env, entry.logId, entry.entity);
+                }
+                return num;
+            }
+            Map<Long, List<JournalEntry>> partitions = Maps.newLinkedHashMap();
+            for (JournalEntry entry : batch) {
+                partitions.computeIfAbsent(entry.key, k -> Lists.newArrayList()).add(entry);
+            }
+            if (executor == null) {
+                executor = new MetaModuleExecutor("journal-replayer", threadNum);
+            }
+            List<Future<Void>> futures = Lists.newArrayListWithCapacity(partitions.size());
+            for (List<JournalEntry> entries : partitions.values()) {
+                futures.add(executor.submit(() -> {
+                    for (JournalEntry entry : entries) {
+                        EditLog.loadJournal(env, entry.logId, entry.entity);
+                    }
+                    return null;
+                }));
+            }
+            IOException failure = null;
+            // wait for all databases, so that no journal is being replayed when the failure is handled
+            for (Future<Void> future : futures) {
+                try {
+                    MetaModuleExecutor.get(future);
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                LOG.error("failed to replay journals from {} to {} in parallel", batch.get(0).logId,
+                        batch.get(num - 1).logId, failure);
+                System.exit(-1);
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_JOURNAL_REPLAY_PARALLEL.increase((long) num);
+            }
+            return num;
+        } finally {
+            batch.clear();
+            batchKeyNum = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+}
@@ -24,6 +24,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Header Format:
@@ -77,6 +79,10 @@ public class MetaHeader {
     }
 
     public static long write(File imageFile) throws IOException {
+        return write(imageFile, Collections.emptyList());
+    }
+
+    public static long write(File imageFile, List<String> compressedModules) throws IOException {
         if (imageFile.length() != 0) {
             throw new IOException("Meta header has to be written to an empty file.");
         }
@@ -84,7 +90,7 @@ public class MetaHeader {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
             raf.seek(0);
             MetaMagicNumber.write(raf);
-            MetaJsonHeader.write(raf);
+            MetaJsonHeader.write(raf, compressedModules);
             raf.getChannel().force(true);
             return raf.getFilePointer();
         }
@@ -119,5 +125,9 @@ public class MetaHeader {
         return metaJsonHeader;
     }
 
+    public boolean isCompressed(String module) {
+        return metaJsonHeader != null && metaJsonHeader.isCompressed(module);
+    }
+
 
 }
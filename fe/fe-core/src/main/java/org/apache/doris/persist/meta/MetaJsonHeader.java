@@ -20,16 +20,22 @@ package org.apache.doris.persist.meta;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.io.Text;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.List;
 
 public class MetaJsonHeader {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     public static final String IMAGE_VERSION = FeConstants.meta_format.getVersion();
     // the version of image format
     public String imageVersion;
+    // the modules compressed with gzip, omitted if empty so that the image can be read by older versions
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<String> compressedModules;
 
     public static MetaJsonHeader read(RandomAccessFile raf) throws IOException {
         String jsonHeader = Text.readString(raf);
@@ -37,12 +43,21 @@ public class MetaJsonHeader {
     }
 
     public static void write(RandomAccessFile raf) throws IOException {
+        write(raf, Collections.emptyList());
+    }
+
+    public static void write(RandomAccessFile raf, List<String> compressedModules) throws IOException {
         MetaJsonHeader metaJsonHeader = new MetaJsonHeader();
         metaJsonHeader.imageVersion = IMAGE_VERSION;
+        metaJsonHeader.compressedModules = compressedModules;
         String jsonHeader =  MetaJsonHeader.toJson(metaJsonHeader);
         Text.writeString(raf, jsonHeader);
     }
 
+    public boolean isCompressed(String module) {
+        return compressedModules != null && compressedModules.contains(module);
+    }
+
     private static MetaJsonHeader fromJson(String json) throws IOException {
         return (MetaJsonHeader) OBJECT_MAPPER.readValue(json, MetaJsonHeader.class);
     }
@@ -0,0 +1,111 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.meta.MetaContext;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads to load or save the meta modules of an image, or to replay the journals, concurrently.
+ *
+ * The load, save and replay methods depend on the thread local states of the calling thread:
+ * Env.getCurrentEnv() returns the checkpoint env in the checkpoint thread, and the meta version of the
+ * image is kept in the thread local MetaContext. The worker threads inherit both from the thread
+ * which creates the executor.
+ */
+public class MetaModuleExecutor implements AutoCloseable {
+    private static final AtomicInteger EXECUTOR_ID = new AtomicInteger(0);
+
+    private final ExecutorService executor;
+
+    public MetaModuleExecutor(String name, int threadNum) {
+        boolean checkpoint = Env.isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        String threadPrefix = name + "-" + EXECUTOR_ID.incrementAndGet() + "-";
+        AtomicInteger threadId = new AtomicInteger(0);
+        this.executor = new ThreadPoolExecutor(threadNum, threadNum, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new WorkerThread(runnable, threadPrefix + threadId.incrementAndGet(),
+                            checkpoint, metaContext);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    public static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // whether the current thread works on behalf of the checkpoint thread
+    public static boolean isCheckpointWorker() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof WorkerThread && ((WorkerThread) thread).checkpoint;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static class WorkerThread extends Thread {
+        private final boolean checkpoint;
+        private final MetaContext metaContext;
+
+        private WorkerThread(Runnable runnable, String name, boolean checkpoint, MetaContext metaContext) {
+            super(runnable, name);
+            this.checkpoint = checkpoint;
+            this.metaContext = metaContext;
+        }
+
+        @Override
+        public void run() {
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+            try {
+                super.run();
+            } finally {
+                MetaContext.remove();
+            }
+        }
+    }
+}
@@ -22,7 +22,8 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
-import org.apache.commons.io.IOUtils;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,7 +32,11 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Image Format:
@@ -63,70 +68,103 @@ import java.lang.reflect.InvocationTargetException;
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * Each module is read from its own stream starting at the offset recorded in the footer, so the modules
+ * in PersistMetaModules.PARALLEL_LOAD_MODULE_NAMES are loaded by other threads while the remaining modules
+ * are loaded in order. The modules listed in the json header as compressed are gzip streams.
  */
 
 public class MetaReader {
     private static final Logger LOG = LogManager.getLogger(MetaReader.class);
 
+    private static class ModuleSegment {
+        private final MetaPersistMethod persistMethod;
+        private final long offset;
+        private final long length;
+
+        private ModuleSegment(MetaPersistMethod persistMethod, long offset, long length) {
+            this.persistMethod = persistMethod;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
     public static void read(File imageFile, Env env) throws IOException, DdlException {
         LOG.info("start load image from {}. is ckpt: {}", imageFile.getAbsolutePath(), Env.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
         MetaHeader metaHeader = MetaHeader.read(imageFile);
         MetaFooter metaFooter = MetaFooter.read(imageFile);
 
-        long checksum = 0;
         long footerIndex = imageFile.length()
                 - metaFooter.length - MetaFooter.FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length();
-        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
-            // 1. Skip image file header
-            IOUtils.skipFully(dis, metaHeader.getEnd());
-            // 2. Read meta header first
-            checksum = env.loadHeader(dis, metaHeader, checksum);
-            // 3. Read other meta modules
-            // Modules must be read in the order in which the metadata was written
-            for (int i = 0; i < metaFooter.metaIndices.size(); ++i) {
-                MetaIndex metaIndex = metaFooter.metaIndices.get(i);
-                if (metaIndex.name.equals("header")) {
-                    // skip meta header, which has been read before.
+        // 1. Read meta header first
+        long checksum;
+        long headerStartTime = System.currentTimeMillis();
+        try (DataInputStream dis = openModule(imageFile, metaHeader.getEnd(), Long.MAX_VALUE, false)) {
+            checksum = env.loadHeader(dis, metaHeader, 0);
+        }
+        PersistMetaModules.MODULE_LOAD_TIME_MS.put("header", System.currentTimeMillis() - headerStartTime);
+
+        // 2. Collect other meta modules
+        List<ModuleSegment> orderedModules = Lists.newArrayList();
+        List<ModuleSegment> parallelModules = Lists.newArrayList();
+        boolean parallel = Config.meta_image_load_thread_num > 1;
+        for (int i = 0; i < metaFooter.metaIndices.size(); ++i) {
+            MetaIndex metaIndex = metaFooter.metaIndices.get(i);
+            if (metaIndex.name.equals("header")) {
+                // skip meta header, which has been read before.
+                continue;
+            }
+            long end = i < metaFooter.metaIndices.size() - 1 ? metaFooter.metaIndices.get(i + 1).offset : footerIndex;
+            if (metaIndex.offset == end) {
+                // skip empty meta
+                LOG.info("Skip {} module since empty meta length.", metaIndex.name);
+                continue;
+            }
+            // skip deprecated modules
+            if (PersistMetaModules.DEPRECATED_MODULE_NAMES.contains(metaIndex.name)) {
+                LOG.warn("meta modules {} is deprecated, ignore and skip it", metaIndex.name);
+                continue;
+            }
+            MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
+            if (persistMethod == null) {
+                if (Config.ignore_unknown_metadata_module) {
+                    LOG.warn("meta modules {} is unknown, ignore and skip it", metaIndex.name);
                     continue;
+                } else {
+                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
+                            + PersistMetaModules.MODULE_NAMES);
                 }
-                if (i < metaFooter.metaIndices.size() - 1
-                        && metaIndex.offset == metaFooter.metaIndices.get(i + 1).offset) {
-                    // skip empty meta
-                    LOG.info("Skip {} module since empty meta length.", metaIndex.name);
-                    continue;
-                } else if (metaIndex.offset == footerIndex) {
-                    // skip last empty meta
-                    LOG.info("Skip {} module since empty meta length in the end.", metaIndex.name);
-                    continue;
+            }
+            ModuleSegment module = new ModuleSegment(persistMethod, metaIndex.offset, end - metaIndex.offset);
+            if (parallel && PersistMetaModules.PARALLEL_LOAD_MODULE_NAMES.contains(metaIndex.name)) {
+                parallelModules.add(module);
+            } else {
+                orderedModules.add(module);
+            }
+        }
+
+        // 3. Read other meta modules
+        // The checksum of each module is xor-ed into the checksum of the image, so it does not depend on the order.
+        if (parallelModules.isEmpty()) {
+            for (ModuleSegment module : orderedModules) {
+                checksum ^= loadModule(imageFile, metaHeader, module, env);
+            }
+        } else {
+            int threadNum = Math.min(Config.meta_image_load_thread_num, parallelModules.size());
+            try (MetaModuleExecutor executor = new MetaModuleExecutor("image-loader", threadNum)) {
+                List<Future<Long>> futures = Lists.newArrayList();
+                for (ModuleSegment module : parallelModules) {
+                    futures.add(executor.submit(() -> loadModule(imageFile, metaHeader, module, env)));
                 }
-                // skip deprecated modules
-                if (PersistMetaModules.DEPRECATED_MODULE_NAMES.contains(metaIndex.name)) {
-                    LOG.warn("meta modules {} is deprecated, ignore and skip it", metaIndex.name);
-                    // If this is the last module, nothing need to do.
-                    if (i < metaFooter.metaIndices.size() - 1) {
-                        IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
-                    }
-                    continue;
+                // Modules must be read in the order in which the metadata was written
+                for (ModuleSegment module : orderedModules) {
+                    checksum ^= loadModule(imageFile, metaHeader, module, env);
                 }
-                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
-                if (persistMethod == null) {
-                    if (Config.ignore_unknown_metadata_module) {
-                        LOG.warn("meta modules {} is unknown, ignore and skip it", metaIndex.name);
-                        // If this is the last module, nothing need to do.
-                        if (i < metaFooter.metaIndices.size() - 1) {
-                            IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
-                        }
-                        continue;
-                    } else {
-                        throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
-                                + PersistMetaModules.MODULE_NAMES);
-                    }
+                for (Future<Long> future : futures) {
+                    checksum ^= MetaModuleExecutor.get(future);
                 }
-                checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
             }
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            throw new IOException(e);
         }
 
         long remoteChecksum = metaFooter.checksum;
@@ -135,4 +173,38 @@ public class MetaReader {
         long loadImageEndTime = System.currentTimeMillis();
         LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
     }
+
+    // return the checksum of the module
+    private static long loadModule(File imageFile, MetaHeader metaHeader, ModuleSegment module, Env env)
+            throws IOException {
+        String name = module.persistMethod.name;
+        long startTime = System.currentTimeMillis();
+        long checksum;
+        try (DataInputStream dis = openModule(imageFile, module.offset, module.length,
+                metaHeader.isCompressed(name))) {
+            checksum = (long) module.persistMethod.readMethod.invoke(env, dis, 0L);
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            throw new IOException("failed to load meta module " + name, e);
+        }
+        long costMs = System.currentTimeMillis() - startTime;
+        PersistMetaModules.MODULE_LOAD_TIME_MS.put(name, costMs);
+        LOG.info("loaded meta module {} of {} bytes in {} ms", name, module.length, costMs);
+        return checksum;
+    }
+
+    private static DataInputStream openModule(File imageFile, long offset, long length, boolean compressed)
+            throws IOException {
+        FileInputStream fis = new FileInputStream(imageFile);
+        try {
+            fis.getChannel().position(offset);
+            InputStream in = new BufferedInputStream(ByteStreams.limit(fis, length));
+            if (compressed) {
+                in = new GZIPInputStream(in);
+            }
+            return new DataInputStream(in);
+        } catch (IOException e) {
+            fis.close();
+            throw e;
+        }
+    }
 }
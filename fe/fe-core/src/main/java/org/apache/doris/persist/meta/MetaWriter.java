@@ -18,6 +18,7 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
@@ -30,7 +31,10 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Image Format:
@@ -62,6 +66,9 @@ import java.util.List;
  * | - Footer Length (8 bytes)                    |
  * | - Magic String (4 bytes)                     |
  * |----------------------------------------------|
+ *
+ * When meta_image_save_thread_num > 1, the modules are saved to temporary files concurrently,
+ * and then appended to the image in order, so the format of the image is the same.
  */
 
 public class MetaWriter {
@@ -99,8 +106,9 @@ public class MetaWriter {
                 imageFile.getAbsolutePath(), Env.isCheckpointThread());
         final Reference<Long> checksum = new Reference<>(0L);
         long saveImageStartTime = System.currentTimeMillis();
+        List<String> compressedModules = getCompressedModules();
         // MetaHeader should use output stream in the future.
-        long startPosition = MetaHeader.write(imageFile);
+        long startPosition = MetaHeader.write(imageFile, compressedModules);
         List<MetaIndex> metaIndices = Lists.newArrayList();
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
         try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
@@ -108,20 +116,25 @@ public class MetaWriter {
             writer.setDelegate(dos, metaIndices);
             long replayedJournalId = env.getReplayedJournalId();
             // 1. write header first
+            long headerStartTime = System.currentTimeMillis();
             checksum.setRef(
                     writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
+            PersistMetaModules.MODULE_SAVE_TIME_MS.put("header", System.currentTimeMillis() - headerStartTime);
             // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
-                    try {
-                        return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
-                    }
-                }));
+            // The checksum of each module is xor-ed into the checksum of the image, whatever the order is.
+            int threadNum = Config.meta_image_save_thread_num;
+            if (threadNum <= 1) {
+                for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                    boolean compressed = compressedModules.contains(m.name);
+                    checksum.setRef(writer.doWork(m.name,
+                            () -> checksum.getRef() ^ saveModule(env, m, dos, compressed)));
+                }
+            } else {
+                checksum.setRef(checksum.getRef() ^ saveModulesConcurrently(imageFile, env, dos,
+                        compressedModules, Math.min(threadNum, PersistMetaModules.MODULES_IN_ORDER.size())));
             }
             // 3. force sync to disk
+            dos.flush();
             imageFileOut.getChannel().force(true);
         }
         MetaFooter.write(imageFile, metaIndices, checksum.getRef());
@@ -131,4 +144,78 @@ public class MetaWriter {
                 (saveImageEndTime - saveImageStartTime), checksum.getRef(), imageFile.length());
     }
 
+    private static List<String> getCompressedModules() {
+        List<String> compressedModules = Lists.newArrayList();
+        for (String name : Config.meta_image_compressed_modules) {
+            name = name.trim();
+            if (PersistMetaModules.MODULES_MAP.containsKey(name) && !compressedModules.contains(name)) {
+                compressedModules.add(name);
+            }
+        }
+        return compressedModules;
+    }
+
+    // return the checksum of the module
+    private static long saveModule(Env env, MetaPersistMethod m, CountingDataOutputStream dos, boolean compressed)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        long checksum;
+        try {
+            if (compressed) {
+                GZIPOutputStream gzip = new GZIPOutputStream(dos, 64 * 1024);
+                CountingDataOutputStream compressedDos = new CountingDataOutputStream(gzip);
+                checksum = (long) m.writeMethod.invoke(env, compressedDos, 0L);
+                compressedDos.flush();
+                // finish the gzip stream without closing the image stream
+                gzip.finish();
+            } else {
+                checksum = (long) m.writeMethod.invoke(env, dos, 0L);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOG.warn("failed to write meta module: {}", m.name, e);
+            throw new RuntimeException(e);
+        }
+        PersistMetaModules.MODULE_SAVE_TIME_MS.put(m.name, System.currentTimeMillis() - startTime);
+        return checksum;
+    }
+
+    // Save the modules to temporary files concurrently, then append them to the image in order.
+    private static long saveModulesConcurrently(File imageFile, Env env, CountingDataOutputStream dos,
+            List<String> compressedModules, int threadNum) throws IOException {
+        List<MetaPersistMethod> modules = PersistMetaModules.MODULES_IN_ORDER;
+        List<File> partFiles = Lists.newArrayList();
+        for (MetaPersistMethod m : modules) {
+            partFiles.add(new File(imageFile.getParentFile(), imageFile.getName() + "." + m.name + ".part"));
+        }
+        long checksum = 0;
+        try (MetaModuleExecutor executor = new MetaModuleExecutor("image-saver", threadNum)) {
+            List<Future<Long>> futures = Lists.newArrayList();
+            for (int i = 0; i < modules.size(); i++) {
+                MetaPersistMethod m = modules.get(i);
+                File partFile = partFiles.get(i);
+                boolean compressed = compressedModules.contains(m.name);
+                futures.add(executor.submit(() -> {
+                    try (CountingDataOutputStream partDos = new CountingDataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(partFile)))) {
+                        return saveModule(env, m, partDos, compressed);
+                    }
+                }));
+            }
+            for (int i = 0; i < modules.size(); i++) {
+                long moduleChecksum = MetaModuleExecutor.get(futures.get(i));
+                File partFile = partFiles.get(i);
+                writer.doWork(modules.get(i).name, () -> {
+                    Files.copy(partFile.toPath(), dos);
+                    return 0;
+                });
+                checksum ^= moduleChecksum;
+            }
+        } finally {
+            for (File partFile : partFiles) {
+                Files.deleteIfExists(partFile.toPath());
+            }
+        }
+        return checksum;
+    }
+
 }
@@ -20,6 +20,7 @@ package org.apache.doris.persist.meta;
 import org.apache.doris.common.Config;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -51,6 +52,17 @@ public class PersistMetaModules {
     public static final ImmutableList<String> DEPRECATED_MODULE_NAMES = ImmutableList.of(
             "loadJob", "cooldownJob", "AnalysisMgr", "mtmvJobManager", "JobTaskManager");
 
+    // Modules whose load methods only rebuild their own manager, so they are loaded concurrently with
+    // the other modules when meta_image_load_thread_num > 1. The other modules depend on each other,
+    // e.g. db must be loaded after datasource and before alterJob, so they are still loaded in order.
+    public static final ImmutableSet<String> PARALLEL_LOAD_MODULE_NAMES = ImmutableSet.of(
+            "globalVariable", "resources", "paloAuth", "smallFiles", "sqlBlockRule", "policy", "globalFunction",
+            "workloadGroups", "workloadSchedPolicy", "AnalysisMgrV2", "insertOverwrite", "plsql");
+
+    // The time in ms of the last load and save of each module, exposed as metrics.
+    public static final Map<String, Long> MODULE_LOAD_TIME_MS = Maps.newConcurrentMap();
+    public static final Map<String, Long> MODULE_SAVE_TIME_MS = Maps.newConcurrentMap();
+
     static {
         MODULES_MAP = Maps.newHashMap();
         MODULES_IN_ORDER = Lists.newArrayList();
@@ -0,0 +1,177 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.plugin.audit;
+
+import org.apache.doris.analysis.ColumnDef;
+import org.apache.doris.catalog.InternalSchema;
+import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.plugin.AuditEvent;
+
+import com.google.common.collect.Lists;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A batch of audit events in the columns of InternalSchema.AUDIT_SCHEMA, serialized as an arrow stream which is
+ * loaded by a stream load of arrow format, so the events are neither formatted as csv nor parsed again by BE.
+ */
+public class AuditArrowBatch implements AutoCloseable {
+    private final VectorSchemaRoot root;
+    private final List<FieldVector> vectors;
+    private int rowCount = 0;
+    private long estimatedBytes = 0;
+
+    public AuditArrowBatch(BufferAllocator allocator) {
+        this.root = VectorSchemaRoot.create(buildSchema(), allocator);
+        this.vectors = root.getFieldVectors();
+        root.allocateNew();
+    }
+
+    /**
+     * The columns of the batches, which are the columns of the stream load.
+     */
+    public static String getColumns() {
+        return InternalSchema.AUDIT_SCHEMA.stream().map(ColumnDef::getName).collect(Collectors.joining(","));
+    }
+
+    static Schema buildSchema() {
+        List<Field> fields = Lists.newArrayList();
+        for (ColumnDef column : InternalSchema.AUDIT_SCHEMA) {
+            fields.add(new Field(column.getName(), FieldType.nullable(toArrowType(column)), null));
+        }
+        return new Schema(fields);
+    }
+
+    private static ArrowType toArrowType(ColumnDef column) {
+        switch (column.getType().getPrimitiveType()) {
+            case TINYINT:
+                return new ArrowType.Int(8, true);
+            case INT:
+                return new ArrowType.Int(32, true);
+            case BIGINT:
+                return new ArrowType.Int(64, true);
+            case DATETIMEV2:
+                // BE converts the epoch millis to the datetime in this time zone
+                return new ArrowType.Timestamp(TimeUnit.MILLISECOND, TimeUtils.getTimeZone().getID());
+            case VARCHAR:
+            case STRING:
+                return ArrowType.Utf8.INSTANCE;
+            default:
+                throw new IllegalStateException("unsupported type of audit column " + column.getName()
+                        + ": " + column.getType());
+        }
+    }
+
+    // should be same order as InternalSchema.AUDIT_SCHEMA
+    private static Object[] toRow(AuditEvent event) {
+        return new Object[] {
+                event.queryId, event.timestamp, event.clientIp, event.user, event.ctl, event.db, event.state,
+                event.errorCode, event.errorMessage, event.queryTime, event.scanBytes, event.scanRows,
+                event.returnRows, event.shuffleSendRows, event.shuffleSendBytes, event.scanBytesFromLocalStorage,
+                event.scanBytesFromRemoteStorage, event.stmtId, event.stmtType, event.isQuery ? 1 : 0,
+                event.isNereids ? 1 : 0, event.feIp, event.cpuTimeMs, event.sqlHash, event.sqlDigest,
+                event.peakMemoryBytes, event.workloadGroup, event.cloudClusterName,
+                // already trim the query in org.apache.doris.qe.AuditLogHelper#logAuditLog
+                event.stmt
+        };
+    }
+
+    public void add(AuditEvent event) {
+        Object[] row = toRow(event);
+        for (int i = 0; i < vectors.size(); i++) {
+            set(vectors.get(i), rowCount, row[i]);
+        }
+        rowCount++;
+        root.setRowCount(rowCount);
+    }
+
+    private void set(FieldVector vector, int index, Object value) {
+        if (value == null) {
+            vector.setNull(index);
+            return;
+        }
+        if (vector instanceof VarCharVector) {
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            ((VarCharVector) vector).setSafe(index, bytes);
+            estimatedBytes += bytes.length;
+            return;
+        }
+        long number = ((Number) value).longValue();
+        if (vector instanceof BigIntVector) {
+            ((BigIntVector) vector).setSafe(index, number);
+        } else if (vector instanceof TimeStampMilliTZVector) {
+            ((TimeStampMilliTZVector) vector).setSafe(index, number);
+        } else if (vector instanceof IntVector) {
+            ((IntVector) vector).setSafe(index, (int) number);
+        } else if (vector instanceof TinyIntVector) {
+            ((TinyIntVector) vector).setSafe(index, (byte) number);
+        } else {
+            throw new IllegalStateException("unexpected vector of audit column " + vector.getName());
+        }
+        estimatedBytes += Long.BYTES;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    // the size of the values in the batch, used to decide when to load it
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public VectorSchemaRoot getRoot() {
+        return root;
+    }
+
+    /**
+     * Serialize the batch as an arrow stream with a single record batch.
+     */
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(estimatedBytes * 2, Integer.MAX_VALUE));
+        try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+            writer.start();
+            writer.writeBatch();
+            writer.end();
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        root.close();
+    }
+}
@@ -18,8 +18,9 @@
 package org.apache.doris.plugin.audit;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.util.DigitalVersion;
-import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.plugin.AuditEvent;
 import org.apache.doris.plugin.AuditPlugin;
 import org.apache.doris.plugin.Plugin;
@@ -31,6 +32,8 @@ import org.apache.doris.plugin.PluginMgr;
 import org.apache.doris.qe.GlobalVariable;
 
 import com.google.common.collect.Queues;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -39,21 +42,27 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /*
- * This plugin will load audit log to specified doris table at specified interval
+ * This plugin will load audit log to specified doris table at specified interval.
+ * The audit events are batched in arrow format and loaded by AuditStreamLoader, the batches failed to load are
+ * spilled to local files by AuditSpillQueue and replayed later.
  */
 public class AuditLoader extends Plugin implements AuditPlugin {
     private static final Logger LOG = LogManager.getLogger(AuditLoader.class);
 
     public static final String AUDIT_LOG_TABLE = "audit_log";
 
-    private StringBuilder auditLogBuffer = new StringBuilder();
-    private int auditLogNum = 0;
+    // the max number of spilled batches replayed in one round, so the new events are not delayed too long
+    private static final int MAX_REPLAY_BATCHES_PER_ROUND = 10;
+
+    private BufferAllocator allocator;
+    private AuditArrowBatch auditLogBatch;
     private long lastLoadTimeAuditLog = 0;
     // sometimes the audit log may fail to load to doris, count it to observe.
     private long discardLogNum = 0;
 
     private BlockingQueue<AuditEvent> auditEventQueue;
     private AuditStreamLoader streamLoader;
+    private AuditSpillQueue spillQueue;
     private Thread loadThread;
 
     private volatile boolean isClosed = false;
@@ -84,7 +93,10 @@ public class AuditLoader extends Plugin implements AuditPlugin {
             // and it will not be too large because the audit log will flush if num in queue is larger than
             // GlobalVariable.audit_plugin_max_batch_bytes.
             this.auditEventQueue = Queues.newLinkedBlockingDeque(100000);
+            this.allocator = new RootAllocator(Long.MAX_VALUE);
+            this.auditLogBatch = new AuditArrowBatch(allocator);
             this.streamLoader = new AuditStreamLoader();
+            this.spillQueue = new AuditSpillQueue(AuditSpillQueue.getDefaultDir());
             this.loadThread = new Thread(new LoadWorker(), "audit loader thread");
             this.loadThread.start();
 
@@ -105,6 +117,17 @@ public class AuditLoader extends Plugin implements AuditPlugin {
                 }
             }
         }
+        synchronized (this) {
+            // the events not loaded yet are spilled, they will be loaded after restart
+            if (auditLogBatch != null) {
+                flushBatch(System.currentTimeMillis(), true);
+                auditLogBatch.close();
+                auditLogBatch = null;
+            }
+            if (allocator != null) {
+                allocator.close();
+            }
+        }
     }
 
     public boolean eventFilter(AuditEvent.EventType type) {
@@ -118,104 +141,159 @@ public class AuditLoader extends Plugin implements AuditPlugin {
             }
             return;
         }
+        boolean isAddSucc;
         try {
-            auditEventQueue.add(event);
-        } catch (Exception e) {
+            // blocking here holds back the event processor, whose queue then makes the producers wait
+            isAddSucc = auditEventQueue.offer(event, Config.audit_event_queue_offer_timeout_ms,
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isAddSucc = false;
+        }
+        if (!isAddSucc) {
             // In order to ensure that the system can run normally, here we directly
-            // discard the current audit_event. If this problem occurs frequently,
-            // improvement can be considered.
+            // discard the current audit_event if the queue stays full.
             ++discardLogNum;
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_AUDIT_EVENT_DROPPED.increase(1L);
+            }
             if (LOG.isDebugEnabled()) {
-                LOG.debug("encounter exception when putting current audit batch, discard current audit event."
-                        + " total discard num: {}", discardLogNum, e);
+                LOG.debug("audit event queue is full, discard current audit event. total discard num: {}",
+                        discardLogNum);
             }
         }
     }
 
-    private void assembleAudit(AuditEvent event) {
-        fillLogBuffer(event, auditLogBuffer);
-        ++auditLogNum;
-    }
-
-    private void fillLogBuffer(AuditEvent event, StringBuilder logBuffer) {
-        // should be same order as InternalSchema.AUDIT_SCHEMA
-        logBuffer.append(event.queryId).append("\t");
-        logBuffer.append(TimeUtils.longToTimeStringWithms(event.timestamp)).append("\t");
-        logBuffer.append(event.clientIp).append("\t");
-        logBuffer.append(event.user).append("\t");
-        logBuffer.append(event.ctl).append("\t");
-        logBuffer.append(event.db).append("\t");
-        logBuffer.append(event.state).append("\t");
-        logBuffer.append(event.errorCode).append("\t");
-        logBuffer.append(event.errorMessage).append("\t");
-        logBuffer.append(event.queryTime).append("\t");
-        logBuffer.append(event.scanBytes).append("\t");
-        logBuffer.append(event.scanRows).append("\t");
-        logBuffer.append(event.returnRows).append("\t");
-        logBuffer.append(event.shuffleSendRows).append("\t");
-        logBuffer.append(event.shuffleSendBytes).append("\t");
-        logBuffer.append(event.scanBytesFromLocalStorage).append("\t");
-        logBuffer.append(event.scanBytesFromRemoteStorage).append("\t");
-        logBuffer.append(event.stmtId).append("\t");
-        logBuffer.append(event.stmtType).append("\t");
-        logBuffer.append(event.isQuery ? 1 : 0).append("\t");
-        logBuffer.append(event.isNereids ? 1 : 0).append("\t");
-        logBuffer.append(event.feIp).append("\t");
-        logBuffer.append(event.cpuTimeMs).append("\t");
-        logBuffer.append(event.sqlHash).append("\t");
-        logBuffer.append(event.sqlDigest).append("\t");
-        logBuffer.append(event.peakMemoryBytes).append("\t");
-        logBuffer.append(event.workloadGroup).append("\t");
-        logBuffer.append(event.cloudClusterName).append("\t");
-        // already trim the query in org.apache.doris.qe.AuditLogHelper#logAuditLog
-        String stmt = event.stmt;
+    private synchronized void assembleAudit(AuditEvent event) {
+        if (auditLogBatch == null) {
+            return;
+        }
         if (LOG.isDebugEnabled()) {
-            LOG.debug("receive audit event with stmt: {}", stmt);
+            LOG.debug("receive audit event with stmt: {}", event.stmt);
         }
-        logBuffer.append(stmt).append("\n");
+        auditLogBatch.add(event);
     }
 
     // public for external call.
     // synchronized to avoid concurrent load.
     public synchronized void loadIfNecessary(boolean force) {
+        if (auditLogBatch == null) {
+            return;
+        }
         long currentTime = System.currentTimeMillis();
+        if (!force && auditLogBatch.getEstimatedBytes() < GlobalVariable.auditPluginMaxBatchBytes
+                && currentTime - lastLoadTimeAuditLog < GlobalVariable.auditPluginMaxBatchInternalSec * 1000) {
+            return;
+        }
+        if (flushBatch(currentTime, false)) {
+            replaySpilledBatches();
+        }
+        if (discardLogNum > 0) {
+            LOG.info("num of total discarded audit logs: {}", discardLogNum);
+        }
+    }
 
-        if (auditLogBuffer.length() != 0 && (force || auditLogBuffer.length() >= GlobalVariable.auditPluginMaxBatchBytes
-                || currentTime - lastLoadTimeAuditLog >= GlobalVariable.auditPluginMaxBatchInternalSec * 1000)) {
-            // begin to load
+    /**
+     * Load the current batch, or spill it if the load fails or spillOnly is true.
+     * Return false if the batch is not loaded.
+     */
+    private boolean flushBatch(long currentTime, boolean spillOnly) {
+        lastLoadTimeAuditLog = currentTime;
+        int rowCount = auditLogBatch.getRowCount();
+        if (rowCount == 0) {
+            return !spillOnly;
+        }
+        byte[] data;
+        try {
+            data = auditLogBatch.serialize();
+        } catch (Exception e) {
+            LOG.warn("failed to serialize audit batch, discard {} audit logs", rowCount, e);
+            discard(rowCount);
+            return false;
+        } finally {
+            // make a new batch to receive following events.
+            auditLogBatch.close();
+            auditLogBatch = new AuditArrowBatch(allocator);
+        }
+        String columns = AuditArrowBatch.getColumns();
+        if (!spillOnly && load(data, columns, rowCount).isSuccess()) {
+            return true;
+        }
+        if (spillQueue.spill(data, columns, rowCount)) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_AUDIT_EVENT_SPILLED.increase((long) rowCount);
+            }
+        } else {
+            LOG.warn("failed to spill audit batch, spilled batches: {}, spilled bytes: {}, discard {} audit logs",
+                    spillQueue.size(), spillQueue.getTotalBytes(), rowCount);
+            discard(rowCount);
+        }
+        return false;
+    }
+
+    // replay the spilled batches in order until one of them fails to load.
+    // a batch rejected by the backend audit_loader_max_replay_attempts times is quarantined, so it doesn't
+    // block the batches after it.
+    private void replaySpilledBatches() {
+        for (int i = 0; i < MAX_REPLAY_BATCHES_PER_ROUND; i++) {
+            AuditSpillQueue.SpilledBatch batch = spillQueue.peek();
+            if (batch == null) {
+                return;
+            }
+            AuditSpillQueue.Content content;
             try {
-                String token = "";
-                try {
-                    // Acquire token from master
-                    token = Env.getCurrentEnv().getTokenManager().acquireToken();
-                } catch (Exception e) {
-                    LOG.warn("Failed to get auth token: {}", e);
-                    discardLogNum += auditLogNum;
-                    return;
-                }
-                AuditStreamLoader.LoadResponse response = streamLoader.loadBatch(auditLogBuffer, token);
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("audit loader response: {}", response);
-                }
+                content = batch.read();
             } catch (Exception e) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("encounter exception when putting current audit batch, discard current batch", e);
-                }
-                discardLogNum += auditLogNum;
-            } finally {
-                // make a new string builder to receive following events.
-                resetBatch(currentTime);
-                if (discardLogNum > 0) {
-                    LOG.info("num of total discarded audit logs: {}", discardLogNum);
-                }
+                LOG.warn("failed to read spilled audit batch {}, discard {} audit logs", batch.file,
+                        batch.rowCount, e);
+                spillQueue.remove(batch);
+                discard(batch.rowCount);
+                continue;
+            }
+            AuditStreamLoader.LoadResponse response = load(content.data, content.columns, batch.rowCount);
+            if (response.isSuccess()) {
+                spillQueue.remove(batch);
+                continue;
             }
+            // retry later if the batch is not sent, or it's not rejected enough times
+            if (!response.isRejected() || spillQueue.recordFailure(batch) < Config.audit_loader_max_replay_attempts) {
+                return;
+            }
+            LOG.warn("spilled audit batch {} is rejected {} times, quarantine it and discard {} audit logs",
+                    batch.file, Config.audit_loader_max_replay_attempts, batch.rowCount);
+            spillQueue.quarantine(batch);
+            discard(batch.rowCount);
+        }
+    }
+
+    private AuditStreamLoader.LoadResponse load(byte[] data, String columns, int rowCount) {
+        String token;
+        try {
+            // Acquire token from master
+            token = Env.getCurrentEnv().getTokenManager().acquireToken();
+        } catch (Exception e) {
+            LOG.warn("Failed to get auth token: {}", e);
+            return new AuditStreamLoader.LoadResponse(-1, e.getMessage(), "failed to get auth token");
+        }
+        AuditStreamLoader.LoadResponse response = streamLoader.loadBatch(data, columns, token);
+        if (!response.isSuccess()) {
+            LOG.warn("failed to load {} audit logs, response: {}", rowCount, response);
+            return response;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("audit loader response: {}", response);
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_AUDIT_EVENT_LOADED.increase((long) rowCount);
         }
+        return response;
     }
 
-    private void resetBatch(long currentTime) {
-        this.auditLogBuffer = new StringBuilder();
-        this.lastLoadTimeAuditLog = currentTime;
-        this.auditLogNum = 0;
+    private void discard(int rowCount) {
+        discardLogNum += rowCount;
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_AUDIT_EVENT_DROPPED.increase((long) rowCount);
+        }
     }
 
     private class LoadWorker implements Runnable {
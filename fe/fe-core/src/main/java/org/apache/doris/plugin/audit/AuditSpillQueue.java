@@ -0,0 +1,236 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.plugin.audit;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.io.ByteStreams;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The audit batches which failed to load, kept as local files of arrow streams and replayed in order once the
+ * audit table can be loaded again. The total size of the files is limited by audit_loader_max_spill_bytes, the
+ * batches exceeding it are dropped. The files left by the last run of FE are replayed too.
+ *
+ * A file holds the columns of the batch followed by the arrow stream, so a batch spilled before the audit schema
+ * changes is loaded with its own columns. The batches which the backend keeps rejecting are quarantined as
+ * ".failed" files, which are not replayed any more. The quarantined files count against
+ * audit_loader_max_spill_bytes too, the oldest of them are deleted to make room for the new batches.
+ */
+public class AuditSpillQueue {
+    private static final Logger LOG = LogManager.getLogger(AuditSpillQueue.class);
+
+    // audit_<seq>_<row count>.arrow
+    private static final Pattern FILE_PATTERN = Pattern.compile("^audit_(\\d+)_(\\d+)\\.arrow$");
+    // audit_<seq>_<row count>.arrow.failed
+    private static final Pattern QUARANTINE_FILE_PATTERN = Pattern.compile("^audit_(\\d+)_(\\d+)\\.arrow\\.failed$");
+    private static final String QUARANTINE_SUFFIX = ".failed";
+
+    private final File dir;
+    // seq -> spilled file
+    private final TreeMap<Long, File> files = new TreeMap<>();
+    // seq -> quarantined file
+    private final TreeMap<Long, File> quarantinedFiles = new TreeMap<>();
+    // spilled file -> the times it's rejected by the backend
+    private final Map<File, Integer> failures = new HashMap<>();
+    private long totalBytes = 0;
+    private long nextSeq;
+
+    /**
+     * A spilled batch.
+     */
+    public static class SpilledBatch {
+        public final File file;
+        public final int rowCount;
+
+        SpilledBatch(File file, int rowCount) {
+            this.file = file;
+            this.rowCount = rowCount;
+        }
+
+        public Content read() throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(file.toPath())))) {
+                String columns = in.readUTF();
+                return new Content(columns, ByteStreams.toByteArray(in));
+            }
+        }
+    }
+
+    /**
+     * The columns and the arrow stream of a spilled batch.
+     */
+    public static class Content {
+        public final String columns;
+        public final byte[] data;
+
+        Content(String columns, byte[] data) {
+            this.columns = columns;
+            this.data = data;
+        }
+    }
+
+    public AuditSpillQueue(File dir) {
+        this.dir = dir;
+        this.nextSeq = System.currentTimeMillis();
+        File[] existing = dir.listFiles();
+        if (existing == null) {
+            return;
+        }
+        for (File file : existing) {
+            Matcher matcher = FILE_PATTERN.matcher(file.getName());
+            TreeMap<Long, File> target = files;
+            if (!matcher.matches()) {
+                matcher = QUARANTINE_FILE_PATTERN.matcher(file.getName());
+                target = quarantinedFiles;
+            }
+            if (matcher.matches()) {
+                long seq = Long.parseLong(matcher.group(1));
+                target.put(seq, file);
+                totalBytes += file.length();
+                nextSeq = Math.max(nextSeq, seq + 1);
+            }
+        }
+        if (!files.isEmpty() || !quarantinedFiles.isEmpty()) {
+            LOG.info("found {} spilled and {} quarantined audit batches of {} bytes in {}", files.size(),
+                    quarantinedFiles.size(), totalBytes, dir);
+        }
+    }
+
+    public static File getDefaultDir() {
+        if (!Config.audit_loader_spill_dir.isEmpty()) {
+            return new File(Config.audit_loader_spill_dir);
+        }
+        return new File(Config.audit_log_dir, "audit_spill");
+    }
+
+    /**
+     * Spill the batch with its columns, return false if it exceeds audit_loader_max_spill_bytes or fails to write.
+     */
+    public synchronized boolean spill(byte[] batch, String columns, int rowCount) {
+        // the batches to replay are more useful than the quarantined ones
+        while (totalBytes + batch.length > Config.audit_loader_max_spill_bytes && !quarantinedFiles.isEmpty()) {
+            File file = quarantinedFiles.pollFirstEntry().getValue();
+            totalBytes = Math.max(0, totalBytes - file.length());
+            LOG.warn("delete quarantined audit batch {} to make room for the new batches", file);
+            if (!file.delete()) {
+                LOG.warn("failed to delete quarantined audit batch {}", file);
+            }
+        }
+        if (totalBytes + batch.length > Config.audit_loader_max_spill_bytes) {
+            return false;
+        }
+        long seq = nextSeq++;
+        File file = new File(dir, "audit_" + seq + "_" + rowCount + ".arrow");
+        File tmpFile = new File(dir, file.getName() + ".tmp");
+        try {
+            Files.createDirectories(dir.toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeUTF(columns);
+                out.write(batch);
+            }
+            // the replay only picks up the complete files
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("failed to spill audit batch to {}", file, e);
+            tmpFile.delete();
+            return false;
+        }
+        files.put(seq, file);
+        totalBytes += file.length();
+        return true;
+    }
+
+    /**
+     * The oldest spilled batch, or null if there is none.
+     */
+    public synchronized SpilledBatch peek() {
+        if (files.isEmpty()) {
+            return null;
+        }
+        File file = files.firstEntry().getValue();
+        Matcher matcher = FILE_PATTERN.matcher(file.getName());
+        return new SpilledBatch(file, matcher.matches() ? Integer.parseInt(matcher.group(2)) : 0);
+    }
+
+    public synchronized void remove(SpilledBatch batch) {
+        files.values().remove(batch.file);
+        failures.remove(batch.file);
+        totalBytes = Math.max(0, totalBytes - batch.file.length());
+        if (!batch.file.delete()) {
+            LOG.warn("failed to delete spilled audit batch {}", batch.file);
+        }
+    }
+
+    /**
+     * Record that the batch is rejected by the backend, return the times it's rejected since FE started.
+     */
+    public synchronized int recordFailure(SpilledBatch batch) {
+        return failures.merge(batch.file, 1, Integer::sum);
+    }
+
+    /**
+     * Stop replaying the batch, the file is kept with the suffix ".failed" to be checked by hand
+     * until the room is needed by the new batches.
+     */
+    public synchronized void quarantine(SpilledBatch batch) {
+        Long seq = null;
+        Matcher matcher = FILE_PATTERN.matcher(batch.file.getName());
+        if (matcher.matches()) {
+            seq = Long.parseLong(matcher.group(1));
+        }
+        files.values().remove(batch.file);
+        failures.remove(batch.file);
+        File failedFile = new File(batch.file.getPath() + QUARANTINE_SUFFIX);
+        if (seq != null && batch.file.renameTo(failedFile)) {
+            quarantinedFiles.put(seq, failedFile);
+            return;
+        }
+        LOG.warn("failed to quarantine spilled audit batch {}, delete it", batch.file);
+        totalBytes = Math.max(0, totalBytes - batch.file.length());
+        batch.file.delete();
+    }
+
+    public synchronized int size() {
+        return files.size();
+    }
+
+    public synchronized int quarantinedSize() {
+        return quarantinedFiles.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
@@ -17,11 +17,18 @@
 
 package org.apache.doris.plugin.audit;
 
-import org.apache.doris.catalog.InternalSchema;
+import org.apache.doris.analysis.LoadStmt;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.util.FileFormatConstants;
+import org.apache.doris.load.StreamLoadHandler;
 import org.apache.doris.qe.GlobalVariable;
+import org.apache.doris.qe.SessionVariable;
 
+import com.google.common.base.Strings;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,8 +39,15 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Calendar;
-import java.util.stream.Collectors;
 
+/**
+ * Load the audit batches of arrow format into the audit table by stream load.
+ *
+ * The batches are sent to a backend directly, with the group commit mode of audit_loader_group_commit_mode, so
+ * the small and frequent batches are merged by the group commit of the backend instead of creating a transaction
+ * and a rowset for each of them. In cloud mode, the backend is chosen by the redirect of the local FE, which knows
+ * the compute group to use.
+ */
 public class AuditStreamLoader {
     private static final Logger LOG = LogManager.getLogger(AuditStreamLoader.class);
     private static String loadUrlPattern = "http://%s/api/%s/%s/_stream_load?";
@@ -52,7 +66,8 @@ public class AuditStreamLoader {
         this.feIdentity = hostPort.replaceAll("\\.", "_").replaceAll(":", "_");
     }
 
-    private HttpURLConnection getConnection(String urlStr, String label, String clusterToken) throws IOException {
+    private HttpURLConnection getConnection(String urlStr, String label, String groupCommitMode, String columns,
+            String clusterToken) throws IOException {
         URL url = new URL(urlStr);
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         conn.setInstanceFollowRedirects(false);
@@ -60,29 +75,32 @@ public class AuditStreamLoader {
         conn.setRequestProperty("token", clusterToken);
         conn.setRequestProperty("Authorization", "Basic YWRtaW46"); // admin
         conn.addRequestProperty("Expect", "100-continue");
-        conn.addRequestProperty("Content-Type", "text/plain; charset=UTF-8");
-        conn.addRequestProperty("label", label);
-        conn.setRequestProperty("timeout", String.valueOf(GlobalVariable.auditPluginLoadTimeoutS));
-        conn.addRequestProperty("max_filter_ratio", "1.0");
-        conn.addRequestProperty("columns",
-                InternalSchema.AUDIT_SCHEMA.stream().map(c -> c.getName()).collect(
-                        Collectors.joining(",")));
+        conn.addRequestProperty("Content-Type", "application/octet-stream");
+        conn.addRequestProperty(LoadStmt.KEY_IN_PARAM_FORMAT_TYPE, FileFormatConstants.FORMAT_ARROW);
+        // the label can not be specified for group commit
+        if (Strings.isNullOrEmpty(groupCommitMode)) {
+            conn.addRequestProperty("label", label);
+        } else {
+            conn.addRequestProperty(SessionVariable.GROUP_COMMIT, groupCommitMode);
+        }
+        conn.setRequestProperty(LoadStmt.TIMEOUT_PROPERTY, String.valueOf(GlobalVariable.auditPluginLoadTimeoutS));
+        conn.addRequestProperty(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO, "1.0");
+        conn.addRequestProperty(LoadStmt.KEY_IN_PARAM_COLUMNS, columns);
         conn.addRequestProperty("redirect-policy", "random-be");
         conn.setDoOutput(true);
         conn.setDoInput(true);
         return conn;
     }
 
-    private String toCurl(HttpURLConnection conn) {
+    private String toCurl(HttpURLConnection conn, String columns) {
         StringBuilder sb = new StringBuilder("curl -v ");
         sb.append("-X ").append(conn.getRequestMethod()).append(" \\\n  ");
         sb.append("-H \"").append("Authorization\":").append("\"Basic YWRtaW46").append("\" \\\n  ");
         sb.append("-H \"").append("Expect\":").append("\"100-continue\" \\\n  ");
-        sb.append("-H \"").append("Content-Type\":").append("\"text/plain; charset=UTF-8\" \\\n  ");
+        sb.append("-H \"").append("Content-Type\":").append("\"application/octet-stream\" \\\n  ");
+        sb.append("-H \"").append("format\":").append("\"arrow\" \\\n  ");
         sb.append("-H \"").append("max_filter_ratio\":").append("\"1.0\" \\\n  ");
-        sb.append("-H \"").append("columns\":")
-                .append("\"" + InternalSchema.AUDIT_SCHEMA.stream().map(c -> c.getName()).collect(
-                        Collectors.joining(",")) + "\" \\\n  ");
+        sb.append("-H \"").append("columns\":").append("\"" + columns + "\" \\\n  ");
         sb.append("-H \"").append("redirect-policy\":").append("\"random-be").append("\" \\\n  ");
         sb.append("\"").append(conn.getURL()).append("\"");
         return sb.toString();
@@ -108,44 +126,60 @@ public class AuditStreamLoader {
         return response.toString();
     }
 
-    public LoadResponse loadBatch(StringBuilder sb, String clusterToken) {
-        String label = genLabel();
+    // the backend to load, or the local FE which redirects the load to a backend of the compute group in cloud mode
+    private String getLoadUrl() throws Exception {
+        if (Config.isCloudMode()) {
+            return auditLogLoadUrlStr;
+        }
+        return StreamLoadHandler.getStreamLoadUrl(db, auditLogTbl);
+    }
+
+    /**
+     * Load a batch serialized by AuditArrowBatch with its columns, the returned response tells whether the rows
+     * are loaded.
+     */
+    public LoadResponse loadBatch(byte[] arrowBatch, String columns, String clusterToken) {
+        String label = "audit" + genLabel();
+        String groupCommitMode = Config.audit_loader_group_commit_mode;
 
         HttpURLConnection feConn = null;
         HttpURLConnection beConn = null;
         try {
-            // build request and send to fe
-            label = "audit" + label;
-            feConn = getConnection(auditLogLoadUrlStr, label, clusterToken);
-            int status = feConn.getResponseCode();
-            // fe send back http response code TEMPORARY_REDIRECT 307 and new be location
-            if (status != 307) {
-                throw new Exception("status is not TEMPORARY_REDIRECT 307, status: " + status
-                        + ", response: " + getContent(feConn) + ", request is: " + toCurl(feConn));
-            }
-            String location = feConn.getHeaderField("Location");
-            if (location == null) {
-                throw new Exception("redirect location is null");
+            String location = getLoadUrl();
+            if (location.equals(auditLogLoadUrlStr)) {
+                // build request and send to fe
+                feConn = getConnection(auditLogLoadUrlStr, label, groupCommitMode, columns, clusterToken);
+                int status = feConn.getResponseCode();
+                // fe send back http response code TEMPORARY_REDIRECT 307 and new be location
+                if (status != 307) {
+                    throw new Exception("status is not TEMPORARY_REDIRECT 307, status: " + status
+                            + ", response: " + getContent(feConn) + ", request is: " + toCurl(feConn, columns));
+                }
+                location = feConn.getHeaderField("Location");
+                if (location == null) {
+                    throw new Exception("redirect location is null");
+                }
             }
-            // build request and send to new be location
-            beConn = getConnection(location, label, clusterToken);
+            // build request and send to be
+            beConn = getConnection(location, label, groupCommitMode, columns, clusterToken);
             // send data to be
             try (BufferedOutputStream bos = new BufferedOutputStream(beConn.getOutputStream())) {
-                bos.write(sb.toString().getBytes());
+                bos.write(arrowBatch);
             }
 
             // get respond
-            status = beConn.getResponseCode();
+            int status = beConn.getResponseCode();
             String respMsg = beConn.getResponseMessage();
             String response = getContent(beConn);
 
-            LOG.info("AuditLoader plugin load with label: {}, response code: {}, msg: {}, content: {}",
-                    label, status, respMsg, response);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("AuditLoader plugin load with label: {}, group commit: {}, response code: {}, msg: {}, "
+                        + "content: {}", label, groupCommitMode, status, respMsg, response);
+            }
 
             return new LoadResponse(status, respMsg, response);
 
         } catch (Exception e) {
-            e.printStackTrace();
             String err = "failed to load audit via AuditLoader plugin with label: " + label;
             LOG.warn(err, e);
             return new LoadResponse(-1, e.getMessage(), err);
@@ -179,6 +213,30 @@ public class AuditStreamLoader {
             this.respContent = respContent;
         }
 
+        /**
+         * Whether the rows of the batch are loaded, the publish timeout means the data is committed.
+         */
+        public boolean isSuccess() {
+            if (status != 200 || Strings.isNullOrEmpty(respContent)) {
+                return false;
+            }
+            try {
+                JsonObject result = JsonParser.parseString(respContent).getAsJsonObject();
+                JsonElement loadStatus = result.get("Status");
+                return loadStatus != null && (loadStatus.getAsString().equalsIgnoreCase("Success")
+                        || loadStatus.getAsString().equalsIgnoreCase("Publish Timeout"));
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        /**
+         * Whether the batch is rejected by the backend, rather than failed to be sent.
+         */
+        public boolean isRejected() {
+            return status == 200 && !isSuccess();
+        }
+
         @Override
         public String toString() {
             StringBuilder sb = new StringBuilder();
@@ -18,6 +18,7 @@
 package org.apache.doris.qe;
 
 import org.apache.doris.common.Config;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.plugin.AuditEvent;
 import org.apache.doris.plugin.AuditPlugin;
 import org.apache.doris.plugin.Plugin;
@@ -48,7 +49,8 @@ public class AuditEventProcessor {
     private List<Plugin> auditPlugins;
     private long lastUpdateTime = 0;
 
-    private BlockingQueue<AuditEvent> eventQueue = Queues.newLinkedBlockingDeque(10000);
+    private BlockingQueue<AuditEvent> eventQueue = Queues.newLinkedBlockingDeque(
+            Math.max(1, Config.audit_event_queue_capacity));
     private Thread workerThread;
 
     private volatile boolean isStopped = false;
@@ -97,13 +99,21 @@ public class AuditEventProcessor {
             // return true to ignore this event
             return true;
         }
-        boolean isAddSucc = true;
+        boolean isAddSucc;
         try {
-            eventQueue.add(auditEvent);
-        } catch (Exception e) {
+            // wait a while for the worker to make room, so a burst of events is not dropped at once
+            isAddSucc = eventQueue.offer(auditEvent, Config.audit_event_queue_offer_timeout_ms,
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             isAddSucc = false;
+        }
+        if (!isAddSucc) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_AUDIT_EVENT_DROPPED.increase(1L);
+            }
             if (!ignoreQueueFullLog) {
-                LOG.warn("encounter exception when handle audit event {}, ignore", auditEvent.type, e);
+                LOG.warn("audit event queue is full, drop audit event {}", auditEvent.type);
             }
         }
         return isAddSucc;
@@ -830,6 +830,10 @@ public class ConnectContext {
 
     public void cleanup() {
         closeChannel();
+        // cleanup() is called by the thread handling the connection, so the buffers can be returned here
+        if (mysqlChannel != null) {
+            mysqlChannel.releaseAllBuffers();
+        }
         threadLocalInfo.remove();
         returnRows = 0;
     }
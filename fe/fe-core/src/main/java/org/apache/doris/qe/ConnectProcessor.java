@@ -58,7 +58,6 @@ import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.minidump.MinidumpUtils;
 import org.apache.doris.nereids.parser.Dialect;
 import org.apache.doris.nereids.parser.NereidsParser;
-import org.apache.doris.nereids.stats.StatsErrorEstimator;
 import org.apache.doris.nereids.trees.plans.commands.ExplainCommand;
 import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalSqlCache;
@@ -595,10 +594,6 @@ public abstract class ConnectProcessor {
                 || executor.getParsedStmt() instanceof LogicalPlanAdapter
                 || executor.getParsedStmt() instanceof InsertStmt)) {
             executor.updateProfile(true);
-            StatsErrorEstimator statsErrorEstimator = ConnectContext.get().getStatsErrorEstimator();
-            if (statsErrorEstimator != null) {
-                statsErrorEstimator.updateProfile(ConnectContext.get().queryId());
-            }
         }
         LOG.debug("End finalizing command for query {}", DebugUtil.printId(ctx.queryId));
     }
@@ -77,7 +77,9 @@ import org.apache.doris.proto.Types;
 import org.apache.doris.proto.Types.PUniqueId;
 import org.apache.doris.qe.ConnectContext.ConnectType;
 import org.apache.doris.qe.QueryStatisticsItem.FragmentInstanceInfo;
+import org.apache.doris.qe.protocol.SharedThriftStructs;
 import org.apache.doris.resource.workloadgroup.QueryQueue;
+import org.apache.doris.resource.workloadgroup.QueryWeight;
 import org.apache.doris.resource.workloadgroup.QueueToken;
 import org.apache.doris.rpc.BackendServiceProxy;
 import org.apache.doris.rpc.RpcException;
@@ -310,6 +312,8 @@ public class Coordinator implements CoordInterface {
 
     private volatile QueueToken queueToken = null;
     private QueryQueue queryQueue = null;
+    // the weight of the query for the query queue, only estimated by nereids
+    protected QueryWeight queryWeight = QueryWeight.UNKNOWN;
 
     public ExecutionProfile getExecutionProfile() {
         return executionProfile;
@@ -343,6 +347,7 @@ public class Coordinator implements CoordInterface {
             queryOptions.setEnableLocalShuffle(false);
         } else {
             distributedPlans = ((NereidsPlanner) planner).getDistributedPlans();
+            queryWeight = ((NereidsPlanner) planner).getQueryWeight();
         }
 
         setFromUserProperty(context);
@@ -667,9 +672,12 @@ public class Coordinator implements CoordInterface {
                         // throw exception during workload group manager.
                         throw new UserException("could not find query queue");
                     }
-                    queueToken = queryQueue.getToken();
-                    queueToken.get(DebugUtil.printId(queryId),
+                    QueueToken token = queryQueue.getToken(queryWeight);
+                    queueToken = token;
+                    token.get(DebugUtil.printId(queryId),
                             this.queryOptions.getExecutionTimeout() * 1000);
+                    updateProfileIfPresent(profile -> profile.setQueryQueueInfo(token.getWeight().toString(),
+                            token.getQueueEndTime() - token.getQueueStartTime()));
                 }
             } else {
                 context.setWorkloadGroupName("");
@@ -751,6 +759,8 @@ public class Coordinator implements CoordInterface {
                 }
             }
 
+            ResultReceiver.enablePrefetch(receivers, context.getSessionVariable());
+
             LOG.info("dispatch result sink of query {} to {}", DebugUtil.printId(queryId),
                     topParams.instanceExecParams.get(0).host);
 
@@ -889,6 +899,14 @@ public class Coordinator implements CoordInterface {
             for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
                 ctxs.unsetFields();
             }
+            // the structs shared by all backends are serialized only once.
+            SharedThriftStructs sharedStructs = null;
+            if (Config.enable_share_fragment_thrift_structs) {
+                sharedStructs = new SharedThriftStructs();
+                for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
+                    ctxs.shareStructs(sharedStructs);
+                }
+            }
             // serializeFragments() can be called in parallel.
             final AtomicLong compressedSize = new AtomicLong(0);
             beToPipelineExecCtxs.values().parallelStream().forEach(ctxs -> {
@@ -901,6 +919,12 @@ public class Coordinator implements CoordInterface {
 
             updateProfileIfPresent(profile -> profile.updateFragmentCompressedSize(compressedSize.get()));
             updateProfileIfPresent(profile -> profile.setFragmentSerializeTime());
+            if (sharedStructs != null) {
+                sharedStructs.close();
+                long reusedBytes = sharedStructs.getReusedBytes();
+                long savedTimeNs = sharedStructs.getSavedTimeNs();
+                updateProfileIfPresent(profile -> profile.updateFragmentSharedStructStats(reusedBytes, savedTimeNs));
+            }
 
             // 4.2 send fragments rpc
             List<Pair<Long, Triple<PipelineExecContexts, BackendServiceProxy,
@@ -1204,6 +1228,8 @@ public class Coordinator implements CoordInterface {
                 resultBatch, limitRows, numReceivedRows, this::cancelInternal);
 
         if (resultBatch.isEos()) {
+            updateProfileIfPresent(profile -> profile.addResultPrefetchWaitTime(
+                    receiver.getBeStallTimeMs(), receiver.getClientStallTimeMs()));
             receivers.remove(receiver);
             if (receivers.isEmpty()) {
                 returnedAllResults = true;
@@ -2985,6 +3011,12 @@ public class Coordinator implements CoordInterface {
             }
         }
 
+        public void shareStructs(SharedThriftStructs sharedStructs) {
+            for (PipelineExecContext ctx : ctxs) {
+                sharedStructs.share(ctx.rpcParams);
+            }
+        }
+
         public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync(BackendServiceProxy proxy)
                 throws TException {
             Preconditions.checkNotNull(serializedFragments);
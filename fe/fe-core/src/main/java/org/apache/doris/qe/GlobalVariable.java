@@ -74,6 +74,7 @@ public final class GlobalVariable {
 
     public static final String PARTITION_ANALYZE_BATCH_SIZE = "partition_analyze_batch_size";
     public static final String HUGE_PARTITION_LOWER_BOUND_ROWS = "huge_partition_lower_bound_rows";
+    public static final String ANALYZE_COLUMNS_PER_SCAN = "analyze_columns_per_scan";
 
     public static final String ENABLE_FETCH_ICEBERG_STATS = "enable_fetch_iceberg_stats";
 
@@ -186,6 +187,13 @@ public final class GlobalVariable {
                 "This defines the lower size bound for large partitions, which will skip auto partition analyze."})
     public static long hugePartitionLowerBoundRows = 100000000L;
 
+    @VariableMgr.VarAttr(name = ANALYZE_COLUMNS_PER_SCAN, flag = VariableMgr.GLOBAL,
+            description = {
+                "全量收集 OLAP 表统计信息时一次扫描收集的最大列数，小于 2 时每列单独扫描",
+                "Max number of columns whose full statistics of an OLAP table are collected in one scan, "
+                    + "each column is scanned separately if it is less than 2."})
+    public static int analyzeColumnsPerScan = 64;
+
     @VariableMgr.VarAttr(name = ENABLE_FETCH_ICEBERG_STATS, flag = VariableMgr.GLOBAL,
             description = {
                 "当HMS catalog中的Iceberg表没有统计信息时，是否通过Iceberg Api获取统计信息",
@@ -395,28 +395,35 @@ public class MysqlConnectProcessor extends ConnectProcessor {
         // reset sequence id of MySQL protocol
         final MysqlChannel channel = ctx.getMysqlChannel();
         channel.setSequenceId(0);
-        // read packet from channel
         try {
-            packetBuf = channel.fetchOnePacket();
-            if (packetBuf == null) {
-                LOG.warn("Null packet received from network. remote: {}", channel.getRemoteHostPortString());
-                throw new IOException("Error happened when receiving packet.");
-            }
-            if (!packetBuf.hasRemaining()) {
-                LOG.info("No more data to be read. Close connection. remote={}", channel.getRemoteHostPortString());
-                ctx.setKilled();
+            // read packet from channel
+            try {
+                packetBuf = channel.fetchOnePacket();
+                if (packetBuf == null) {
+                    LOG.warn("Null packet received from network. remote: {}", channel.getRemoteHostPortString());
+                    throw new IOException("Error happened when receiving packet.");
+                }
+                if (!packetBuf.hasRemaining()) {
+                    LOG.info("No more data to be read. Close connection. remote={}",
+                            channel.getRemoteHostPortString());
+                    ctx.setKilled();
+                    return;
+                }
+            } catch (AsynchronousCloseException e) {
+                // when this happened, timeout checker close this channel
+                // killed flag in ctx has been already set, just return
                 return;
             }
-        } catch (AsynchronousCloseException e) {
-            // when this happened, timeout checker close this channel
-            // killed flag in ctx has been already set, just return
-            return;
-        }
 
-        // dispatch
-        dispatch();
-        // finalize
-        finalizeCommand();
+            // dispatch
+            dispatch();
+            // finalize
+            finalizeCommand();
+        } finally {
+            // the connection becomes idle, return the network buffers
+            packetBuf = null;
+            channel.releaseBuffers();
+        }
 
         ctx.setCommand(MysqlCommand.COM_SLEEP);
         ctx.clear();
@@ -475,10 +475,13 @@ public class NereidsCoordinator extends Coordinator {
                         // throw exception during workload group manager.
                         throw new UserException("could not find query queue");
                     }
-                    QueueToken queueToken = queryQueue.getToken();
+                    QueueToken queueToken = queryQueue.getToken(queryWeight);
                     int queryTimeout = coordinatorContext.queryOptions.getExecutionTimeout() * 1000;
                     coordinatorContext.setQueueInfo(queryQueue, queueToken);
                     queueToken.get(DebugUtil.printId(coordinatorContext.queryId), queryTimeout);
+                    coordinatorContext.updateProfileIfPresent(profile -> profile.setQueryQueueInfo(
+                            queueToken.getWeight().toString(),
+                            queueToken.getQueueEndTime() - queueToken.getQueueStartTime()));
                 }
             } else {
                 context.setWorkloadGroupName("");
@@ -17,7 +17,9 @@
 
 package org.apache.doris.qe;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.proto.Types;
@@ -34,14 +36,26 @@ import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public class ResultReceiver {
     private static final Logger LOG = LogManager.getLogger(ResultReceiver.class);
+
+    // Shared by all receivers running in prefetch mode. Each prefetching receiver occupies at most one
+    // thread at a time, and gives it back when its read-ahead buffer is full or after a bounded run.
+    private static final ExecutorService PREFETCH_EXECUTOR = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.result_prefetch_thread_num, Integer.MAX_VALUE, "result-prefetch-pool", true);
+
     private boolean isDone = false;
     // runStatus represents the running status of the ResultReceiver.
     // If it is not "OK," it indicates cancel.
@@ -58,6 +72,24 @@ public class ResultReceiver {
 
     int maxMsgSizeOfResultReceiver;
 
+    // Read-ahead state, only used when prefetchBatchNum > 0. The background task fetches and deserializes
+    // the following batches while the caller is writing the current one to the client. All fields below
+    // are guarded by "this".
+    private int prefetchBatchNum = 0;
+    private long prefetchMaxBytes = 0;
+    private final Deque<PrefetchedBatch> prefetchedBatches = new ArrayDeque<>();
+    private long prefetchedBytes = 0;
+    // a prefetch task is submitted or running
+    private boolean prefetchRunning = false;
+    // the prefetch task has seen eos or an error, no more fetch will be issued
+    private boolean prefetchFinished = false;
+    private boolean prefetchConsumerDone = false;
+    // time the consumer waited for BE, and time the prefetch task was paused because the client
+    // did not consume the buffered batches fast enough
+    private long beStallNs = 0;
+    private long clientStallNs = 0;
+    private long clientStallStartNs = -1;
+
     public ResultReceiver(TUniqueId queryId, TUniqueId tid, Long backendId, TNetworkAddress address, long timeoutTs,
             int maxMsgSizeOfResultReceiver, Boolean enableParallelResultSink) {
         this.queryId = Types.PUniqueId.newBuilder().setHi(queryId.hi).setLo(queryId.lo).build();
@@ -76,7 +108,175 @@ public class ResultReceiver {
         return finstId;
     }
 
+    /**
+     * Enable bounded read-ahead for this receiver.
+     *
+     * @param batchNum max number of batches buffered ahead of the consumer, 0 means disabled
+     * @param maxBytes max bytes of buffered batches. At least one batch is always buffered.
+     */
+    public void enablePrefetch(int batchNum, long maxBytes) {
+        this.prefetchBatchNum = batchNum;
+        this.prefetchMaxBytes = maxBytes;
+    }
+
+    /**
+     * Enable read-ahead for all result receivers of one query according to the session variables.
+     * The memory limit is per query, so it is split evenly among the receivers.
+     */
+    public static void enablePrefetch(List<ResultReceiver> receivers, SessionVariable sessionVariable) {
+        int batchNum = sessionVariable.getResultPrefetchBatchNum();
+        if (batchNum <= 0 || receivers.isEmpty()) {
+            return;
+        }
+        long maxBytes = sessionVariable.getResultPrefetchMaxBytes() / receivers.size();
+        for (ResultReceiver receiver : receivers) {
+            receiver.enablePrefetch(batchNum, maxBytes);
+        }
+    }
+
+    public synchronized long getBeStallTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(beStallNs);
+    }
+
+    public synchronized long getClientStallTimeMs() {
+        long stallNs = clientStallNs;
+        if (clientStallStartNs >= 0) {
+            stallNs += System.nanoTime() - clientStallStartNs;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(stallNs);
+    }
+
     public RowBatch getNext(Status status) throws TException {
+        if (prefetchBatchNum > 0) {
+            return getNextWithPrefetch(status);
+        }
+        return fetchBatch(status);
+    }
+
+    private RowBatch getNextWithPrefetch(Status status) throws TException {
+        PrefetchedBatch prefetched;
+        synchronized (this) {
+            if (prefetchConsumerDone) {
+                return null;
+            }
+            long waitStartNs = System.nanoTime();
+            try {
+                while (prefetchedBatches.isEmpty() && runStatus.ok()) {
+                    if (!prefetchRunning && !prefetchFinished) {
+                        submitPrefetch();
+                    }
+                    long leftMs = timeoutTs - System.currentTimeMillis();
+                    if (leftMs <= 0) {
+                        String timeoutReason = "Query " + DebugUtil.printId(this.queryId) + " get result timeout";
+                        LOG.warn(timeoutReason);
+                        runStatus.updateStatus(TStatusCode.TIMEOUT, timeoutReason);
+                        break;
+                    }
+                    try {
+                        wait(leftMs);
+                    } catch (InterruptedException e) {
+                        LOG.warn("ResultReceiver of query {} got interrupted Exception",
+                                DebugUtil.printId(this.queryId), e);
+                        if (runStatus.ok()) {
+                            runStatus.updateStatus(TStatusCode.INTERNAL_ERROR, "got interrupted Exception");
+                        }
+                    }
+                }
+            } finally {
+                beStallNs += System.nanoTime() - waitStartNs;
+            }
+            if (prefetchedBatches.isEmpty()) {
+                status.updateStatus(runStatus.getErrorCode(), runStatus.getErrorMsg());
+                return null;
+            }
+            prefetched = prefetchedBatches.pollFirst();
+            prefetchedBytes -= prefetched.bytes;
+            if (prefetched.isLast()) {
+                prefetchConsumerDone = true;
+            } else if (!prefetchRunning && !prefetchFinished) {
+                // the buffer was full, resume reading ahead now that one batch is consumed
+                submitPrefetch();
+            }
+        }
+
+        if (prefetched.exception != null) {
+            throw prefetched.exception;
+        }
+        if (!prefetched.status.ok()) {
+            status.updateStatus(prefetched.status.getErrorCode(), prefetched.status.getErrorMsg());
+        }
+        return prefetched.rowBatch;
+    }
+
+    // must hold the lock of "this"
+    private void submitPrefetch() {
+        if (clientStallStartNs >= 0) {
+            clientStallNs += System.nanoTime() - clientStallStartNs;
+            clientStallStartNs = -1;
+        }
+        prefetchRunning = true;
+        try {
+            PREFETCH_EXECUTOR.submit(this::prefetchLoop);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("failed to submit result prefetch task of query {}", DebugUtil.printId(queryId), e);
+            prefetchRunning = false;
+            Status rejectStatus = new Status(TStatusCode.INTERNAL_ERROR, "failed to submit result prefetch task");
+            addPrefetchedBatch(new PrefetchedBatch(null, rejectStatus, null));
+        }
+    }
+
+    private void prefetchLoop() {
+        // fetch at most prefetchBatchNum batches in one run, then yield the thread to other receivers
+        for (int i = 0; ; i++) {
+            synchronized (this) {
+                if (prefetchFinished || !runStatus.ok()) {
+                    prefetchRunning = false;
+                    notifyAll();
+                    return;
+                }
+                if (!prefetchedBatches.isEmpty() && (prefetchedBatches.size() >= prefetchBatchNum
+                        || prefetchedBytes >= prefetchMaxBytes)) {
+                    prefetchRunning = false;
+                    clientStallStartNs = System.nanoTime();
+                    return;
+                }
+                if (i >= prefetchBatchNum) {
+                    submitPrefetch();
+                    return;
+                }
+            }
+            PrefetchedBatch batch = fetchOneBatch();
+            synchronized (this) {
+                addPrefetchedBatch(batch);
+            }
+        }
+    }
+
+    private PrefetchedBatch fetchOneBatch() {
+        Status fetchStatus = new Status();
+        try {
+            RowBatch rowBatch = fetchBatch(fetchStatus);
+            return new PrefetchedBatch(rowBatch, fetchStatus, null);
+        } catch (TException e) {
+            return new PrefetchedBatch(null, fetchStatus, e);
+        } catch (Throwable t) {
+            LOG.warn("result prefetch of query {} failed", DebugUtil.printId(queryId), t);
+            fetchStatus.updateStatus(TStatusCode.INTERNAL_ERROR, String.valueOf(t.getMessage()));
+            return new PrefetchedBatch(null, fetchStatus, null);
+        }
+    }
+
+    // must hold the lock of "this"
+    private void addPrefetchedBatch(PrefetchedBatch batch) {
+        prefetchedBatches.addLast(batch);
+        prefetchedBytes += batch.bytes;
+        if (batch.isLast()) {
+            prefetchFinished = true;
+        }
+        notifyAll();
+    }
+
+    private RowBatch fetchBatch(Status status) throws TException {
         if (isDone) {
             return null;
         }
@@ -208,6 +408,8 @@ public class ResultReceiver {
             return;
         }
         runStatus.updateStatus(reason.getErrorCode(), reason.getErrorMsg());
+        // wake up the consumer waiting for prefetched batches
+        notifyAll();
         if (currentThread != null) {
             // TODO(cmy): we cannot interrupt this thread, or we may throw
             // java.nio.channels.ClosedByInterruptException when we call
@@ -226,4 +428,29 @@ public class ResultReceiver {
             }
         }
     }
+
+    private static class PrefetchedBatch {
+        private final RowBatch rowBatch;
+        private final Status status;
+        private final TException exception;
+        private final long bytes;
+
+        PrefetchedBatch(RowBatch rowBatch, Status status, TException exception) {
+            this.rowBatch = rowBatch;
+            this.status = status;
+            this.exception = exception;
+            long size = 0;
+            if (rowBatch != null && rowBatch.getBatch() != null && rowBatch.getBatch().getRows() != null) {
+                for (ByteBuffer row : rowBatch.getBatch().getRows()) {
+                    size += row.remaining();
+                }
+            }
+            this.bytes = size;
+        }
+
+        // no more batch will follow this one
+        boolean isLast() {
+            return rowBatch == null || rowBatch.isEos() || exception != null || !status.ok();
+        }
+    }
 }
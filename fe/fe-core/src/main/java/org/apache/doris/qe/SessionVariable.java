@@ -52,6 +52,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -85,6 +86,12 @@ import java.util.concurrent.TimeUnit;
 public class SessionVariable implements Serializable, Writable {
     public static final Logger LOG = LogManager.getLogger(SessionVariable.class);
 
+    // the fields annotated by VarAttr, used to compute the variables digest
+    private static volatile List<Field> varAttrFields;
+
+    // the cached digest of the variables, see getVariablesDigest
+    private transient volatile String variablesDigest;
+
     public static final String EXEC_MEM_LIMIT = "exec_mem_limit";
     public static final String LOCAL_EXCHANGE_FREE_BLOCKS_LIMIT = "local_exchange_free_blocks_limit";
     public static final String SCAN_QUEUE_MEM_LIMIT = "scan_queue_mem_limit";
@@ -523,6 +530,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_JDBC_CAST_PREDICATE_PUSH_DOWN = "enable_jdbc_cast_predicate_push_down";
 
+    public static final String JDBC_SCAN_SPLIT_NUM = "jdbc_scan_split_num";
+
+    public static final String ENABLE_PARALLEL_JDBC_SINK = "enable_parallel_jdbc_sink";
+
     public static final String ENABLE_MEMTABLE_ON_SINK_NODE =
             "enable_memtable_on_sink_node";
 
@@ -649,6 +660,12 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String MAX_MSG_SIZE_OF_RESULT_RECEIVER = "max_msg_size_of_result_receiver";
 
+    public static final String RESULT_PREFETCH_BATCH_NUM = "result_prefetch_batch_num";
+
+    public static final String RESULT_PREFETCH_MAX_BYTES = "result_prefetch_max_bytes";
+
+    public static final String ENABLE_NEREIDS_PLAN_CACHE = "enable_nereids_plan_cache";
+
     public static final String BYPASS_WORKLOAD_GROUP = "bypass_workload_group";
 
     public static final String MAX_COLUMN_READER_NUM = "max_column_reader_num";
@@ -667,6 +684,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_STATS = "enable_stats";
 
+    public static final String ENABLE_HISTOGRAM_ESTIMATION = "enable_histogram_estimation";
+
+    public static final String ENABLE_CARDINALITY_FEEDBACK = "enable_cardinality_feedback";
+
     public static final String LIMIT_ROWS_FOR_SINGLE_INSTANCE = "limit_rows_for_single_instance";
 
     public static final String FETCH_REMOTE_SCHEMA_TIMEOUT_SECONDS = "fetch_remote_schema_timeout_seconds";
@@ -713,6 +734,19 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_STATS)
     public  boolean enableStats = true;
 
+    @VariableMgr.VarAttr(name = ENABLE_HISTOGRAM_ESTIMATION, needForward = true, description = {
+            "是否在估算谓词和 Join 的选择率时使用列的直方图统计信息。",
+            "Whether to use the histogram statistics of columns to estimate the selectivity "
+                    + "of predicates and joins."})
+    public boolean enableHistogramEstimation = false;
+
+    @VariableMgr.VarAttr(name = ENABLE_CARDINALITY_FEEDBACK, needForward = true, description = {
+            "是否收集查询执行时各算子的实际行数，并在估算 OLAP 表上相同谓词的行数时使用。需要开启 enable_profile。",
+            "Whether to collect the actual row counts of the operators from the runtime profile, and use them "
+                    + "to estimate the row counts of the same predicates on the OLAP tables. "
+                    + "enable_profile is required."})
+    public boolean enableCardinalityFeedback = false;
+
     // session origin value
     public Map<SessionVariableField, String> sessionOriginValue = new HashMap<>();
     // check stmt is or not [select /*+ SET_VAR(...)*/ ...]
@@ -740,6 +774,22 @@ public class SessionVariable implements Serializable, Writable {
                     "Whether to allow predicates with CAST expressions to be pushed down to JDBC external tables."})
     public boolean enableJdbcCastPredicatePushDown = true;
 
+    @VariableMgr.VarAttr(name = JDBC_SCAN_SPLIT_NUM, needForward = true,
+            description = {"按整数主键将 JDBC 外部表的扫描切分为多少个范围并行读取，小于等于 1 时不切分。"
+                    + "目前仅支持 MySQL、PostgreSQL 和 Oracle。",
+                    "The number of ranges of the integer primary key to split the scan of a JDBC external table into, "
+                            + "which are read in parallel. The scan is not split if it is not greater than 1. "
+                            + "Only MySQL, PostgreSQL and Oracle are supported now."})
+    public int jdbcScanSplitNum = 1;
+
+    @VariableMgr.VarAttr(name = ENABLE_PARALLEL_JDBC_SINK, needForward = true,
+            description = {"是否允许多个实例并行写入 JDBC 外部表，每个实例使用各自的连接。"
+                    + "开启 enable_odbc_transcation 时仍由一个实例写入。",
+                    "Whether to allow multiple instances to write a JDBC external table in parallel, "
+                            + "each by its own connection. It's still written by one instance "
+                            + "if enable_odbc_transcation is true."})
+    public boolean enableParallelJdbcSink = false;
+
     @VariableMgr.VarAttr(name = ROUND_PRECISE_DECIMALV2_VALUE)
     public boolean roundPreciseDecimalV2Value = false;
 
@@ -2196,6 +2246,22 @@ public class SessionVariable implements Serializable, Writable {
                     "用于控制结果反序列化时 thrift 字段的最大值，当遇到类似\"MaxMessageSize reached\"这样的错误时可以考虑修改该参数"})
     public int maxMsgSizeOfResultReceiver = TConfiguration.DEFAULT_MAX_MESSAGE_SIZE;
 
+    @VariableMgr.VarAttr(name = RESULT_PREFETCH_BATCH_NUM, needForward = true,
+            description = {"FE 从 BE 预取的结果批次数，预取与向客户端写结果并行进行。0 表示不预取",
+                    "Number of result batches the FE fetches from BE ahead of the client, so that fetching"
+                            + " overlaps with writing results to the client. 0 means disabled"})
+    public int resultPrefetchBatchNum = 0;
+
+    @VariableMgr.VarAttr(name = RESULT_PREFETCH_MAX_BYTES, needForward = true,
+            description = {"单个查询预取结果占用的最大内存",
+                    "Max memory of prefetched result batches of one query"})
+    public long resultPrefetchMaxBytes = 64L * 1024 * 1024;
+
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PLAN_CACHE, needForward = true,
+            description = {"是否复用相同 SQL 和参数的查询的物理计划，跳过分析、改写和优化",
+                    "Whether to reuse the physical plan of the query with the same sql and parameters, "
+                            + "which skips the analyze, rewrite and optimize"})
+    public boolean enableNereidsPlanCache = false;
 
     // CLOUD_VARIABLES_BEGIN
     @VariableMgr.VarAttr(name = CLOUD_CLUSTER)
@@ -4104,6 +4170,7 @@ public class SessionVariable implements Serializable, Writable {
     }
 
     public void readFromJson(String json) throws IOException {
+        invalidateVariablesDigest();
         JSONObject root = (JSONObject) JSONValue.parse(json);
         try {
             for (Field field : SessionVariable.class.getDeclaredFields()) {
@@ -4169,6 +4236,7 @@ public class SessionVariable implements Serializable, Writable {
      * Set forwardedSessionVariables for variables.
      **/
     public void setForwardedSessionVariables(Map<String, String> variables) {
+        invalidateVariablesDigest();
         try {
             Field[] fields = SessionVariable.class.getDeclaredFields();
             for (Field f : fields) {
@@ -4219,6 +4287,7 @@ public class SessionVariable implements Serializable, Writable {
      * Set forwardedSessionVariables for queryOptions.
      **/
     public void setForwardedSessionVariables(TQueryOptions queryOptions) {
+        invalidateVariablesDigest();
         if (queryOptions.isSetMemLimit()) {
             setMaxExecMemByte(queryOptions.getMemLimit());
         }
@@ -4629,6 +4698,70 @@ public class SessionVariable implements Serializable, Writable {
         return this.maxMsgSizeOfResultReceiver;
     }
 
+    public int getResultPrefetchBatchNum() {
+        return resultPrefetchBatchNum;
+    }
+
+    public long getResultPrefetchMaxBytes() {
+        return resultPrefetchMaxBytes;
+    }
+
+    public boolean isEnableNereidsPlanCache() {
+        return enableNereidsPlanCache;
+    }
+
+    public boolean isEnableHistogramEstimation() {
+        return enableHistogramEstimation;
+    }
+
+    public boolean isEnableCardinalityFeedback() {
+        return enableCardinalityFeedback;
+    }
+
+    /**
+     * Digest of all the session variables, the plan cached by the query with a different digest
+     * can not be reused because the variables may affect the plan.
+     * It is computed once and recomputed after a variable is set by SET, SET_VAR hint or forwarding.
+     **/
+    public String getVariablesDigest() {
+        String digest = variablesDigest;
+        if (digest != null) {
+            return digest;
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (Field f : getVarAttrFields()) {
+                sb.append(f.getName()).append('=').append(f.get(this)).append(';');
+            }
+        } catch (IllegalAccessException e) {
+            LOG.warn("failed to compute session variables digest", e);
+            return null;
+        }
+        digest = DigestUtils.md5Hex(sb.toString());
+        variablesDigest = digest;
+        return digest;
+    }
+
+    public void invalidateVariablesDigest() {
+        variablesDigest = null;
+    }
+
+    private static List<Field> getVarAttrFields() {
+        List<Field> fields = varAttrFields;
+        if (fields == null) {
+            ImmutableList.Builder<Field> builder = ImmutableList.builder();
+            for (Field f : SessionVariable.class.getDeclaredFields()) {
+                if (f.getAnnotation(VarAttr.class) != null) {
+                    f.setAccessible(true);
+                    builder.add(f);
+                }
+            }
+            fields = builder.build();
+            varAttrFields = fields;
+        }
+        return fields;
+    }
+
     public boolean isEnableAutoCreateWhenOverwrite() {
         return this.enableAutoCreateWhenOverwrite;
     }
@@ -240,6 +240,9 @@ public class VariableMgr {
         if (VariableVarCallbacks.hasCallback(attr.name())) {
             VariableVarCallbacks.call(attr.name(), value);
         }
+        if (obj instanceof SessionVariable) {
+            ((SessionVariable) obj).invalidateVariablesDigest();
+        }
 
         return true;
     }
@@ -0,0 +1,186 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.protocol;
+
+import org.apache.doris.thrift.TDescriptorTable;
+import org.apache.doris.thrift.TPipelineFragmentParams;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TQueryGlobals;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.TException;
+import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TIOStreamTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The thrift structs shared by the fragment params sent to all backends of a query,
+ * i.e. the descriptor table, the query globals and the plan fragments.
+ *
+ * The fragment params of each backend are serialized to a separate request, so a shared struct is
+ * serialized once per backend. The shared structs are replaced by the subclasses here, which serialize
+ * themselves once with the compact protocol and copy the bytes into the requests of the other backends.
+ * The compact protocol writes a nested struct independent of the enclosing struct, so the requests
+ * are byte for byte the same as before.
+ *
+ * Call close() after the requests are serialized, then the structs are written field by field again,
+ * in case they are modified and sent later.
+ */
+public class SharedThriftStructs {
+    private final Map<TBase<?, ?>, TBase<?, ?>> sharedStructs = new IdentityHashMap<>();
+    private volatile boolean closed = false;
+
+    private final AtomicLong reusedBytes = new AtomicLong(0);
+    private final AtomicLong savedTimeNs = new AtomicLong(0);
+
+    @FunctionalInterface
+    private interface StructWriter {
+        void write(TProtocol protocol) throws TException;
+    }
+
+    /**
+     * Replace the shared structs in the params. Not thread safe, call it before serializing the params.
+     */
+    public void share(TPipelineFragmentParams params) {
+        if (params.isSetDescTbl()) {
+            params.setDescTbl((TDescriptorTable) sharedStructs.computeIfAbsent(params.getDescTbl(),
+                    struct -> new SharedDescriptorTable((TDescriptorTable) struct, this)));
+        }
+        if (params.isSetQueryGlobals()) {
+            params.setQueryGlobals((TQueryGlobals) sharedStructs.computeIfAbsent(params.getQueryGlobals(),
+                    struct -> new SharedQueryGlobals((TQueryGlobals) struct, this)));
+        }
+        if (params.isSetFragment()) {
+            params.setFragment((TPlanFragment) sharedStructs.computeIfAbsent(params.getFragment(),
+                    struct -> new SharedPlanFragment((TPlanFragment) struct, this)));
+        }
+    }
+
+    public void close() {
+        closed = true;
+        sharedStructs.clear();
+    }
+
+    // the bytes copied instead of being serialized again
+    public long getReusedBytes() {
+        return reusedBytes.get();
+    }
+
+    // estimated by the time of the first serialization of each struct
+    public long getSavedTimeNs() {
+        return savedTimeNs.get();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T extends TBase> T copyFields(T from, T to, TFieldIdEnum[] fields) {
+        for (TFieldIdEnum field : fields) {
+            if (from.isSet(field)) {
+                to.setFieldValue(field, from.getFieldValue(field));
+            }
+        }
+        return to;
+    }
+
+    private static class SerializedStruct {
+        private final SharedThriftStructs owner;
+        private byte[] bytes;
+        private long serializeTimeNs;
+
+        private SerializedStruct(SharedThriftStructs owner) {
+            this.owner = owner;
+        }
+
+        // return false if the struct should be written by the generated code
+        private boolean writeTo(TProtocol oprot, StructWriter writer) throws TException {
+            if (owner.closed || !(oprot instanceof TCompactProtocol)) {
+                return false;
+            }
+            byte[] data;
+            synchronized (this) {
+                if (bytes == null) {
+                    long start = System.nanoTime();
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+                    writer.write(new TCompactProtocol(new TIOStreamTransport(new TConfiguration(), out)));
+                    bytes = out.toByteArray();
+                    serializeTimeNs = System.nanoTime() - start;
+                } else {
+                    owner.reusedBytes.addAndGet(bytes.length);
+                    owner.savedTimeNs.addAndGet(serializeTimeNs);
+                }
+                data = bytes;
+            }
+            oprot.getTransport().write(data);
+            return true;
+        }
+    }
+
+    private static class SharedDescriptorTable extends TDescriptorTable {
+        private final SerializedStruct serialized;
+
+        private SharedDescriptorTable(TDescriptorTable descTable, SharedThriftStructs owner) {
+            copyFields(descTable, this, _Fields.values());
+            this.serialized = new SerializedStruct(owner);
+        }
+
+        @Override
+        public void write(TProtocol oprot) throws TException {
+            if (!serialized.writeTo(oprot, super::write)) {
+                super.write(oprot);
+            }
+        }
+    }
+
+    private static class SharedQueryGlobals extends TQueryGlobals {
+        private final SerializedStruct serialized;
+
+        private SharedQueryGlobals(TQueryGlobals queryGlobals, SharedThriftStructs owner) {
+            copyFields(queryGlobals, this, _Fields.values());
+            this.serialized = new SerializedStruct(owner);
+        }
+
+        @Override
+        public void write(TProtocol oprot) throws TException {
+            if (!serialized.writeTo(oprot, super::write)) {
+                super.write(oprot);
+            }
+        }
+    }
+
+    private static class SharedPlanFragment extends TPlanFragment {
+        private final SerializedStruct serialized;
+
+        private SharedPlanFragment(TPlanFragment fragment, SharedThriftStructs owner) {
+            copyFields(fragment, this, _Fields.values());
+            this.serialized = new SerializedStruct(owner);
+        }
+
+        @Override
+        public void write(TProtocol oprot) throws TException {
+            if (!serialized.writeTo(oprot, super::write)) {
+                super.write(oprot);
+            }
+        }
+    }
+}
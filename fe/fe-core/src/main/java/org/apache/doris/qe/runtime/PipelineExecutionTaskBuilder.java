@@ -17,11 +17,13 @@
 
 package org.apache.doris.qe.runtime;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.profile.SummaryProfile;
 import org.apache.doris.nereids.trees.plans.distribute.worker.BackendWorker;
 import org.apache.doris.nereids.trees.plans.distribute.worker.DistributedPlanWorker;
 import org.apache.doris.qe.CoordinatorContext;
+import org.apache.doris.qe.protocol.SharedThriftStructs;
 import org.apache.doris.qe.protocol.TFastSerializer;
 import org.apache.doris.rpc.BackendServiceProxy;
 import org.apache.doris.system.Backend;
@@ -110,6 +112,16 @@ public class PipelineExecutionTaskBuilder {
     private Map<DistributedPlanWorker, ByteString> serializeFragments(
             Map<DistributedPlanWorker, TPipelineFragmentParamsList> workerToFragmentsParam) {
 
+        SharedThriftStructs sharedStructs = null;
+        if (Config.enable_share_fragment_thrift_structs) {
+            sharedStructs = new SharedThriftStructs();
+            for (TPipelineFragmentParamsList fragmentParamsList : workerToFragmentsParam.values()) {
+                for (TPipelineFragmentParams fragmentParams : fragmentParamsList.getParamsList()) {
+                    sharedStructs.share(fragmentParams);
+                }
+            }
+        }
+
         AtomicLong compressedSize = new AtomicLong(0);
         Map<DistributedPlanWorker, ByteString> serializedFragments = workerToFragmentsParam.entrySet()
                 .parallelStream()
@@ -129,6 +141,14 @@ public class PipelineExecutionTaskBuilder {
                 profile -> profile.updateFragmentCompressedSize(compressedSize.get())
         );
         coordinatorContext.updateProfileIfPresent(SummaryProfile::setFragmentSerializeTime);
+        if (sharedStructs != null) {
+            sharedStructs.close();
+            long reusedBytes = sharedStructs.getReusedBytes();
+            long savedTimeNs = sharedStructs.getSavedTimeNs();
+            coordinatorContext.updateProfileIfPresent(
+                    profile -> profile.updateFragmentSharedStructStats(reusedBytes, savedTimeNs)
+            );
+        }
 
         return serializedFragments;
     }
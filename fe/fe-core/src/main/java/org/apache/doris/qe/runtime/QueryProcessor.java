@@ -101,6 +101,7 @@ public class QueryProcessor extends AbstractJobProcessor {
                     )
             );
         }
+        ResultReceiver.enablePrefetch(receivers, coordinatorContext.connectContext.getSessionVariable());
         return new QueryProcessor(coordinatorContext, receivers);
     }
 
@@ -152,6 +153,8 @@ public class QueryProcessor extends AbstractJobProcessor {
                 resultBatch, limitRows, numReceivedRows, coordinatorContext::cancelSchedule);
 
         if (resultBatch.isEos()) {
+            coordinatorContext.updateProfileIfPresent(profile -> profile.addResultPrefetchWaitTime(
+                    receiver.getBeStallTimeMs(), receiver.getClientStallTimeMs()));
             runningReceivers.remove(receiver);
             // if reachedLimit is true, which means this query has been cancelled.
             // so no need to set eos to false again.
@@ -104,10 +104,17 @@ public class ThriftPlansBuilder {
             ListMultimap<DistributedPlanWorker, AssignedJob> instancesPerWorker
                     = groupInstancePerWorker(currentFragmentPlan);
             Map<DistributedPlanWorker, TPipelineFragmentParams> workerToCurrentFragment = Maps.newLinkedHashMap();
+            // the plan fragment is the same for all workers, so only convert it once
+            Supplier<TPlanFragment> fragmentThriftSupplier = Suppliers.memoize(() -> {
+                PlanFragment fragment = currentFragmentPlan.getFragmentJob().getFragment();
+                TPlanFragment planThrift = fragment.toThrift();
+                planThrift.query_cache_param = fragment.queryCacheParam;
+                return planThrift;
+            });
 
             for (AssignedJob instanceJob : currentFragmentPlan.getInstanceJobs()) {
                 TPipelineFragmentParams currentFragmentParam = fragmentToThriftIfAbsent(
-                        currentFragmentPlan, instanceJob, workerToCurrentFragment,
+                        currentFragmentPlan, fragmentThriftSupplier, instanceJob, workerToCurrentFragment,
                         instancesPerWorker, exchangeSenderNum, sharedFileScanRangeParams,
                         workerProcessInstanceNum, coordinatorContext);
 
@@ -292,7 +299,8 @@ public class ThriftPlansBuilder {
     }
 
     private static TPipelineFragmentParams fragmentToThriftIfAbsent(
-            PipelineDistributedPlan fragmentPlan, AssignedJob assignedJob,
+            PipelineDistributedPlan fragmentPlan, Supplier<TPlanFragment> fragmentThriftSupplier,
+            AssignedJob assignedJob,
             Map<DistributedPlanWorker, TPipelineFragmentParams> workerToFragmentParams,
             ListMultimap<DistributedPlanWorker, AssignedJob> instancesPerWorker,
             Map<Integer, Integer> exchangeSenderNum,
@@ -349,9 +357,7 @@ public class ThriftPlansBuilder {
 
             params.setSendQueryStatisticsWithEveryBatch(fragment.isTransferQueryStatisticsWithEveryBatch());
 
-            TPlanFragment planThrift = fragment.toThrift();
-            planThrift.query_cache_param = fragment.queryCacheParam;
-            params.setFragment(planThrift);
+            params.setFragment(fragmentThriftSupplier.get());
             params.setLocalParams(Lists.newArrayList());
             params.setWorkloadGroups(coordinatorContext.getWorkloadGroups());
 
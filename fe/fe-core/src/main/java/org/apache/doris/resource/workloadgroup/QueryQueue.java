@@ -18,15 +18,20 @@
 package org.apache.doris.resource.workloadgroup;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.resource.AdmissionControl;
 import org.apache.doris.resource.workloadgroup.QueueToken.TokenState;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.concurrent.locks.ReentrantLock;
@@ -42,16 +47,27 @@ public class QueryQueue {
     private int maxConcurrency;
     private int maxQueueSize;
     private int queueTimeout; // ms
+    // the budgets of the sum of the weights of the running queries, -1 means unlimited
+    private long memoryBudget = -1;
+    private long scanBudget = -1;
 
     public static final String RUNNING_QUERY_NUM = "running_query_num";
     public static final String WAITING_QUERY_NUM = "waiting_query_num";
 
     private long wgId;
 
+    private String wgName;
+
     private long propVersion;
 
+    // the concurrency leased from the master FE if the query queue is cluster-wide, or -1 if it's not
+    private int clusterLease = -1;
+
     private PriorityQueue<QueueToken> waitingQueryQueue;
     private Queue<QueueToken> runningQueryQueue;
+    // the sum of the weights of the running queries
+    private long runningMemoryBytes = 0;
+    private long runningScanBytes = 0;
 
     Pair<Integer, Integer> getQueryQueueDetail() {
         try {
@@ -70,6 +86,10 @@ public class QueryQueue {
         return wgId;
     }
 
+    String getWgName() {
+        return wgName;
+    }
+
     int getMaxConcurrency() {
         return maxConcurrency;
     }
@@ -82,11 +102,23 @@ public class QueryQueue {
         return queueTimeout;
     }
 
-    public QueryQueue(long wgId, int maxConcurrency, int maxQueueSize, int queueTimeout, long propVersion) {
+    long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    long getScanBudget() {
+        return scanBudget;
+    }
+
+    public QueryQueue(long wgId, String wgName, int maxConcurrency, int maxQueueSize, int queueTimeout,
+            long memoryBudget, long scanBudget, long propVersion) {
         this.wgId = wgId;
+        this.wgName = wgName;
         this.maxConcurrency = maxConcurrency;
         this.maxQueueSize = maxQueueSize;
         this.queueTimeout = queueTimeout;
+        this.memoryBudget = memoryBudget;
+        this.scanBudget = scanBudget;
         this.propVersion = propVersion;
         this.waitingQueryQueue = new PriorityQueue<QueueToken>();
         this.runningQueryQueue = new LinkedList<QueueToken>();
@@ -94,30 +126,48 @@ public class QueryQueue {
 
     public String debugString() {
         return "wgId= " + wgId + ", version=" + this.propVersion + ",maxConcurrency=" + maxConcurrency
-                + ", maxQueueSize=" + maxQueueSize + ", queueTimeout=" + queueTimeout + ", currentRunningQueryNum="
+                + ", maxQueueSize=" + maxQueueSize + ", queueTimeout=" + queueTimeout + ", clusterLease=" + clusterLease
+                + ", memoryBudget=" + memoryBudget + ", scanBudget=" + scanBudget
+                + ", runningMemoryBytes=" + runningMemoryBytes + ", runningScanBytes=" + runningScanBytes
+                + ", currentRunningQueryNum="
                 + runningQueryQueue.size() + ", currentWaitingQueryNum=" + waitingQueryQueue.size();
     }
 
     public QueueToken getToken() throws UserException {
+        return getToken(QueryWeight.UNKNOWN);
+    }
+
+    /**
+     * Get the token to run a query of the weight. The query runs at once if it is within max_concurrency and the
+     * budgets, even if some heavier queries are waiting, unless a waiting query has been bypassed
+     * query_queue_max_bypass_times times.
+     */
+    public QueueToken getToken(QueryWeight weight) throws UserException {
         AdmissionControl admissionControl = Env.getCurrentEnv().getAdmissionControl();
         queueLock.lock();
         try {
             if (LOG.isDebugEnabled()) {
                 LOG.info(this.debugString());
             }
-            QueueToken queueToken = new QueueToken(queueTimeout, this);
+            QueueToken queueToken = new QueueToken(queueTimeout, this, weight);
 
-            boolean isReachMaxCon = runningQueryQueue.size() >= maxConcurrency;
+            boolean isReachMaxCon = runningQueryQueue.size() >= getConcurrencyLimit();
+            boolean isWithinBudget = isWithinBudget(weight);
+            boolean canBypass = canBypassWaitingQueries();
             boolean isResourceAvailable = admissionControl.checkResourceAvailable(queueToken);
-            if (!isReachMaxCon && isResourceAvailable) {
-                runningQueryQueue.offer(queueToken);
-                queueToken.complete();
+            if (!isReachMaxCon && isWithinBudget && canBypass && isResourceAvailable) {
+                for (QueueToken waitingToken : waitingQueryQueue) {
+                    waitingToken.increaseBypassedTimes();
+                }
+                admit(queueToken);
                 return queueToken;
             } else if (waitingQueryQueue.size() >= maxQueueSize) {
                 throw new UserException("query waiting queue is full, queue length=" + maxQueueSize);
             } else {
-                if (isReachMaxCon) {
+                if (isReachMaxCon || !canBypass) {
                     queueToken.setQueueMsg("WAIT_IN_QUEUE");
+                } else if (!isWithinBudget) {
+                    queueToken.setQueueMsg("WAIT_QUERY_WEIGHT_BUDGET");
                 }
                 queueToken.setTokenState(TokenState.ENQUEUE_SUCCESS);
                 this.waitingQueryQueue.offer(queueToken);
@@ -145,22 +195,41 @@ public class QueryQueue {
         AdmissionControl admissionControl = Env.getCurrentEnv().getAdmissionControl();
         queueLock.lock();
         try {
-            runningQueryQueue.remove(releaseToken);
+            if (runningQueryQueue.remove(releaseToken)) {
+                runningMemoryBytes -= releaseToken.getWeight().getMemoryBytes();
+                runningScanBytes -= releaseToken.getWeight().getScanBytes();
+            }
             waitingQueryQueue.remove(releaseToken);
             admissionControl.removeQueueToken(releaseToken);
-            while (runningQueryQueue.size() < maxConcurrency) {
-                QueueToken queueToken = waitingQueryQueue.peek();
-                if (queueToken == null) {
+            if (waitingQueryQueue.isEmpty()) {
+                return;
+            }
+            // admit the waiting queries in order, the ones over the budgets are bypassed by the lighter ones
+            // until they have been bypassed too many times
+            List<QueueToken> waitingTokens = new ArrayList<>(waitingQueryQueue);
+            Collections.sort(waitingTokens);
+            List<QueueToken> bypassedTokens = new ArrayList<>();
+            for (QueueToken queueToken : waitingTokens) {
+                if (runningQueryQueue.size() >= getConcurrencyLimit()) {
                     break;
                 }
-                if (admissionControl.checkResourceAvailable(queueToken)) {
-                    queueToken.complete();
-                    runningQueryQueue.offer(queueToken);
-                    waitingQueryQueue.remove();
-                    admissionControl.removeQueueToken(queueToken);
-                } else {
+                if (!isWithinBudget(queueToken.getWeight())) {
+                    queueToken.setQueueMsg("WAIT_QUERY_WEIGHT_BUDGET");
+                    if (queueToken.getBypassedTimes() >= Config.query_queue_max_bypass_times) {
+                        break;
+                    }
+                    bypassedTokens.add(queueToken);
+                    continue;
+                }
+                if (!admissionControl.checkResourceAvailable(queueToken)) {
                     break;
                 }
+                waitingQueryQueue.remove(queueToken);
+                admissionControl.removeQueueToken(queueToken);
+                admit(queueToken);
+                for (QueueToken bypassedToken : bypassedTokens) {
+                    bypassedToken.increaseBypassedTimes();
+                }
             }
         } finally {
             queueLock.unlock();
@@ -170,12 +239,78 @@ public class QueryQueue {
         }
     }
 
-    public void resetQueueProperty(int maxConcurrency, int maxQueueSize, int queryWaitTimeout, long version) {
+    private void admit(QueueToken queueToken) {
+        runningQueryQueue.offer(queueToken);
+        runningMemoryBytes += queueToken.getWeight().getMemoryBytes();
+        runningScanBytes += queueToken.getWeight().getScanBytes();
+        queueToken.complete();
+        recordQueueWaitTime(queueToken);
+    }
+
+    // a query is always admitted if no query is running, otherwise it would never run if it is over the budgets
+    private boolean isWithinBudget(QueryWeight weight) {
+        if (runningQueryQueue.isEmpty()) {
+            return true;
+        }
+        return (memoryBudget < 0 || weight.getMemoryBytes() <= memoryBudget - runningMemoryBytes)
+                && (scanBudget < 0 || weight.getScanBytes() <= scanBudget - runningScanBytes);
+    }
+
+    private boolean canBypassWaitingQueries() {
+        for (QueueToken waitingToken : waitingQueryQueue) {
+            if (waitingToken.getBypassedTimes() >= Config.query_queue_max_bypass_times) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int getConcurrencyLimit() {
+        return clusterLease < 0 ? maxConcurrency : Math.min(maxConcurrency, clusterLease);
+    }
+
+    private void recordQueueWaitTime(QueueToken queueToken) {
+        if (MetricRepo.isInit) {
+            MetricRepo.WORKLOAD_GROUP_HISTO_QUERY_QUEUE_WAIT.getOrAdd(wgName)
+                    .update(queueToken.getQueueEndTime() - queueToken.getQueueStartTime());
+        }
+    }
+
+    int getClusterLease() {
+        queueLock.lock();
+        try {
+            return clusterLease;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Set the concurrency leased from the master FE, -1 means the query queue is not cluster-wide.
+     * The waiting queries are admitted if the lease grows.
+     */
+    void setClusterLease(int lease) {
+        queueLock.lock();
+        try {
+            if (clusterLease == lease) {
+                return;
+            }
+            clusterLease = lease;
+        } finally {
+            queueLock.unlock();
+        }
+        notifyWaitQuery();
+    }
+
+    public void resetQueueProperty(int maxConcurrency, int maxQueueSize, int queryWaitTimeout, long memoryBudget,
+            long scanBudget, long version) {
         queueLock.lock();
         try {
             this.maxConcurrency = maxConcurrency;
             this.maxQueueSize = maxQueueSize;
             this.queueTimeout = queryWaitTimeout;
+            this.memoryBudget = memoryBudget;
+            this.scanBudget = scanBudget;
             this.propVersion = version;
         } finally {
             if (LOG.isDebugEnabled()) {
@@ -0,0 +1,235 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.HttpURLUtil;
+import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.common.util.NetUtils;
+import org.apache.doris.httpv2.entity.ResponseBody;
+import org.apache.doris.httpv2.rest.manager.HttpUtils;
+import org.apache.doris.master.MetaHelper;
+import org.apache.doris.persist.gson.GsonUtils;
+import org.apache.doris.system.SystemInfoService.HostInfo;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforce the max_concurrency of the workload groups across all FEs if enable_cluster_query_queue is true.
+ *
+ * Every FE reports the running and waiting queries of its query queues to the master FE periodically, and the
+ * master FE leases each FE a share of max_concurrency, which the query queue of the FE admits queries up to.
+ * The lease of an FE covers its running queries and, if no query is waiting on the other FEs, its waiting
+ * queries plus query_queue_lease_spare, so the sum of the leases does not exceed max_concurrency except that
+ * the running queries are never taken back. The lease of an FE which stops syncing is reclaimed after
+ * query_queue_lease_timeout_ms. The leases are only kept in the memory of the master FE, they are rebuilt by
+ * the syncs after the master FE changes.
+ */
+public class QueryQueueLeaseMgr extends MasterDaemon {
+    private static final Logger LOG = LogManager.getLogger(QueryQueueLeaseMgr.class);
+
+    public static final String LEASE_PATH = "/query_queue_lease";
+    public static final String DEMANDS = "demands";
+
+    // workload group id -> fe -> the last sync of the fe, only used on the master FE
+    private final Map<Long, Map<String, FeLease>> leases = Maps.newHashMap();
+
+    public QueryQueueLeaseMgr() {
+        super("query-queue-lease-mgr", Config.query_queue_lease_sync_interval_ms);
+    }
+
+    /**
+     * The demand of a query queue reported by an FE, and the lease replied by the master FE.
+     */
+    public static class LeaseInfo {
+        private long wgId;
+        private int maxConcurrency;
+        private int running;
+        private int waiting;
+        private int lease;
+
+        public LeaseInfo() {
+        }
+
+        public LeaseInfo(long wgId, int maxConcurrency, int running, int waiting) {
+            this.wgId = wgId;
+            this.maxConcurrency = maxConcurrency;
+            this.running = running;
+            this.waiting = waiting;
+        }
+
+        public long getWgId() {
+            return wgId;
+        }
+
+        public void setWgId(long wgId) {
+            this.wgId = wgId;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public void setRunning(int running) {
+            this.running = running;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public void setWaiting(int waiting) {
+            this.waiting = waiting;
+        }
+
+        public int getLease() {
+            return lease;
+        }
+
+        public void setLease(int lease) {
+            this.lease = lease;
+        }
+    }
+
+    private static class FeLease {
+        int running;
+        int waiting;
+        int lease;
+        long updateTimeMs;
+    }
+
+    @Override
+    protected void runAfterCatalogReady() {
+        if (getInterval() != Config.query_queue_lease_sync_interval_ms) {
+            setInterval(Config.query_queue_lease_sync_interval_ms);
+        }
+        List<QueryQueue> queues = Env.getCurrentEnv().getWorkloadGroupMgr().getQueryQueues();
+        if (!Config.enable_cluster_query_queue) {
+            for (QueryQueue queue : queues) {
+                queue.setClusterLease(-1);
+            }
+            return;
+        }
+        if (queues.isEmpty()) {
+            return;
+        }
+
+        Map<Long, QueryQueue> idToQueue = Maps.newHashMap();
+        List<LeaseInfo> demands = Lists.newArrayList();
+        for (QueryQueue queue : queues) {
+            Pair<Integer, Integer> detail = queue.getQueryQueueDetail();
+            idToQueue.put(queue.getWgId(), queue);
+            demands.add(new LeaseInfo(queue.getWgId(), queue.getMaxConcurrency(), detail.first, detail.second));
+        }
+        List<LeaseInfo> granted;
+        try {
+            if (Env.getCurrentEnv().isMaster()) {
+                HostInfo self = Env.getCurrentEnv().getSelfNode();
+                granted = sync(NetUtils.getHostPortInAccessibleFormat(self.getHost(), self.getPort()), demands,
+                        System.currentTimeMillis());
+            } else {
+                granted = syncWithMaster(demands);
+            }
+        } catch (Exception e) {
+            // keep the current leases, the master FE reclaims them if this keeps failing
+            LOG.warn("failed to sync the query queue leases with the master FE", e);
+            return;
+        }
+        for (LeaseInfo info : granted) {
+            QueryQueue queue = idToQueue.get(info.getWgId());
+            if (queue != null) {
+                queue.setClusterLease(info.getLease());
+            }
+        }
+    }
+
+    private List<LeaseInfo> syncWithMaster(List<LeaseInfo> demands) throws IOException {
+        Env env = Env.getCurrentEnv();
+        if (env.getMasterHttpPort() == 0) {
+            throw new IOException("the master FE is unknown");
+        }
+        String url = "http://" + NetUtils.getHostPortInAccessibleFormat(env.getMasterHost(), env.getMasterHttpPort())
+                + LEASE_PATH + "?" + DEMANDS + "="
+                + URLEncoder.encode(GsonUtils.GSON.toJson(demands), StandardCharsets.UTF_8.name());
+        int timeoutMs = (int) Math.max(Config.query_queue_lease_sync_interval_ms, 1000);
+        String response = HttpUtils.doGet(url, HttpURLUtil.getNodeIdentHeaders(), timeoutMs);
+        ResponseBody<LeaseInfo[]> body = MetaHelper.parseResponse(response, LeaseInfo[].class);
+        if (body.getData() == null) {
+            throw new IOException("failed to get the query queue leases from the master FE: " + body.getMsg());
+        }
+        return Lists.newArrayList(body.getData());
+    }
+
+    /**
+     * Called on the master FE with the demands of the query queues of an FE, return their leases.
+     */
+    public synchronized List<LeaseInfo> sync(String fe, List<LeaseInfo> demands, long nowMs) {
+        Iterator<Map<String, FeLease>> iter = leases.values().iterator();
+        while (iter.hasNext()) {
+            Map<String, FeLease> feLeases = iter.next();
+            feLeases.values().removeIf(l -> nowMs - l.updateTimeMs > Config.query_queue_lease_timeout_ms);
+            if (feLeases.isEmpty()) {
+                iter.remove();
+            }
+        }
+
+        for (LeaseInfo demand : demands) {
+            Map<String, FeLease> feLeases = leases.computeIfAbsent(demand.getWgId(), k -> Maps.newHashMap());
+            int othersLease = 0;
+            boolean othersWaiting = false;
+            for (Map.Entry<String, FeLease> entry : feLeases.entrySet()) {
+                if (!entry.getKey().equals(fe)) {
+                    othersLease += entry.getValue().lease;
+                    othersWaiting |= entry.getValue().waiting > 0;
+                }
+            }
+            int target = demand.getRunning() + demand.getWaiting()
+                    + (othersWaiting ? 0 : Config.query_queue_lease_spare);
+            int lease = Math.max(demand.getRunning(), Math.min(target, demand.getMaxConcurrency() - othersLease));
+            lease = Math.max(lease, 0);
+
+            FeLease feLease = feLeases.computeIfAbsent(fe, k -> new FeLease());
+            feLease.running = demand.getRunning();
+            feLease.waiting = demand.getWaiting();
+            feLease.lease = lease;
+            feLease.updateTimeMs = nowMs;
+            demand.setLease(lease);
+        }
+        return demands;
+    }
+}
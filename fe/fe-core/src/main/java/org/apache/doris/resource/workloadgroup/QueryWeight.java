@@ -0,0 +1,57 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.common.util.DebugUtil;
+
+/**
+ * The memory and the scan bytes of a query estimated by the optimizer, the query queue admits the query only if
+ * the weights of the running queries plus it are within the budgets of the workload group.
+ */
+public class QueryWeight {
+    // the weight of the queries which are not planned by nereids, they are only limited by max_concurrency
+    public static final QueryWeight UNKNOWN = new QueryWeight(0, 0);
+
+    // the estimations are capped, so the sums of the weights of the running queries do not overflow
+    private static final long MAX_BYTES = 1L << 50;
+
+    private final long memoryBytes;
+    private final long scanBytes;
+
+    public QueryWeight(long memoryBytes, long scanBytes) {
+        this.memoryBytes = Math.min(Math.max(0, memoryBytes), MAX_BYTES);
+        this.scanBytes = Math.min(Math.max(0, scanBytes), MAX_BYTES);
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public long getScanBytes() {
+        return scanBytes;
+    }
+
+    @Override
+    public String toString() {
+        if (this == UNKNOWN) {
+            return "UNKNOWN";
+        }
+        return "memory=" + DebugUtil.printByteWithUnit(memoryBytes)
+                + ", scan=" + DebugUtil.printByteWithUnit(scanBytes);
+    }
+}
@@ -59,17 +59,39 @@ public class QueueToken implements Comparable<QueueToken> {
 
     QueryQueue queryQueue = null;
 
+    private final QueryWeight weight;
+
+    // how many times the token is bypassed by the later queries when it is waiting, guarded by the queue lock
+    private int bypassedTimes = 0;
+
     // Object is just a placeholder, it's meaningless now
     private CompletableFuture<Object> future;
 
     public QueueToken(long queueWaitTimeout, QueryQueue queryQueue) {
+        this(queueWaitTimeout, queryQueue, QueryWeight.UNKNOWN);
+    }
+
+    public QueueToken(long queueWaitTimeout, QueryQueue queryQueue, QueryWeight weight) {
         this.tokenId = tokenIdGenerator.addAndGet(1);
         this.queueWaitTimeout = queueWaitTimeout;
         this.queueStartTime = System.currentTimeMillis();
         this.queryQueue = queryQueue;
+        this.weight = weight;
         this.future = new CompletableFuture<>();
     }
 
+    public QueryWeight getWeight() {
+        return weight;
+    }
+
+    int getBypassedTimes() {
+        return bypassedTimes;
+    }
+
+    void increaseBypassedTimes() {
+        bypassedTimes++;
+    }
+
     public void setQueueMsg(String msg) {
         this.queueMsg = msg;
     }
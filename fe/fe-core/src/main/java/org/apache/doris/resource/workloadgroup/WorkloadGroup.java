@@ -69,6 +69,11 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
 
     public static final String QUEUE_TIMEOUT = "queue_timeout";
 
+    // the budgets of the sum of the estimated memory and scan bytes of the running queries
+    public static final String QUEUE_MEMORY_BUDGET = "queue_memory_budget";
+
+    public static final String QUEUE_SCAN_BUDGET = "queue_scan_budget";
+
     public static final String SCAN_THREAD_NUM = "scan_thread_num";
 
     public static final String MAX_REMOTE_SCAN_THREAD_NUM = "max_remote_scan_thread_num";
@@ -99,7 +104,8 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
     // cpu_share=1024, memory_limit=0%(0 means not limit), enable_memory_overcommit=true
     private static final ImmutableSet<String> ALL_PROPERTIES_NAME = new ImmutableSet.Builder<String>()
             .add(CPU_SHARE).add(MEMORY_LIMIT).add(ENABLE_MEMORY_OVERCOMMIT).add(MAX_CONCURRENCY)
-            .add(MAX_QUEUE_SIZE).add(QUEUE_TIMEOUT).add(CPU_HARD_LIMIT).add(SCAN_THREAD_NUM)
+            .add(MAX_QUEUE_SIZE).add(QUEUE_TIMEOUT).add(QUEUE_MEMORY_BUDGET).add(QUEUE_SCAN_BUDGET)
+            .add(CPU_HARD_LIMIT).add(SCAN_THREAD_NUM)
             .add(MAX_REMOTE_SCAN_THREAD_NUM).add(MIN_REMOTE_SCAN_THREAD_NUM)
             .add(MEMORY_LOW_WATERMARK).add(MEMORY_HIGH_WATERMARK)
             .add(TAG).add(READ_BYTES_PER_SECOND).add(REMOTE_READ_BYTES_PER_SECOND).add(INTERNAL_TYPE).build();
@@ -125,6 +131,8 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(MAX_CONCURRENCY, String.valueOf(Integer.MAX_VALUE));
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(MAX_QUEUE_SIZE, "0");
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(QUEUE_TIMEOUT, "0");
+        ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(QUEUE_MEMORY_BUDGET, "-1");
+        ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(QUEUE_SCAN_BUDGET, "-1");
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(SCAN_THREAD_NUM, "-1");
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(MAX_REMOTE_SCAN_THREAD_NUM, "-1");
         ALL_PROPERTIES_DEFAULT_VALUE_MAP.put(MIN_REMOTE_SCAN_THREAD_NUM, "-1");
@@ -152,6 +160,8 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
     private int maxConcurrency = Integer.MAX_VALUE;
     private int maxQueueSize = 0;
     private int queueTimeout = 0;
+    private long queueMemoryBudget = -1;
+    private long queueScanBudget = -1;
 
     private int cpuHardLimit = 0;
 
@@ -217,6 +227,10 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
             this.queueTimeout = 0;
             properties.put(QUEUE_TIMEOUT, String.valueOf(queueTimeout));
         }
+        this.queueMemoryBudget = properties.containsKey(QUEUE_MEMORY_BUDGET)
+                ? Long.parseLong(properties.get(QUEUE_MEMORY_BUDGET)) : -1;
+        this.queueScanBudget = properties.containsKey(QUEUE_SCAN_BUDGET)
+                ? Long.parseLong(properties.get(QUEUE_SCAN_BUDGET)) : -1;
     }
 
     // new resource group
@@ -456,6 +470,21 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
                     + MEMORY_LOW_WATERMARK + "(" + lowWaterMark + ")");
         }
 
+        for (String budgetKey : new String[] {QUEUE_MEMORY_BUDGET, QUEUE_SCAN_BUDGET}) {
+            if (properties.containsKey(budgetKey)) {
+                String budgetVal = properties.get(budgetKey);
+                try {
+                    long longVal = Long.parseLong(budgetVal);
+                    if (longVal <= 0 && longVal != -1) {
+                        throw new NumberFormatException();
+                    }
+                } catch (NumberFormatException e) {
+                    throw new DdlException("The allowed " + budgetKey
+                            + " value should be -1 or an positive integer, but input value is " + budgetVal);
+                }
+            }
+        }
+
         if (properties.containsKey(READ_BYTES_PER_SECOND)) {
             String readBytesVal = properties.get(READ_BYTES_PER_SECOND);
             try {
@@ -544,6 +573,14 @@ public class WorkloadGroup implements Writable, GsonPostProcessable {
         return queueTimeout;
     }
 
+    public long getQueueMemoryBudget() {
+        return queueMemoryBudget;
+    }
+
+    public long getQueueScanBudget() {
+        return queueScanBudget;
+    }
+
     public void getProcNodeData(BaseProcResult result, QueryQueue qq) {
         List<String> row = new ArrayList<>();
         row.add(String.valueOf(id));
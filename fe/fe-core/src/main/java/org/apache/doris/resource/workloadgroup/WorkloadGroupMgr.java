@@ -89,6 +89,7 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
             .add(WorkloadGroup.TAG)
             .add(WorkloadGroup.READ_BYTES_PER_SECOND).add(WorkloadGroup.REMOTE_READ_BYTES_PER_SECOND)
             .add(QueryQueue.RUNNING_QUERY_NUM).add(QueryQueue.WAITING_QUERY_NUM)
+            .add(WorkloadGroup.QUEUE_MEMORY_BUDGET).add(WorkloadGroup.QUEUE_SCAN_BUDGET)
             .build();
 
     private static final Logger LOG = LogManager.getLogger(WorkloadGroupMgr.class);
@@ -115,8 +116,9 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
         try {
             for (Map.Entry<Long, WorkloadGroup> entry : idToWorkloadGroup.entrySet()) {
                 WorkloadGroup wg = entry.getValue();
-                QueryQueue tmpQ = new QueryQueue(wg.getId(), wg.getMaxConcurrency(),
-                        wg.getMaxQueueSize(), wg.getQueueTimeout(), wg.getVersion());
+                QueryQueue tmpQ = new QueryQueue(wg.getId(), wg.getName(), wg.getMaxConcurrency(),
+                        wg.getMaxQueueSize(), wg.getQueueTimeout(), wg.getQueueMemoryBudget(),
+                        wg.getQueueScanBudget(), wg.getVersion());
                 newPropList.add(tmpQ);
             }
             for (Map.Entry<Long, QueryQueue> entry : idToQueryQueue.entrySet()) {
@@ -133,7 +135,8 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
             }
             if (newPropQq.getPropVersion() > currentQueryQueue.getPropVersion()) {
                 currentQueryQueue.resetQueueProperty(newPropQq.getMaxConcurrency(), newPropQq.getMaxQueueSize(),
-                        newPropQq.getQueueTimeout(), newPropQq.getPropVersion());
+                        newPropQq.getQueueTimeout(), newPropQq.getMemoryBudget(), newPropQq.getScanBudget(),
+                        newPropQq.getPropVersion());
             }
             if (LOG.isDebugEnabled()) {
                 LOG.debug(currentQueryQueue.debugString()); // for test debug
@@ -296,6 +299,15 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
         return workloadGroups;
     }
 
+    public List<QueryQueue> getQueryQueues() {
+        readLock();
+        try {
+            return Lists.newArrayList(idToQueryQueue.values());
+        } finally {
+            readUnlock();
+        }
+    }
+
     public QueryQueue getWorkloadGroupQueryQueue(ConnectContext context) throws UserException {
         String groupName = getWorkloadGroupNameAndCheckPriv(context);
         writeLock();
@@ -306,8 +318,8 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
             }
             QueryQueue queryQueue = idToQueryQueue.get(wg.getId());
             if (queryQueue == null) {
-                queryQueue = new QueryQueue(wg.getId(), wg.getMaxConcurrency(), wg.getMaxQueueSize(),
-                        wg.getQueueTimeout(), wg.getVersion());
+                queryQueue = new QueryQueue(wg.getId(), wg.getName(), wg.getMaxConcurrency(), wg.getMaxQueueSize(),
+                        wg.getQueueTimeout(), wg.getQueueMemoryBudget(), wg.getQueueScanBudget(), wg.getVersion());
                 idToQueryQueue.put(wg.getId(), queryQueue);
             }
             return queryQueue;
@@ -21,6 +21,7 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.plugin.AuditEvent;
 import org.apache.doris.thrift.TQueryStatistics;
 import org.apache.doris.thrift.TReportWorkloadRuntimeStatusParams;
@@ -113,6 +114,9 @@ public class WorkloadRuntimeStatusMgr extends MasterDaemon {
                 LOG.warn("audit log event queue size {} is full, this may cause audit log missed."
                                 + "you can check whether qps is too high or reset audit_event_log_queue_size",
                         queryAuditEventList.size());
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_AUDIT_EVENT_DROPPED.increase(1L);
+                }
                 return;
             }
             event.pushToAuditLogQueueTime = System.currentTimeMillis();
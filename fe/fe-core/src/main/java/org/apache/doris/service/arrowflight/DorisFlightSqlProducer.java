@@ -20,6 +20,7 @@
 
 package org.apache.doris.service.arrowflight;
 
+import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.mysql.MysqlCommand;
@@ -380,7 +381,39 @@ public class DorisFlightSqlProducer implements FlightSqlProducer, AutoCloseable
     @Override
     public Runnable acceptPutStatement(CommandStatementUpdate command, CallContext context, FlightStream flightStream,
             StreamListener<PutResult> ackStream) {
-        throw CallStatus.UNIMPLEMENTED.withDescription("acceptPutStatement unimplemented").toRuntimeException();
+        ConnectContext connectContext = flightSessionsManager.getConnectContext(context.peerIdentity());
+        return () -> {
+            try {
+                connectContext.setThreadLocalInfo();
+                connectContext.setCommand(MysqlCommand.COM_QUERY);
+                // every record batch is acked with its row count once it is sent to the backend
+                long loadedRows = new FlightSqlStreamLoader(connectContext).load(command.getQuery(), flightStream,
+                        rowCount -> sendPutUpdateResult(ackStream, rowCount));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("acceptPutStatement loaded {} rows, statement: {}", loadedRows, command.getQuery());
+                }
+                ackStream.onCompleted();
+            } catch (UserException e) {
+                String errMsg = "acceptPutStatement failed, " + e.getMessage();
+                LOG.warn(errMsg, e);
+                throw CallStatus.INVALID_ARGUMENT.withDescription(errMsg).withCause(e).toRuntimeException();
+            } catch (Exception e) {
+                String errMsg = "acceptPutStatement failed, " + e.getMessage() + ", " + Util.getRootCauseMessage(e);
+                LOG.error(errMsg, e);
+                throw CallStatus.INTERNAL.withDescription(errMsg).withCause(e).toRuntimeException();
+            } finally {
+                connectContext.setCommand(MysqlCommand.COM_SLEEP);
+                ConnectContext.remove();
+            }
+        };
+    }
+
+    private void sendPutUpdateResult(StreamListener<PutResult> ackStream, long recordCount) {
+        final DoPutUpdateResult build = DoPutUpdateResult.newBuilder().setRecordCount(recordCount).build();
+        try (final ArrowBuf buffer = rootAllocator.buffer(build.getSerializedSize())) {
+            buffer.writeBytes(build.toByteArray());
+            ackStream.onNext(PutResult.metadata(buffer));
+        }
     }
 
     @Override
@@ -394,12 +427,7 @@ public class DorisFlightSqlProducer implements FlightSqlProducer, AutoCloseable
                     // TODO support update
                     Preconditions.checkState(rowCount == 0);
 
-                    final int recordCount = -1;
-                    final DoPutUpdateResult build = DoPutUpdateResult.newBuilder().setRecordCount(recordCount).build();
-                    try (final ArrowBuf buffer = rootAllocator.buffer(build.getSerializedSize())) {
-                        buffer.writeBytes(build.toByteArray());
-                        ackStream.onNext(PutResult.metadata(buffer));
-                    }
+                    sendPutUpdateResult(ackStream, -1);
                 }
                 ackStream.onCompleted();
             } catch (Exception e) {
@@ -0,0 +1,255 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.service.arrowflight;
+
+import org.apache.doris.analysis.LoadStmt;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ErrorCode;
+import org.apache.doris.common.ErrorReport;
+import org.apache.doris.common.LoadException;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.FileFormatConstants;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.load.StreamLoadHandler;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.SessionVariable;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.arrow.flight.FlightStream;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load the arrow record batches put by the Flight SQL client into an OLAP table.
+ *
+ * The statement of the put is `INSERT INTO [[catalog.]db.]tbl [(col, ...)]` without a query or values, and the
+ * record batches are the rows to insert. They are written into a stream load of arrow format on a backend as soon
+ * as they arrive, so the rows are neither converted to csv or json nor buffered in FE, and the stream load, or the
+ * group commit if it is enabled in the session, does the rest.
+ */
+public class FlightSqlStreamLoader {
+    private static final Logger LOG = LogManager.getLogger(FlightSqlStreamLoader.class);
+
+    private static final String IDENTIFIER = "(?:`[^`]+`|[\\w$]+)";
+    private static final Pattern INGEST_PATTERN = Pattern.compile("^\\s*INSERT\\s+INTO\\s+(" + IDENTIFIER
+            + "(?:\\s*\\.\\s*" + IDENTIFIER + "){0,2})\\s*(?:\\(([^()]*)\\))?\\s*;?\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile(IDENTIFIER);
+
+    private final ConnectContext context;
+
+    public FlightSqlStreamLoader(ConnectContext context) {
+        this.context = context;
+    }
+
+    /**
+     * The target table and columns of the ingest statement.
+     */
+    static class IngestTarget {
+        final String catalog;
+        final String database;
+        final String table;
+        // the columns of the record batches, empty means all columns of the table in order
+        final List<String> columns;
+
+        IngestTarget(String catalog, String database, String table, List<String> columns) {
+            this.catalog = catalog;
+            this.database = database;
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Parse the statement like `INSERT INTO db.tbl (c1, c2)`, return empty if it is not an ingest statement.
+     */
+    static Optional<IngestTarget> parseIngestStatement(String sql, String currentCatalog, String currentDatabase) {
+        Matcher matcher = INGEST_PATTERN.matcher(sql);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        List<String> names = Lists.newArrayList();
+        Matcher nameMatcher = IDENTIFIER_PATTERN.matcher(matcher.group(1));
+        while (nameMatcher.find()) {
+            names.add(unquote(nameMatcher.group()));
+        }
+        List<String> columns = Lists.newArrayList();
+        if (matcher.group(2) != null) {
+            for (String column : matcher.group(2).split(",")) {
+                if (!column.trim().isEmpty()) {
+                    columns.add(unquote(column.trim()));
+                }
+            }
+        }
+        int size = names.size();
+        String table = names.get(size - 1);
+        String database = size >= 2 ? names.get(size - 2) : currentDatabase;
+        String catalog = size == 3 ? names.get(0) : currentCatalog;
+        return Optional.of(new IngestTarget(catalog, database, table, columns));
+    }
+
+    private static String unquote(String name) {
+        if (name.length() >= 2 && name.startsWith("`") && name.endsWith("`")) {
+            return name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    /**
+     * Load the record batches of the stream into the table of the ingest statement.
+     *
+     * @param onBatchSent called with the row count of each batch after it is sent to the backend
+     * @return the number of loaded rows
+     */
+    public long load(String sql, FlightStream flightStream, LongConsumer onBatchSent) throws Exception {
+        IngestTarget target = parseIngestStatement(sql, context.getDefaultCatalog(), context.getDatabase())
+                .orElseThrow(() -> new AnalysisException("Only `INSERT INTO table [(columns)]` without values or "
+                        + "query is supported to put record batches, but got: " + sql));
+        checkTarget(target);
+
+        // the load is started after the first batch arrives, nothing is loaded for an empty stream
+        if (!flightStream.next()) {
+            return 0;
+        }
+        String token = Env.getCurrentEnv().getTokenManager().acquireToken();
+        HttpPut httpPut = new HttpPut(StreamLoadHandler.getStreamLoadUrl(target.database, target.table));
+        httpPut.addHeader("Expect", "100-continue");
+        httpPut.addHeader("token", token);
+        httpPut.addHeader(LoadStmt.KEY_IN_PARAM_FORMAT_TYPE, FileFormatConstants.FORMAT_ARROW);
+        if (!target.columns.isEmpty()) {
+            httpPut.addHeader(LoadStmt.KEY_IN_PARAM_COLUMNS, Joiner.on(",").join(target.columns));
+        }
+        SessionVariable sessionVariable = context.getSessionVariable();
+        httpPut.addHeader(LoadStmt.TIMEOUT_PROPERTY, String.valueOf(sessionVariable.getInsertTimeoutS()));
+        httpPut.addHeader(LoadStmt.STRICT_MODE, String.valueOf(sessionVariable.getEnableInsertStrict()));
+        httpPut.addHeader(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO,
+                String.valueOf(sessionVariable.getInsertMaxFilterRatio()));
+        if (sessionVariable.isEnableInsertGroupCommit()) {
+            httpPut.addHeader(SessionVariable.GROUP_COMMIT, sessionVariable.getGroupCommit());
+        }
+        if (Config.isCloudMode()) {
+            httpPut.addHeader(LoadStmt.KEY_CLOUD_CLUSTER, context.getCloudCluster());
+        }
+        httpPut.setEntity(new ArrowStreamEntity(flightStream, onBatchSent));
+
+        try (CloseableHttpClient httpclient = HttpClients.createDefault();
+                CloseableHttpResponse response = httpclient.execute(httpPut)) {
+            String body = EntityUtils.toString(response.getEntity());
+            JsonObject result = JsonParser.parseString(body).getAsJsonObject();
+            if (!result.get("Status").getAsString().equalsIgnoreCase("Success")) {
+                String errorUrl = Optional.ofNullable(result.get("ErrorURL"))
+                        .map(JsonElement::getAsString).orElse("");
+                LOG.warn("Execute flight sql load into {}.{} failed with response: {}",
+                        target.database, target.table, body);
+                throw new LoadException(result.get("Message").getAsString()
+                        + (errorUrl.isEmpty() ? "" : ", error url: " + errorUrl));
+            }
+            return result.get("NumberLoadedRows").getAsLong();
+        }
+    }
+
+    private void checkTarget(IngestTarget target) throws UserException {
+        if (!InternalCatalog.INTERNAL_CATALOG_NAME.equals(target.catalog)) {
+            throw new AnalysisException("Only the tables of the internal catalog can be loaded, but got catalog: "
+                    + target.catalog);
+        }
+        if (Strings.isNullOrEmpty(target.database)) {
+            ErrorReport.reportAnalysisException(ErrorCode.ERR_NO_DB_ERROR);
+        }
+        Env.getCurrentInternalCatalog().getDbOrAnalysisException(target.database)
+                .getOlapTableOrAnalysisException(target.table);
+        // the stream load authenticated by the token does not check the privilege again
+        if (!Env.getCurrentEnv().getAccessManager().checkTblPriv(context, target.catalog, target.database,
+                target.table, PrivPredicate.LOAD)) {
+            ErrorReport.reportAnalysisException(ErrorCode.ERR_TABLEACCESS_DENIED_ERROR, "LOAD",
+                    context.getQualifiedUser(), context.getRemoteIP(), target.database + ":" + target.table);
+        }
+    }
+
+    /**
+     * Write the record batches of the flight stream as an arrow stream, the first batch is already read.
+     */
+    private static class ArrowStreamEntity extends AbstractHttpEntity {
+        private final FlightStream flightStream;
+        private final LongConsumer onBatchSent;
+
+        ArrowStreamEntity(FlightStream flightStream, LongConsumer onBatchSent) {
+            this.flightStream = flightStream;
+            this.onBatchSent = onBatchSent;
+            setContentType("application/octet-stream");
+            setChunked(true);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public InputStream getContent() {
+            throw new UnsupportedOperationException("the record batches can only be written once");
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            // the root is reloaded by each next() of the flight stream
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(flightStream.getRoot(),
+                    flightStream.getDictionaryProvider(), out)) {
+                writer.start();
+                do {
+                    writer.writeBatch();
+                    onBatchSent.accept(flightStream.getRoot().getRowCount());
+                } while (flightStream.next());
+                writer.end();
+            }
+        }
+    }
+}
@@ -430,6 +430,8 @@ public class AnalysisManager implements Writable {
             }
             replayCreateAnalysisTask(analysisInfo);
         }
+        // Scan the table once for the full stats of all the columns.
+        MultiColumnStatsCollector.assign(analysisTasks.values());
     }
 
     // Change to public for unit test.
@@ -355,18 +355,55 @@ public abstract class BaseAnalysisTask {
         // 1. Remove not exist partition stats
         deleteNotExistPartitionStats(jobInfo);
 
-        // 2. Get stats of each partition
+        // 2. Get stats of each partition and 3. insert partition in batch
+        boolean isAllPartitions = info.partitionNames.isEmpty();
+        String idxName = info.indexId == -1 ? tbl.getName() : ((OlapTable) tbl).getIndexNameById(info.indexId);
+        ColStatsMeta columnStatsMeta = tableStatsStatus == null
+                ? null : tableStatsStatus.findColumnStatsMeta(idxName, col.getName());
+        boolean hasHughPartition = analyzePartitions(jobInfo, tableStatsStatus, columnStatsMeta);
+        // 4. Skip large partition and fallback to sample analyze if large partition exists.
+        if (hasHughPartition) {
+            tableSample = new TableSample(false, StatisticsUtil.getHugeTableSampleRows());
+            if (!isSync) {
+                long startTime = jobInfo.startTime;
+                jobInfo = new AnalysisInfoBuilder(jobInfo).setAnalysisMethod(AnalysisMethod.SAMPLE).build();
+                jobInfo.markStartTime(startTime);
+                analysisManager.replayCreateAnalysisJob(jobInfo);
+            }
+            if (tableStatsStatus == null || columnStatsMeta == null
+                    || tableStatsStatus.updatedRows.get() > columnStatsMeta.updatedRows) {
+                doSample();
+            } else {
+                job.taskDoneWithoutData(this);
+            }
+        } else {
+            // 5. calculate column stats based on partition stats
+            if (isAllPartitions) {
+                Map<String, String> params = buildSqlParams();
+                params.put("min", castToNumeric("min"));
+                params.put("max", castToNumeric("max"));
+                StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
+                runQuery(stringSubstitutor.replace(MERGE_PARTITION_TEMPLATE));
+            } else {
+                job.taskDoneWithoutData(this);
+            }
+        }
+    }
+
+    /**
+     * Insert the stats of the partitions changed after last analyze into the partition stats table.
+     * @return True if any partition is skipped because it is too large.
+     */
+    protected boolean analyzePartitions(AnalysisInfo jobInfo, TableStatsMeta tableStatsStatus,
+            ColStatsMeta columnStatsMeta) throws Exception {
+        AnalysisManager analysisManager = Env.getServingEnv().getAnalysisManager();
         Map<String, String> params = buildSqlParams();
         params.put("dataSizeFunction", getDataSizeFunction(col, false));
-        boolean isAllPartitions = info.partitionNames.isEmpty();
-        Set<String> partitionNames = isAllPartitions ? tbl.getPartitionNames() : info.partitionNames;
+        Set<String> partitionNames = info.partitionNames.isEmpty() ? tbl.getPartitionNames() : info.partitionNames;
         List<String> sqls = Lists.newArrayList();
         Set<String> partNames = Sets.newHashSet();
         int count = 0;
         long batchRowCount = 0;
-        String idxName = info.indexId == -1 ? tbl.getName() : ((OlapTable) tbl).getIndexNameById(info.indexId);
-        ColStatsMeta columnStatsMeta = tableStatsStatus == null
-                ? null : tableStatsStatus.findColumnStatsMeta(idxName, col.getName());
         boolean hasHughPartition = false;
         long hugePartitionThreshold = StatisticsUtil.getHugePartitionLowerBoundRows();
         int partitionBatchSize = StatisticsUtil.getPartitionAnalyzeBatchSize();
@@ -430,33 +467,7 @@ public abstract class BaseAnalysisTask {
             analysisManager.updatePartitionStatsCache(info.catalogId, info.dbId, info.tblId, info.indexId,
                     partNames, info.colName);
         }
-        // 4. Skip large partition and fallback to sample analyze if large partition exists.
-        if (hasHughPartition) {
-            tableSample = new TableSample(false, StatisticsUtil.getHugeTableSampleRows());
-            if (!isSync) {
-                long startTime = jobInfo.startTime;
-                jobInfo = new AnalysisInfoBuilder(jobInfo).setAnalysisMethod(AnalysisMethod.SAMPLE).build();
-                jobInfo.markStartTime(startTime);
-                analysisManager.replayCreateAnalysisJob(jobInfo);
-            }
-            if (tableStatsStatus == null || columnStatsMeta == null
-                    || tableStatsStatus.updatedRows.get() > columnStatsMeta.updatedRows) {
-                doSample();
-            } else {
-                job.taskDoneWithoutData(this);
-            }
-        } else {
-            // 5. calculate column stats based on partition stats
-            if (isAllPartitions) {
-                params = buildSqlParams();
-                params.put("min", castToNumeric("min"));
-                params.put("max", castToNumeric("max"));
-                StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
-                runQuery(stringSubstitutor.replace(MERGE_PARTITION_TEMPLATE));
-            } else {
-                job.taskDoneWithoutData(this);
-            }
-        }
+        return hasHughPartition;
     }
 
     protected abstract void deleteNotExistPartitionStats(AnalysisInfo jobInfo) throws DdlException;
@@ -484,22 +495,8 @@ public abstract class BaseAnalysisTask {
         try (AutoCloseConnectContext a  = StatisticsUtil.buildConnectContext(false)) {
             stmtExecutor = new StmtExecutor(a.connectContext, sql);
             ColStatsData colStatsData = new ColStatsData(stmtExecutor.executeInternalQuery().get(0));
-            if (!colStatsData.isValid()) {
-                String message = String.format("ColStatsData is invalid, skip analyzing. %s", colStatsData.toSQL(true));
-                LOG.warn(message);
-                throw new RuntimeException(message);
-            }
-            // Update index row count after analyze.
-            if (this instanceof OlapAnalysisTask) {
-                AnalysisInfo jobInfo = Env.getCurrentEnv().getAnalysisManager().findJobInfo(job.getJobInfo().jobId);
-                // For sync job, get jobInfo from job.jobInfo.
-                jobInfo = jobInfo == null ? job.jobInfo : jobInfo;
-                long indexId = info.indexId == -1 ? ((OlapTable) tbl).getBaseIndexId() : info.indexId;
-                jobInfo.addIndexRowCount(indexId, colStatsData.count);
-            }
-            Env.getCurrentEnv().getStatisticsCache().syncColStats(colStatsData);
             queryId = DebugUtil.printId(stmtExecutor.getContext().queryId());
-            job.appendBuf(this, Collections.singletonList(colStatsData));
+            appendColStatsData(colStatsData);
         } catch (Exception e) {
             LOG.warn("Failed to execute sql {}", sql);
             throw e;
@@ -513,6 +510,24 @@ public abstract class BaseAnalysisTask {
         }
     }
 
+    protected void appendColStatsData(ColStatsData colStatsData) {
+        if (!colStatsData.isValid()) {
+            String message = String.format("ColStatsData is invalid, skip analyzing. %s", colStatsData.toSQL(true));
+            LOG.warn(message);
+            throw new RuntimeException(message);
+        }
+        // Update index row count after analyze.
+        if (this instanceof OlapAnalysisTask) {
+            AnalysisInfo jobInfo = Env.getCurrentEnv().getAnalysisManager().findJobInfo(job.getJobInfo().jobId);
+            // For sync job, get jobInfo from job.jobInfo.
+            jobInfo = jobInfo == null ? job.jobInfo : jobInfo;
+            long indexId = info.indexId == -1 ? ((OlapTable) tbl).getBaseIndexId() : info.indexId;
+            jobInfo.addIndexRowCount(indexId, colStatsData.count);
+        }
+        Env.getCurrentEnv().getStatisticsCache().syncColStats(colStatsData);
+        job.appendBuf(this, Collections.singletonList(colStatsData));
+    }
+
     protected void runInsert(String sql) throws Exception {
         try (AutoCloseConnectContext r = StatisticsUtil.buildConnectContext(false)) {
             stmtExecutor = new StmtExecutor(r.connectContext, sql);
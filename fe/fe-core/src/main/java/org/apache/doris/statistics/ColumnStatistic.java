@@ -92,10 +92,22 @@ public class ColumnStatistic {
     @SerializedName("updatedTime")
     public final String updatedTime;
 
+    // Equi-height histogram of the column, null if it is not collected or not loaded yet.
+    // It is only used by stats deriving and is not serialized.
+    public final transient Histogram histogram;
+
     public ColumnStatistic(double count, double ndv, ColumnStatistic original, double avgSizeByte,
             double numNulls, double dataSize, double minValue, double maxValue,
             LiteralExpr minExpr, LiteralExpr maxExpr, boolean isUnKnown,
             String updatedTime) {
+        this(count, ndv, original, avgSizeByte, numNulls, dataSize, minValue, maxValue, minExpr, maxExpr,
+                isUnKnown, updatedTime, null);
+    }
+
+    public ColumnStatistic(double count, double ndv, ColumnStatistic original, double avgSizeByte,
+            double numNulls, double dataSize, double minValue, double maxValue,
+            LiteralExpr minExpr, LiteralExpr maxExpr, boolean isUnKnown,
+            String updatedTime, Histogram histogram) {
         this.count = count;
         this.ndv = ndv;
         this.original = original;
@@ -108,6 +120,7 @@ public class ColumnStatistic {
         this.maxExpr = maxExpr;
         this.isUnKnown = isUnKnown;
         this.updatedTime = updatedTime;
+        this.histogram = histogram;
     }
 
     public static ColumnStatistic fromResultRow(List<ResultRow> resultRows) {
@@ -38,6 +38,8 @@ public class ColumnStatisticBuilder {
 
     private String updatedTime;
 
+    private Histogram histogram;
+
     public ColumnStatisticBuilder() {
     }
 
@@ -54,6 +56,7 @@ public class ColumnStatisticBuilder {
         this.isUnknown = columnStatistic.isUnKnown;
         this.original = columnStatistic.original;
         this.updatedTime = columnStatistic.updatedTime;
+        this.histogram = columnStatistic.histogram;
     }
 
     // ATTENTION: DON'T USE FOLLOWING TWO DURING STATS DERIVING EXCEPT FOR INITIALIZATION
@@ -74,6 +77,7 @@ public class ColumnStatisticBuilder {
         this.isUnknown = columnStatistic.isUnKnown;
         this.original = columnStatistic.original;
         this.updatedTime = columnStatistic.updatedTime;
+        this.histogram = columnStatistic.histogram;
     }
 
     public ColumnStatisticBuilder setNdv(double ndv) {
@@ -175,6 +179,15 @@ public class ColumnStatisticBuilder {
         return this;
     }
 
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    public ColumnStatisticBuilder setHistogram(Histogram histogram) {
+        this.histogram = histogram;
+        return this;
+    }
+
     public ColumnStatistic build() {
         dataSize = dataSize > 0 ? dataSize : Math.max((count - numNulls + 1) * avgSizeByte, 0);
         if (original == null && !isUnknown) {
@@ -184,7 +197,7 @@ public class ColumnStatisticBuilder {
         }
         ColumnStatistic colStats = new ColumnStatistic(count, ndv, original, avgSizeByte, numNulls,
                 dataSize, minValue, maxValue, minExpr, maxExpr,
-                isUnknown, updatedTime);
+                isUnknown, updatedTime, histogram);
         return colStats;
     }
 
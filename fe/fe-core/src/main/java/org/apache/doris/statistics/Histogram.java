@@ -46,11 +46,19 @@ public class Histogram {
 
     public final int numBuckets;
 
+    // upper bounds of the buckets in ascending order, used to locate a value by binary search
+    private final double[] bucketUppers;
+
     public Histogram(Type dataType, double sampleRate, int numBuckets, List<Bucket> buckets) {
         this.dataType = dataType;
         this.sampleRate = sampleRate;
         this.numBuckets = numBuckets;
         this.buckets = buckets;
+        int bucketNum = buckets == null ? 0 : buckets.size();
+        this.bucketUppers = new double[bucketNum];
+        for (int i = 0; i < bucketNum; i++) {
+            bucketUppers[i] = buckets.get(i).upper;
+        }
     }
 
     public static Histogram UNKNOWN = new HistogramBuilder().setDataType(Type.NULL)
@@ -178,6 +186,145 @@ public class Histogram {
         return lastBucket.preSum + lastBucket.count;
     }
 
+    /**
+     * Return the index of the first bucket whose upper bound is not less than the value,
+     * or the number of buckets if the value is greater than all of them.
+     */
+    public int findBucket(double value) {
+        int low = 0;
+        int high = bucketUppers.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketUppers[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Estimate the number of rows less than the value.
+     * Values are assumed to be evenly distributed inside a bucket.
+     */
+    public double countLessThan(double value) {
+        int idx = findBucket(value);
+        if (idx == bucketUppers.length) {
+            return size();
+        }
+        Bucket bucket = buckets.get(idx);
+        if (value <= bucket.lower) {
+            return bucket.preSum;
+        }
+        return bucket.preSum + bucket.count * (value - bucket.lower) / (bucket.upper - bucket.lower);
+    }
+
+    /**
+     * Estimate the number of rows not greater than the value.
+     */
+    public double countNotGreaterThan(double value) {
+        int idx = findBucket(value);
+        if (idx == bucketUppers.length) {
+            return size();
+        }
+        Bucket bucket = buckets.get(idx);
+        if (value < bucket.lower) {
+            return bucket.preSum;
+        }
+        if (value >= bucket.upper) {
+            return bucket.preSum + bucket.count;
+        }
+        return bucket.preSum + bucket.count * (value - bucket.lower) / (bucket.upper - bucket.lower);
+    }
+
+    /**
+     * Selectivity of 'col = value', 0 if the value falls out of all the buckets.
+     */
+    public double equalSelectivity(double value) {
+        double total = size();
+        int idx = findBucket(value);
+        if (total <= 0 || idx == bucketUppers.length) {
+            return 0;
+        }
+        Bucket bucket = buckets.get(idx);
+        if (value < bucket.lower) {
+            return 0;
+        }
+        return bucket.count / Math.max(1, bucket.ndv) / total;
+    }
+
+    /**
+     * Selectivity of 'col between low and high'.
+     */
+    public double rangeSelectivity(double low, double high) {
+        double total = size();
+        if (total <= 0 || high < low) {
+            return 0;
+        }
+        if (high == low) {
+            return equalSelectivity(low);
+        }
+        return Math.max(0, countNotGreaterThan(high) - countLessThan(low)) / total;
+    }
+
+    /**
+     * Estimate the selectivity of 'left = right' on the cross product of the rows of two columns,
+     * whose values are limited in [leftLow, leftHigh] and [rightLow, rightHigh] respectively.
+     * The overlapped parts of the buckets are matched by merging the two sorted bucket lists,
+     * and the values inside each part are assumed to be evenly distributed.
+     * Return NaN if the selectivity could not be estimated.
+     */
+    public static double joinSelectivity(Histogram left, double leftLow, double leftHigh,
+            Histogram right, double rightLow, double rightHigh) {
+        double leftSel = left.rangeSelectivity(leftLow, leftHigh);
+        double rightSel = right.rangeSelectivity(rightLow, rightHigh);
+        if (leftSel <= 0 || rightSel <= 0) {
+            return Double.NaN;
+        }
+        double low = Math.max(leftLow, rightLow);
+        double high = Math.min(leftHigh, rightHigh);
+        double leftTotal = left.size();
+        double rightTotal = right.size();
+        double sel = 0;
+        int i = left.findBucket(low);
+        int j = right.findBucket(low);
+        while (i < left.buckets.size() && j < right.buckets.size()) {
+            Bucket leftBucket = left.buckets.get(i);
+            Bucket rightBucket = right.buckets.get(j);
+            double overlapLow = Math.max(low, Math.max(leftBucket.lower, rightBucket.lower));
+            double overlapHigh = Math.min(high, Math.min(leftBucket.upper, rightBucket.upper));
+            if (overlapLow > high) {
+                break;
+            }
+            if (overlapLow <= overlapHigh) {
+                double leftPortion = bucketPortion(leftBucket, overlapLow, overlapHigh);
+                double rightPortion = bucketPortion(rightBucket, overlapLow, overlapHigh);
+                double ndv = Math.max(1, Math.max(leftBucket.ndv * leftPortion, rightBucket.ndv * rightPortion));
+                sel += leftBucket.count * leftPortion / leftTotal
+                        * rightBucket.count * rightPortion / rightTotal / ndv;
+            }
+            if (leftBucket.upper < rightBucket.upper) {
+                i++;
+            } else if (leftBucket.upper > rightBucket.upper) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return Math.min(1, sel / (leftSel * rightSel));
+    }
+
+    // the portion of the rows of the bucket falling in [low, high], at least one distinct value
+    private static double bucketPortion(Bucket bucket, double low, double high) {
+        if (bucket.upper <= bucket.lower) {
+            return 1;
+        }
+        double portion = (high - low) / (bucket.upper - bucket.lower);
+        return Math.min(1, Math.max(portion, 1 / Math.max(1, bucket.ndv)));
+    }
+
     @Override
     public String toString() {
         return serializeToJson(this);
@@ -0,0 +1,321 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.util.DebugUtil;
+import org.apache.doris.qe.AutoCloseConnectContext;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.util.StatisticsUtil;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the full stats of the columns of an OLAP table index analyzed by the same job in one scan, instead of
+ * one scan per column. The first task of the batch scans the table and the other tasks take their stats from it,
+ * each task still appends and merges its own column stats.
+ *
+ * With partition analyze, the partition stats including the HLL of ndv are inserted by one scan of each changed
+ * partition, then each column merges its partition stats as before.
+ */
+public class MultiColumnStatsCollector {
+    private static final Logger LOG = LogManager.getLogger(MultiColumnStatsCollector.class);
+
+    private static final String COLUMN_AGGREGATION_TEMPLATE = "${ndvFunction} AS `ndv_${i}`, "
+            + "COUNT(1) - COUNT(`${colName}`) AS `null_count_${i}`, "
+            + "SUBSTRING(CAST(MIN(`${colName}`) AS STRING), 1, 1024) AS `min_${i}`, "
+            + "SUBSTRING(CAST(MAX(`${colName}`) AS STRING), 1, 1024) AS `max_${i}`, "
+            + "${dataSizeFunction} AS `data_size_${i}`";
+
+    private static final String TABLE_ANALYZE_TEMPLATE = "SELECT COUNT(1) AS `row_count`, ${columns}, "
+            + "NOW() AS `update_time` "
+            + "FROM `${catalogName}`.`${dbName}`.`${tblName}` ${index}";
+
+    private static final String PARTITION_AGGREGATION_TEMPLATE = "SELECT COUNT(1) AS `row_count`, ${columns} "
+            + "FROM `${catalogName}`.`${dbName}`.`${tblName}` ${index} ${partitionInfo}";
+
+    private static final String PARTITION_ROW_TEMPLATE = "SELECT "
+            + "${catalogId} AS `catalog_id`, "
+            + "${dbId} AS `db_id`, "
+            + "${tblId} AS `tbl_id`, "
+            + "${idxId} AS `idx_id`, "
+            + "${partName} AS `part_name`, "
+            + "${partId} AS `part_id`, "
+            + "'${colId}' AS `col_id`, "
+            + "`row_count`, "
+            + "`ndv_${i}` AS `ndv`, "
+            + "`null_count_${i}` AS `null_count`, "
+            + "`min_${i}` AS `min`, "
+            + "`max_${i}` AS `max`, "
+            + "`data_size_${i}` AS `data_size`, "
+            + "NOW() AS `update_time` "
+            + "FROM `${cteName}`";
+
+    // the number of the columns in the result of TABLE_ANALYZE_TEMPLATE for each analyzed column
+    private static final int COLUMN_RESULT_SIZE = 5;
+
+    private final List<OlapAnalysisTask> tasks;
+
+    private boolean tableStatsCollected = false;
+    private final Map<OlapAnalysisTask, ColStatsData> tableStats = Maps.newHashMap();
+    private boolean partitionsAnalyzed = false;
+    private boolean hasHugePartition = false;
+    private RuntimeException failure;
+
+    @VisibleForTesting
+    MultiColumnStatsCollector(List<OlapAnalysisTask> tasks) {
+        this.tasks = tasks;
+        for (OlapAnalysisTask task : tasks) {
+            task.setColumnCollector(this);
+        }
+    }
+
+    /**
+     * Group the full analysis tasks of the OLAP tables by index, at most analyze_columns_per_scan columns in a group.
+     */
+    public static void assign(Collection<BaseAnalysisTask> tasks) {
+        int columnsPerScan = StatisticsUtil.getAnalyzeColumnsPerScan();
+        if (columnsPerScan < 2) {
+            return;
+        }
+        Map<Long, List<OlapAnalysisTask>> indexToTasks = tasks.stream()
+                .filter(OlapAnalysisTask.class::isInstance)
+                .map(OlapAnalysisTask.class::cast)
+                .filter(task -> task.col != null && task.tableSample == null)
+                .collect(Collectors.groupingBy(task -> task.info.indexId));
+        for (List<OlapAnalysisTask> indexTasks : indexToTasks.values()) {
+            for (List<OlapAnalysisTask> batch : Lists.partition(indexTasks, columnsPerScan)) {
+                if (batch.size() > 1) {
+                    new MultiColumnStatsCollector(new ArrayList<>(batch));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the table stats of the column of the task, scan the table for all the columns if it is the first one.
+     */
+    public synchronized ColStatsData collectTableStats(OlapAnalysisTask task) {
+        if (!tableStatsCollected) {
+            checkFailure();
+            try {
+                doCollectTableStats(task);
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+            tableStatsCollected = true;
+        }
+        return tableStats.get(task);
+    }
+
+    /**
+     * Insert the partition stats of all the columns, only done by the first task.
+     * @return True if any partition is skipped because it is too large.
+     */
+    public synchronized boolean analyzePartitions(OlapAnalysisTask task, AnalysisInfo jobInfo) throws Exception {
+        if (!partitionsAnalyzed) {
+            checkFailure();
+            try {
+                hasHugePartition = doAnalyzePartitions(task, jobInfo);
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } catch (Exception e) {
+                failure = new RuntimeException(e.getMessage(), e);
+                throw e;
+            }
+            partitionsAnalyzed = true;
+        }
+        return hasHugePartition;
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new RuntimeException("Failed to analyze the columns in the same scan: " + failure.getMessage(),
+                    failure);
+        }
+    }
+
+    private void doCollectTableStats(OlapAnalysisTask leader) {
+        Map<String, String> params = leader.buildSqlParams();
+        params.put("columns", buildColumnAggregations(false));
+        String sql = new StringSubstitutor(params).replace(TABLE_ANALYZE_TEMPLATE);
+        long startTime = System.currentTimeMillis();
+        List<String> values;
+        try (AutoCloseConnectContext a = StatisticsUtil.buildConnectContext(false)) {
+            leader.stmtExecutor = new StmtExecutor(a.connectContext, sql);
+            values = leader.stmtExecutor.executeInternalQuery().get(0).getValues();
+            LOG.info("Analyzed {} columns of table {} in one scan, cost {} ms, query id {}", tasks.size(),
+                    leader.tbl.getName(), System.currentTimeMillis() - startTime,
+                    DebugUtil.printId(leader.stmtExecutor.getContext().queryId()));
+        } catch (Exception e) {
+            LOG.warn("Failed to execute sql {}", sql);
+            throw e;
+        } finally {
+            leader.stmtExecutor = null;
+        }
+        String rowCount = values.get(0);
+        String updateTime = values.get(values.size() - 1);
+        for (int i = 0; i < tasks.size(); i++) {
+            OlapAnalysisTask task = tasks.get(i);
+            AnalysisInfo info = task.info;
+            int offset = 1 + i * COLUMN_RESULT_SIZE;
+            // same layout as the result of FULL_ANALYZE_TEMPLATE
+            List<String> row = Lists.newArrayList(task.concatColumnStatsId(), String.valueOf(info.catalogId),
+                    String.valueOf(info.dbId), String.valueOf(info.tblId), String.valueOf(info.indexId),
+                    info.colName, null, rowCount);
+            row.addAll(values.subList(offset, offset + COLUMN_RESULT_SIZE));
+            row.add(updateTime);
+            tableStats.put(task, new ColStatsData(new ResultRow(row)));
+        }
+    }
+
+    private boolean doAnalyzePartitions(OlapAnalysisTask leader, AnalysisInfo jobInfo) throws Exception {
+        AnalysisManager analysisManager = Env.getServingEnv().getAnalysisManager();
+        AnalysisInfo info = leader.info;
+        OlapTable table = (OlapTable) leader.tbl;
+        TableStatsMeta tableStatsStatus = analysisManager.findTableStatsStatus(table.getId());
+        String idxName = info.indexId == -1 ? table.getName() : table.getIndexNameById(info.indexId);
+        Set<String> partitionNames = info.partitionNames.isEmpty() ? table.getPartitionNames() : info.partitionNames;
+        String columnAggregations = buildColumnAggregations(true);
+        List<String> ctes = Lists.newArrayList();
+        List<String> sqls = Lists.newArrayList();
+        Set<String> partNames = Sets.newHashSet();
+        long batchRowCount = 0;
+        boolean hasHugePartition = false;
+        long hugePartitionThreshold = StatisticsUtil.getHugePartitionLowerBoundRows();
+        int partitionBatchSize = StatisticsUtil.getPartitionAnalyzeBatchSize();
+        for (String part : partitionNames) {
+            Partition partition = table.getPartition(part);
+            if (partition == null) {
+                continue;
+            }
+            // For huge partition, skip analyze it.
+            long partitionRowCount = partition.getBaseIndex().getRowCount();
+            if (partitionRowCount > hugePartitionThreshold && AnalysisInfo.JobType.SYSTEM.equals(info.jobType)) {
+                hasHugePartition = true;
+                // -1 means it's skipped because this partition is too large.
+                jobInfo.partitionUpdateRows.putIfAbsent(partition.getId(), -1L);
+                LOG.info("Partition {} in table {} is too large, skip it.", part, table.getName());
+                continue;
+            }
+            jobInfo.partitionUpdateRows.putIfAbsent(partition.getId(), 0L);
+            if (!isPartitionChanged(tableStatsStatus, idxName, partition)) {
+                LOG.debug("Partition {} doesn't change after last analyze for {} columns, skip it.",
+                        part, tasks.size());
+                continue;
+            }
+            batchRowCount += partitionRowCount;
+            // each partition is scanned once by its cte, which is referenced by all the columns
+            String cteName = "part_" + partNames.size();
+            Map<String, String> params = leader.buildSqlParams();
+            params.put("columns", columnAggregations);
+            params.put("partitionInfo", leader.getPartitionInfo(part));
+            ctes.add("`" + cteName + "` AS (" + new StringSubstitutor(params).replace(
+                    PARTITION_AGGREGATION_TEMPLATE) + ")");
+            for (int i = 0; i < tasks.size(); i++) {
+                params = tasks.get(i).buildSqlParams();
+                params.put("i", String.valueOf(i));
+                params.put("cteName", cteName);
+                params.put("partId", String.valueOf(partition.getId()));
+                params.put("partName", "'" + StatisticsUtil.escapeColumnName(part) + "'");
+                sqls.add(new StringSubstitutor(params).replace(PARTITION_ROW_TEMPLATE));
+            }
+            partNames.add(part);
+            if (partNames.size() == partitionBatchSize || batchRowCount > hugePartitionThreshold) {
+                insertPartitionStats(leader, ctes, sqls, partNames);
+                ctes.clear();
+                sqls.clear();
+                partNames.clear();
+                batchRowCount = 0;
+            }
+        }
+        if (!partNames.isEmpty()) {
+            insertPartitionStats(leader, ctes, sqls, partNames);
+        }
+        return hasHugePartition;
+    }
+
+    // The partition is analyzed again if it is changed for any column.
+    private boolean isPartitionChanged(TableStatsMeta tableStatsStatus, String idxName, Partition partition) {
+        if (tableStatsStatus == null || tableStatsStatus.partitionUpdateRows == null) {
+            return true;
+        }
+        ConcurrentMap<Long, Long> tableUpdateRows = tableStatsStatus.partitionUpdateRows;
+        long id = partition.getId();
+        for (OlapAnalysisTask task : tasks) {
+            ColStatsMeta columnStatsMeta = tableStatsStatus.findColumnStatsMeta(idxName, task.col.getName());
+            if (columnStatsMeta == null || columnStatsMeta.partitionUpdateRows == null
+                    || !Objects.equals(tableUpdateRows.getOrDefault(id, 0L),
+                            columnStatsMeta.partitionUpdateRows.get(id))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertPartitionStats(OlapAnalysisTask leader, List<String> ctes, List<String> sqls,
+            Set<String> partNames) throws Exception {
+        String sql = "INSERT INTO " + StatisticConstants.FULL_QUALIFIED_PARTITION_STATS_TBL_NAME
+                + " WITH " + Joiner.on(", ").join(ctes) + " " + Joiner.on(" UNION ALL ").join(sqls);
+        leader.runInsert(sql);
+        AnalysisManager analysisManager = Env.getServingEnv().getAnalysisManager();
+        AnalysisInfo info = leader.info;
+        for (OlapAnalysisTask task : tasks) {
+            analysisManager.updatePartitionStatsCache(info.catalogId, info.dbId, info.tblId, info.indexId,
+                    partNames, task.info.colName);
+        }
+    }
+
+    // The aggregations of all the columns, the ndv of the partition is kept as HLL to be merged.
+    private String buildColumnAggregations(boolean forPartition) {
+        List<String> aggregations = Lists.newArrayList();
+        for (int i = 0; i < tasks.size(); i++) {
+            OlapAnalysisTask task = tasks.get(i);
+            Map<String, String> params = task.buildSqlParams();
+            params.put("i", String.valueOf(i));
+            params.put("ndvFunction", forPartition ? "HLL_UNION(HLL_HASH(`${colName}`))" : "NDV(`${colName}`)");
+            aggregations.add(new StringSubstitutor(params).replace(COLUMN_AGGREGATION_TEMPLATE));
+        }
+        return Joiner.on(", ").join(aggregations);
+    }
+
+    @VisibleForTesting
+    List<OlapAnalysisTask> getTasks() {
+        return tasks;
+    }
+}
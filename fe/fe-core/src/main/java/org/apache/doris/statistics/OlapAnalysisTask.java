@@ -64,6 +64,8 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
     private boolean scanFullTable = false;
     private static final long MAXIMUM_SAMPLE_ROWS = 1_000_000_000;
     private static final int PARTITION_COUNT_TO_SAMPLE = 5;
+    // Not null if the full stats of this column are collected together with other columns in one scan.
+    private MultiColumnStatsCollector columnCollector;
 
     @VisibleForTesting
     public OlapAnalysisTask() {
@@ -291,12 +293,23 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
         }
         if (StatisticsUtil.enablePartitionAnalyze() && tbl.isPartitionedTable()) {
             doPartitionTable();
+        } else if (columnCollector != null) {
+            appendColStatsData(columnCollector.collectTableStats(this));
         } else {
             StringSubstitutor stringSubstitutor = new StringSubstitutor(buildSqlParams());
             runQuery(stringSubstitutor.replace(FULL_ANALYZE_TEMPLATE));
         }
     }
 
+    @Override
+    protected boolean analyzePartitions(AnalysisInfo jobInfo, TableStatsMeta tableStatsStatus,
+            ColStatsMeta columnStatsMeta) throws Exception {
+        if (columnCollector != null) {
+            return columnCollector.analyzePartitions(this, jobInfo);
+        }
+        return super.analyzePartitions(jobInfo, tableStatsStatus, columnStatsMeta);
+    }
+
     @Override
     protected void deleteNotExistPartitionStats(AnalysisInfo jobInfo) throws DdlException {
         TableStatsMeta tableStats = Env.getServingEnv().getAnalysisManager().findTableStatsStatus(tbl.getId());
@@ -480,6 +493,15 @@ public class OlapAnalysisTask extends BaseAnalysisTask {
         return info.tblId + "-" + info.indexId + "-" + info.colName;
     }
 
+    void setColumnCollector(MultiColumnStatsCollector columnCollector) {
+        this.columnCollector = columnCollector;
+    }
+
+    @VisibleForTesting
+    MultiColumnStatsCollector getColumnCollector() {
+        return columnCollector;
+    }
+
     @VisibleForTesting
     public void setKeyColumnSampleTooManyRows(boolean value) {
         keyColumnSampleTooManyRows = value;
@@ -893,6 +893,10 @@ public class StatisticsUtil {
         return GlobalVariable.partitionAnalyzeBatchSize;
     }
 
+    public static int getAnalyzeColumnsPerScan() {
+        return GlobalVariable.analyzeColumnsPerScan;
+    }
+
     public static long getHugeTableAutoAnalyzeIntervalInMillis() {
         try {
             return findConfigFromGlobalSessionVar(SessionVariable.HUGE_TABLE_AUTO_ANALYZE_INTERVAL_IN_MILLIS)
@@ -817,6 +817,7 @@ public class DatabaseTransactionMgr {
         // update nextVersion because of the failure of persistent transaction resulting in error version
         updateCatalogAfterCommitted(transactionState, db, false);
         LOG.info("transaction:[{}] successfully committed", transactionState);
+        PublishVersionDaemon.triggerPublish();
     }
 
     protected void commitTransaction(long transactionId, List<Table> tableList,
@@ -880,6 +881,7 @@ public class DatabaseTransactionMgr {
         // update nextVersion because of the failure of persistent transaction resulting in error version
         updateCatalogAfterCommitted(transactionState, db, false);
         LOG.info("transaction:[{}] successfully committed", transactionState);
+        PublishVersionDaemon.triggerPublish();
     }
 
     public boolean waitForTransactionFinished(DatabaseIf db, long transactionId, long timeoutMillis)
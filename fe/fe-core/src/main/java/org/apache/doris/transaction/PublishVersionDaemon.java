@@ -24,6 +24,7 @@ import org.apache.doris.catalog.Partition;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.DebugPointUtil;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.metric.MetricRepo;
@@ -37,6 +38,8 @@ import org.apache.doris.task.UpdateVisibleVersionTask;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.collections.CollectionUtils;
@@ -45,11 +48,14 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -57,8 +63,31 @@ public class PublishVersionDaemon extends MasterDaemon {
 
     private static final Logger LOG = LogManager.getLogger(PublishVersionDaemon.class);
 
+    // finish the transactions of different databases in parallel, null if they are finished serially
+    private final ExecutorService finishTxnExecutor;
+
     public PublishVersionDaemon() {
         super("PUBLISH_VERSION", Config.publish_version_interval_ms);
+        if (Config.publish_version_finish_thread_num > 1) {
+            finishTxnExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+                    Config.publish_version_finish_thread_num, 10000, "publish-version-finish-pool", true);
+        } else {
+            finishTxnExecutor = null;
+        }
+    }
+
+    /**
+     * Run the next publish cycle as soon as possible instead of waiting for the poll interval.
+     * Called when a transaction is committed or a publish task is finished.
+     */
+    public static void triggerPublish() {
+        if (!Config.enable_publish_version_event_trigger) {
+            return;
+        }
+        PublishVersionDaemon daemon = Env.getCurrentEnv().getPublishVersionDaemon();
+        if (daemon != null) {
+            daemon.wakeup();
+        }
     }
 
     @Override
@@ -158,10 +187,46 @@ public class PublishVersionDaemon extends MasterDaemon {
                 transactionState.getDbId());
     }
 
-    private void tryFinishTxn(List<TransactionState> readyTransactionStates,
-                                     SystemInfoService infoService, GlobalTransactionMgrIface globalTransactionMgr,
-                                     Map<Long, Long> partitionVisibleVersions, Map<Long, Set<Long>> backendPartitions) {
-        for (TransactionState transactionState : readyTransactionStates) {
+    @VisibleForTesting
+    void tryFinishTxn(List<TransactionState> readyTransactionStates,
+                      SystemInfoService infoService, GlobalTransactionMgrIface globalTransactionMgr,
+                      Map<Long, Long> partitionVisibleVersions, Map<Long, Set<Long>> backendPartitions) {
+        // the transactions of one database are finished in order, and different databases are independent
+        Map<Long, List<TransactionState>> dbIdToTransactionStates = readyTransactionStates.stream()
+                .collect(Collectors.groupingBy(TransactionState::getDbId, LinkedHashMap::new, Collectors.toList()));
+        if (finishTxnExecutor == null || dbIdToTransactionStates.size() <= 1) {
+            tryFinishDbTxn(readyTransactionStates, infoService, globalTransactionMgr, partitionVisibleVersions,
+                    backendPartitions);
+            return;
+        }
+
+        List<Future<?>> futures = Lists.newArrayListWithCapacity(dbIdToTransactionStates.size());
+        List<Map<Long, Long>> dbPartitionVisibleVersions = Lists.newArrayList();
+        List<Map<Long, Set<Long>>> dbBackendPartitions = Lists.newArrayList();
+        for (List<TransactionState> transactionStates : dbIdToTransactionStates.values()) {
+            Map<Long, Long> visibleVersions = Maps.newHashMap();
+            Map<Long, Set<Long>> partitions = Maps.newHashMap();
+            dbPartitionVisibleVersions.add(visibleVersions);
+            dbBackendPartitions.add(partitions);
+            futures.add(finishTxnExecutor.submit(() -> tryFinishDbTxn(transactionStates, infoService,
+                    globalTransactionMgr, visibleVersions, partitions)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                LOG.warn("errors while finish transactions", e);
+            }
+        }
+        dbPartitionVisibleVersions.forEach(partitionVisibleVersions::putAll);
+        dbBackendPartitions.forEach(partitions -> partitions.forEach((backendId, partitionIds) ->
+                backendPartitions.computeIfAbsent(backendId, k -> Sets.newHashSet()).addAll(partitionIds)));
+    }
+
+    private void tryFinishDbTxn(List<TransactionState> transactionStates,
+                                SystemInfoService infoService, GlobalTransactionMgrIface globalTransactionMgr,
+                                Map<Long, Long> partitionVisibleVersions, Map<Long, Set<Long>> backendPartitions) {
+        for (TransactionState transactionState : transactionStates) {
             try {
                 // try to finish the transaction, if failed just retry in next loop
                 tryFinishOneTxn(transactionState, infoService, globalTransactionMgr, partitionVisibleVersions,
@@ -170,7 +235,7 @@ public class PublishVersionDaemon extends MasterDaemon {
                 LOG.error("errors while finish transaction: {}, publish tasks: {}", transactionState,
                         transactionState.getPublishVersionTasks(), t);
             }
-        } // end for readyTransactionStates
+        }
     }
 
     private void tryFinishOneTxn(TransactionState transactionState, SystemInfoService infoService,
@@ -218,6 +283,7 @@ public class PublishVersionDaemon extends MasterDaemon {
         boolean shouldFinishTxn = !hasBackendAliveAndUnfinishedTask.get() || transactionState.isPublishTimeout()
                 || isPublishSlow
                 || DebugPointUtil.isEnable("PublishVersionDaemon.not_wait_unfinished_tasks");
+        long finishStartTime = System.currentTimeMillis();
         if (shouldFinishTxn) {
             try {
                 // one transaction exception should not affect other transaction
@@ -246,10 +312,24 @@ public class PublishVersionDaemon extends MasterDaemon {
             if (MetricRepo.isInit) {
                 long publishTime = transactionState.getLastPublishVersionTime() - transactionState.getCommitTime();
                 MetricRepo.HISTO_TXN_PUBLISH_LATENCY.update(publishTime);
+                updatePublishPhaseLatency(transactionState, finishStartTime);
             }
         }
     }
 
+    private void updatePublishPhaseLatency(TransactionState transactionState, long finishStartTime) {
+        long commitTime = transactionState.getCommitTime();
+        long sendTaskTime = transactionState.getFirstPublishVersionTime();
+        long visibleTime = transactionState.getFinishTime();
+        if (commitTime <= 0 || sendTaskTime <= 0 || visibleTime <= 0) {
+            return;
+        }
+        MetricRepo.HISTO_TXN_PUBLISH_DISPATCH_LATENCY.update(sendTaskTime - commitTime);
+        MetricRepo.HISTO_TXN_PUBLISH_WAIT_TASK_LATENCY.update(finishStartTime - sendTaskTime);
+        MetricRepo.HISTO_TXN_PUBLISH_FINISH_LATENCY.update(visibleTime - finishStartTime);
+        MetricRepo.HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY.update(visibleTime - commitTime);
+    }
+
     // Merge task tablets update rows to tableToTabletsDelta.
     private void calculateTaskUpdateRows(Map<Long, Map<Long, Long>> tableIdToTabletDeltaRows, PublishVersionTask task) {
         if (CollectionUtils.isEmpty(task.getErrorTablets())) {
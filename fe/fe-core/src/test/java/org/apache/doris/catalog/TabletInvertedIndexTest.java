@@ -0,0 +1,247 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.cooldown.CooldownConf;
+import org.apache.doris.thrift.TPartitionVersionInfo;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+import org.apache.doris.thrift.TTabletMetaInfo;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class TabletInvertedIndexTest {
+    private static final long DB_ID = 1;
+    private static final long TABLE_ID = 2;
+    private static final long INDEX_ID = 3;
+    private static final int SCHEMA_HASH = 1234;
+    private static final long VERSION = 10;
+
+    private static TabletMeta tabletMeta(long partitionId, TStorageMedium medium) {
+        return new TabletMeta(DB_ID, TABLE_ID, partitionId, INDEX_ID, SCHEMA_HASH, medium);
+    }
+
+    private static TTablet backendTablet(long tabletId, long replicaId, long version) {
+        TTabletInfo tabletInfo = new TTabletInfo();
+        tabletInfo.setTabletId(tabletId);
+        tabletInfo.setSchemaHash(SCHEMA_HASH);
+        tabletInfo.setVersion(version);
+        tabletInfo.setReplicaId(replicaId);
+        TTablet tablet = new TTablet();
+        tablet.addToTabletInfos(tabletInfo);
+        return tablet;
+    }
+
+    private static class ReportResult {
+        private final ListMultimap<Long, Long> tabletSyncMap = LinkedListMultimap.create();
+        private final ListMultimap<Long, Long> tabletDeleteFromMeta = LinkedListMultimap.create();
+        private final Set<Long> tabletFoundInMeta = Sets.newConcurrentHashSet();
+        private final ListMultimap<TStorageMedium, Long> tabletMigrationMap = LinkedListMultimap.create();
+        private final Map<Long, Long> partitionVersionSyncMap = Maps.newConcurrentMap();
+        private final Map<Long, SetMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+        private final ListMultimap<Long, Long> transactionsToClear = LinkedListMultimap.create();
+        private final ListMultimap<Long, Long> tabletRecoveryMap = LinkedListMultimap.create();
+        private final List<TTabletMetaInfo> tabletToUpdate = Lists.newArrayList();
+        private final List<CooldownConf> cooldownConfToPush = Lists.newArrayList();
+        private final List<CooldownConf> cooldownConfToUpdate = Lists.newArrayList();
+    }
+
+    private static ReportResult report(TabletInvertedIndex index, long backendId, Map<Long, TTablet> tablets) {
+        ReportResult result = new ReportResult();
+        index.tabletReport(backendId, tablets, Maps.newHashMap(), new HashMap<>(), result.tabletSyncMap,
+                result.tabletDeleteFromMeta, result.tabletFoundInMeta, result.tabletMigrationMap,
+                result.partitionVersionSyncMap, result.transactionsToPublish, result.transactionsToClear,
+                result.tabletRecoveryMap, result.tabletToUpdate, result.cooldownConfToPush,
+                result.cooldownConfToUpdate);
+        return result;
+    }
+
+    @Test
+    public void testAddAndDelete() {
+        TabletInvertedIndex index = new TabletInvertedIndex();
+        for (long tabletId = 100; tabletId < 200; tabletId++) {
+            index.addTablet(tabletId, tabletMeta(10, tabletId % 2 == 0 ? TStorageMedium.HDD : TStorageMedium.SSD));
+            for (long backendId = 1; backendId <= 3; backendId++) {
+                index.addReplica(tabletId, new Replica(tabletId * 10 + backendId, backendId,
+                        ReplicaState.NORMAL, VERSION, SCHEMA_HASH));
+            }
+        }
+
+        Assertions.assertEquals(100, index.getTabletMetaMap().size());
+        Assertions.assertEquals(100, index.getTabletNumByBackendId(1));
+        Assertions.assertEquals(0, index.getTabletNumByBackendId(4));
+        Assertions.assertEquals(50, index.getTabletIdsByBackendIdAndStorageMedium(2, TStorageMedium.SSD).size());
+        Assertions.assertEquals(50L, index.getReplicaNumByBeIdAndStorageMedium(3).get(TStorageMedium.HDD));
+        Assertions.assertEquals(Long.valueOf(150), index.getTabletIdByReplica(1502));
+        Assertions.assertNull(index.getTabletIdByReplica(1504));
+        Assertions.assertEquals(1502, index.getReplica(150, 2).getId());
+        Assertions.assertNull(index.getReplica(150, 4));
+
+        // replicas are returned in the order of adding
+        List<Replica> replicas = index.getReplicas(150L);
+        Assertions.assertEquals(Lists.newArrayList(1501L, 1502L, 1503L),
+                Lists.newArrayList(replicas.get(0).getId(), replicas.get(1).getId(), replicas.get(2).getId()));
+
+        index.deleteReplica(150, 2);
+        Assertions.assertEquals(2, index.getReplicasByTabletId(150).size());
+        Assertions.assertNull(index.getTabletIdByReplica(1502));
+        Assertions.assertEquals(99, index.getTabletNumByBackendId(2));
+        Assertions.assertFalse(index.getBackingReplicaMetaTable().contains(2L, 150L));
+
+        index.deleteTablet(150);
+        Assertions.assertNull(index.getTabletMeta(150));
+        Assertions.assertTrue(index.getReplicas(150L).isEmpty());
+        Assertions.assertNull(index.getTabletIdByReplica(1501));
+        Assertions.assertEquals(99, index.getTabletNumByBackendId(1));
+        Assertions.assertEquals(99 * 3, index.getReplicaToTabletMap().size());
+        Assertions.assertEquals(99, index.getReplicaMetaTable().rowKeySet().size());
+        Assertions.assertEquals(TabletInvertedIndex.NOT_EXIST_TABLET_META,
+                index.getTabletMetaList(Lists.newArrayList(150L, 151L)).get(0));
+
+        index.clear();
+        Assertions.assertTrue(index.getTabletIdsByBackendId(1).isEmpty());
+        Assertions.assertTrue(index.getTabletMetaTable().isEmpty());
+    }
+
+    @Test
+    public void testTabletReport() {
+        TabletInvertedIndex index = new TabletInvertedIndex();
+        long backendId = 1;
+        for (long tabletId = 100; tabletId < 110; tabletId++) {
+            index.addTablet(tabletId, tabletMeta(10, TStorageMedium.HDD));
+            index.addReplica(tabletId, new Replica(tabletId * 10, backendId, ReplicaState.NORMAL, VERSION,
+                    SCHEMA_HASH));
+        }
+
+        Map<Long, TTablet> tablets = Maps.newHashMap();
+        // tablet 100 has a newer version on backend, tablet 101 reports a wrong replica id,
+        // tablets 108 and 109 are not reported.
+        tablets.put(100L, backendTablet(100, 1000, VERSION + 1));
+        tablets.put(101L, backendTablet(101, 1, VERSION));
+        for (long tabletId = 102; tabletId < 108; tabletId++) {
+            tablets.put(tabletId, backendTablet(tabletId, tabletId * 10, VERSION));
+        }
+        ReportResult result = report(index, backendId, tablets);
+
+        Assertions.assertEquals(8, result.tabletFoundInMeta.size());
+        Assertions.assertEquals(Lists.newArrayList(100L), result.tabletSyncMap.get(DB_ID));
+        Assertions.assertEquals(Sets.newHashSet(108L, 109L), Sets.newHashSet(result.tabletDeleteFromMeta.get(DB_ID)));
+        Assertions.assertEquals(1, result.tabletToUpdate.size());
+        Assertions.assertEquals(101, result.tabletToUpdate.get(0).getTabletId());
+        Assertions.assertEquals(1010, result.tabletToUpdate.get(0).getReplicaId());
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndReports() throws Exception {
+        int threadNum = 8;
+        int tabletsPerThread = 2000;
+        long backendNum = 3;
+        TabletInvertedIndex index = new TabletInvertedIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        try {
+            // the threads add and delete the tablets of their own ranges, which are spread over all the stripes,
+            // while they read the tablets of the others
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int t = 0; t < threadNum; t++) {
+                long firstTabletId = 1 + (long) t * tabletsPerThread;
+                futures.add(executor.submit(() -> {
+                    for (long tabletId = firstTabletId; tabletId < firstTabletId + tabletsPerThread; tabletId++) {
+                        index.addTablet(tabletId, tabletMeta(10, TStorageMedium.HDD));
+                        for (long backendId = 1; backendId <= backendNum; backendId++) {
+                            index.addReplica(tabletId, new Replica(tabletId * 10 + backendId, backendId,
+                                    ReplicaState.NORMAL, VERSION, SCHEMA_HASH));
+                        }
+                        long otherTabletId = ThreadLocalRandom.current().nextLong(threadNum * tabletsPerThread) + 1;
+                        List<Replica> replicas = index.getReplicas(otherTabletId);
+                        // the tablets being added by the other threads are read under the same stripe locks
+                        Assertions.assertTrue(replicas.size() <= backendNum);
+                    }
+                    for (long tabletId = firstTabletId; tabletId < firstTabletId + tabletsPerThread; tabletId += 2) {
+                        index.deleteTablet(tabletId);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            int tabletNum = threadNum * tabletsPerThread / 2;
+            Assertions.assertEquals(tabletNum, index.getTabletMetaMap().size());
+            Assertions.assertEquals(tabletNum * backendNum, index.getReplicaToTabletMap().size());
+            for (long tabletId = 1; tabletId <= threadNum * tabletsPerThread; tabletId++) {
+                if (tabletId % 2 == 1) {
+                    Assertions.assertNull(index.getTabletMeta(tabletId));
+                    Assertions.assertNull(index.getTabletIdByReplica(tabletId * 10 + 1));
+                } else {
+                    Assertions.assertEquals(backendNum, index.getReplicas(tabletId).size());
+                    Assertions.assertEquals(Long.valueOf(tabletId), index.getTabletIdByReplica(tabletId * 10 + 2));
+                }
+            }
+
+            // the backends report at the same time, each finds all of its tablets in sync
+            futures.clear();
+            List<ReportResult> results = Lists.newArrayList();
+            for (long backendId = 1; backendId <= backendNum; backendId++) {
+                Map<Long, TTablet> tablets = Maps.newHashMap();
+                for (long tabletId : index.getTabletIdsByBackendId(backendId)) {
+                    tablets.put(tabletId, backendTablet(tabletId, tabletId * 10 + backendId, VERSION));
+                }
+                Assertions.assertEquals(tabletNum, tablets.size());
+                ReportResult result = new ReportResult();
+                results.add(result);
+                long reportBackendId = backendId;
+                futures.add(executor.submit(() -> index.tabletReport(reportBackendId, tablets, Maps.newHashMap(),
+                        new HashMap<>(), result.tabletSyncMap, result.tabletDeleteFromMeta,
+                        result.tabletFoundInMeta, result.tabletMigrationMap, result.partitionVersionSyncMap,
+                        result.transactionsToPublish, result.transactionsToClear, result.tabletRecoveryMap,
+                        result.tabletToUpdate, result.cooldownConfToPush, result.cooldownConfToUpdate)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            for (ReportResult result : results) {
+                Assertions.assertEquals(tabletNum, result.tabletFoundInMeta.size());
+                Assertions.assertTrue(result.tabletSyncMap.isEmpty());
+                Assertions.assertTrue(result.tabletDeleteFromMeta.isEmpty());
+                Assertions.assertTrue(result.tabletToUpdate.isEmpty());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
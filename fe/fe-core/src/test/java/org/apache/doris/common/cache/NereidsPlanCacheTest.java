@@ -0,0 +1,160 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.cache;
+
+import org.apache.doris.analysis.SetVar;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.util.PlanChecker;
+import org.apache.doris.qe.SessionVariable;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.utframe.TestWithFeService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NereidsPlanCacheTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        FeConstants.runningUnitTest = true;
+        createDatabase("test");
+        connectContext.setDatabase("test");
+        createTable("create table test.t1 (k1 int, k2 int, v1 int)\n"
+                + "partition by range(k1) (\n"
+                + "    partition p1 values less than (10),\n"
+                + "    partition p2 values less than (20)\n"
+                + ")\n"
+                + "distributed by hash(k2) buckets 3\n"
+                + "properties('replication_num' = '1')");
+        createTable("create table test.t2 (k1 int, v1 int)\n"
+                + "distributed by hash(k1) buckets 3\n"
+                + "properties('replication_num' = '1')");
+    }
+
+    @Override
+    protected void runBeforeEach() throws Exception {
+        connectContext.getSessionVariable().enableNereidsPlanCache = true;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectContext.getSessionVariable().enableNereidsPlanCache = false;
+    }
+
+    private NereidsPlanner plan(String sql) {
+        return PlanChecker.from(connectContext).plan(sql);
+    }
+
+    private boolean hitCache(NereidsPlanner planner) {
+        // the memo is not created when the plan is reused
+        return planner.getCascadesContext().getMemo() == null;
+    }
+
+    @Test
+    public void testReusePlan() {
+        String sql = "select t1.k1, sum(t2.v1) from t1 join t2 on t1.k2 = t2.k1 where t1.k1 < 5 group by t1.k1";
+        NereidsPlanner first = plan(sql);
+        Assertions.assertFalse(hitCache(first));
+        NereidsPlanner second = plan(sql);
+        Assertions.assertTrue(hitCache(second));
+        Assertions.assertEquals(first.getPhysicalPlan().treeString(), second.getPhysicalPlan().treeString());
+        Assertions.assertEquals(first.getScanNodes().size(), second.getScanNodes().size());
+    }
+
+    @Test
+    public void testDifferentLiteral() {
+        Assertions.assertFalse(hitCache(plan("select v1 from t1 where k1 = 1")));
+        // the partition pruning depends on the literal
+        Assertions.assertFalse(hitCache(plan("select v1 from t1 where k1 = 15")));
+        Assertions.assertTrue(hitCache(plan("select v1 from t1 where k1 = 15")));
+    }
+
+    @Test
+    public void testDisabled() {
+        connectContext.getSessionVariable().enableNereidsPlanCache = false;
+        String sql = "select v1 from t2 where k1 = 3";
+        plan(sql);
+        Assertions.assertFalse(hitCache(plan(sql)));
+    }
+
+    @Test
+    public void testSessionVariableChanged() throws Exception {
+        String sql = "select k1, count(*) from t2 group by k1";
+        plan(sql);
+        SessionVariable sessionVariable = connectContext.getSessionVariable();
+        int parallelism = sessionVariable.parallelPipelineTaskNum;
+        try {
+            VariableMgr.setVar(sessionVariable, new SetVar(SessionVariable.PARALLEL_PIPELINE_TASK_NUM,
+                    new StringLiteral(String.valueOf(parallelism + 1))));
+            Assertions.assertFalse(hitCache(plan(sql)));
+        } finally {
+            VariableMgr.setVar(sessionVariable, new SetVar(SessionVariable.PARALLEL_PIPELINE_TASK_NUM,
+                    new StringLiteral(String.valueOf(parallelism))));
+        }
+        Assertions.assertTrue(hitCache(plan(sql)));
+    }
+
+    @Test
+    public void testNondeterministic() {
+        String sql = "select v1, random() from t2";
+        plan(sql);
+        Assertions.assertFalse(hitCache(plan(sql)));
+    }
+
+    @Test
+    public void testSessionDependentFunction() {
+        String sql = "select v1, connection_id() from t2";
+        int connectionId = connectContext.getConnectionId();
+        try {
+            connectContext.setConnectionId(987654321);
+            plan(sql);
+            // another session with the same user and variables
+            connectContext.setConnectionId(987654322);
+            NereidsPlanner planner = plan(sql);
+            Assertions.assertFalse(hitCache(planner));
+            String planString = planner.getPhysicalPlan().treeString();
+            Assertions.assertTrue(planString.contains("987654322"));
+            Assertions.assertFalse(planString.contains("987654321"));
+        } finally {
+            connectContext.setConnectionId(connectionId);
+        }
+
+        // bound by the parser rather than the analyzer
+        sql = "select v1, CURRENT_USER, CURRENT_TIMESTAMP from t2";
+        plan(sql);
+        Assertions.assertFalse(hitCache(plan(sql)));
+    }
+
+    @Test
+    public void testSchemaChanged() throws Exception {
+        createTable("create table test.t3 (k1 int, v1 int)\n"
+                + "distributed by hash(k1) buckets 3\n"
+                + "properties('replication_num' = '1')");
+        String sql = "select v1 from t3 where k1 > 1";
+        plan(sql);
+        Assertions.assertTrue(hitCache(plan(sql)));
+        dropTable("t3", true);
+        createTable("create table test.t3 (k1 int, v1 bigint)\n"
+                + "distributed by hash(k1) buckets 3\n"
+                + "properties('replication_num' = '1')");
+        Assertions.assertFalse(hitCache(plan(sql)));
+    }
+}
@@ -0,0 +1,171 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.cache;
+
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.MaterializedIndex.IndexState;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.RandomDistributionInfo;
+import org.apache.doris.common.cache.StreamLoadPlanCacheManager.PlanCacheKey;
+import org.apache.doris.thrift.TDataSink;
+import org.apache.doris.thrift.TDataSinkType;
+import org.apache.doris.thrift.TExternalScanRange;
+import org.apache.doris.thrift.TFileFormatType;
+import org.apache.doris.thrift.TFileRangeDesc;
+import org.apache.doris.thrift.TFileScanRange;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TOlapTablePartition;
+import org.apache.doris.thrift.TOlapTablePartitionParam;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TPipelineFragmentParams;
+import org.apache.doris.thrift.TPipelineInstanceParams;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TQueryGlobals;
+import org.apache.doris.thrift.TScanRange;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class StreamLoadPlanCacheManagerTest {
+
+    private static TStreamLoadPutRequest request(long txnId, String columns) {
+        TStreamLoadPutRequest request = new TStreamLoadPutRequest();
+        request.setDb("db1");
+        request.setTbl("tbl1");
+        request.setUser("user" + txnId);
+        request.setTxnId(txnId);
+        request.setLoadId(new TUniqueId(txnId, txnId));
+        request.setFileType(TFileType.FILE_STREAM);
+        request.setFormatType(TFileFormatType.FORMAT_CSV_PLAIN);
+        request.setFileSize(txnId * 1024);
+        request.setColumns(columns);
+        return request;
+    }
+
+    @Test
+    public void testCacheKey() {
+        Optional<PlanCacheKey> key1 = StreamLoadPlanCacheManager.generateCacheKey(request(1, "k1,v1"), 10001);
+        Optional<PlanCacheKey> key2 = StreamLoadPlanCacheManager.generateCacheKey(request(2, "k1,v1"), 10001);
+        Assertions.assertTrue(key1.isPresent());
+        Assertions.assertEquals(key1, key2);
+        Assertions.assertEquals(key1.get().hashCode(), key2.get().hashCode());
+
+        Assertions.assertNotEquals(key1, StreamLoadPlanCacheManager.generateCacheKey(request(1, "k1,v1"), 10002));
+        Assertions.assertNotEquals(key1, StreamLoadPlanCacheManager.generateCacheKey(request(1, "k1,v2"), 10001));
+
+        TStreamLoadPutRequest groupCommit = request(1, "k1,v1");
+        groupCommit.setGroupCommitMode("async_mode");
+        Assertions.assertFalse(StreamLoadPlanCacheManager.generateCacheKey(groupCommit, 10001).isPresent());
+    }
+
+    private static TPipelineFragmentParams plan(TDataSink sink) {
+        TFileRangeDesc range = new TFileRangeDesc();
+        range.setLoadId(new TUniqueId(1, 1));
+        TScanRange scanRange = new TScanRange();
+        scanRange.setExtScanRange(new TExternalScanRange().setFileScanRange(
+                new TFileScanRange().setRanges(Lists.newArrayList(range))));
+        Map<Integer, List<TScanRangeParams>> perNodeScanRanges = Maps.newHashMap();
+        perNodeScanRanges.put(0, Lists.newArrayList(new TScanRangeParams(scanRange)));
+        TPipelineInstanceParams instanceParams = new TPipelineInstanceParams();
+        instanceParams.setFragmentInstanceId(new TUniqueId(1, 1));
+        instanceParams.setPerNodeScanRanges(perNodeScanRanges);
+
+        TPipelineFragmentParams template = new TPipelineFragmentParams();
+        template.setQueryId(new TUniqueId(1, 1));
+        template.setFragment(new TPlanFragment().setOutputSink(sink));
+        template.addToLocalParams(instanceParams);
+        template.setQueryGlobals(new TQueryGlobals().setNowString("2024-01-01 00:00:00"));
+        return template;
+    }
+
+    @Test
+    public void testResetLoadInfo() {
+        TDataSink sink = new TDataSink(TDataSinkType.OLAP_TABLE_SINK);
+        sink.setOlapTableSink(new TOlapTableSink().setLoadId(new TUniqueId(1, 1)).setTxnId(1));
+        TPipelineFragmentParams template = plan(sink);
+
+        TPipelineFragmentParams params = template.deepCopy();
+        TUniqueId loadId = new TUniqueId(2, 3);
+        StreamLoadPlanCacheManager.resetLoadInfo(params, loadId, 2);
+        Assertions.assertEquals(loadId, params.getQueryId());
+        Assertions.assertEquals(loadId, params.getLocalParams().get(0).getFragmentInstanceId());
+        Assertions.assertEquals(loadId, params.getLocalParams().get(0).getPerNodeScanRanges().get(0).get(0)
+                .getScanRange().getExtScanRange().getFileScanRange().getRanges().get(0).getLoadId());
+        Assertions.assertEquals(loadId, params.getFragment().getOutputSink().getOlapTableSink().getLoadId());
+        Assertions.assertEquals(2, params.getFragment().getOutputSink().getOlapTableSink().getTxnId());
+        Assertions.assertNotEquals("2024-01-01 00:00:00", params.getQueryGlobals().getNowString());
+        // the template is untouched
+        Assertions.assertEquals(1, template.getFragment().getOutputSink().getOlapTableSink().getTxnId());
+    }
+
+    @Test
+    public void testRandomBucketTabletIndex(@Mocked OlapTable table) {
+        Partition partition = new Partition(20001, "p1", new MaterializedIndex(30001, IndexState.NORMAL),
+                new RandomDistributionInfo(8));
+        new Expectations() {
+            {
+                table.getId();
+                minTimes = 0;
+                result = 10001;
+
+                table.getName();
+                minTimes = 0;
+                result = "tbl1";
+
+                table.getPartition(20001L);
+                minTimes = 0;
+                result = partition;
+
+                table.getPartitions();
+                minTimes = 0;
+                result = Lists.newArrayList(partition);
+            }
+        };
+        TOlapTablePartition tPartition = new TOlapTablePartition();
+        tPartition.setId(20001);
+        tPartition.setLoadTabletIdx(0);
+        TDataSink sink = new TDataSink(TDataSinkType.OLAP_TABLE_SINK);
+        sink.setOlapTableSink(new TOlapTableSink().setDbId(1).setLoadId(new TUniqueId(1, 1)).setTxnId(1)
+                .setPartition(new TOlapTablePartitionParam().setPartitions(Lists.newArrayList(tPartition))));
+
+        StreamLoadPlanCacheManager manager = new StreamLoadPlanCacheManager();
+        PlanCacheKey key = StreamLoadPlanCacheManager.generateCacheKey(request(1, "k1,v1"), 10001).get();
+        manager.tryAddPlan(key, table, plan(sink));
+        TPipelineFragmentParams first = manager.tryGetPlan(key, table, new TUniqueId(2, 2), 2).get();
+        TPipelineFragmentParams second = manager.tryGetPlan(key, table, new TUniqueId(3, 3), 3).get();
+        // every load of the random distributed partition writes to the next tablet
+        int firstIndex = first.getFragment().getOutputSink().getOlapTableSink().getPartition().getPartitions()
+                .get(0).getLoadTabletIdx();
+        int secondIndex = second.getFragment().getOutputSink().getOlapTableSink().getPartition().getPartitions()
+                .get(0).getLoadTabletIdx();
+        Assertions.assertNotEquals(firstIndex, secondIndex);
+        Assertions.assertEquals((firstIndex + 1) % 8, secondIndex);
+    }
+}
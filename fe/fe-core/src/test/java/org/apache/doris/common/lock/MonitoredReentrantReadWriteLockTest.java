@@ -0,0 +1,158 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.lock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class MonitoredReentrantReadWriteLockTest {
+
+    @Test
+    public void testWaitStats() throws Exception {
+        MonitoredReentrantReadWriteLock lock = new MonitoredReentrantReadWriteLock(true);
+        lock.writeLock().lock();
+        Thread reader = new Thread(() -> {
+            lock.readLock().lock();
+            lock.readLock().unlock();
+        });
+        reader.start();
+        Thread.sleep(100);
+        lock.writeLock().unlock();
+        reader.join();
+
+        LockWaitStats stats = lock.getWaitStats();
+        Assertions.assertEquals(1, stats.getWriteLockCount());
+        Assertions.assertEquals(1, stats.getReadLockCount());
+        Assertions.assertTrue(stats.getReadWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertEquals(stats.getReadWaitNanos(), stats.getMaxReadWaitNanos());
+
+        // the attempts which time out are counted apart from the acquisitions
+        lock.writeLock().lock();
+        AtomicBoolean acquired = new AtomicBoolean(true);
+        AtomicBoolean bargingAcquired = new AtomicBoolean(true);
+        Thread tryReader = new Thread(() -> {
+            try {
+                bargingAcquired.set(lock.readLock().tryLock());
+                acquired.set(lock.readLock().tryLock(10, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        tryReader.start();
+        tryReader.join();
+        lock.writeLock().unlock();
+        Assertions.assertFalse(bargingAcquired.get());
+        Assertions.assertFalse(acquired.get());
+        // the failed barging attempt is not recorded since it doesn't wait
+        Assertions.assertEquals(1, stats.getReadLockCount());
+        Assertions.assertEquals(1, stats.getReadTimeoutCount());
+        Assertions.assertTrue(stats.getReadTimeoutWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+        Assertions.assertEquals(0, stats.getWriteTimeoutCount());
+    }
+
+    @Test
+    public void testBargingReadLock() throws Exception {
+        MonitoredReentrantReadWriteLock lock = new MonitoredReentrantReadWriteLock(true);
+        lock.readLock().lock();
+        CountDownLatch writerDone = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+            writerDone.countDown();
+        });
+        writer.start();
+        while (!lock.hasQueuedThreads()) {
+            Thread.sleep(1);
+        }
+
+        AtomicBoolean fairAcquired = new AtomicBoolean(true);
+        AtomicBoolean bargingAcquired = new AtomicBoolean(false);
+        Thread reader = new Thread(() -> {
+            try {
+                fairAcquired.set(lock.readLock().tryLock(0, TimeUnit.MILLISECONDS));
+                bargingAcquired.set(lock.readLock().tryLock());
+                if (bargingAcquired.get()) {
+                    lock.readLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        reader.start();
+        reader.join();
+        // the fair lock queues the reader behind the waiting writer
+        Assertions.assertFalse(fairAcquired.get());
+        // but the barging one gets the lock since the write lock is not held
+        Assertions.assertTrue(bargingAcquired.get());
+        LockWaitStats stats = lock.getWaitStats();
+        Assertions.assertEquals(1, stats.getReadTimeoutCount());
+        Assertions.assertEquals(2, stats.getReadLockCount());
+
+        lock.readLock().unlock();
+        Assertions.assertTrue(writerDone.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSkipWaitingWritersForAWhile() throws Exception {
+        MonitoredReentrantReadWriteLock lock = new MonitoredReentrantReadWriteLock(true);
+        Assertions.assertTrue(lock.tryReadLockSkippingWriters(0));
+        CountDownLatch writerDone = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+            writerDone.countDown();
+        });
+        writer.start();
+        while (!lock.hasQueuedThreads()) {
+            Thread.sleep(1);
+        }
+
+        AtomicBoolean skipped = new AtomicBoolean(false);
+        AtomicBoolean skippedLate = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            try {
+                skipped.set(lock.tryReadLockSkippingWriters(TimeUnit.MINUTES.toMillis(1)));
+                if (skipped.get()) {
+                    lock.readLock().unlock();
+                }
+                Thread.sleep(50);
+                // the writer has been waiting for too long to be skipped
+                skippedLate.set(lock.tryReadLockSkippingWriters(10));
+                if (skippedLate.get()) {
+                    lock.readLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        reader.start();
+        reader.join();
+        Assertions.assertTrue(skipped.get());
+        Assertions.assertFalse(skippedLate.get());
+
+        lock.readLock().unlock();
+        Assertions.assertTrue(writerDone.await(10, TimeUnit.SECONDS));
+        // no writer is waiting any more
+        Assertions.assertTrue(lock.tryReadLockSkippingWriters(0));
+        lock.readLock().unlock();
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.apache.doris.common.profile;
 
+import org.apache.doris.nereids.stats.StatsErrorEstimator;
+
+import mockit.Deencapsulation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Assertions;
@@ -66,6 +69,21 @@ class ProfileManagerTest {
         return profile;
     }
 
+    @Test
+    void keepStatsErrorEstimatorOfProfile() {
+        Profile profile = constructProfile("with estimator");
+        StatsErrorEstimator statsErrorEstimator = new StatsErrorEstimator();
+        Deencapsulation.setField(profile, "statsErrorEstimator", statsErrorEstimator);
+        profileManager.pushProfile(profile);
+        // the element is created again when the profile is updated
+        profileManager.pushProfile(profile);
+        Assertions.assertSame(statsErrorEstimator,
+                profileManager.findProfileElementObject("with estimator").statsErrorEstimator);
+
+        profileManager.pushProfile(constructProfile("without estimator"));
+        Assertions.assertNull(profileManager.findProfileElementObject("without estimator").statsErrorEstimator);
+    }
+
     @Test
     void getProfileByOrder() {
         final int normalProfiles = 100;
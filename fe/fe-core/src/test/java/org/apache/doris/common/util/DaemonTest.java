@@ -0,0 +1,49 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class DaemonTest {
+
+    @Test
+    public void testWakeup() throws InterruptedException {
+        Semaphore cycles = new Semaphore(0);
+        Daemon daemon = new Daemon("wakeup-test", 3600 * 1000L) {
+            @Override
+            protected void runOneCycle() {
+                cycles.release();
+            }
+        };
+        daemon.start();
+        try {
+            Assert.assertTrue(cycles.tryAcquire(10, TimeUnit.SECONDS));
+            // the daemon waits for an hour unless it is woken up
+            Assert.assertFalse(cycles.tryAcquire(200, TimeUnit.MILLISECONDS));
+            daemon.wakeup();
+            Assert.assertTrue(cycles.tryAcquire(10, TimeUnit.SECONDS));
+        } finally {
+            daemon.exit();
+            daemon.wakeup();
+        }
+    }
+}
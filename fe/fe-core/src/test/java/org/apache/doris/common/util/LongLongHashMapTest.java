@@ -0,0 +1,142 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class LongLongHashMapTest {
+    private static final long MISSING = Long.MIN_VALUE;
+
+    @Test
+    public void testPutAndGet() {
+        LongLongHashMap map = new LongLongHashMap();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(MISSING, map.get(1, MISSING));
+        Assert.assertFalse(map.containsKey(1));
+
+        map.put(1, 10);
+        map.put(-1, -10);
+        map.put(Long.MAX_VALUE, 0);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(10, map.get(1, MISSING));
+        Assert.assertEquals(-10, map.get(-1, MISSING));
+        // a value equal to the zero of the empty slots is still found
+        Assert.assertEquals(0, map.get(Long.MAX_VALUE, MISSING));
+        Assert.assertTrue(map.containsKey(Long.MAX_VALUE));
+
+        // overwrite does not change the size
+        map.put(1, 11);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(11, map.get(1, MISSING));
+    }
+
+    @Test
+    public void testZeroKey() {
+        LongLongHashMap map = new LongLongHashMap();
+        Assert.assertEquals(MISSING, map.get(0, MISSING));
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertFalse(map.remove(0));
+
+        map.put(0, 5);
+        Assert.assertTrue(map.containsKey(0));
+        Assert.assertEquals(5, map.get(0, MISSING));
+        Assert.assertEquals(1, map.size());
+        map.put(0, 6);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(6, map.get(0, MISSING));
+
+        Map<Long, Long> visited = Maps.newHashMap();
+        map.forEach(visited::put);
+        Assert.assertEquals(1, visited.size());
+        Assert.assertEquals(Long.valueOf(6), visited.get(0L));
+
+        Assert.assertTrue(map.remove(0));
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertEquals(MISSING, map.get(0, MISSING));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testCollisions() {
+        // the keys in the same slot of the default table, they are probed one after another
+        int mask = LongObjectHashMap.tableSizeFor(0) - 1;
+        int slot = LongObjectHashMap.mix(1) & mask;
+        List<Long> keys = Lists.newArrayList();
+        for (long key = 1; keys.size() < 4; key++) {
+            if ((LongObjectHashMap.mix(key) & mask) == slot) {
+                keys.add(key);
+            }
+        }
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key : keys) {
+            map.put(key, key * 10);
+        }
+        for (long key : keys) {
+            Assert.assertEquals(key * 10, map.get(key, MISSING));
+        }
+
+        // removing a key in the middle of the probe chain keeps the later keys reachable
+        Assert.assertTrue(map.remove(keys.get(1)));
+        Assert.assertFalse(map.remove(keys.get(1)));
+        Assert.assertEquals(MISSING, map.get(keys.get(1), MISSING));
+        Assert.assertEquals(keys.get(0) * 10, map.get(keys.get(0), MISSING));
+        Assert.assertEquals(keys.get(2) * 10, map.get(keys.get(2), MISSING));
+        Assert.assertEquals(keys.get(3) * 10, map.get(keys.get(3), MISSING));
+        Assert.assertEquals(3, map.size());
+
+        map.put(keys.get(1), 1);
+        Assert.assertEquals(1, map.get(keys.get(1), MISSING));
+        Assert.assertEquals(4, map.size());
+    }
+
+    @Test
+    public void testResize() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        int num = 100000;
+        for (long key = 1; key <= num; key++) {
+            map.put(key * 31, key);
+        }
+        Assert.assertEquals(num, map.size());
+        for (long key = 1; key <= num; key++) {
+            Assert.assertEquals(key, map.get(key * 31, MISSING));
+        }
+        Assert.assertEquals(MISSING, map.get(num * 31 + 1, MISSING));
+
+        for (long key = 1; key <= num; key += 2) {
+            Assert.assertTrue(map.remove(key * 31));
+        }
+        Assert.assertEquals(num / 2, map.size());
+        long[] sum = {0};
+        map.forEach((key, value) -> {
+            Assert.assertEquals(key, value * 31);
+            Assert.assertEquals(0, value % 2);
+            sum[0] += value;
+        });
+        Assert.assertEquals((long) (num / 2) * (num / 2 + 1), sum[0]);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(MISSING, map.get(62, MISSING));
+    }
+}
@@ -0,0 +1,72 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testRandomOperations() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        LongLongHashMap longMap = new LongLongHashMap();
+        Map<Long, String> expected = Maps.newHashMap();
+        Random random = new Random(20240601);
+        for (int i = 0; i < 200000; i++) {
+            // a small key range, so there are many collisions and removals, key 0 included
+            long key = random.nextInt(5000) - 100;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+                longMap.remove(key);
+            } else {
+                String value = String.valueOf(i);
+                Assert.assertEquals(expected.put(key, value), map.put(key, value));
+                longMap.put(key, i);
+            }
+            Assert.assertEquals(expected.size(), map.size());
+            Assert.assertEquals(expected.size(), longMap.size());
+        }
+        for (long key = -100; key < 4900; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+            String value = expected.get(key);
+            Assert.assertEquals(value == null ? -1 : Long.parseLong(value), longMap.get(key, -1));
+            Assert.assertEquals(value != null, longMap.containsKey(key));
+        }
+
+        Map<Long, String> visited = Maps.newHashMap();
+        map.forEach(visited::put);
+        Assert.assertEquals(expected, visited);
+
+        map.clear();
+        longMap.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertTrue(longMap.isEmpty());
+        Assert.assertNull(map.get(0));
+        Assert.assertFalse(longMap.containsKey(0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        new LongObjectHashMap<String>().put(1, null);
+    }
+}
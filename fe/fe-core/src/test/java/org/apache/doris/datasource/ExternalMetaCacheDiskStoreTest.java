@@ -0,0 +1,173 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.util.LocationPath;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+import org.apache.doris.fs.remote.RemoteFile;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+public class ExternalMetaCacheDiskStoreTest {
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ExternalMetaCacheDiskStore.Value value) {
+        return new String(value.getData(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testPutAndReopen(@TempDir File dir) throws Exception {
+        ExternalMetaCacheDiskStore store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        store.put("k1", 1, 100, bytes("v1"));
+        store.put("k2", 1, 100, bytes("v2"));
+        store.put("k3", 2, 100, bytes("v3"));
+        store.put("k1", 1, 200, bytes("v1-new"));
+        store.remove("k2");
+        Assertions.assertEquals("v1-new", string(store.get("k1")));
+        Assertions.assertEquals(200, store.get("k1").getVersion());
+        Assertions.assertNull(store.get("k2"));
+        store.close();
+
+        // the index is rebuilt from the segments
+        store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertEquals("v1-new", string(store.get("k1")));
+        Assertions.assertEquals(200, store.get("k1").getVersion());
+        Assertions.assertNull(store.get("k2"));
+        Assertions.assertEquals("v3", string(store.get("k3")));
+
+        store.removeGroup(1);
+        Assertions.assertNull(store.get("k1"));
+        Assertions.assertEquals("v3", string(store.get("k3")));
+        store.clear();
+        Assertions.assertNull(store.get("k3"));
+        store.put("k4", 3, 1, bytes("v4"));
+        store.close();
+
+        store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals("v4", string(store.get("k4")));
+        store.close();
+    }
+
+    @Test
+    public void testBrokenTail(@TempDir File dir) throws Exception {
+        ExternalMetaCacheDiskStore store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        store.put("k1", 1, 1, bytes("v1"));
+        store.put("k2", 1, 1, bytes("v2"));
+        store.close();
+
+        // cut the last record, as if the FE crashed when writing it
+        File[] segments = dir.listFiles();
+        Assertions.assertEquals(1, segments.length);
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        Assertions.assertEquals("v1", string(store.get("k1")));
+        Assertions.assertNull(store.get("k2"));
+        store.put("k3", 1, 1, bytes("v3"));
+        Assertions.assertEquals("v3", string(store.get("k3")));
+        store.close();
+    }
+
+    @Test
+    public void testFileCacheValue() throws Exception {
+        FileCacheValue value = new FileCacheValue();
+        value.setSplittable(true);
+        value.setPartitionValues(Lists.newArrayList("2024-01-01", null));
+        String path = "hdfs://nn/warehouse/tbl/dt=2024-01-01/region=cn/000000_0";
+        BlockLocation[] locations = new BlockLocation[] {
+                new BlockLocation(null, new String[] {"host1", null}, 0, 10)};
+        value.addFile(new RemoteFile(new Path(path), false, 10, 128, 1000, locations), new LocationPath(path));
+        value.trim();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        value.write(new DataOutputStream(out));
+        FileCacheValue read = FileCacheValue.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray())),
+                new LocationPath("hdfs://nn/warehouse/tbl/dt=2024-01-01/region=cn"));
+        Assertions.assertTrue(read.isSplittable());
+        Assertions.assertEquals(value.getPartitionValues(), read.getPartitionValues());
+        Assertions.assertEquals(1, read.getFiles().size());
+        Assertions.assertEquals(path, read.getFiles().getPath(0).get());
+        Assertions.assertEquals(LocationPath.Scheme.HDFS, read.getFiles().getPath(0).getScheme());
+        Assertions.assertEquals(10, read.getFiles().getLength(0));
+        Assertions.assertEquals(128, read.getFiles().getBlockSize(0));
+        Assertions.assertEquals(1000, read.getFiles().getModificationTime(0));
+        Assertions.assertArrayEquals(new String[] {"host1", null},
+                read.getFiles().getBlockLocations(0)[0].getHosts());
+
+        // the files are not listed from the given location
+        Assertions.assertThrows(IOException.class, () -> FileCacheValue.read(
+                new DataInputStream(new ByteArrayInputStream(out.toByteArray())),
+                new LocationPath("s3://bucket/warehouse/tbl/dt=2024-01-01/region=cn")));
+    }
+
+    @Test
+    public void testEvict(@TempDir File dir) throws Exception {
+        // each record fills a segment, so that a segment is rolled for every put
+        byte[] value = new byte[40];
+        ExternalMetaCacheDiskStore store = new ExternalMetaCacheDiskStore(dir, 150, 64);
+        store.put("k1", 1, 1, value);
+        store.put("k2", 1, 1, value);
+        Assertions.assertNull(store.get("k1"));
+        Assertions.assertEquals(1, store.size());
+        store.put("k2", 1, 2, bytes("v2"));
+        store.put("k3", 1, 1, bytes("v3"));
+        // the oldest segment only has an overwritten value of k2
+        Assertions.assertEquals(2, store.get("k2").getVersion());
+        Assertions.assertEquals(2, store.size());
+        store.close();
+    }
+
+    @Test
+    public void testPutAsyncAndClose(@TempDir File dir) throws Exception {
+        ExternalMetaCacheDiskStore store = new ExternalMetaCacheDiskStore(dir, 1024 * 1024);
+        store.putAsync("k1", 1, 1, () -> bytes("v1"));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (store.size() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals("v1", string(store.get("k1")));
+
+        store.close();
+        // the closed store is not written any more
+        Assertions.assertNull(store.get("k1"));
+        store.put("k2", 1, 1, bytes("v2"));
+        store.remove("k1");
+        Assertions.assertEquals(0, store.size());
+        Assertions.assertEquals(1, dir.listFiles().length);
+    }
+}
@@ -0,0 +1,101 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.util.LocationPath;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HiveFileStatus;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HiveFileStatusListTest {
+    private static final long BLOCK_SIZE = 128L * 1024 * 1024;
+
+    private static BlockLocation[] blockLocations(int fileIndex, int blockNum) {
+        BlockLocation[] locations = new BlockLocation[blockNum];
+        for (int i = 0; i < blockNum; i++) {
+            String[] hosts = new String[3];
+            String[] names = new String[3];
+            for (int j = 0; j < 3; j++) {
+                hosts[j] = "host" + ((fileIndex + i + j) % 10);
+                names[j] = hosts[j] + ":9866";
+            }
+            locations[i] = new BlockLocation(names, hosts, i * BLOCK_SIZE, BLOCK_SIZE);
+        }
+        return locations;
+    }
+
+    private static LocationPath filePath(int dirIndex, int fileIndex) {
+        return new LocationPath("hdfs://nn/user/hive/warehouse/db.db/tbl/dt=" + dirIndex
+                + "/part-" + fileIndex + "-5d3b1c2e-8e5a-4b1f-9f3e-2c1a7d9b0e4f.parquet");
+    }
+
+    @Test
+    public void testAddAndGet() throws Exception {
+        HiveFileStatusList files = new HiveFileStatusList();
+        for (int i = 0; i < 100; i++) {
+            files.add(filePath(i % 3, i), i * 10L, BLOCK_SIZE, 1000L + i, i % 2 == 0 ? blockLocations(i, 2) : null);
+        }
+        files.trim();
+        // files can still be added after trim
+        files.add(new LocationPath("s3://bucket/file"), 5L, BLOCK_SIZE, 1L, new BlockLocation[0]);
+
+        Assertions.assertEquals(101, files.size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(filePath(i % 3, i).get(), files.getPath(i).get());
+            Assertions.assertEquals(LocationPath.Scheme.HDFS, files.getPath(i).getScheme());
+            Assertions.assertEquals(i * 10L, files.getLength(i));
+            Assertions.assertEquals(BLOCK_SIZE, files.getBlockSize(i));
+            Assertions.assertEquals(1000L + i, files.getModificationTime(i));
+
+            BlockLocation[] locations = files.getBlockLocations(i);
+            if (i % 2 == 0) {
+                BlockLocation[] expected = blockLocations(i, 2);
+                Assertions.assertEquals(expected.length, locations.length);
+                for (int j = 0; j < expected.length; j++) {
+                    Assertions.assertEquals(expected[j].getOffset(), locations[j].getOffset());
+                    Assertions.assertEquals(expected[j].getLength(), locations[j].getLength());
+                    Assertions.assertArrayEquals(expected[j].getHosts(), locations[j].getHosts());
+                }
+            } else {
+                Assertions.assertEquals(0, locations.length);
+            }
+
+            HiveFileStatus status = files.get(i);
+            Assertions.assertEquals(filePath(i % 3, i).get(), status.getPath().get());
+            Assertions.assertEquals(i * 10L, status.getLength());
+        }
+        Assertions.assertEquals("s3://bucket/file", files.getPath(100).get());
+        Assertions.assertEquals(LocationPath.Scheme.S3, files.getPath(100).getScheme());
+        Assertions.assertEquals(99 * 100 / 2 * 10L + 5L, files.getTotalLength());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> files.getLength(101));
+    }
+
+    @Test
+    public void testSharedHosts() throws Exception {
+        HiveFileStatusList files = new HiveFileStatusList();
+        files.add(filePath(0, 0), 10L, BLOCK_SIZE, 1L, blockLocations(0, 1));
+        files.add(filePath(0, 1), 10L, BLOCK_SIZE, 1L, blockLocations(0, 1));
+        Assertions.assertSame(files.getBlockLocations(0)[0].getHosts(), files.getBlockLocations(1)[0].getHosts());
+
+        long bytes = files.getEstimatedBytes();
+        files.add(filePath(0, 2), 10L, BLOCK_SIZE, 1L, blockLocations(0, 1));
+        Assertions.assertTrue(files.getEstimatedBytes() > bytes);
+    }
+}
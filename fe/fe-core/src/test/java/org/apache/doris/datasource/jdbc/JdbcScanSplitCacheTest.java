@@ -0,0 +1,68 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.jdbc;
+
+import org.apache.doris.common.Pair;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.FakeTicker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JdbcScanSplitCacheTest {
+
+    @Test
+    public void testCacheAndExpire() {
+        FakeTicker ticker = new FakeTicker();
+        AtomicInteger primaryKeyLoads = new AtomicInteger();
+        AtomicInteger minMaxLoads = new AtomicInteger();
+        JdbcScanSplitCache cache = new JdbcScanSplitCache(
+                (dbName, tblName) -> {
+                    primaryKeyLoads.incrementAndGet();
+                    return ImmutableList.of(tblName + "_id");
+                },
+                (tblName, colName) -> {
+                    minMaxLoads.incrementAndGet();
+                    return Optional.of(Pair.of(1L, 100L + minMaxLoads.get()));
+                },
+                60, ticker::read);
+
+        Assertions.assertEquals(ImmutableList.of("t1_id"), cache.getPrimaryKeys("db", "t1"));
+        Assertions.assertEquals(ImmutableList.of("t1_id"), cache.getPrimaryKeys("db", "t1"));
+        Assertions.assertEquals(ImmutableList.of("t2_id"), cache.getPrimaryKeys("db", "t2"));
+        Assertions.assertEquals(2, primaryKeyLoads.get());
+
+        Assertions.assertEquals(Pair.of(1L, 101L), cache.getMinMaxValue("db.t1", "id").get());
+        Assertions.assertEquals(Pair.of(1L, 101L), cache.getMinMaxValue("db.t1", "id").get());
+        Assertions.assertEquals(1, minMaxLoads.get());
+
+        // the key range is read again after it expires
+        ticker.advance(61, TimeUnit.SECONDS);
+        Assertions.assertEquals(Pair.of(1L, 102L), cache.getMinMaxValue("db.t1", "id").get());
+        Assertions.assertEquals(ImmutableList.of("t1_id"), cache.getPrimaryKeys("db", "t1"));
+        Assertions.assertEquals(3, primaryKeyLoads.get());
+
+        cache.invalidateAll();
+        Assertions.assertEquals(Pair.of(1L, 103L), cache.getMinMaxValue("db.t1", "id").get());
+        Assertions.assertEquals(3, minMaxLoads.get());
+    }
+}
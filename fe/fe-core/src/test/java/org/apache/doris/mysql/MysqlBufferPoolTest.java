@@ -0,0 +1,79 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class MysqlBufferPoolTest {
+
+    @Test
+    public void testSizeClass() {
+        MysqlBufferPool pool = new MysqlBufferPool(64L * 1024 * 1024);
+        Assert.assertEquals(MysqlBufferPool.MIN_BUFFER_SIZE, pool.borrow(1).capacity());
+        Assert.assertEquals(16 * 1024, pool.borrow(16 * 1024).capacity());
+        Assert.assertEquals(32 * 1024, pool.borrow(16 * 1024 + 1).capacity());
+        Assert.assertEquals(2 * 1024 * 1024, pool.borrow(2 * 1024 * 1024).capacity());
+        Assert.assertEquals(MysqlBufferPool.MAX_POOLED_BUFFER_SIZE,
+                pool.borrow(MysqlBufferPool.MAX_POOLED_BUFFER_SIZE).capacity());
+        Assert.assertEquals(MysqlBufferPool.MAX_POOLED_BUFFER_SIZE + 1,
+                pool.borrow(MysqlBufferPool.MAX_POOLED_BUFFER_SIZE + 1).capacity());
+    }
+
+    @Test
+    public void testReuse() {
+        MysqlBufferPool pool = new MysqlBufferPool(64L * 1024 * 1024);
+        ByteBuffer buffer = pool.borrow(100 * 1024);
+        Assert.assertEquals(128 * 1024, pool.getBorrowedBytes());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(1);
+        pool.release(buffer);
+        Assert.assertEquals(0, pool.getBorrowedBytes());
+        Assert.assertEquals(128 * 1024, pool.getIdleBytes());
+
+        ByteBuffer reused = pool.borrow(128 * 1024);
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.position());
+        Assert.assertEquals(reused.capacity(), reused.limit());
+        Assert.assertEquals(ByteOrder.BIG_ENDIAN, reused.order());
+        Assert.assertEquals(0, pool.getIdleBytes());
+
+        // buffers of other size classes are not reused
+        Assert.assertNotSame(buffer, pool.borrow(64 * 1024));
+    }
+
+    @Test
+    public void testCapacity() {
+        MysqlBufferPool pool = new MysqlBufferPool(64 * 1024);
+        ByteBuffer first = pool.borrow(64 * 1024);
+        ByteBuffer second = pool.borrow(64 * 1024);
+        pool.release(first);
+        pool.release(second);
+        Assert.assertEquals(64 * 1024, pool.getIdleBytes());
+        Assert.assertSame(first, pool.borrow(64 * 1024));
+        Assert.assertNotSame(second, pool.borrow(64 * 1024));
+
+        // large buffers and buffers not from the pool are dropped
+        pool.release(pool.borrow(MysqlBufferPool.MAX_POOLED_BUFFER_SIZE + 1));
+        pool.release(ByteBuffer.allocate(5));
+        Assert.assertEquals(0, pool.getIdleBytes());
+    }
+}
@@ -89,4 +89,22 @@ public class MysqlChannelTest {
         buf.flip();
         mysqlChannel.sendOnePacket(buf);
     }
+
+    @Test
+    public void testReleaseAllBuffers() {
+        ConnectContext ctx = new ConnectContext(streamConnection);
+        MysqlChannel mysqlChannel = new MysqlChannel(streamConnection, ctx);
+        MysqlBufferPool pool = MysqlBufferPool.getInstance();
+        long borrowedBytes = pool.getBorrowedBytes();
+        ByteBuffer sendBuffer = pool.borrow(MysqlBufferPool.MIN_BUFFER_SIZE);
+        sendBuffer.putInt(1);
+        Deencapsulation.setField(mysqlChannel, "sendBuffer", sendBuffer);
+
+        // the unsent data is kept when the connection becomes idle
+        mysqlChannel.releaseBuffers();
+        Assert.assertEquals(borrowedBytes + sendBuffer.capacity(), pool.getBorrowedBytes());
+        // and returned when the connection is closed
+        mysqlChannel.releaseAllBuffers();
+        Assert.assertEquals(borrowedBytes, pool.getBorrowedBytes());
+    }
 }
@@ -0,0 +1,47 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.rewrite;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SplitJdbcScanTest {
+
+    @Test
+    public void testComputeSplitPoints() {
+        Assertions.assertEquals(ImmutableList.of(25L, 50L, 75L), SplitJdbcScan.computeSplitPoints(0, 100, 4));
+        Assertions.assertEquals(ImmutableList.of(-50L, 0L, 50L), SplitJdbcScan.computeSplitPoints(-100, 100, 4));
+        // too narrow ranges are merged
+        Assertions.assertEquals(ImmutableList.of(2L), SplitJdbcScan.computeSplitPoints(1, 3, 8));
+        Assertions.assertTrue(SplitJdbcScan.computeSplitPoints(5, 5, 4).isEmpty());
+        Assertions.assertTrue(SplitJdbcScan.computeSplitPoints(0, 100, 1).isEmpty());
+    }
+
+    @Test
+    public void testComputeSplitPointsWithoutOverflow() {
+        List<Long> points = SplitJdbcScan.computeSplitPoints(Long.MIN_VALUE, Long.MAX_VALUE, 4);
+        Assertions.assertEquals(3, points.size());
+        for (int i = 1; i < points.size(); ++i) {
+            Assertions.assertTrue(points.get(i) > points.get(i - 1));
+        }
+        Assertions.assertTrue(points.get(0) > Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,81 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.stats;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
+import org.apache.doris.nereids.util.PlanConstructor;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CardinalityFeedbackStoreTest {
+
+    @Test
+    public void testSignature() {
+        LogicalOlapScan scan = PlanConstructor.newLogicalOlapScan(10, "t1", 0);
+        LogicalOlapScan otherScan = PlanConstructor.newLogicalOlapScan(11, "t2", 0);
+        Slot id = scan.getOutput().get(0);
+        Expression eq = new EqualTo(id, new IntegerLiteral(1));
+        Expression gt = new GreaterThan(id, new IntegerLiteral(0));
+
+        String signature = CardinalityFeedbackStore.signature(scan, ImmutableList.of(eq, gt));
+        // the order of the conjuncts does not matter
+        Assertions.assertEquals(signature, CardinalityFeedbackStore.signature(scan, ImmutableList.of(gt, eq)));
+        Assertions.assertNotEquals(signature, CardinalityFeedbackStore.signature(scan, ImmutableList.of(eq)));
+        Assertions.assertNotEquals(signature,
+                CardinalityFeedbackStore.signature(otherScan, ImmutableList.of(eq, gt)));
+        // the literals are part of the signature
+        List<Expression> otherLiteral = ImmutableList.of(new EqualTo(id, new IntegerLiteral(2)), gt);
+        Assertions.assertNotEquals(signature, CardinalityFeedbackStore.signature(scan, otherLiteral));
+    }
+
+    @Test
+    public void testUpdateAndExpire() {
+        CardinalityFeedbackStore store = new CardinalityFeedbackStore(100);
+        Assertions.assertFalse(store.getSelectivity("s1").isPresent());
+
+        store.update("s1", 1000, 10);
+        Assertions.assertEquals(0.01, store.getSelectivity("s1").get(), 1e-9);
+        store.update("s1", 1000, 2000);
+        // the statistics of the table are stale
+        Assertions.assertEquals(2.0, store.getSelectivity("s1").get(), 1e-9);
+
+        // the scan is not estimated
+        store.update("s2", 0, 10);
+        store.update("s2", Double.NaN, 10);
+        Assertions.assertFalse(store.getSelectivity("s2").isPresent());
+
+        long expireSeconds = Config.cardinality_feedback_expire_seconds;
+        try {
+            Config.cardinality_feedback_expire_seconds = -1;
+            Assertions.assertFalse(store.getSelectivity("s1").isPresent());
+            Assertions.assertEquals(0, store.size());
+        } finally {
+            Config.cardinality_feedback_expire_seconds = expireSeconds;
+        }
+    }
+}
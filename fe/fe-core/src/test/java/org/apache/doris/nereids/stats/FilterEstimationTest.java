@@ -45,8 +45,10 @@ import org.apache.doris.nereids.types.DateType;
 import org.apache.doris.nereids.types.DoubleType;
 import org.apache.doris.nereids.types.IntegerType;
 import org.apache.doris.nereids.types.VarcharType;
+import org.apache.doris.statistics.Bucket;
 import org.apache.doris.statistics.ColumnStatistic;
 import org.apache.doris.statistics.ColumnStatisticBuilder;
+import org.apache.doris.statistics.HistogramBuilder;
 import org.apache.doris.statistics.Statistics;
 import org.apache.doris.statistics.StatisticsBuilder;
 
@@ -1520,4 +1522,29 @@ class FilterEstimationTest {
         Statistics stats = new FilterEstimation().estimate(predicate, statsBuilder.build());
         Assertions.assertEquals(250, stats.getRowCount());
     }
+
+    @Test
+    public void testHistogram() {
+        // 80 of 100 rows are 10
+        SlotReference a = new SlotReference("a", IntegerType.INSTANCE);
+        ColumnStatistic aStats = new ColumnStatisticBuilder(100).setNdv(21).setAvgSizeByte(4)
+                .setNumNulls(0).setMinValue(0).setMaxValue(20)
+                .setHistogram(new HistogramBuilder().setDataType(org.apache.doris.catalog.Type.INT)
+                        .setSampleRate(1.0).setNumBuckets(3).setBuckets(Lists.newArrayList(
+                                new Bucket(0, 9, 10, 0, 10),
+                                new Bucket(10, 10, 80, 10, 1),
+                                new Bucket(11, 20, 10, 90, 10))).build())
+                .build();
+        Statistics stats = new StatisticsBuilder().setRowCount(100).putColumnStatistics(a, aStats).build();
+
+        Statistics equalStats = new FilterEstimation().estimate(new EqualTo(a, new IntegerLiteral(10)), stats);
+        Assertions.assertEquals(80, equalStats.getRowCount(), 0.01);
+        Statistics equalRareStats = new FilterEstimation().estimate(new EqualTo(a, new IntegerLiteral(5)), stats);
+        Assertions.assertEquals(1, equalRareStats.getRowCount(), 0.01);
+        Statistics lessStats = new FilterEstimation().estimate(new LessThan(a, new IntegerLiteral(10)), stats);
+        Assertions.assertEquals(90, lessStats.getRowCount(), 0.01);
+        Statistics inStats = new FilterEstimation().estimate(new InPredicate(a,
+                Lists.newArrayList(new IntegerLiteral(5), new IntegerLiteral(10))), stats);
+        Assertions.assertEquals(81, inStats.getRowCount(), 0.01);
+    }
 }
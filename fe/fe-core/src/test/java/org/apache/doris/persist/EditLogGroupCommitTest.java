@@ -0,0 +1,247 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.journal.JournalCursor;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.journal.bdbje.Timestamp;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class EditLogGroupCommitTest {
+    private static final Logger LOG = LogManager.getLogger(EditLogGroupCommitTest.class);
+
+    private boolean originEnableGroupCommit;
+
+    // A journal that simulates the latency of one replicated commit for each write.
+    private static class MockJournal implements Journal {
+        private final long commitLatencyMs;
+        private final AtomicLong nextId = new AtomicLong(1);
+        private final AtomicInteger commitCount = new AtomicInteger();
+
+        MockJournal(long commitLatencyMs) {
+            this.commitLatencyMs = commitLatencyMs;
+        }
+
+        private void commit() {
+            commitCount.incrementAndGet();
+            try {
+                Thread.sleep(commitLatencyMs);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal() {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return nextId.get() - 1;
+        }
+
+        @Override
+        public long getMinJournalId() {
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalEntity read(long journalId) {
+            return null;
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public synchronized long write(short op, Writable writable) {
+            commit();
+            return nextId.getAndIncrement();
+        }
+
+        @Override
+        public synchronized long write(JournalBatch batch) {
+            commit();
+            return nextId.getAndAdd(batch.getJournalEntities().size());
+        }
+
+        @Override
+        public long getJournalNum() {
+            return 0;
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return Lists.newArrayList();
+        }
+
+        @Override
+        public boolean exceedMaxJournalSize(short op, Writable writable) {
+            return false;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        originEnableGroupCommit = Config.enable_edit_log_group_commit;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.enable_edit_log_group_commit = originEnableGroupCommit;
+    }
+
+    // Returns the number of written edit logs per second.
+    private double runWriters(EditLog editLog, int writerNum, int opsPerWriter) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(writerNum);
+        for (int i = 0; i < writerNum; i++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < opsPerWriter; j++) {
+                        // logSaveNextId does not touch any other meta
+                        editLog.logSaveNextId(j);
+                    }
+                } catch (InterruptedException e) {
+                    // ignore
+                } finally {
+                    finish.countDown();
+                }
+            });
+            writer.start();
+        }
+        long startNs = System.nanoTime();
+        start.countDown();
+        finish.await();
+        long costNs = Math.max(1, System.nanoTime() - startNs);
+        return writerNum * (double) opsPerWriter * 1_000_000_000L / costNs;
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        Config.enable_edit_log_group_commit = true;
+        MockJournal journal = new MockJournal(5);
+        EditLog editLog = new EditLog(journal);
+
+        int writerNum = 32;
+        int opsPerWriter = 10;
+        runWriters(editLog, writerNum, opsPerWriter);
+        editLog.close();
+
+        Assertions.assertEquals(writerNum * opsPerWriter, journal.getMaxJournalId());
+        Assertions.assertEquals(writerNum * opsPerWriter, editLog.getTxId());
+        // concurrent writers share commits
+        Assertions.assertTrue(journal.commitCount.get() < writerNum * opsPerWriter);
+    }
+
+    @Test
+    public void testCloseStopsGroupCommitter() throws Exception {
+        Config.enable_edit_log_group_commit = true;
+        Set<Thread> otherCommitters = getGroupCommitters();
+        EditLog editLog = new EditLog(new MockJournal(0));
+        editLog.logSaveNextId(1);
+        Set<Thread> committers = getGroupCommitters();
+        committers.removeAll(otherCommitters);
+        Assertions.assertEquals(1, committers.size());
+
+        editLog.close();
+        Assertions.assertFalse(committers.iterator().next().isAlive());
+        Assertions.assertThrows(IllegalStateException.class, () -> editLog.logSaveNextId(2));
+    }
+
+    private static Set<Thread> getGroupCommitters() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("edit-log-group-committer"))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testTimestampIsWrittenDirectly() throws Exception {
+        Config.enable_edit_log_group_commit = true;
+        MockJournal journal = new MockJournal(0);
+        EditLog editLog = new EditLog(journal);
+        editLog.logSaveNextId(1);
+        editLog.logTimestamp(new Timestamp());
+        Assertions.assertEquals(2, journal.getMaxJournalId());
+        Assertions.assertEquals(2, journal.commitCount.get());
+        editLog.close();
+    }
+
+    // Compares the edit log throughput of group commit with the direct write, with 1 to 256 concurrent writers.
+    @Disabled
+    @Test
+    public void benchmarkGroupCommit() throws Exception {
+        int totalOps = 512;
+        for (int writerNum : new int[] {1, 4, 16, 64, 256}) {
+            int opsPerWriter = Math.max(1, totalOps / writerNum);
+
+            Config.enable_edit_log_group_commit = false;
+            double directOps = runWriters(new EditLog(new MockJournal(1)), writerNum, opsPerWriter);
+
+            Config.enable_edit_log_group_commit = true;
+            MockJournal journal = new MockJournal(1);
+            EditLog editLog = new EditLog(journal);
+            double groupOps = runWriters(editLog, writerNum, opsPerWriter);
+            editLog.close();
+
+            LOG.info("edit log writers: {}, direct write: {} ops/s, group commit: {} ops/s, commits: {}",
+                    writerNum, String.format("%.0f", directOps), String.format("%.0f", groupOps),
+                    journal.commitCount.get());
+            Assertions.assertEquals((long) writerNum * opsPerWriter, journal.getMaxJournalId());
+        }
+    }
+}
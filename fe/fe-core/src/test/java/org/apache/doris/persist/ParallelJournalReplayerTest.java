@@ -0,0 +1,159 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ParallelJournalReplayerTest {
+
+    private static JournalEntity entity(short opCode, Writable data) {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(opCode);
+        entity.setData(data);
+        return entity;
+    }
+
+    @Test
+    public void testPartition() {
+        JournalEntity addReplica = entity(OperationType.OP_ADD_REPLICA,
+                ReplicaPersistInfo.createForDelete(10001, 10002, 10003, 10004, 10005, 10006));
+        JournalEntity nextId = entity(OperationType.OP_SAVE_NEXTID, new Text("20000"));
+        Assertions.assertEquals(10001, ParallelJournalReplayer.getPartitionKey(addReplica));
+        Assertions.assertEquals(-1, ParallelJournalReplayer.getPartitionKey(nextId));
+
+        try (ParallelJournalReplayer replayer = new ParallelJournalReplayer(null, 1)) {
+            // replayed one by one
+            Assertions.assertFalse(replayer.add(1L, addReplica));
+            Assertions.assertEquals(0, replayer.flush());
+        }
+        try (ParallelJournalReplayer replayer = new ParallelJournalReplayer(null, 4)) {
+            Assertions.assertTrue(replayer.add(1L, addReplica));
+            // a barrier
+            Assertions.assertFalse(replayer.add(2L, nextId));
+            Assertions.assertFalse(replayer.isFull());
+        }
+    }
+
+    // the journals applied to each database, and the journals of each database applied before every barrier
+    private static class ReplayResult {
+        private final Map<Long, List<Long>> dbIdToLogIds = new ConcurrentHashMap<>();
+        private final List<String> barriers = Lists.newArrayList();
+        private final Map<Long, Boolean> dbIdToParallel = new ConcurrentHashMap<>();
+    }
+
+    private static volatile ReplayResult currentResult;
+
+    private static List<JournalEntity> createJournals(int num) {
+        Random random = new Random(20240901);
+        List<JournalEntity> journals = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            long dbId = 1 + random.nextInt(5);
+            int type = random.nextInt(10);
+            if (type < 4) {
+                TransactionState transactionState = new TransactionState(dbId, Lists.newArrayList(dbId * 10), i,
+                        "label_" + i, new TUniqueId(0, i), LoadJobSourceType.BACKEND_STREAMING,
+                        new TxnCoordinator(TxnSourceType.BE, 0, "127.0.0.1", 0), -1, 60 * 1000L);
+                journals.add(entity(OperationType.OP_UPSERT_TRANSACTION_STATE, transactionState));
+            } else if (type < 8) {
+                journals.add(entity(type < 6 ? OperationType.OP_ADD_REPLICA : OperationType.OP_UPDATE_REPLICA,
+                        ReplicaPersistInfo.createForDelete(dbId, dbId * 10, dbId * 100, dbId * 1000, i, 1)));
+            } else {
+                journals.add(entity(OperationType.OP_SAVE_NEXTID, new Text(String.valueOf(i))));
+            }
+        }
+        return journals;
+    }
+
+    // replay the journals the same way as Env.replayJournal
+    private static ReplayResult replay(List<JournalEntity> journals, int threadNum) {
+        ReplayResult result = new ReplayResult();
+        currentResult = result;
+        try (ParallelJournalReplayer replayer = new ParallelJournalReplayer(null, threadNum)) {
+            int replayedNum = 0;
+            for (int i = 0; i < journals.size(); i++) {
+                long logId = i + 1;
+                if (replayer.add(logId, journals.get(i))) {
+                    if (replayer.isFull()) {
+                        replayedNum += replayer.flush();
+                    }
+                    continue;
+                }
+                replayedNum += replayer.flush();
+                EditLog.loadJournal(null, logId, journals.get(i));
+                replayedNum++;
+            }
+            replayedNum += replayer.flush();
+            Assertions.assertEquals(journals.size(), replayedNum);
+        }
+        return result;
+    }
+
+    @Test
+    public void testReplayInterleavedDatabases() {
+        Thread replayThread = Thread.currentThread();
+        new MockUp<EditLog>() {
+            @Mock
+            public void loadJournal(Env env, Long logId, JournalEntity journal) {
+                ReplayResult result = currentResult;
+                long dbId = ParallelJournalReplayer.getPartitionKey(journal);
+                if (dbId < 0) {
+                    Map<Long, List<Long>> snapshot = new TreeMap<>();
+                    result.dbIdToLogIds.forEach((k, v) -> snapshot.put(k, Lists.newArrayList(v)));
+                    result.barriers.add(logId + ":" + snapshot);
+                } else {
+                    result.dbIdToLogIds.computeIfAbsent(dbId, k -> Collections.synchronizedList(
+                            Lists.newArrayList())).add(logId);
+                    if (Thread.currentThread() != replayThread) {
+                        result.dbIdToParallel.put(dbId, true);
+                    }
+                }
+            }
+        };
+        List<JournalEntity> journals = createJournals(10000);
+        ReplayResult serial = replay(journals, 1);
+        ReplayResult parallel = replay(journals, 4);
+
+        // the journals of every database are applied in the same order, and the same journals of
+        // every database are applied before each barrier
+        Assertions.assertEquals(serial.dbIdToLogIds, parallel.dbIdToLogIds);
+        Assertions.assertEquals(serial.barriers, parallel.barriers);
+        Assertions.assertTrue(serial.dbIdToParallel.isEmpty());
+        Assertions.assertFalse(parallel.dbIdToParallel.isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.io.Text;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+
+public class MetaJsonHeaderTest {
+
+    @Test
+    public void testCompressedModules() throws Exception {
+        File file = File.createTempFile("meta_json_header", ".tmp");
+        file.deleteOnExit();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // without compressed modules, the header is the same as the one of older versions
+            MetaJsonHeader.write(raf, Collections.emptyList());
+            raf.seek(0);
+            Assertions.assertFalse(Text.readString(raf).contains("compressedModules"));
+            raf.seek(0);
+            MetaJsonHeader header = MetaJsonHeader.read(raf);
+            Assertions.assertEquals(MetaJsonHeader.IMAGE_VERSION, header.imageVersion);
+            Assertions.assertFalse(header.isCompressed("db"));
+
+            raf.setLength(0);
+            MetaJsonHeader.write(raf, Lists.newArrayList("db", "transactionState"));
+            raf.seek(0);
+            header = MetaJsonHeader.read(raf);
+            Assertions.assertTrue(header.isCompressed("db"));
+            Assertions.assertTrue(header.isCompressed("transactionState"));
+            Assertions.assertFalse(header.isCompressed("header"));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.utframe.TestWithFeService;
+
+import mockit.Deencapsulation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class ParallelImageTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        createTable("create table test.t1 (k1 int, v1 int)\n"
+                + "distributed by hash(k1) buckets 3\n"
+                + "properties('replication_num' = '1')");
+    }
+
+    private File saveImage(File dir, String name, int threadNum, String[] compressedModules) throws Exception {
+        int originThreadNum = Config.meta_image_save_thread_num;
+        String[] originCompressedModules = Config.meta_image_compressed_modules;
+        try {
+            Config.meta_image_save_thread_num = threadNum;
+            Config.meta_image_compressed_modules = compressedModules;
+            Env env = Env.getCurrentEnv();
+            File imageFile = new File(dir, name);
+            env.saveImage(imageFile, env.getReplayedJournalId());
+            return imageFile;
+        } finally {
+            Config.meta_image_save_thread_num = originThreadNum;
+            Config.meta_image_compressed_modules = originCompressedModules;
+        }
+    }
+
+    // load the image into a new checkpoint env, the checksum is verified by MetaReader
+    private void loadImage(File imageFile) throws Exception {
+        Env env = Env.getCurrentEnv();
+        Assertions.assertNotSame(Env.getServingEnv(), env);
+        MetaReader.read(imageFile, env);
+        Database db = env.getInternalCatalog().getDbNullable("test");
+        Assertions.assertNotNull(db);
+        Assertions.assertNotNull(db.getTableNullable("t1"));
+        Env.destroyCheckpoint();
+    }
+
+    @Test
+    public void testSaveAndLoadInParallel() throws Exception {
+        File dir = Files.createTempDirectory("parallel_image").toFile();
+        long checkpointThreadId = (Long) Deencapsulation.getField(Env.class, "checkpointThreadId");
+        int originLoadThreadNum = Config.meta_image_load_thread_num;
+        try {
+            File serialImage = saveImage(dir, "image.serial", 1, new String[0]);
+            File parallelImage = saveImage(dir, "image.parallel", 4, new String[0]);
+            File compressedImage = saveImage(dir, "image.compressed", 4, new String[] {"db", "globalVariable"});
+            // the temporary files of the modules are deleted
+            Assertions.assertEquals(3, dir.listFiles().length);
+
+            long checksum = MetaFooter.read(serialImage).checksum;
+            Assertions.assertEquals(checksum, MetaFooter.read(parallelImage).checksum);
+            Assertions.assertEquals(checksum, MetaFooter.read(compressedImage).checksum);
+            Assertions.assertEquals(serialImage.length(), parallelImage.length());
+            Assertions.assertFalse(MetaHeader.read(parallelImage).isCompressed("db"));
+            Assertions.assertTrue(MetaHeader.read(compressedImage).isCompressed("db"));
+
+            // load the images as the checkpoint thread, so that they are loaded into a new env
+            Deencapsulation.setField(Env.class, "checkpointThreadId", Thread.currentThread().getId());
+            new MetaContext().setThreadLocalInfo();
+            VariableMgr.createDefaultSessionVariableForCkpt();
+            Config.meta_image_load_thread_num = 4;
+            loadImage(serialImage);
+            loadImage(parallelImage);
+            loadImage(compressedImage);
+            Config.meta_image_load_thread_num = 1;
+            loadImage(compressedImage);
+        } finally {
+            Config.meta_image_load_thread_num = originLoadThreadNum;
+            Env.destroyCheckpoint();
+            VariableMgr.destroyDefaultSessionVariableForCkpt();
+            MetaContext.remove();
+            Deencapsulation.setField(Env.class, "checkpointThreadId", checkpointThreadId);
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+}
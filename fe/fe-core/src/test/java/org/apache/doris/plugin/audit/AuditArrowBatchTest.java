@@ -0,0 +1,79 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.plugin.audit;
+
+import org.apache.doris.catalog.InternalSchema;
+import org.apache.doris.plugin.AuditEvent;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+public class AuditArrowBatchTest {
+    private static AuditEvent createEvent(long queryTime, String stmt) {
+        AuditEvent event = new AuditEvent();
+        event.queryId = "query_" + queryTime;
+        event.timestamp = 1700000000123L;
+        event.user = "root";
+        event.errorCode = 1105;
+        event.queryTime = queryTime;
+        event.isQuery = true;
+        event.stmt = stmt;
+        return event;
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+            byte[] data;
+            try (AuditArrowBatch batch = new AuditArrowBatch(allocator)) {
+                batch.add(createEvent(10, "select 1"));
+                batch.add(createEvent(20, "select '\t\n'"));
+                Assertions.assertEquals(2, batch.getRowCount());
+                Assertions.assertTrue(batch.getEstimatedBytes() > 0);
+                data = batch.serialize();
+            }
+
+            try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(data), allocator)) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                Assertions.assertEquals(InternalSchema.AUDIT_SCHEMA.size(), root.getSchema().getFields().size());
+                Assertions.assertTrue(reader.loadNextBatch());
+                Assertions.assertEquals(2, root.getRowCount());
+                Assertions.assertEquals("query_10", new String(((VarCharVector) root.getVector("query_id")).get(0)));
+                Assertions.assertEquals(1700000000123L, ((TimeStampMilliTZVector) root.getVector("time")).get(0));
+                Assertions.assertEquals(1105, ((IntVector) root.getVector("error_code")).get(1));
+                Assertions.assertEquals(20L, ((BigIntVector) root.getVector("query_time")).get(1));
+                Assertions.assertEquals(1, ((TinyIntVector) root.getVector("is_query")).get(1));
+                Assertions.assertEquals(0, ((TinyIntVector) root.getVector("is_nereids")).get(1));
+                // the separators in the statement need no escape
+                Assertions.assertEquals("select '\t\n'", new String(((VarCharVector) root.getVector("stmt")).get(1)));
+                Assertions.assertFalse(reader.loadNextBatch());
+            }
+        }
+    }
+}
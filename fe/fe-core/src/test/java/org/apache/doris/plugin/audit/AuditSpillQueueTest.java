@@ -0,0 +1,134 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.plugin.audit;
+
+import org.apache.doris.common.Config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+public class AuditSpillQueueTest {
+    @TempDir
+    File dir;
+
+    private long maxSpillBytes;
+    private int maxReplayAttempts;
+
+    @BeforeEach
+    public void setUp() {
+        maxSpillBytes = Config.audit_loader_max_spill_bytes;
+        maxReplayAttempts = Config.audit_loader_max_replay_attempts;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.audit_loader_max_spill_bytes = maxSpillBytes;
+        Config.audit_loader_max_replay_attempts = maxReplayAttempts;
+    }
+
+    @Test
+    public void testSpillAndReplayInOrder() throws Exception {
+        AuditSpillQueue queue = new AuditSpillQueue(dir);
+        Assertions.assertNull(queue.peek());
+        Assertions.assertTrue(queue.spill(new byte[] {1, 2}, "a,b", 3));
+        Assertions.assertTrue(queue.spill(new byte[] {4}, "a", 5));
+        Assertions.assertEquals(2, queue.size());
+        long totalBytes = queue.getTotalBytes();
+        Assertions.assertTrue(totalBytes > 3);
+
+        // the spilled batches are found after restart
+        queue = new AuditSpillQueue(dir);
+        Assertions.assertEquals(2, queue.size());
+        AuditSpillQueue.SpilledBatch batch = queue.peek();
+        Assertions.assertEquals(3, batch.rowCount);
+        AuditSpillQueue.Content content = batch.read();
+        Assertions.assertArrayEquals(new byte[] {1, 2}, content.data);
+        // the batch is loaded with the columns it's spilled with
+        Assertions.assertEquals("a,b", content.columns);
+        queue.remove(batch);
+        Assertions.assertFalse(batch.file.exists());
+
+        batch = queue.peek();
+        Assertions.assertEquals(5, batch.rowCount);
+        Assertions.assertEquals("a", batch.read().columns);
+        queue.remove(batch);
+        Assertions.assertNull(queue.peek());
+        Assertions.assertEquals(0, queue.getTotalBytes());
+    }
+
+    @Test
+    public void testMaxSpillBytes() {
+        Config.audit_loader_max_spill_bytes = 4;
+        AuditSpillQueue queue = new AuditSpillQueue(dir);
+        Assertions.assertTrue(queue.spill(new byte[3], "a", 1));
+        Assertions.assertFalse(queue.spill(new byte[2], "a", 1));
+        Assertions.assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testQuarantine() throws Exception {
+        AuditSpillQueue queue = new AuditSpillQueue(dir);
+        Assertions.assertTrue(queue.spill(new byte[] {1}, "a", 1));
+        Assertions.assertTrue(queue.spill(new byte[] {2}, "a", 2));
+        AuditSpillQueue.SpilledBatch batch = queue.peek();
+        Assertions.assertEquals(1, queue.recordFailure(batch));
+        Assertions.assertEquals(2, queue.recordFailure(batch));
+        queue.quarantine(batch);
+        Assertions.assertFalse(batch.file.exists());
+        Assertions.assertTrue(new File(batch.file.getPath() + ".failed").exists());
+
+        // the next batch is replayed, and the quarantined one is not found after restart
+        Assertions.assertEquals(2, queue.peek().rowCount);
+        Assertions.assertEquals(1, queue.recordFailure(queue.peek()));
+        queue = new AuditSpillQueue(dir);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertEquals(2, queue.peek().rowCount);
+        Assertions.assertEquals(1, queue.quarantinedSize());
+    }
+
+    @Test
+    public void testQuarantinedBytes() {
+        AuditSpillQueue queue = new AuditSpillQueue(dir);
+        Assertions.assertTrue(queue.spill(new byte[8], "a", 1));
+        Assertions.assertTrue(queue.spill(new byte[8], "a", 2));
+        long totalBytes = queue.getTotalBytes();
+        queue.quarantine(queue.peek());
+        queue.quarantine(queue.peek());
+        // the quarantined files still count
+        Assertions.assertEquals(totalBytes, queue.getTotalBytes());
+        Assertions.assertEquals(totalBytes, new AuditSpillQueue(dir).getTotalBytes());
+
+        // the oldest quarantined file is deleted to make room for a new batch
+        Config.audit_loader_max_spill_bytes = totalBytes;
+        Assertions.assertTrue(queue.spill(new byte[8], "a", 3));
+        Assertions.assertEquals(1, queue.quarantinedSize());
+        Assertions.assertEquals(totalBytes, queue.getTotalBytes());
+        Assertions.assertEquals(3, queue.peek().rowCount);
+
+        // the new batches are dropped when there is no quarantined file to delete
+        Assertions.assertTrue(queue.spill(new byte[8], "a", 4));
+        Assertions.assertEquals(0, queue.quarantinedSize());
+        Assertions.assertFalse(queue.spill(new byte[8], "a", 5));
+        Assertions.assertEquals(2, queue.size());
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.doris.qe;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.util.DigitalVersion;
 import org.apache.doris.plugin.AuditEvent;
 import org.apache.doris.plugin.AuditEvent.EventType;
@@ -121,4 +122,25 @@ public class AuditEventProcessorTest {
         long total = System.currentTimeMillis() - start;
         System.out.println("total(ms): " + total + ", avg: " + total / 10000.0);
     }
+
+    @Test
+    public void testAuditEventQueueFull() {
+        int capacity = Config.audit_event_queue_capacity;
+        long timeoutMs = Config.audit_event_queue_offer_timeout_ms;
+        Config.audit_event_queue_capacity = 1;
+        Config.audit_event_queue_offer_timeout_ms = 50;
+        try {
+            // the worker is not started, so the queue stays full after the first event
+            AuditEventProcessor processor = new AuditEventProcessor(Env.getCurrentEnv().getPluginMgr());
+            AuditEvent event = new AuditEvent.AuditEventBuilder().setEventType(EventType.AFTER_QUERY)
+                    .setUser("user1").setStmt("select 1").build();
+            Assert.assertTrue(processor.handleAuditEvent(event));
+            long start = System.currentTimeMillis();
+            Assert.assertFalse(processor.handleAuditEvent(event, true));
+            Assert.assertTrue(System.currentTimeMillis() - start >= 40);
+        } finally {
+            Config.audit_event_queue_capacity = capacity;
+            Config.audit_event_queue_offer_timeout_ms = timeoutMs;
+        }
+    }
 }
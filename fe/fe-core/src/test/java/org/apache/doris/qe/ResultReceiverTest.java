@@ -0,0 +1,140 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.rpc.BackendServiceProxy;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.thrift.TSerializer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResultReceiverTest {
+    private static final int PACKET_NUM = 5;
+
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private volatile boolean failFetch = false;
+
+    @Before
+    public void setUp() {
+        fetchCount.set(0);
+        failFetch = false;
+        new MockUp<BackendServiceProxy>() {
+            @Mock
+            public Future<InternalService.PFetchDataResult> fetchDataAsync(
+                    TNetworkAddress address, InternalService.PFetchDataRequest request) throws Exception {
+                int seq = fetchCount.getAndIncrement();
+                InternalService.PFetchDataResult.Builder builder = InternalService.PFetchDataResult.newBuilder()
+                        .setPacketSeq(seq)
+                        .setEos(seq == PACKET_NUM - 1);
+                if (failFetch) {
+                    builder.setStatus(Types.PStatus.newBuilder()
+                            .setStatusCode(TStatusCode.INTERNAL_ERROR.getValue()).addErrorMsgs("mock error"));
+                } else {
+                    builder.setStatus(Types.PStatus.newBuilder().setStatusCode(TStatusCode.OK.getValue()));
+                }
+                TResultBatch batch = new TResultBatch();
+                batch.setRows(Lists.newArrayList(ByteBuffer.wrap(("row" + seq).getBytes(StandardCharsets.UTF_8))));
+                batch.setIsCompressed(false);
+                batch.setPacketSeq(seq);
+                builder.setRowBatch(ByteString.copyFrom(new TSerializer().serialize(batch)));
+                return CompletableFuture.completedFuture(builder.build());
+            }
+        };
+    }
+
+    private ResultReceiver createReceiver() {
+        return new ResultReceiver(new TUniqueId(1, 2), new TUniqueId(1, 3), 10001L,
+                new TNetworkAddress("127.0.0.1", 8060), System.currentTimeMillis() + 60_000L,
+                Integer.MAX_VALUE, false);
+    }
+
+    private List<String> readAll(ResultReceiver receiver) throws Exception {
+        List<String> rows = Lists.newArrayList();
+        while (true) {
+            Status status = new Status();
+            RowBatch batch = receiver.getNext(status);
+            Assert.assertTrue(status.ok());
+            for (ByteBuffer row : batch.getBatch().getRows()) {
+                byte[] bytes = new byte[row.remaining()];
+                row.get(bytes);
+                rows.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            if (batch.isEos()) {
+                return rows;
+            }
+        }
+    }
+
+    @Test
+    public void testPrefetchKeepsOrder() throws Exception {
+        ResultReceiver receiver = createReceiver();
+        receiver.enablePrefetch(2, Long.MAX_VALUE);
+        List<String> rows = readAll(receiver);
+        Assert.assertEquals(Lists.newArrayList("row0", "row1", "row2", "row3", "row4"), rows);
+        Assert.assertEquals(PACKET_NUM, fetchCount.get());
+        Assert.assertTrue(receiver.getBeStallTimeMs() >= 0);
+        Assert.assertTrue(receiver.getClientStallTimeMs() >= 0);
+    }
+
+    @Test
+    public void testPrefetchBoundedByBytes() throws Exception {
+        ResultReceiver receiver = createReceiver();
+        // one byte budget still allows one batch in flight at a time
+        receiver.enablePrefetch(4, 1);
+        Assert.assertEquals(PACKET_NUM, readAll(receiver).size());
+    }
+
+    @Test
+    public void testSameResultWithoutPrefetch() throws Exception {
+        List<String> rows = readAll(createReceiver());
+        Assert.assertEquals(Lists.newArrayList("row0", "row1", "row2", "row3", "row4"), rows);
+    }
+
+    @Test
+    public void testPrefetchError() throws Exception {
+        failFetch = true;
+        ResultReceiver receiver = createReceiver();
+        receiver.enablePrefetch(2, Long.MAX_VALUE);
+        Status status = new Status();
+        receiver.getNext(status);
+        Assert.assertFalse(status.ok());
+        Assert.assertEquals(TStatusCode.INTERNAL_ERROR, status.getErrorCode());
+        // no more fetch after the error
+        Assert.assertNull(receiver.getNext(new Status()));
+        Assert.assertEquals(1, fetchCount.get());
+    }
+}
@@ -0,0 +1,82 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.protocol;
+
+import org.apache.doris.thrift.PaloInternalServiceVersion;
+import org.apache.doris.thrift.TPipelineFragmentParams;
+import org.apache.doris.thrift.TQueryGlobals;
+import org.apache.doris.thrift.TUniqueId;
+
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SharedThriftStructsTest {
+
+    private static List<TPipelineFragmentParams> buildParams() {
+        TQueryGlobals queryGlobals = new TQueryGlobals();
+        queryGlobals.setNowString("2024-06-01 00:00:00");
+        queryGlobals.setTimestampMs(1717171200000L);
+        queryGlobals.setTimeZone("Asia/Shanghai");
+
+        List<TPipelineFragmentParams> paramsList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TPipelineFragmentParams params = new TPipelineFragmentParams();
+            params.setProtocolVersion(PaloInternalServiceVersion.V1);
+            params.setQueryId(new TUniqueId(1, 2));
+            params.setFragmentId(i);
+            params.setBackendId(10000 + i);
+            params.setQueryGlobals(queryGlobals);
+            paramsList.add(params);
+        }
+        return paramsList;
+    }
+
+    @Test
+    public void testSerializeSharedStructs() throws Exception {
+        TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+        List<TPipelineFragmentParams> paramsList = buildParams();
+        List<byte[]> expected = new ArrayList<>();
+        for (TPipelineFragmentParams params : paramsList) {
+            expected.add(serializer.serialize(params));
+        }
+
+        SharedThriftStructs sharedStructs = new SharedThriftStructs();
+        for (TPipelineFragmentParams params : paramsList) {
+            sharedStructs.share(params);
+        }
+        Assertions.assertSame(paramsList.get(0).getQueryGlobals(), paramsList.get(2).getQueryGlobals());
+        for (int i = 0; i < paramsList.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), serializer.serialize(paramsList.get(i)));
+        }
+        // serialized once, copied twice
+        long reusedBytes = sharedStructs.getReusedBytes();
+        Assertions.assertTrue(reusedBytes > 0);
+        Assertions.assertEquals(0, reusedBytes % 2);
+
+        sharedStructs.close();
+        for (int i = 0; i < paramsList.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), serializer.serialize(paramsList.get(i)));
+        }
+        Assertions.assertEquals(reusedBytes, sharedStructs.getReusedBytes());
+    }
+}
@@ -0,0 +1,87 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.resource.workloadgroup.QueryQueueLeaseMgr.LeaseInfo;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryQueueLeaseMgrTest {
+    private static final long WG_ID = 10L;
+    private static final int MAX_CONCURRENCY = 10;
+
+    private int spare;
+    private long timeoutMs;
+    private QueryQueueLeaseMgr leaseMgr;
+
+    @Before
+    public void setUp() {
+        spare = Config.query_queue_lease_spare;
+        timeoutMs = Config.query_queue_lease_timeout_ms;
+        Config.query_queue_lease_spare = 1;
+        Config.query_queue_lease_timeout_ms = 5000;
+        leaseMgr = new QueryQueueLeaseMgr();
+    }
+
+    @After
+    public void tearDown() {
+        Config.query_queue_lease_spare = spare;
+        Config.query_queue_lease_timeout_ms = timeoutMs;
+    }
+
+    private int sync(String fe, int running, int waiting, long nowMs) {
+        LeaseInfo demand = new LeaseInfo(WG_ID, MAX_CONCURRENCY, running, waiting);
+        return leaseMgr.sync(fe, Lists.newArrayList(demand), nowMs).get(0).getLease();
+    }
+
+    @Test
+    public void testLeaseWithinMaxConcurrency() {
+        // the first fe leases what it needs plus the spare
+        Assert.assertEquals(7, sync("fe1:9010", 4, 2, 0));
+        // the second fe leases the rest
+        Assert.assertEquals(3, sync("fe2:9010", 0, 8, 0));
+        // the first fe gives back the spare since the second fe is waiting
+        Assert.assertEquals(6, sync("fe1:9010", 4, 2, 100));
+        Assert.assertEquals(4, sync("fe2:9010", 3, 5, 100));
+        // the first fe finishes its queries, the second fe takes them over
+        Assert.assertEquals(0, sync("fe1:9010", 0, 0, 200));
+        Assert.assertEquals(10, sync("fe2:9010", 4, 8, 200));
+    }
+
+    @Test
+    public void testRunningQueriesAreNotTakenBack() {
+        Assert.assertEquals(10, sync("fe1:9010", 10, 0, 0));
+        Assert.assertEquals(0, sync("fe2:9010", 0, 3, 0));
+        // max_concurrency is decreased, the running queries keep their lease
+        LeaseInfo demand = new LeaseInfo(WG_ID, 5, 8, 0);
+        Assert.assertEquals(8, leaseMgr.sync("fe1:9010", Lists.newArrayList(demand), 100).get(0).getLease());
+    }
+
+    @Test
+    public void testExpiredLeaseIsReclaimed() {
+        Assert.assertEquals(10, sync("fe1:9010", 10, 0, 0));
+        Assert.assertEquals(0, sync("fe2:9010", 0, 3, 1000));
+        // fe1 stops syncing
+        Assert.assertEquals(4, sync("fe2:9010", 0, 3, 6000));
+    }
+}
@@ -0,0 +1,129 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.resource.AdmissionControl;
+
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryQueueTest {
+    @Mocked
+    private Env env;
+
+    @Mocked
+    private AdmissionControl admissionControl;
+
+    private int maxBypassTimes;
+
+    @Before
+    public void setUp() {
+        maxBypassTimes = Config.query_queue_max_bypass_times;
+        new Expectations() {
+            {
+                Env.getCurrentEnv();
+                minTimes = 0;
+                result = env;
+
+                env.getAdmissionControl();
+                minTimes = 0;
+                result = admissionControl;
+
+                admissionControl.checkResourceAvailable((QueueToken) any);
+                minTimes = 0;
+                result = true;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.query_queue_max_bypass_times = maxBypassTimes;
+    }
+
+    private static QueryQueue createQueue(long memoryBudget) {
+        return new QueryQueue(1L, "wg", 10, 10, 0, memoryBudget, -1, 0);
+    }
+
+    private static QueryWeight memory(long bytes) {
+        return new QueryWeight(bytes, 0);
+    }
+
+    @Test
+    public void testLightQueryBypassesHeavyQuery() throws UserException {
+        QueryQueue queue = createQueue(100);
+        QueueToken heavy1 = queue.getToken(memory(80));
+        Assert.assertTrue(heavy1.isReadyToRun());
+        QueueToken heavy2 = queue.getToken(memory(60));
+        Assert.assertFalse(heavy2.isReadyToRun());
+        Assert.assertEquals("WAIT_QUERY_WEIGHT_BUDGET", heavy2.getQueueMsg());
+        QueueToken light = queue.getToken(memory(10));
+        Assert.assertTrue(light.isReadyToRun());
+
+        queue.releaseAndNotify(heavy1);
+        Assert.assertTrue(heavy2.isReadyToRun());
+        Assert.assertEquals(2, (int) queue.getQueryQueueDetail().first);
+    }
+
+    @Test
+    public void testOverBudgetQueryRunsAlone() throws UserException {
+        QueryQueue queue = createQueue(100);
+        QueueToken huge = queue.getToken(memory(1000));
+        Assert.assertTrue(huge.isReadyToRun());
+        QueueToken light = queue.getToken(memory(10));
+        Assert.assertFalse(light.isReadyToRun());
+        queue.releaseAndNotify(huge);
+        Assert.assertTrue(light.isReadyToRun());
+    }
+
+    @Test
+    public void testHeavyQueryIsNotStarved() throws UserException {
+        Config.query_queue_max_bypass_times = 1;
+        QueryQueue queue = createQueue(100);
+        QueueToken heavy1 = queue.getToken(memory(80));
+        QueueToken heavy2 = queue.getToken(memory(60));
+        QueueToken light1 = queue.getToken(memory(10));
+        Assert.assertTrue(light1.isReadyToRun());
+        // heavy2 has been bypassed once, the later queries wait behind it
+        QueueToken light2 = queue.getToken(memory(10));
+        Assert.assertFalse(light2.isReadyToRun());
+        queue.releaseAndNotify(light1);
+        Assert.assertFalse(light2.isReadyToRun());
+
+        queue.releaseAndNotify(heavy1);
+        Assert.assertTrue(heavy2.isReadyToRun());
+        Assert.assertTrue(light2.isReadyToRun());
+    }
+
+    @Test
+    public void testUnlimitedBudget() throws UserException {
+        QueryQueue queue = createQueue(-1);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(queue.getToken(memory(Long.MAX_VALUE)).isReadyToRun());
+        }
+        // still limited by max_concurrency
+        Assert.assertFalse(queue.getToken(QueryWeight.UNKNOWN).isReadyToRun());
+    }
+}
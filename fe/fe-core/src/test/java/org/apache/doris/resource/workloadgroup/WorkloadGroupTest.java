@@ -79,6 +79,7 @@ public class WorkloadGroupTest {
         Map<String, String> properties1 = Maps.newHashMap();
         properties1.put(WorkloadGroup.CPU_SHARE, "10");
         properties1.put(WorkloadGroup.MEMORY_LIMIT, "30%");
+        properties1.put(WorkloadGroup.QUEUE_MEMORY_BUDGET, "1073741824");
         String name1 = "g1";
         WorkloadGroup group1 = WorkloadGroup.create(name1, properties1);
 
@@ -86,5 +87,10 @@ public class WorkloadGroupTest {
         group1.getProcNodeData(result, null);
         List<List<String>> rows = result.getRows();
         Assert.assertEquals(1, rows.size());
+        List<String> row = rows.get(0);
+        List<String> titles = WorkloadGroupMgr.WORKLOAD_GROUP_PROC_NODE_TITLE_NAMES;
+        Assert.assertEquals(titles.size(), row.size());
+        Assert.assertEquals("1073741824", row.get(titles.indexOf(WorkloadGroup.QUEUE_MEMORY_BUDGET)));
+        Assert.assertEquals("-1", row.get(titles.indexOf(WorkloadGroup.QUEUE_SCAN_BUDGET)));
     }
 }
@@ -0,0 +1,54 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.service.arrowflight;
+
+import org.apache.doris.service.arrowflight.FlightSqlStreamLoader.IngestTarget;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FlightSqlStreamLoaderTest {
+
+    private static IngestTarget parse(String sql) {
+        return FlightSqlStreamLoader.parseIngestStatement(sql, "internal", "db0").orElse(null);
+    }
+
+    @Test
+    public void testParseIngestStatement() {
+        IngestTarget target = parse("insert into tbl");
+        Assertions.assertEquals("internal", target.catalog);
+        Assertions.assertEquals("db0", target.database);
+        Assertions.assertEquals("tbl", target.table);
+        Assertions.assertTrue(target.columns.isEmpty());
+
+        target = parse(" INSERT INTO `db1`.tbl (k1, `v 1`, v2);");
+        Assertions.assertEquals("db1", target.database);
+        Assertions.assertEquals("tbl", target.table);
+        Assertions.assertEquals(Lists.newArrayList("k1", "v 1", "v2"), target.columns);
+
+        target = parse("insert into hive.db1.tbl");
+        Assertions.assertEquals("hive", target.catalog);
+
+        // the rows must come from the record batches
+        Assertions.assertNull(parse("insert into tbl values (1, 2)"));
+        Assertions.assertNull(parse("insert into tbl select * from tbl2"));
+        Assertions.assertNull(parse("insert into a.b.c.d"));
+        Assertions.assertNull(parse("delete from tbl"));
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.statistics.util.StatisticsUtil;
 
+import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -133,4 +134,39 @@ class HistogramTest {
 
         Assertions.assertTrue(flag);
     }
+
+    @Test
+    void testSelectivity() {
+        // the value 10 is skewed
+        List<Bucket> buckets = Lists.newArrayList(
+                new Bucket(0, 9, 10, 0, 10),
+                new Bucket(10, 10, 80, 10, 1),
+                new Bucket(11, 20, 10, 90, 10));
+        Histogram histogram = new HistogramBuilder().setDataType(Type.INT).setSampleRate(1.0)
+                .setNumBuckets(3).setBuckets(buckets).build();
+
+        Assertions.assertEquals(0, histogram.findBucket(-1));
+        Assertions.assertEquals(0, histogram.findBucket(9));
+        Assertions.assertEquals(1, histogram.findBucket(10));
+        Assertions.assertEquals(2, histogram.findBucket(10.5));
+        Assertions.assertEquals(3, histogram.findBucket(21));
+
+        Assertions.assertEquals(0.8, histogram.equalSelectivity(10), 1e-6);
+        Assertions.assertEquals(0.01, histogram.equalSelectivity(5), 1e-6);
+        Assertions.assertEquals(0, histogram.equalSelectivity(10.5), 1e-6);
+        Assertions.assertEquals(0, histogram.equalSelectivity(30), 1e-6);
+
+        Assertions.assertEquals(1, histogram.rangeSelectivity(0, 20), 1e-6);
+        Assertions.assertEquals(0.1, histogram.rangeSelectivity(0, 9), 1e-6);
+        Assertions.assertEquals(0.9, histogram.rangeSelectivity(10, 20), 1e-6);
+        Assertions.assertEquals(0.8, histogram.rangeSelectivity(10, 10), 1e-6);
+        Assertions.assertEquals(0, histogram.rangeSelectivity(20, 10), 1e-6);
+
+        // 0.1 * 0.1 / 10 + 0.8 * 0.8 + 0.1 * 0.1 / 10
+        Assertions.assertEquals(0.642,
+                Histogram.joinSelectivity(histogram, 0, 20, histogram, 0, 20), 1e-6);
+        // only the skewed value is matched
+        Assertions.assertEquals(0.64 / (0.9 * 0.9),
+                Histogram.joinSelectivity(histogram, 0, 10, histogram, 10, 20), 1e-6);
+    }
 }
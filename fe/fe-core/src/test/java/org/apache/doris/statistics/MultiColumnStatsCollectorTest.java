@@ -0,0 +1,125 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.analysis.TableSample;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DatabaseIf;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.datasource.CatalogIf;
+import org.apache.doris.qe.GlobalVariable;
+import org.apache.doris.qe.StmtExecutor;
+
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class MultiColumnStatsCollectorTest {
+
+    private OlapAnalysisTask createTask(String colName, PrimitiveType type, long indexId,
+            CatalogIf catalog, DatabaseIf db, OlapTable table) {
+        OlapAnalysisTask task = new OlapAnalysisTask();
+        task.info = new AnalysisInfoBuilder().setCatalogId(1).setDBId(2).setTblId(3).setIndexId(indexId)
+                .setColName(colName).build();
+        task.col = new Column(colName, type);
+        task.catalog = catalog;
+        task.db = db;
+        task.tbl = table;
+        return task;
+    }
+
+    @Test
+    public void testAssign(@Mocked CatalogIf catalog, @Mocked DatabaseIf db, @Mocked OlapTable table) {
+        int columnsPerScan = GlobalVariable.analyzeColumnsPerScan;
+        try {
+            GlobalVariable.analyzeColumnsPerScan = 2;
+            OlapAnalysisTask c1 = createTask("c1", PrimitiveType.INT, -1, catalog, db, table);
+            OlapAnalysisTask c2 = createTask("c2", PrimitiveType.INT, -1, catalog, db, table);
+            OlapAnalysisTask c3 = createTask("c3", PrimitiveType.INT, -1, catalog, db, table);
+            OlapAnalysisTask c4 = createTask("c4", PrimitiveType.INT, -1, catalog, db, table);
+            OlapAnalysisTask sampled = createTask("c5", PrimitiveType.INT, -1, catalog, db, table);
+            sampled.tableSample = new TableSample(false, 100L);
+            OlapAnalysisTask mvColumn = createTask("c1", PrimitiveType.INT, 10, catalog, db, table);
+            MultiColumnStatsCollector.assign(Lists.newArrayList(c1, c2, c3, c4, sampled, mvColumn));
+
+            Assertions.assertNotNull(c1.getColumnCollector());
+            Assertions.assertEquals(2, c1.getColumnCollector().getTasks().size());
+            Assertions.assertNotNull(c3.getColumnCollector());
+            Assertions.assertNotSame(c1.getColumnCollector(), c3.getColumnCollector());
+            Assertions.assertSame(c3.getColumnCollector(), c4.getColumnCollector());
+            // sample analyze and the single column of an index are scanned separately
+            Assertions.assertNull(sampled.getColumnCollector());
+            Assertions.assertNull(mvColumn.getColumnCollector());
+
+            GlobalVariable.analyzeColumnsPerScan = 1;
+            OlapAnalysisTask c6 = createTask("c6", PrimitiveType.INT, -1, catalog, db, table);
+            OlapAnalysisTask c7 = createTask("c7", PrimitiveType.INT, -1, catalog, db, table);
+            MultiColumnStatsCollector.assign(Lists.newArrayList(c6, c7));
+            Assertions.assertNull(c6.getColumnCollector());
+        } finally {
+            GlobalVariable.analyzeColumnsPerScan = columnsPerScan;
+        }
+    }
+
+    @Test
+    public void testCollectTableStats(@Mocked CatalogIf catalog, @Mocked DatabaseIf db, @Mocked OlapTable table) {
+        List<String> values = Lists.newArrayList("100",
+                "10", "1", "1", "9", "400",
+                "20", "0", "a", "z", "300",
+                "2024-01-01 00:00:00");
+        int[] queryCount = {0};
+        new MockUp<StmtExecutor>() {
+            @Mock
+            public List<ResultRow> executeInternalQuery() {
+                queryCount[0]++;
+                return Lists.newArrayList(new ResultRow(values));
+            }
+        };
+        OlapAnalysisTask intTask = createTask("c1", PrimitiveType.INT, -1, catalog, db, table);
+        OlapAnalysisTask stringTask = createTask("c2", PrimitiveType.STRING, -1, catalog, db, table);
+        MultiColumnStatsCollector collector = new MultiColumnStatsCollector(Lists.newArrayList(intTask, stringTask));
+
+        ColStatsData stringStats = collector.collectTableStats(stringTask);
+        ColStatsData intStats = collector.collectTableStats(intTask);
+        Assertions.assertEquals(1, queryCount[0]);
+
+        Assertions.assertEquals("3--1-c1", intStats.statsId.id);
+        Assertions.assertEquals("c1", intStats.statsId.colId);
+        Assertions.assertEquals(100, intStats.count);
+        Assertions.assertEquals(10, intStats.ndv);
+        Assertions.assertEquals(1, intStats.nullCount);
+        Assertions.assertEquals("1", intStats.minLit);
+        Assertions.assertEquals("9", intStats.maxLit);
+        Assertions.assertEquals(400, intStats.dataSizeInBytes);
+
+        Assertions.assertEquals("c2", stringStats.statsId.colId);
+        Assertions.assertEquals(100, stringStats.count);
+        Assertions.assertEquals(20, stringStats.ndv);
+        Assertions.assertEquals(0, stringStats.nullCount);
+        Assertions.assertEquals("a", stringStats.minLit);
+        Assertions.assertEquals("z", stringStats.maxLit);
+        Assertions.assertEquals(300, stringStats.dataSizeInBytes);
+        Assertions.assertEquals("2024-01-01 00:00:00", stringStats.updateTime);
+    }
+}
@@ -0,0 +1,151 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.transaction;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PublishVersionDaemonTest {
+    private static final int DB_NUM = 4;
+    private static final int TXN_NUM_PER_DB = 5;
+    private static final long COMMON_BACKEND_ID = 1;
+
+    private int originThreadNum;
+
+    @BeforeEach
+    public void setUp() {
+        originThreadNum = Config.publish_version_finish_thread_num;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Config.publish_version_finish_thread_num = originThreadNum;
+    }
+
+    private static long partitionId(long dbId) {
+        return dbId * 100;
+    }
+
+    private List<TransactionState> createTransactions(Map<Long, TransactionState> idToTransaction) {
+        List<TransactionState> transactions = Lists.newArrayList();
+        long txnId = 1000;
+        // the transactions of different databases are interleaved
+        for (int i = 0; i < TXN_NUM_PER_DB; i++) {
+            for (long dbId = 1; dbId <= DB_NUM; dbId++) {
+                TransactionState transaction = new TransactionState(dbId, Lists.newArrayList(dbId * 10), txnId,
+                        "label_" + txnId, new TUniqueId(0, txnId), LoadJobSourceType.BACKEND_STREAMING,
+                        new TxnCoordinator(TxnSourceType.BE, 0, "127.0.0.1", System.currentTimeMillis()),
+                        -1, 60 * 1000L);
+                transaction.setTransactionStatus(TransactionStatus.COMMITTED);
+                transactions.add(transaction);
+                idToTransaction.put(txnId, transaction);
+                txnId++;
+            }
+        }
+        return transactions;
+    }
+
+    @Test
+    public void testFinishDatabasesInParallel() {
+        Config.publish_version_finish_thread_num = DB_NUM;
+        Map<Long, TransactionState> idToTransaction = Maps.newHashMap();
+        List<TransactionState> transactions = createTransactions(idToTransaction);
+
+        Map<Long, List<Long>> dbIdToFinishedTxnIds = new ConcurrentHashMap<>();
+        CountDownLatch allDbsStarted = new CountDownLatch(DB_NUM);
+        AtomicBoolean finishedConcurrently = new AtomicBoolean(true);
+        GlobalTransactionMgrIface txnMgr = (GlobalTransactionMgrIface) Proxy.newProxyInstance(
+                GlobalTransactionMgrIface.class.getClassLoader(), new Class<?>[] {GlobalTransactionMgrIface.class},
+                (proxy, method, args) -> {
+                    Assertions.assertEquals("finishTransaction", method.getName());
+                    long dbId = (long) args[0];
+                    long txnId = (long) args[1];
+                    @SuppressWarnings("unchecked")
+                    Map<Long, Long> partitionVisibleVersions = (Map<Long, Long>) args[2];
+                    @SuppressWarnings("unchecked")
+                    Map<Long, Set<Long>> backendPartitions = (Map<Long, Set<Long>>) args[3];
+
+                    List<Long> finishedTxnIds = dbIdToFinishedTxnIds.computeIfAbsent(dbId,
+                            k -> new CopyOnWriteArrayList<>());
+                    if (finishedTxnIds.isEmpty()) {
+                        // all databases must be in progress at the same time
+                        allDbsStarted.countDown();
+                        if (!allDbsStarted.await(30, TimeUnit.SECONDS)) {
+                            finishedConcurrently.set(false);
+                        }
+                    }
+                    finishedTxnIds.add(txnId);
+                    partitionVisibleVersions.put(partitionId(dbId), txnId);
+                    backendPartitions.computeIfAbsent(COMMON_BACKEND_ID, k -> Sets.newHashSet())
+                            .add(partitionId(dbId));
+                    backendPartitions.computeIfAbsent(dbId + COMMON_BACKEND_ID, k -> Sets.newHashSet())
+                            .add(partitionId(dbId));
+                    idToTransaction.get(txnId).setTransactionStatus(TransactionStatus.VISIBLE);
+                    return null;
+                });
+
+        Map<Long, Long> partitionVisibleVersions = Maps.newHashMap();
+        Map<Long, Set<Long>> backendPartitions = Maps.newHashMap();
+        new PublishVersionDaemon().tryFinishTxn(transactions, new SystemInfoService(), txnMgr,
+                partitionVisibleVersions, backendPartitions);
+
+        Assertions.assertTrue(finishedConcurrently.get());
+        for (TransactionState transaction : transactions) {
+            Assertions.assertEquals(TransactionStatus.VISIBLE, transaction.getTransactionStatus());
+        }
+        Assertions.assertEquals(DB_NUM, dbIdToFinishedTxnIds.size());
+        Assertions.assertEquals(DB_NUM, partitionVisibleVersions.size());
+        Assertions.assertEquals(DB_NUM + 1, backendPartitions.size());
+        Assertions.assertEquals(DB_NUM, backendPartitions.get(COMMON_BACKEND_ID).size());
+        for (long dbId = 1; dbId <= DB_NUM; dbId++) {
+            // the transactions of one database are finished in order
+            List<Long> finishedTxnIds = dbIdToFinishedTxnIds.get(dbId);
+            Assertions.assertEquals(TXN_NUM_PER_DB, finishedTxnIds.size());
+            for (int i = 1; i < finishedTxnIds.size(); i++) {
+                Assertions.assertTrue(finishedTxnIds.get(i - 1) < finishedTxnIds.get(i));
+            }
+            // so the visible version is the one of the last transaction
+            Assertions.assertEquals(finishedTxnIds.get(TXN_NUM_PER_DB - 1),
+                    partitionVisibleVersions.get(partitionId(dbId)));
+            Assertions.assertEquals(Sets.newHashSet(partitionId(dbId)),
+                    backendPartitions.get(dbId + COMMON_BACKEND_ID));
+        }
+    }
+}
@@ -416,6 +416,10 @@ java_version="$(
 CUR_DATE=$(date +%Y%m%d-%H%M%S)
 LOG_PATH="-DlogPath=${DORIS_TEST_BINARY_DIR}/log/jni.log"
 COMMON_OPTS="-Dsun.java.command=DorisBETEST -XX:-CriticalJNINatives"
+# The options of the JDBC executors of BE, which are set in JAVA_OPTS of be.conf in deployments:
+#   -Ddoris.jdbc.commit_per_block=true commits each block written to a JDBC table outside of an explicit
+#   transaction as a whole, for the databases which support it, instead of committing each statement by itself.
+#   It's off by default.
 JDBC_OPTS="-DJDBC_MIN_POOL=1 -DJDBC_MAX_POOL=100 -DJDBC_MAX_IDLE_TIME=300000"
 
 if [[ "${java_version}" -gt 8 ]]; then